@@ -1,7 +1,16 @@
 package org.folio.circulation;
 
 import java.lang.invoke.MethodHandles;
-
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.domain.CalendarCache;
+import org.folio.circulation.domain.CalendarCacheSettings;
+import org.folio.circulation.domain.LocationHierarchyCache;
+import org.folio.circulation.domain.LocationHierarchyCacheSettings;
+import org.folio.circulation.domain.policy.LoanPolicyCache;
+import org.folio.circulation.domain.policy.LoanPolicyCacheSettings;
+import org.folio.circulation.resources.AbstractCirculationRulesEngineResource;
+import org.folio.circulation.resources.AdminResource;
 import org.folio.circulation.resources.CheckInByBarcodeResource;
 import org.folio.circulation.resources.CheckOutByBarcodeResource;
 import org.folio.circulation.resources.CirculationRulesResource;
@@ -11,6 +20,7 @@ import org.folio.circulation.resources.LoanCollectionResource;
 import org.folio.circulation.resources.NoticeCirculationRulesEngineResource;
 import org.folio.circulation.resources.OverrideCheckOutStrategy;
 import org.folio.circulation.resources.OverrideRenewalStrategy;
+import org.folio.circulation.resources.PoliciesCirculationRulesEngineResource;
 import org.folio.circulation.resources.RegularCheckOutStrategy;
 import org.folio.circulation.resources.RegularRenewalStrategy;
 import org.folio.circulation.resources.RenewByBarcodeResource;
@@ -22,19 +32,33 @@ import org.folio.circulation.resources.RequestHoldShelfClearanceResource;
 import org.folio.circulation.resources.RequestQueueResource;
 import org.folio.circulation.resources.DueDateScheduledNoticeProcessingResource;
 import org.folio.circulation.resources.RequestScheduledNoticeProcessingResource;
+import org.folio.circulation.rules.CirculationRulesCache;
+import org.folio.circulation.rules.CirculationRulesEngineType;
+import org.folio.circulation.support.CircuitBreakerSettings;
+import org.folio.circulation.support.CircuitBreakers;
+import org.folio.circulation.support.GetCoalescer;
+import org.folio.circulation.support.ReferenceDataCache;
+import org.folio.circulation.support.ReferenceDataCacheSettings;
+import org.folio.circulation.support.http.JsonEncoding;
+import org.folio.circulation.support.http.client.HttpClientSettings;
+import org.folio.circulation.support.http.client.HttpClientStatistics;
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.server.ServerTiming;
 import org.folio.circulation.support.logging.Logging;
+import org.folio.circulation.support.metrics.Metrics;
+import org.folio.circulation.support.metrics.RouteMetricsHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpServer;
 import io.vertx.ext.web.Router;
 
 public class CirculationVerticle extends AbstractVerticle {
   private HttpServer server;
+  private int maxPoolSize = 0;
 
   @Override
   public void start(Future<Void> startFuture) {
@@ -44,13 +68,39 @@ public class CirculationVerticle extends AbstractVerticle {
 
     log.info("Starting circulation module");
 
+    // compact JSON bodies unless pretty printing is switched on for debugging
+    JsonEncoding.setPrettyPrint(Boolean.parseBoolean(
+      config().getString("jsonPrettyPrint", "false")));
+
     Router router = Router.router(vertx);
 
-    // bump up the connection pool size from the default value of 5
-    HttpClient client = vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(100));
+    // first, so that it measures the whole handling of every request
+    router.route().handler(new RouteMetricsHandler(Metrics.getInstance()));
+
+    // the connection pool is bigger than the default of 5, and requests
+    // waiting for a connection are rejected once the wait queue is full
+    HttpClientSettings httpClientSettings = HttpClientSettings.from(config());
+    OkapiHttpClient.setSettings(httpClientSettings);
+
+    HttpClient client = vertx.createHttpClient(httpClientSettings.toHttpClientOptions());
+    maxPoolSize = httpClientSettings.getMaxPoolSize();
+    HttpClientStatistics.getInstance().addPool(maxPoolSize);
 
     this.server = vertx.createHttpServer();
 
+    GetCoalescer.getInstance().setEnabled(Boolean.parseBoolean(
+      config().getString("storageGetCoalescing", "false")));
+    CircuitBreakers.getInstance().setSettings(CircuitBreakerSettings.from(config()));
+    ReferenceDataCache.getInstance().setSettings(ReferenceDataCacheSettings.from(config()));
+    LocationHierarchyCache.getInstance().setSettings(
+      LocationHierarchyCacheSettings.from(config()));
+    CalendarCache.getInstance().setSettings(CalendarCacheSettings.from(config()));
+    LoanPolicyCache.getInstance().setSettings(LoanPolicyCacheSettings.from(config()));
+
+    // the share of the stage timings of check out, check in and renewal logged
+    ServerTiming.setLogSampleRate(Double.parseDouble(
+      config().getString("serverTimingLogSampleRate", "0")));
+
     new CheckOutByBarcodeResource("/circulation/check-out-by-barcode",
       client, new RegularCheckOutStrategy()).register(router);
     new CheckOutByBarcodeResource("/circulation/override-check-out-by-barcode",
@@ -73,21 +123,50 @@ public class CirculationVerticle extends AbstractVerticle {
       .register(router);
     new CirculationRulesResource("/circulation/rules", client)
       .register(router);
+
+    AbstractCirculationRulesEngineResource.setEngineType(
+      CirculationRulesEngineType.from(config().getString("circulationRulesEngine")));
+    AbstractCirculationRulesEngineResource.setPolicyCacheSize(
+      config().getInteger("circulationRulesCacheSize", 10000));
+    AbstractCirculationRulesEngineResource.setMaxBatchSize(
+      config().getInteger("circulationRulesMaxBatchSize", 1000));
+
+    // without a consistency check interval the rules are polled every few seconds
+    Integer consistencyCheckSeconds = config().getInteger("circulationRulesConsistencyCheckSeconds");
+    if (consistencyCheckSeconds != null) {
+      CirculationRulesCache.getInstance().usePushInvalidation(
+        TimeUnit.SECONDS.toMillis(consistencyCheckSeconds));
+    }
+    CirculationRulesCache.getInstance().setCompiledRulesDirectory(
+      config().getString("circulationRulesCompiledDirectory"));
+
     new LoanCirculationRulesEngineResource(
       "/circulation/rules/loan-policy",
       "/circulation/rules/loan-policy-all",
+      "/circulation/rules/loan-policy-batch",
        client)
         .register(router);
     new RequestCirculationRulesEngineResource(
       "/circulation/rules/request-policy",
       "/circulation/rules/request-policy-all",
+      "/circulation/rules/request-policy-batch",
        client)
         .register(router);
     new NoticeCirculationRulesEngineResource(
       "/circulation/rules/notice-policy",
       "/circulation/rules/notice-policy-all",
+      "/circulation/rules/notice-policy-batch",
         client)
         .register(router);
+    new PoliciesCirculationRulesEngineResource("/circulation/rules/policies", client)
+      .register(router);
+
+    // the rules engine resources are registered above, the policy repositories
+    // can apply the circulation rules without a request via Okapi
+    CirculationRulesCache.getInstance().setInProcessEvaluation(Boolean.parseBoolean(
+      config().getString("circulationRulesInProcess", "true")));
+
+    new AdminResource(client).register(router);
 
     new DueDateScheduledNoticeProcessingResource(client).register(router);
     new DueDateNotRealTimeScheduledNoticeProcessingResource(client).register(router);
@@ -110,6 +189,9 @@ public class CirculationVerticle extends AbstractVerticle {
 
     log.info("Stopping circulation module");
 
+    HttpClientStatistics.getInstance().addPool(-maxPoolSize);
+    maxPoolSize = 0;
+
     if(server != null) {
       server.close(result -> {
         if (result.succeeded()) {
@@ -64,12 +64,83 @@ public class Launcher {
 
     JsonObject config = new JsonObject();
     write(config, "port", port);
+    write(config, "circulationRulesEngine", System.getProperty("circulation.rules.engine"));
+    write(config, "circulationRulesCacheSize", Integer.getInteger("circulation.rules.cache.size"));
+    write(config, "circulationRulesInProcess", System.getProperty("circulation.rules.in-process"));
+    write(config, "circulationRulesConsistencyCheckSeconds",
+      Integer.getInteger("circulation.rules.consistency-check.seconds"));
+    write(config, "circulationRulesCompiledDirectory",
+      System.getProperty("circulation.rules.compiled.dir"));
+    write(config, "jsonPrettyPrint", System.getProperty("circulation.json.pretty"));
+    write(config, "storageGetCoalescing", System.getProperty("circulation.storage.coalesce-gets"));
+    write(config, "serverTimingLogSampleRate",
+      System.getProperty("circulation.server-timing.log-sample-rate"));
+    writeHttpClientSettings(config);
+    writeCircuitBreakerSettings(config);
+    writeReferenceDataCacheSettings(config);
+    write(config, "locationHierarchyCache",
+      System.getProperty("circulation.location-hierarchy.cache"));
+    write(config, "locationHierarchyCacheRefreshSeconds",
+      Integer.getInteger("circulation.location-hierarchy.cache.refresh.seconds"));
+    write(config, "locationHierarchyCacheReloadSeconds",
+      Integer.getInteger("circulation.location-hierarchy.cache.reload.seconds"));
+    write(config, "calendarCache", System.getProperty("circulation.calendar.cache"));
+    write(config, "calendarCacheDays", Integer.getInteger("circulation.calendar.cache.days"));
+    write(config, "calendarCacheRefreshSeconds",
+      Integer.getInteger("circulation.calendar.cache.refresh.seconds"));
+    write(config, "loanPolicyCache", System.getProperty("circulation.loan-policy.cache"));
+    write(config, "loanPolicyCacheTimeToLiveSeconds",
+      Integer.getInteger("circulation.loan-policy.cache.ttl.seconds"));
+
+    // the verticle instances share the server port and the circulation rules
+    int instances = Integer.getInteger("circulation.verticle.instances", 1);
 
     CompletableFuture<String> deployed =
-      vertxAssistant.deployVerticle(CirculationVerticle.class, config);
+      vertxAssistant.deployVerticle(CirculationVerticle.class, config, instances);
 
     return deployed
       .thenApply(result -> moduleDeploymentId = result)
       .thenAccept(result -> log.info("Server Started"));
   }
+
+  private static void writeHttpClientSettings(JsonObject config) {
+    write(config, "httpClientMaxPoolSize", Integer.getInteger("circulation.http.pool.size"));
+    write(config, "httpClientMaxWaitQueueSize",
+      Integer.getInteger("circulation.http.wait-queue.size"));
+    write(config, "httpClientKeepAlive", System.getProperty("circulation.http.keep-alive"));
+    write(config, "httpClientPipelining", System.getProperty("circulation.http.pipelining"));
+    write(config, "httpClientIdleTimeoutSeconds",
+      Integer.getInteger("circulation.http.idle-timeout.seconds"));
+    write(config, "httpClientTimeout", Integer.getInteger("circulation.http.timeout"));
+    write(config, "httpClientGetTimeout", Integer.getInteger("circulation.http.timeout.get"));
+    write(config, "httpClientPutTimeout", Integer.getInteger("circulation.http.timeout.put"));
+    write(config, "httpClientPostTimeout", Integer.getInteger("circulation.http.timeout.post"));
+    write(config, "httpClientDeleteTimeout",
+      Integer.getInteger("circulation.http.timeout.delete"));
+    write(config, "httpClientEndpointTimeouts",
+      System.getProperty("circulation.http.endpoint-timeouts"));
+  }
+
+  private static void writeCircuitBreakerSettings(JsonObject config) {
+    write(config, "storageCircuitBreaker",
+      System.getProperty("circulation.storage.circuit-breaker"));
+    write(config, "storageCircuitBreakerFailureThreshold",
+      Integer.getInteger("circulation.storage.circuit-breaker.failure-threshold"));
+    write(config, "storageCircuitBreakerOpenSeconds",
+      Integer.getInteger("circulation.storage.circuit-breaker.open.seconds"));
+    write(config, "storageGetRetries", Integer.getInteger("circulation.storage.get.retries"));
+    write(config, "storageGetRetryDelayMilliseconds",
+      Integer.getInteger("circulation.storage.get.retry-delay.milliseconds"));
+  }
+
+  private static void writeReferenceDataCacheSettings(JsonObject config) {
+    write(config, "referenceDataCache",
+      System.getProperty("circulation.reference-data.cache"));
+    write(config, "referenceDataCacheTimeToLiveSeconds",
+      Integer.getInteger("circulation.reference-data.cache.ttl.seconds"));
+    write(config, "referenceDataCacheSize",
+      Integer.getInteger("circulation.reference-data.cache.size"));
+    write(config, "referenceDataCacheRecordTypes",
+      System.getProperty("circulation.reference-data.cache.record-types"));
+  }
 }
@@ -0,0 +1,207 @@
+package org.folio.circulation.domain;
+
+import static java.util.Arrays.asList;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.folio.circulation.AdjacentOpeningDays;
+import org.folio.circulation.support.ClockManager;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.http.client.Response;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The opening days of each service point for the days ahead, so that the
+ * opening days adjacent to a due date need not be calculated by the calendar
+ * for every check out and renewal.
+ * <p>
+ * The opening days of a service point from a week ago until the configured
+ * number of days ahead are fetched in the background when they are first
+ * needed, on behalf of the request that needed them without counting
+ * towards or failing it, and again after the refresh interval. Requests for
+ * dates outside of them, or for which the adjacent open days are not among
+ * them, ask the calendar as before.
+ * <p>
+ * It is disabled by default, all module instances share a single instance.
+ */
+public class CalendarCache {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  private static final CalendarCache instance =
+    new CalendarCache(System::currentTimeMillis);
+
+  static final int DAYS_BEFORE = 7;
+
+  private final LongSupplier clock;
+  private final Map<List<String>, ServicePointCalendar> servicePoints =
+    new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private volatile CalendarCacheSettings settings = CalendarCacheSettings.defaults();
+
+  private static final class ServicePointCalendar {
+    volatile OpeningPeriods openingPeriods;
+    volatile long fetchedAt;
+    volatile long nextAttemptAt = 0;
+    final AtomicBoolean fetching = new AtomicBoolean(false);
+  }
+
+  CalendarCache(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  public static CalendarCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replacing the settings removes the opening days of all service points
+   */
+  public void setSettings(CalendarCacheSettings settings) {
+    this.settings = settings;
+    servicePoints.clear();
+  }
+
+  public CalendarCacheSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * The opening days are fetched or refreshed in the background when needed
+   *
+   * @param clients  the clients of the current request
+   * @return the opening days adjacent to the requested date, null when
+   *         disabled or they are not known at this time
+   */
+  public AdjacentOpeningDays lookupOpeningDays(Clients clients,
+    LocalDate requestedDate, String servicePointId) {
+
+    final CalendarCacheSettings currentSettings = settings;
+
+    if (!currentSettings.isEnabled() || servicePointId == null) {
+      return null;
+    }
+
+    final ServicePointCalendar calendar = servicePoints.computeIfAbsent(
+      asList(String.valueOf(clients.getTenantId()), servicePointId),
+      key -> new ServicePointCalendar());
+
+    final OpeningPeriods current = calendar.openingPeriods;
+
+    fetchWhenNeeded(clients, servicePointId, calendar, currentSettings);
+
+    final AdjacentOpeningDays openingDays = current == null
+      ? null
+      : current.getAdjacentOpeningDays(requestedDate).orElse(null);
+
+    (openingDays == null ? misses : hits).incrementAndGet();
+
+    return openingDays;
+  }
+
+  private void fetchWhenNeeded(Clients clients, String servicePointId,
+    ServicePointCalendar calendar, CalendarCacheSettings currentSettings) {
+
+    final long now = clock.getAsLong();
+
+    if (now < calendar.nextAttemptAt || !calendar.fetching.compareAndSet(false, true)) {
+      return;
+    }
+
+    calendar.nextAttemptAt = now + currentSettings.getRefreshInMilliseconds();
+
+    final LocalDate today = ClockManager.getClockManager().getDateTime().toLocalDate();
+    final LocalDate from = today.minusDays(DAYS_BEFORE);
+    final LocalDate to = today.plusDays(currentSettings.getDays());
+
+    // the current request does not wait for the opening days, a failure to
+    // fetch them is not a failure of it, the fetch is not completed then
+    final Clients background = clients.detached(failure -> {
+      log.warn("Failed to fetch opening days of service point {}",
+        servicePointId, failure);
+      calendar.fetching.set(false);
+    });
+
+    fetch(background, servicePointId, from, to)
+      .whenComplete((response, failure) -> {
+        try {
+          if (failure != null) {
+            log.warn("Failed to fetch opening days of service point {}",
+              servicePointId, failure);
+          }
+          else if (response.getStatusCode() != 200) {
+            log.warn("Failed to fetch opening days of service point {}: {} {}",
+              servicePointId, response.getStatusCode(), response.getBody());
+          }
+          else {
+            calendar.openingPeriods = OpeningPeriods.from(response.getJson(), from, to);
+            calendar.fetchedAt = now;
+          }
+        }
+        catch (Exception e) {
+          log.warn("Failed to read opening days of service point {}",
+            servicePointId, e);
+        }
+        finally {
+          calendar.fetching.set(false);
+        }
+      });
+  }
+
+  private static CompletableFuture<Response> fetch(Clients clients,
+    String servicePointId, LocalDate from, LocalDate to) {
+
+    // closed days are not included, each open day has a single period
+    final int limit = Days.daysBetween(from, to).getDays() + 1;
+
+    return clients.calendarStorageClient().getManyWithRawQueryStringParameters(
+      String.format(
+        "servicePointId=%s&startDate=%s&endDate=%s&includeClosedDays=false&actualOpening=true&limit=%d",
+        servicePointId, from, to, limit));
+  }
+
+  /**
+   * @return the settings, hits and misses, and for each tenant and service
+   *         point the dates of the opening days known and when they were fetched
+   */
+  public JsonObject getStatistics() {
+    final JsonObject tenants = new JsonObject();
+
+    servicePoints.forEach((key, calendar) -> {
+      final OpeningPeriods openingPeriods = calendar.openingPeriods;
+
+      if (openingPeriods == null) {
+        return;
+      }
+
+      final String tenantId = key.get(0);
+
+      if (!tenants.containsKey(tenantId)) {
+        tenants.put(tenantId, new JsonObject());
+      }
+
+      tenants.getJsonObject(tenantId).put(key.get(1), new JsonObject()
+        .put("from", openingPeriods.getFrom().toString())
+        .put("to", openingPeriods.getTo().toString())
+        .put("openDays", openingPeriods.getNumberOfOpenDays())
+        .put("fetchedAt", calendar.fetchedAt));
+    });
+
+    return new JsonObject()
+      .put("settings", settings.toJson())
+      .put("hits", hits.get())
+      .put("misses", misses.get())
+      .put("tenants", tenants);
+  }
+}
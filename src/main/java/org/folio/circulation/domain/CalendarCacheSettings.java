@@ -0,0 +1,63 @@
+package org.folio.circulation.domain;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Settings of the cache of the opening days of each service point, read
+ * from the verticle configuration.
+ * <p>
+ * The opening days from a week ago until the number of days ahead are
+ * fetched, and again after the refresh interval.
+ */
+public class CalendarCacheSettings {
+  private static final int DEFAULT_DAYS = 180;
+  private static final long DEFAULT_REFRESH_SECONDS = 3600;
+
+  private final boolean enabled;
+  private final int days;
+  private final long refreshInMilliseconds;
+
+  public CalendarCacheSettings(
+    boolean enabled,
+    int days,
+    long refreshInMilliseconds) {
+
+    this.enabled = enabled;
+    this.days = days;
+    this.refreshInMilliseconds = refreshInMilliseconds;
+  }
+
+  public static CalendarCacheSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   */
+  public static CalendarCacheSettings from(JsonObject config) {
+    return new CalendarCacheSettings(
+      Boolean.parseBoolean(config.getString("calendarCache", "false")),
+      config.getInteger("calendarCacheDays", DEFAULT_DAYS),
+      config.getLong("calendarCacheRefreshSeconds", DEFAULT_REFRESH_SECONDS) * 1000);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getDays() {
+    return days;
+  }
+
+  public long getRefreshInMilliseconds() {
+    return refreshInMilliseconds;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("days", days)
+      .put("refreshSeconds", refreshInMilliseconds / 1000);
+  }
+}
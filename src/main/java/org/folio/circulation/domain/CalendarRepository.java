@@ -1,6 +1,8 @@
 package org.folio.circulation.domain;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.domain.OpeningDay.createClosedDay;
+import static org.folio.circulation.support.Result.succeeded;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
 
 import java.util.Collections;
@@ -24,14 +26,23 @@ public class CalendarRepository {
   private static final String OPENING_DAYS = "openingDays";
   private static final String PATH_PARAM_WITH_QUERY = "%s/calculateopening?requestedDate=%s";
 
+  private final Clients clients;
   private final CollectionResourceClient calendarClient;
 
   public CalendarRepository(Clients clients) {
+    this.clients = clients;
     this.calendarClient = clients.calendarStorageClient();
   }
 
 
   public CompletableFuture<Result<AdjacentOpeningDays>> lookupOpeningDays(LocalDate requestedDate, String servicePointId) {
+    final AdjacentOpeningDays cached = CalendarCache.getInstance()
+      .lookupOpeningDays(clients, requestedDate, servicePointId);
+
+    if (cached != null) {
+      return completedFuture(succeeded(cached));
+    }
+
     String path = String.format(PATH_PARAM_WITH_QUERY, servicePointId, requestedDate);
 
     //TODO: Validation error should have parameters
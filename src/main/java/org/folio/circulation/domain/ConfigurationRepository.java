@@ -9,6 +9,7 @@ import java.util.function.Function;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.CqlQuery;
+import org.folio.circulation.support.ReferenceDataCache;
 import org.folio.circulation.support.Result;
 import org.joda.time.DateTimeZone;
 
@@ -40,8 +41,8 @@ public class ConfigurationRepository {
   private <T> CompletableFuture<Result<T>> lookupConfigurations(Result<CqlQuery> cqlQueryResult,
                                                                 Function<MultipleRecords<Configuration>, T> searchStrategy) {
 
-    return cqlQueryResult
-      .after(query -> configurationClient.getMany(query, DEFAULT_PAGE_LIMIT))
+    return ReferenceDataCache.getInstance()
+      .getMany(configurationClient, cqlQueryResult, DEFAULT_PAGE_LIMIT)
       .thenApply(result -> result.next(response -> from(response, Configuration::new, CONFIGS_KEY)))
       .thenApply(result -> result.map(searchStrategy));
   }
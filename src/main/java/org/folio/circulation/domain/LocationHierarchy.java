@@ -0,0 +1,236 @@
+package org.folio.circulation.domain;
+
+import static org.folio.circulation.support.JsonPropertyFetcher.getNestedStringProperty;
+import static org.folio.circulation.support.JsonPropertyFetcher.getProperty;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The locations of a tenant at one point in time, each joined to its library,
+ * campus, institution and primary service point, so that they can be looked
+ * up without fetching the related records.
+ * <p>
+ * It is not changed once created, the records that changed are merged into
+ * a new one. Deleted records cannot be seen in the changes, they are only
+ * removed when all records are loaded again. Each lookup returns copies of
+ * the records.
+ */
+public class LocationHierarchy {
+  public enum RecordType {
+    LOCATIONS("locations"),
+    LIBRARIES("loclibs"),
+    CAMPUSES("loccamps"),
+    INSTITUTIONS("locinsts"),
+    SERVICE_POINTS("servicepoints");
+
+    private final String recordsPropertyName;
+
+    RecordType(String recordsPropertyName) {
+      this.recordsPropertyName = recordsPropertyName;
+    }
+
+    public String getRecordsPropertyName() {
+      return recordsPropertyName;
+    }
+  }
+
+  private static final class JoinedLocation {
+    final JsonObject location;
+    final JsonObject library;
+    final JsonObject campus;
+    final JsonObject institution;
+    final JsonObject primaryServicePoint;
+
+    JoinedLocation(
+      JsonObject location,
+      JsonObject library,
+      JsonObject campus,
+      JsonObject institution,
+      JsonObject primaryServicePoint) {
+
+      this.location = location;
+      this.library = library;
+      this.campus = campus;
+      this.institution = institution;
+      this.primaryServicePoint = primaryServicePoint;
+    }
+  }
+
+  private final Map<RecordType, Map<String, JsonObject>> records;
+  private final Map<RecordType, String> lastUpdatedDates;
+  private final Map<String, JoinedLocation> locations;
+  private final long loadedAt;
+  private final long refreshedAt;
+
+  private LocationHierarchy(
+    Map<RecordType, Map<String, JsonObject>> records,
+    Map<RecordType, String> lastUpdatedDates,
+    long loadedAt,
+    long refreshedAt) {
+
+    this.records = records;
+    this.lastUpdatedDates = lastUpdatedDates;
+    this.loadedAt = loadedAt;
+    this.refreshedAt = refreshedAt;
+    this.locations = join(records);
+  }
+
+  /**
+   * @param records  all records of each type
+   * @param loadedAt  when the records were fetched, in milliseconds
+   */
+  public static LocationHierarchy loaded(
+    Map<RecordType, ? extends Collection<JsonObject>> records,
+    long loadedAt) {
+
+    return new LocationHierarchy(new EnumMap<>(RecordType.class),
+      new EnumMap<>(RecordType.class), loadedAt, loadedAt)
+      .withChanges(records, loadedAt, loadedAt);
+  }
+
+  /**
+   * @param changed  the records of each type that changed since the last
+   *                 updated date of that type
+   * @param refreshedAt  when the changed records were fetched, in milliseconds
+   */
+  public LocationHierarchy refreshed(
+    Map<RecordType, ? extends Collection<JsonObject>> changed,
+    long refreshedAt) {
+
+    return withChanges(changed, loadedAt, refreshedAt);
+  }
+
+  private LocationHierarchy withChanges(
+    Map<RecordType, ? extends Collection<JsonObject>> changed,
+    long loadedAt,
+    long refreshedAt) {
+
+    final Map<RecordType, Map<String, JsonObject>> merged = new EnumMap<>(RecordType.class);
+    final Map<RecordType, String> updatedDates = new EnumMap<>(lastUpdatedDates);
+
+    for (RecordType type : RecordType.values()) {
+      final Map<String, JsonObject> ofType = new HashMap<>(
+        records.getOrDefault(type, Collections.emptyMap()));
+
+      final Collection<JsonObject> changedOfType = changed.containsKey(type)
+        ? changed.get(type)
+        : Collections.emptyList();
+
+      for (JsonObject record : changedOfType) {
+        final String id = getProperty(record, "id");
+
+        if (id != null) {
+          ofType.put(id, record);
+        }
+
+        final String updatedDate = getNestedStringProperty(record, "metadata", "updatedDate");
+
+        if (updatedDate != null && (updatedDates.get(type) == null
+          || updatedDate.compareTo(updatedDates.get(type)) > 0)) {
+
+          updatedDates.put(type, updatedDate);
+        }
+      }
+
+      merged.put(type, Collections.unmodifiableMap(ofType));
+    }
+
+    return new LocationHierarchy(merged, updatedDates, loadedAt, refreshedAt);
+  }
+
+  private static Map<String, JoinedLocation> join(
+    Map<RecordType, Map<String, JsonObject>> records) {
+
+    final Map<String, JsonObject> libraries = ofType(records, RecordType.LIBRARIES);
+    final Map<String, JsonObject> campuses = ofType(records, RecordType.CAMPUSES);
+    final Map<String, JsonObject> institutions = ofType(records, RecordType.INSTITUTIONS);
+    final Map<String, JsonObject> servicePoints = ofType(records, RecordType.SERVICE_POINTS);
+
+    final Map<String, JoinedLocation> joined = new HashMap<>();
+
+    ofType(records, RecordType.LOCATIONS).forEach((id, location) ->
+      joined.put(id, new JoinedLocation(location,
+        related(libraries, location, "libraryId"),
+        related(campuses, location, "campusId"),
+        related(institutions, location, "institutionId"),
+        related(servicePoints, location, "primaryServicePoint"))));
+
+    return joined;
+  }
+
+  private static Map<String, JsonObject> ofType(
+    Map<RecordType, Map<String, JsonObject>> records, RecordType type) {
+
+    return records.getOrDefault(type, Collections.emptyMap());
+  }
+
+  private static JsonObject related(Map<String, JsonObject> records,
+    JsonObject location, String idPropertyName) {
+
+    final String id = getProperty(location, idPropertyName);
+
+    return id == null ? null : records.get(id);
+  }
+
+  /**
+   * @return the location joined to its library, campus and institution,
+   *         null when it or any of them is not known, so that it is fetched
+   *         as a whole instead
+   */
+  public Location getLocation(String locationId) {
+    final JoinedLocation joined = locationId == null ? null : locations.get(locationId);
+
+    if (joined == null || joined.library == null || joined.campus == null
+      || joined.institution == null) {
+
+      return null;
+    }
+
+    return new Location(joined.location.copy(), copy(joined.library),
+      copy(joined.campus), copy(joined.institution));
+  }
+
+  /**
+   * @return the primary service point of the location, null when either
+   *         is not known
+   */
+  public ServicePoint getPrimaryServicePoint(String locationId) {
+    final JoinedLocation joined = locationId == null ? null : locations.get(locationId);
+
+    if (joined == null || joined.primaryServicePoint == null) {
+      return null;
+    }
+
+    return new ServicePoint(joined.primaryServicePoint.copy());
+  }
+
+  /**
+   * @return the most recent updated date of the records of the type,
+   *         null when none of them have one
+   */
+  public String getLastUpdatedDate(RecordType type) {
+    return lastUpdatedDates.get(type);
+  }
+
+  public long getLoadedAt() {
+    return loadedAt;
+  }
+
+  public long getRefreshedAt() {
+    return refreshedAt;
+  }
+
+  public int size(RecordType type) {
+    return ofType(records, type).size();
+  }
+
+  private static JsonObject copy(JsonObject representation) {
+    return representation == null ? null : representation.copy();
+  }
+}
@@ -0,0 +1,269 @@
+package org.folio.circulation.domain;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
+import static org.folio.circulation.support.Result.succeeded;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.folio.circulation.domain.LocationHierarchy.RecordType;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.CollectionResourceClient;
+import org.folio.circulation.support.CqlQuery;
+import org.folio.circulation.support.CqlSortBy;
+import org.folio.circulation.support.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The locations of each tenant, joined to their library, campus, institution
+ * and primary service point, so that looking up the location of an item
+ * needs no requests to other modules.
+ * <p>
+ * All locations, location units and service points of a tenant are fetched
+ * page by page when they are first needed. The records that changed since
+ * then, by their updated date, are fetched after the refresh interval and
+ * all of them again after the reload interval. Refreshing cannot tell that
+ * a record was deleted, so deleted records are still used until the next
+ * reload. They are fetched in the background on behalf of the request that
+ * needed them, without counting towards or failing it. That request and
+ * those after it use the locations known at that time, and fetch locations
+ * that are not known yet as before.
+ * <p>
+ * It is disabled by default, all module instances share a single instance.
+ */
+public class LocationHierarchyCache {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  private static final LocationHierarchyCache instance =
+    new LocationHierarchyCache(System::currentTimeMillis);
+
+  static final int PAGE_SIZE = 1000;
+
+  private final LongSupplier clock;
+  private final Map<String, TenantLocations> tenants = new ConcurrentHashMap<>();
+  private volatile LocationHierarchyCacheSettings settings =
+    LocationHierarchyCacheSettings.defaults();
+
+  private static final class TenantLocations {
+    volatile LocationHierarchy hierarchy;
+    volatile long nextAttemptAt = 0;
+    final AtomicBoolean fetching = new AtomicBoolean(false);
+  }
+
+  LocationHierarchyCache(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  public static LocationHierarchyCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replacing the settings removes the locations of all tenants
+   */
+  public void setSettings(LocationHierarchyCacheSettings settings) {
+    this.settings = settings;
+    tenants.clear();
+  }
+
+  public LocationHierarchyCacheSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * The locations are fetched or refreshed in the background when needed
+   *
+   * @param clients  the clients of the current request, the locations are
+   *                 fetched with clients detached from it
+   * @return the locations of the tenant of the request known at this time,
+   *         null when disabled or before they have been fetched
+   */
+  public LocationHierarchy forTenant(Clients clients) {
+    final LocationHierarchyCacheSettings currentSettings = settings;
+
+    if (!currentSettings.isEnabled()) {
+      return null;
+    }
+
+    final String tenantId = clients.getTenantId();
+
+    final TenantLocations tenant = tenants.computeIfAbsent(
+      String.valueOf(tenantId), key -> new TenantLocations());
+
+    final LocationHierarchy current = tenant.hierarchy;
+    final long now = clock.getAsLong();
+
+    if (now >= tenant.nextAttemptAt && tenant.fetching.compareAndSet(false, true)) {
+      tenant.nextAttemptAt = now + currentSettings.getRefreshInMilliseconds();
+
+      final boolean reload = current == null
+        || now - current.getLoadedAt() >= currentSettings.getReloadInMilliseconds();
+
+      // the current request does not wait for the locations, a failure to
+      // fetch them is not a failure of it, the fetch is not completed then
+      final Clients background = clients.detached(failure -> {
+        log.warn("Failed to fetch locations of {}", tenantId, failure);
+        tenant.fetching.set(false);
+      });
+
+      (reload ? load(background, now) : refresh(background, current, now))
+        .whenComplete((result, failure) -> {
+          if (failure != null) {
+            log.warn("Failed to fetch locations of {}", tenantId, failure);
+          }
+          else if (result.failed()) {
+            log.warn("Failed to fetch locations of {}: {}", tenantId,
+              result.cause());
+          }
+          else {
+            tenant.hierarchy = result.value();
+          }
+
+          tenant.fetching.set(false);
+        });
+    }
+
+    return current;
+  }
+
+  private CompletableFuture<Result<LocationHierarchy>> load(Clients clients, long now) {
+    log.info("Fetching all locations of {}", clients.getTenantId());
+
+    return fetchEachType(clients, type -> CqlQuery.matchAll())
+      .thenApply(r -> r.map(records -> LocationHierarchy.loaded(records, now)));
+  }
+
+  private CompletableFuture<Result<LocationHierarchy>> refresh(Clients clients,
+    LocationHierarchy current, long now) {
+
+    return fetchEachType(clients, type -> changedSince(current.getLastUpdatedDate(type)))
+      .thenApply(r -> r.map(changed -> current.refreshed(changed, now)));
+  }
+
+  private static Result<CqlQuery> changedSince(String updatedDate) {
+    // records updated at the same time as the last one are fetched again
+    return updatedDate == null
+      ? CqlQuery.matchAll()
+      : CqlQuery.greaterThanOrEqualTo("metadata.updatedDate", updatedDate);
+  }
+
+  private interface QueryForType {
+    Result<CqlQuery> queryFor(RecordType type);
+  }
+
+  private CompletableFuture<Result<Map<RecordType, List<JsonObject>>>> fetchEachType(
+    Clients clients, QueryForType query) {
+
+    final Map<RecordType, CompletableFuture<Result<List<JsonObject>>>> fetched =
+      new EnumMap<>(RecordType.class);
+
+    for (RecordType type : RecordType.values()) {
+      fetched.put(type, fetchAll(clientFor(clients, type),
+        type.getRecordsPropertyName(),
+        query.queryFor(type).map(q -> q.sortBy(CqlSortBy.ascending("id"))),
+        0, new ArrayList<>()));
+    }
+
+    return CompletableFuture.allOf(fetched.values().toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> {
+        final Map<RecordType, List<JsonObject>> records = new EnumMap<>(RecordType.class);
+
+        for (Map.Entry<RecordType, CompletableFuture<Result<List<JsonObject>>>> entry
+          : fetched.entrySet()) {
+
+          final Result<List<JsonObject>> result = entry.getValue().join();
+
+          if (result.failed()) {
+            return Result.<Map<RecordType, List<JsonObject>>>failed(result.cause());
+          }
+
+          records.put(entry.getKey(), result.value());
+        }
+
+        return succeeded(records);
+      });
+  }
+
+  /**
+   * Fetch the records matching the query page by page
+   */
+  private static CompletableFuture<Result<List<JsonObject>>> fetchAll(
+    CollectionResourceClient client,
+    String recordsPropertyName,
+    Result<CqlQuery> query,
+    int offset,
+    List<JsonObject> fetched) {
+
+    return query.after(q -> client.getMany(q, PAGE_SIZE, offset))
+      .thenApply(r -> r.next(response ->
+        MultipleRecords.from(response, identity(), recordsPropertyName)))
+      .thenCompose(r -> r.after(page -> {
+        fetched.addAll(page.getRecords());
+
+        if (page.getRecords().size() < PAGE_SIZE) {
+          return completedFuture(succeeded(fetched));
+        }
+
+        return fetchAll(client, recordsPropertyName, query,
+          offset + PAGE_SIZE, fetched);
+      }));
+  }
+
+  private static CollectionResourceClient clientFor(Clients clients, RecordType type) {
+    switch (type) {
+      case LOCATIONS:
+        return clients.locationsStorage();
+      case LIBRARIES:
+        return clients.librariesStorage();
+      case CAMPUSES:
+        return clients.campusesStorage();
+      case INSTITUTIONS:
+        return clients.institutionsStorage();
+      case SERVICE_POINTS:
+        return clients.servicePointsStorage();
+      default:
+        throw new IllegalArgumentException("Unknown location record type: " + type);
+    }
+  }
+
+  /**
+   * @return the settings and for each tenant the number of records of
+   *         each type and when they were fetched
+   */
+  public JsonObject getStatistics() {
+    final JsonObject tenantStatistics = new JsonObject();
+
+    tenants.forEach((tenantId, tenant) -> {
+      final LocationHierarchy hierarchy = tenant.hierarchy;
+
+      if (hierarchy == null) {
+        return;
+      }
+
+      final JsonObject counts = new JsonObject();
+
+      for (RecordType type : RecordType.values()) {
+        counts.put(type.getRecordsPropertyName(), hierarchy.size(type));
+      }
+
+      tenantStatistics.put(tenantId, new JsonObject()
+        .put("records", counts)
+        .put("loadedAt", hierarchy.getLoadedAt())
+        .put("refreshedAt", hierarchy.getRefreshedAt()));
+    });
+
+    return new JsonObject()
+      .put("settings", settings.toJson())
+      .put("tenants", tenantStatistics);
+  }
+}
@@ -0,0 +1,66 @@
+package org.folio.circulation.domain;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Settings of the cache of the locations of each tenant, read from the
+ * verticle configuration.
+ * <p>
+ * The locations, location units and service points that changed are
+ * fetched again after the refresh interval, all of them after the reload
+ * interval so that deleted records are removed.
+ */
+public class LocationHierarchyCacheSettings {
+  private static final long DEFAULT_REFRESH_SECONDS = 60;
+  private static final long DEFAULT_RELOAD_SECONDS = 3600;
+
+  private final boolean enabled;
+  private final long refreshInMilliseconds;
+  private final long reloadInMilliseconds;
+
+  public LocationHierarchyCacheSettings(
+    boolean enabled,
+    long refreshInMilliseconds,
+    long reloadInMilliseconds) {
+
+    this.enabled = enabled;
+    this.refreshInMilliseconds = refreshInMilliseconds;
+    this.reloadInMilliseconds = reloadInMilliseconds;
+  }
+
+  public static LocationHierarchyCacheSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   */
+  public static LocationHierarchyCacheSettings from(JsonObject config) {
+    return new LocationHierarchyCacheSettings(
+      Boolean.parseBoolean(config.getString("locationHierarchyCache", "false")),
+      config.getLong("locationHierarchyCacheRefreshSeconds",
+        DEFAULT_REFRESH_SECONDS) * 1000,
+      config.getLong("locationHierarchyCacheReloadSeconds",
+        DEFAULT_RELOAD_SECONDS) * 1000);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getRefreshInMilliseconds() {
+    return refreshInMilliseconds;
+  }
+
+  public long getReloadInMilliseconds() {
+    return reloadInMilliseconds;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("refreshSeconds", refreshInMilliseconds / 1000)
+      .put("reloadSeconds", reloadInMilliseconds / 1000);
+  }
+}
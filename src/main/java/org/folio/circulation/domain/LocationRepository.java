@@ -1,6 +1,7 @@
 package org.folio.circulation.domain;
 
 import static java.util.Objects.isNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 
@@ -9,6 +10,7 @@ import static org.folio.circulation.support.Result.succeeded;
 import static org.folio.circulation.support.ResultBinding.mapResult;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -28,16 +30,19 @@ public class LocationRepository {
   private CollectionResourceClient institutionsStorageClient;
   private CollectionResourceClient campusesStorageClient;
   private CollectionResourceClient librariesStorageClient;
+  private Clients clients;
 
   private LocationRepository(CollectionResourceClient locationsStorageClient,
                              CollectionResourceClient institutionsStorageClient,
                              CollectionResourceClient campusesStorageClient,
-                             CollectionResourceClient librariesStorageClient) {
+                             CollectionResourceClient librariesStorageClient,
+                             Clients clients) {
 
     this.locationsStorageClient = locationsStorageClient;
     this.institutionsStorageClient = institutionsStorageClient;
     this.campusesStorageClient = campusesStorageClient;
     this.librariesStorageClient = librariesStorageClient;
+    this.clients = clients;
   }
 
   public static LocationRepository using(Clients clients) {
@@ -45,7 +50,8 @@ public class LocationRepository {
       clients.locationsStorage(),
       clients.institutionsStorage(),
       clients.campusesStorage(),
-      clients.librariesStorage()
+      clients.librariesStorage(),
+      clients
     );
   }
 
@@ -54,6 +60,17 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
+    final LocationHierarchy hierarchy = LocationHierarchyCache.getInstance()
+      .forTenant(clients);
+
+    final Location cached = hierarchy == null
+      ? null
+      : hierarchy.getLocation(item.getLocationId());
+
+    if (cached != null) {
+      return completedFuture(succeeded(cached));
+    }
+
     return SingleRecordFetcher.json(locationsStorageClient, "location",
       response -> succeeded(null))
       .fetch(item.getLocationId())
@@ -66,18 +83,67 @@ public class LocationRepository {
   public CompletableFuture<Result<Map<String, Location>>> getLocations(
     Collection<Item> inventoryRecords) {
 
+    final LocationHierarchy hierarchy = LocationHierarchyCache.getInstance()
+      .forTenant(clients);
+
+    final Map<String, Location> cached = new HashMap<>();
+
     List<String> locationIds = inventoryRecords.stream()
       .map(Item::getLocationId)
       .filter(StringUtils::isNotBlank)
       .distinct()
+      .filter(id -> !addCachedLocation(hierarchy, id, cached))
       .collect(Collectors.toList());
 
+    if (locationIds.isEmpty()) {
+      return completedFuture(succeeded(cached));
+    }
+
     final MultipleRecordFetcher<Location> fetcher = new MultipleRecordFetcher<>(
       locationsStorageClient, "locations", Location::from);
 
     return fetcher.findByIds(locationIds)
       .thenCompose(this::loadLibrariesForLocations)
-      .thenApply(mapResult(sds -> sds.toMap(Location::getId)));
+      .thenApply(mapResult(sds -> sds.toMap(Location::getId)))
+      .thenApply(mapResult(fetched -> {
+        fetched.putAll(cached);
+        return fetched;
+      }));
+  }
+
+  /**
+   * @return whether the location is known in the cached hierarchy
+   */
+  private static boolean addCachedLocation(LocationHierarchy hierarchy,
+    String locationId, Map<String, Location> cached) {
+
+    final Location location = hierarchy == null
+      ? null
+      : hierarchy.getLocation(locationId);
+
+    if (location == null) {
+      return false;
+    }
+
+    cached.put(locationId, location);
+    return true;
+  }
+
+  /**
+   * @return the primary service point of the location when the location
+   *         hierarchy is cached, otherwise null
+   */
+  public ServicePoint getCachedPrimaryServicePoint(Location location) {
+    if (isNull(location)) {
+      return null;
+    }
+
+    final LocationHierarchy hierarchy = LocationHierarchyCache.getInstance()
+      .forTenant(clients);
+
+    return hierarchy == null
+      ? null
+      : hierarchy.getPrimaryServicePoint(location.getId());
   }
 
   private CompletableFuture<Result<Location>> loadLibrary(Location location) {
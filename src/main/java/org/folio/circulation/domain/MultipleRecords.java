@@ -14,6 +14,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.folio.circulation.support.Result;
+import org.folio.circulation.support.http.client.MappedArray;
 import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.http.client.ResponseInterpreter;
 
@@ -41,10 +42,15 @@ public class MultipleRecords<T> {
     String recordsPropertyName) {
 
     return new ResponseInterpreter<MultipleRecords<T>>()
-      .flatMapOn(200, r -> from(r.getJson(), mapper, recordsPropertyName))
+      .flatMapOn(200, r -> from(r.mapArray(recordsPropertyName, mapper)))
       .apply(response);
   }
 
+  public static <T> Result<MultipleRecords<T>> from(MappedArray<T> mapped) {
+    return succeeded(new MultipleRecords<>(mapped.getRecords(),
+      mapped.getOtherProperties().getInteger(TOTAL_RECORDS_PROPERTY_NAME)));
+  }
+
   public static <T> Result<MultipleRecords<T>> from(JsonObject representation,
                                                     Function<JsonObject, T> mapper,
                                                     String recordsPropertyName) {
@@ -0,0 +1,123 @@
+package org.folio.circulation.domain;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.folio.circulation.AdjacentOpeningDays;
+import org.joda.time.LocalDate;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The opening days of a service point between two dates, from which the
+ * opening days adjacent to a date in between are found without asking the
+ * calendar.
+ * <p>
+ * Days without an opening period are closed. The previous and next days are
+ * the closest open days before and after the requested date, as the calendar
+ * calculates them, when either is not between the dates they are not known.
+ */
+public class OpeningPeriods {
+  private static final String OPENING_PERIODS = "openingPeriods";
+  private static final String OPENING_DAY = "openingDay";
+  private static final String DATE = "date";
+
+  private final LocalDate from;
+  private final LocalDate to;
+  private final NavigableMap<LocalDate, OpeningDay> openDays;
+
+  private OpeningPeriods(LocalDate from, LocalDate to,
+    NavigableMap<LocalDate, OpeningDay> openDays) {
+
+    this.from = from;
+    this.to = to;
+    this.openDays = openDays;
+  }
+
+  /**
+   * @param representation  the opening periods of each day between the dates
+   *                        with exceptions applied
+   * @param from  the first date that was requested
+   * @param to  the last date that was requested
+   */
+  public static OpeningPeriods from(JsonObject representation,
+    LocalDate from, LocalDate to) {
+
+    final NavigableMap<LocalDate, OpeningDay> openDays = new TreeMap<>();
+    final JsonArray periods = representation.getJsonArray(OPENING_PERIODS, new JsonArray());
+
+    for (int index = 0; index < periods.size(); index++) {
+      final OpeningDay day = toOpeningDay(periods.getJsonObject(index));
+
+      if (day.getDate() != null && day.getOpen()) {
+        openDays.put(day.getDate(), day);
+      }
+    }
+
+    // when not all periods were returned, only the dates up to the last are known
+    final Integer totalRecords = representation.getInteger("totalRecords");
+
+    final LocalDate knownTo = totalRecords != null && totalRecords > periods.size()
+      && !openDays.isEmpty()
+      ? openDays.lastKey()
+      : to;
+
+    return new OpeningPeriods(from, knownTo, openDays);
+  }
+
+  private static OpeningDay toOpeningDay(JsonObject period) {
+    final JsonObject openingDay = period.getJsonObject(OPENING_DAY, new JsonObject());
+
+    if (openingDay.getString(DATE) == null && period.getString(DATE) != null) {
+      return new OpeningDay(new JsonObject().put(OPENING_DAY,
+        openingDay.copy().put(DATE, period.getString(DATE))), OPENING_DAY);
+    }
+
+    return new OpeningDay(new JsonObject().put(OPENING_DAY, openingDay), OPENING_DAY);
+  }
+
+  /**
+   * @return the previous open day, the requested day and the next open day,
+   *         empty when the requested date is not between the dates or either
+   *         of the open days is not known
+   */
+  public Optional<AdjacentOpeningDays> getAdjacentOpeningDays(LocalDate requestedDate) {
+    if (!includes(requestedDate)) {
+      return Optional.empty();
+    }
+
+    final Map.Entry<LocalDate, OpeningDay> previous = openDays.lowerEntry(requestedDate);
+    final Map.Entry<LocalDate, OpeningDay> next = openDays.higherEntry(requestedDate);
+
+    if (previous == null || next == null || next.getKey().isAfter(to)) {
+      return Optional.empty();
+    }
+
+    final OpeningDay requested = openDays.containsKey(requestedDate)
+      ? openDays.get(requestedDate)
+      : OpeningDay.createOpeningDay(Collections.emptyList(), requestedDate, false, false);
+
+    return Optional.of(new AdjacentOpeningDays(previous.getValue(), requested,
+      next.getValue()));
+  }
+
+  public boolean includes(LocalDate date) {
+    return date != null && !date.isBefore(from) && !date.isAfter(to);
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public int getNumberOfOpenDays() {
+    return openDays.size();
+  }
+}
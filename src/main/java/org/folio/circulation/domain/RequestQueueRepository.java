@@ -21,7 +21,11 @@ public class RequestQueueRepository {
   }
 
   public static RequestQueueRepository using(Clients clients) {
-    return new RequestQueueRepository(RequestRepository.using(clients));
+    return using(RequestRepository.using(clients));
+  }
+
+  public static RequestQueueRepository using(RequestRepository requestRepository) {
+    return new RequestQueueRepository(requestRepository);
   }
 
   public CompletableFuture<Result<LoanAndRelatedRecords>> get(
@@ -33,9 +33,11 @@ public class UpdateRequestQueue {
   }
 
   public static UpdateRequestQueue using(Clients clients) {
+    final RequestRepository requestRepository = RequestRepository.using(clients);
+
     return new UpdateRequestQueue(
-      RequestQueueRepository.using(clients),
-      RequestRepository.using(clients),
+      RequestQueueRepository.using(requestRepository),
+      requestRepository,
       new ServicePointRepository(clients));
   }
 
@@ -1,8 +1,6 @@
 package org.folio.circulation.domain.policy;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
-import static org.folio.circulation.support.Result.failed;
-import static org.folio.circulation.support.Result.succeeded;
 import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
 
 import java.lang.invoke.MethodHandles;
@@ -14,11 +12,8 @@ import org.folio.circulation.domain.Request;
 import org.folio.circulation.domain.User;
 import org.folio.circulation.support.CirculationRulesClient;
 import org.folio.circulation.support.CollectionResourceClient;
-import org.folio.circulation.support.ForwardOnFailure;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
-import org.folio.circulation.support.http.client.Response;
-import org.folio.circulation.support.http.client.ResponseHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,8 +66,6 @@ public abstract class CirculationPolicyRepository<T> {
   }
 
   private CompletableFuture<Result<String>> lookupPolicyId(Item item, User user) {
-    CompletableFuture<Result<String>> findLoanPolicyCompleted = new CompletableFuture<>();
-
     if (item.isNotFound()) {
       return completedFuture(failedDueToServerError(
         "Unable to apply circulation rules for unknown item"));
@@ -88,34 +81,13 @@ public abstract class CirculationPolicyRepository<T> {
     String materialTypeId = item.getMaterialTypeId();
     String patronGroupId = user.getPatronGroupId();
 
-    CompletableFuture<Response> circulationRulesResponse = new CompletableFuture<>();
-
     log.info(
       "Applying circulation rules for material type: {}, patron group: {}, loan type: {}, location: {}",
       materialTypeId, patronGroupId, loanTypeId, locationId);
 
-    circulationRulesClient.applyRules(loanTypeId, locationId, materialTypeId,
-      patronGroupId, ResponseHandler.any(circulationRulesResponse));
-
-    circulationRulesResponse.thenAcceptAsync(response -> {
-      if (response.getStatusCode() == 404) {
-        findLoanPolicyCompleted.complete(failedDueToServerError(
-          "Unable to apply circulation rules"));
-      } else if (response.getStatusCode() != 200) {
-        findLoanPolicyCompleted.complete(failed(
-          new ForwardOnFailure(response)));
-      } else {
-        log.info("Rules response {}", response.getBody());
-
-        String policyId = fetchPolicyId(response.getJson());
-
-        log.info("Policy to fetch based upon rules {}", policyId);
-
-        findLoanPolicyCompleted.complete(succeeded(policyId));
-      }
-    });
-
-    return findLoanPolicyCompleted;
+    return circulationRulesClient.applyRules(loanTypeId, locationId,
+      materialTypeId, patronGroupId)
+      .thenApply(result -> result.map(this::fetchPolicyId));
   }
 
   protected abstract String getPolicyNotFoundErrorMessage(String policyId);
@@ -3,25 +3,108 @@ package org.folio.circulation.domain.policy;
 import static org.folio.circulation.support.JsonPropertyFetcher.getProperty;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.folio.circulation.support.JsonArrayHelper;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.http.server.ValidationError;
 import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.vertx.core.json.JsonObject;
 
+/**
+ * The schedules are read once when created, the start and end of every
+ * schedule are the boundaries of the periods between them, and for each
+ * boundary and each period between two boundaries the first schedule
+ * (in the order given) that applies is determined up front. A date is then
+ * looked up by a binary search of the boundaries, rather than reading every
+ * schedule for every check out and renewal.
+ */
 public class FixedDueDateSchedules {
-  private final List<JsonObject> schedules;
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int NO_SCHEDULE = -1;
+
   private final String id;
+  private final int numberOfSchedules;
+  private final DateTime[] dueDates;
+  private final long[] boundaries;
+  private final int[] scheduleAtBoundary;
+  private final int[] scheduleAfterBoundary;
 
   FixedDueDateSchedules(String id, List<JsonObject> schedules) {
     this.id = id;
-    this.schedules = schedules;
+    this.numberOfSchedules = schedules.size();
+
+    final long[] allFrom = new long[numberOfSchedules];
+    final long[] allTo = new long[numberOfSchedules];
+    final DateTime[] allDueDates = new DateTime[numberOfSchedules];
+    int valid = 0;
+
+    // a schedule that cannot be read does not apply to any date, the others
+    // are still used
+    for (JsonObject schedule : schedules) {
+      try {
+        final long from = parse(schedule, "from").getMillis();
+        final long to = parse(schedule, "to").getMillis();
+        final DateTime due = parse(schedule, "due");
+
+        allFrom[valid] = from;
+        allTo[valid] = to;
+        allDueDates[valid] = due;
+        valid++;
+      }
+      catch (IllegalArgumentException | ClassCastException e) {
+        log.warn("Ignoring invalid schedule {} of fixed due date schedules {}: {}",
+          schedule.encode(), id, e.getMessage());
+      }
+    }
+
+    final long[] from = Arrays.copyOf(allFrom, valid);
+    final long[] to = Arrays.copyOf(allTo, valid);
+
+    dueDates = Arrays.copyOf(allDueDates, valid);
+
+    boundaries = distinctBoundaries(from, to);
+    scheduleAtBoundary = new int[boundaries.length];
+    scheduleAfterBoundary = new int[boundaries.length];
+
+    Arrays.fill(scheduleAtBoundary, NO_SCHEDULE);
+    Arrays.fill(scheduleAfterBoundary, NO_SCHEDULE);
+
+    // a date within a schedule is after its start and before its end, so
+    // a schedule applies to the boundaries in between and the periods after
+    // each boundary from its start until the one before its end. Later
+    // schedules are applied first, so that earlier ones take precedence
+    // when they overlap
+    for (int index = dueDates.length - 1; index >= 0; index--) {
+      final int start = Arrays.binarySearch(boundaries, from[index]);
+      final int end = Arrays.binarySearch(boundaries, to[index]);
+
+      for (int boundary = start; boundary < end; boundary++) {
+        scheduleAfterBoundary[boundary] = index;
+
+        if (boundary > start) {
+          scheduleAtBoundary[boundary] = index;
+        }
+      }
+    }
+  }
+
+  private static DateTime parse(JsonObject schedule, String propertyName) {
+    final String value = schedule.getString(propertyName);
+
+    if (value == null) {
+      throw new IllegalArgumentException(propertyName + " is missing");
+    }
+
+    return DateTime.parse(value);
   }
 
   static FixedDueDateSchedules from(JsonObject representation) {
@@ -34,32 +117,49 @@ public class FixedDueDateSchedules {
   }
 
   public Optional<DateTime> findDueDateFor(DateTime date) {
-    return findScheduleFor(date)
-      .map(this::getDueDate);
-  }
+    final int schedule = findScheduleFor(date.getMillis());
 
-  private Optional<JsonObject> findScheduleFor(DateTime date) {
-    return schedules
-      .stream()
-      .filter(isWithin(date))
-      .findFirst();
+    return schedule == NO_SCHEDULE
+      ? Optional.empty()
+      : Optional.of(dueDates[schedule]);
   }
 
-  private Predicate<? super JsonObject> isWithin(DateTime date) {
-    return schedule -> {
-      DateTime from = DateTime.parse(schedule.getString("from"));
-      DateTime to = DateTime.parse(schedule.getString("to"));
+  private int findScheduleFor(long date) {
+    final int position = Arrays.binarySearch(boundaries, date);
+
+    if (position >= 0) {
+      return scheduleAtBoundary[position];
+    }
+
+    // the boundary before the date, if there is one
+    final int previous = -position - 2;
 
-      return date.isAfter(from) && date.isBefore(to);
-    };
+    return previous < 0
+      ? NO_SCHEDULE
+      : scheduleAfterBoundary[previous];
   }
 
-  private DateTime getDueDate(JsonObject schedule) {
-    return DateTime.parse(schedule.getString("due"));
+  private static long[] distinctBoundaries(long[] from, long[] to) {
+    final long[] all = new long[from.length + to.length];
+
+    System.arraycopy(from, 0, all, 0, from.length);
+    System.arraycopy(to, 0, all, from.length, to.length);
+
+    Arrays.sort(all);
+
+    int distinct = 0;
+
+    for (int index = 0; index < all.length; index++) {
+      if (distinct == 0 || all[index] != all[distinct - 1]) {
+        all[distinct++] = all[index];
+      }
+    }
+
+    return Arrays.copyOf(all, distinct);
   }
 
   public boolean isEmpty() {
-    return schedules.isEmpty();
+    return numberOfSchedules == 0;
   }
 
   Result<DateTime> truncateDueDate(
@@ -5,8 +5,8 @@ import static org.folio.circulation.domain.RequestType.RECALL;
 import static org.folio.circulation.support.JsonPropertyFetcher.getBooleanProperty;
 import static org.folio.circulation.support.JsonPropertyFetcher.getIntegerProperty;
 import static org.folio.circulation.support.JsonPropertyFetcher.getNestedIntegerProperty;
-import static org.folio.circulation.support.JsonPropertyFetcher.getNestedObjectProperty;
 import static org.folio.circulation.support.JsonPropertyFetcher.getNestedStringProperty;
+import static org.folio.circulation.support.JsonPropertyFetcher.getObjectProperty;
 import static org.folio.circulation.support.JsonPropertyFetcher.getProperty;
 import static org.folio.circulation.support.Result.succeeded;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
@@ -32,15 +32,50 @@ import org.joda.time.DateTime;
 
 import io.vertx.core.json.JsonObject;
 
+/**
+ * A loan policy, the properties needed to calculate due dates are read from
+ * the representation once when it is created, and the due date strategy for
+ * check out is created once as well.
+ * <p>
+ * It is not changed once created, so a policy and its schedules can be
+ * shared between requests, e.g. by the {@link LoanPolicyCache}.
+ */
 public class LoanPolicy {
   private static final String LOANS_POLICY_KEY = "loansPolicy";
+  private static final String RENEWALS_POLICY_KEY = "renewalsPolicy";
   private static final String PERIOD_KEY = "period";
+  private static final String OPENING_TIME_OFFSET_KEY = "openingTimeOffset";
+  private static final String MINIMUM_GUARANTEED_LOAN_PERIOD_KEY = "minimumGuaranteedLoanPeriod";
+  private static final String RECALL_RETURN_INTERVAL_KEY = "recallReturnInterval";
   private static final String RENEWAL_WOULD_NOT_CHANGE_THE_DUE_DATE = "renewal would not change the due date";
 
   private final JsonObject representation;
   private final FixedDueDateSchedules fixedDueDateSchedules;
   private final FixedDueDateSchedules alternateRenewalFixedDueDateSchedules;
 
+  private final String id;
+  private final String name;
+  private final String updatedDate;
+  private final boolean loanable;
+  private final boolean renewable;
+  private final boolean hasLoansPolicy;
+  private final String profileId;
+  private final Period loanPeriod;
+  private final Period renewalPeriod;
+  private final String renewFrom;
+  private final boolean differentPeriod;
+  private final boolean unlimitedRenewals;
+  private final Integer renewalLimit;
+  private final DueDateManagement dueDateManagement;
+  private final LoanPolicyPeriod periodInterval;
+  private final LoanPolicyPeriod offsetPeriodInterval;
+  private final Integer offsetPeriodDuration;
+  private final String loansFixedDueDateScheduleId;
+  private final String alternateRenewalsFixedDueDateScheduleId;
+  private final Period minimumGuaranteedLoanPeriod;
+  private final Period recallReturnInterval;
+  private final DueDateStrategy checkOutStrategy;
+
   private LoanPolicy(JsonObject representation) {
     this(representation,
       new NoFixedDueDateSchedules(),
@@ -55,6 +90,41 @@ public class LoanPolicy {
     this.representation = representation;
     this.fixedDueDateSchedules = fixedDueDateSchedules;
     this.alternateRenewalFixedDueDateSchedules = alternateRenewalFixedDueDateSchedules;
+
+    final JsonObject loansPolicy = representation.getJsonObject(LOANS_POLICY_KEY);
+    final JsonObject renewalsPolicy = representation.getJsonObject(RENEWALS_POLICY_KEY);
+    final JsonObject recalls = representation
+      .getJsonObject("requestManagement", new JsonObject())
+      .getJsonObject("recalls", new JsonObject());
+
+    this.id = representation.getString("id");
+    this.name = representation.getString("name");
+    this.updatedDate = getNestedStringProperty(representation, "metadata", "updatedDate");
+    this.loanable = getBooleanProperty(representation, "loanable");
+    this.renewable = getBooleanProperty(representation, "renewable");
+    this.hasLoansPolicy = loansPolicy != null;
+    this.profileId = loansPolicy == null ? null : loansPolicy.getString("profileId");
+    this.differentPeriod = getBooleanProperty(renewalsPolicy, "differentPeriod");
+    this.loanPeriod = getPeriod(loansPolicy);
+    this.renewalPeriod = differentPeriod ? getPeriod(renewalsPolicy) : loanPeriod;
+    this.renewFrom = getProperty(renewalsPolicy, "renewFromId");
+    this.unlimitedRenewals = getBooleanProperty(renewalsPolicy, "unlimited");
+    this.renewalLimit = getIntegerProperty(renewalsPolicy, "numberAllowed", 0);
+    this.dueDateManagement = loansPolicy == null
+      ? DueDateManagement.KEEP_THE_CURRENT_DUE_DATE_TIME
+      : DueDateManagement.getDueDateManagement(
+        loansPolicy.getString("closedLibraryDueDateManagementId"));
+    this.periodInterval = getLoanPolicyPeriod(loansPolicy, PERIOD_KEY);
+    this.offsetPeriodInterval = getLoanPolicyPeriod(loansPolicy, OPENING_TIME_OFFSET_KEY);
+    this.offsetPeriodDuration = getDuration(loansPolicy, OPENING_TIME_OFFSET_KEY);
+    this.loansFixedDueDateScheduleId = getProperty(loansPolicy, "fixedDueDateScheduleId");
+    this.alternateRenewalsFixedDueDateScheduleId = getProperty(renewalsPolicy,
+      "alternateFixedDueDateScheduleId");
+    this.minimumGuaranteedLoanPeriod = getRecallPeriod(recalls,
+      MINIMUM_GUARANTEED_LOAN_PERIOD_KEY);
+    this.recallReturnInterval = getRecallPeriod(recalls, RECALL_RETURN_INTERVAL_KEY);
+
+    this.checkOutStrategy = determineStrategy(false, null);
   }
 
   public static LoanPolicy from(JsonObject representation) {
@@ -67,7 +137,7 @@ public class LoanPolicy {
 
   //TODO: make this have similar signature to renew
   public Result<DateTime> calculateInitialDueDate(Loan loan) {
-    return determineStrategy(false, null).calculateDueDate(loan);
+    return checkOutStrategy.calculateDueDate(loan);
   }
 
   public Result<Loan> renew(Loan loan, DateTime systemDate, RequestQueue requestQueue) {
@@ -203,7 +273,7 @@ public class LoanPolicy {
   }
 
   private boolean isNotRenewable() {
-    return !getBooleanProperty(representation, "renewable");
+    return !renewable;
   }
 
   private void errorWhenReachedRenewalLimit(Loan loan, List<ValidationError> errors) {
@@ -236,35 +306,32 @@ public class LoanPolicy {
   }
 
   public boolean unlimitedRenewals() {
-    return getBooleanProperty(getRenewalsPolicy(), "unlimited");
+    return unlimitedRenewals;
   }
 
   public Integer getRenewalLimit() {
-    return getIntegerProperty(getRenewalsPolicy(), "numberAllowed", 0);
+    return renewalLimit;
   }
 
   private DueDateStrategy determineStrategy(boolean isRenewal, DateTime systemDate) {
-    final JsonObject loansPolicy = getLoansPolicy();
-    final JsonObject renewalsPolicy = getRenewalsPolicy();
-
     //TODO: Temporary until have better logic for missing loans policy
-    if(loansPolicy == null) {
+    if(!hasLoansPolicy) {
       return new UnknownDueDateStrategy(getId(), getName(), "", isRenewal,
         this::loanPolicyValidationError);
     }
 
-    if(isRolling(loansPolicy)) {
+    if(isRolling()) {
       if(isRenewal) {
         return new RollingRenewalDueDateStrategy(getId(), getName(),
-          systemDate, getRenewFrom(), getRenewalPeriod(loansPolicy, renewalsPolicy),
+          systemDate, renewFrom, renewalPeriod,
           getRenewalDueDateLimitSchedules(), this::loanPolicyValidationError);
       }
       else {
         return new RollingCheckOutDueDateStrategy(getId(), getName(),
-          getPeriod(loansPolicy), fixedDueDateSchedules, this::loanPolicyValidationError);
+          loanPeriod, fixedDueDateSchedules, this::loanPolicyValidationError);
       }
     }
-    else if(isFixed(loansPolicy)) {
+    else if(isFixed()) {
       if(isRenewal) {
         return new FixedScheduleRenewalDueDateStrategy(getId(), getName(),
           getRenewalFixedDueDateSchedules(), systemDate, this::loanPolicyValidationError);
@@ -276,20 +343,12 @@ public class LoanPolicy {
     }
     else {
       return new UnknownDueDateStrategy(getId(), getName(),
-        getProfileId(loansPolicy), isRenewal, this::loanPolicyValidationError);
+        profileId, isRenewal, this::loanPolicyValidationError);
     }
   }
 
-  private JsonObject getLoansPolicy() {
-    return representation.getJsonObject(LOANS_POLICY_KEY);
-  }
-
-  private JsonObject getRenewalsPolicy() {
-    return representation.getJsonObject("renewalsPolicy");
-  }
-
   private FixedDueDateSchedules getRenewalDueDateLimitSchedules() {
-    if(useDifferentPeriod()) {
+    if(differentPeriod) {
       if(Objects.isNull(alternateRenewalFixedDueDateSchedules)
         || alternateRenewalFixedDueDateSchedules instanceof NoFixedDueDateSchedules)
         return fixedDueDateSchedules;
@@ -302,57 +361,42 @@ public class LoanPolicy {
     }
   }
 
-  private Period getRenewalPeriod(
-    JsonObject loansPolicy,
-    JsonObject renewalsPolicy) {
-
-    return useDifferentPeriod()
-      ? getPeriod(renewalsPolicy)
-      : getPeriod(loansPolicy);
-  }
-
-  private Period getPeriod(JsonObject policy) {
+  private static Period getPeriod(JsonObject policy) {
     return getPeriod(policy, PERIOD_KEY);
   }
 
-  private Period getPeriod(JsonObject policy, String periodKey) {
+  private static Period getPeriod(JsonObject policy, String periodKey) {
     String interval = getNestedStringProperty(policy, periodKey, "intervalId");
     Integer duration = getNestedIntegerProperty(policy, periodKey, "duration");
     return Period.from(duration, interval);
   }
 
-  private boolean useDifferentPeriod() {
-    return getBooleanProperty(getRenewalsPolicy(), "differentPeriod");
-  }
-
-  private String getRenewFrom() {
-    return getProperty(getRenewalsPolicy(), "renewFromId");
+  private static Period getRecallPeriod(JsonObject recalls, String periodKey) {
+    return recalls.containsKey(periodKey)
+      ? getPeriod(recalls, periodKey)
+      : null;
   }
 
   private FixedDueDateSchedules getRenewalFixedDueDateSchedules() {
-    return useDifferentPeriod()
+    return differentPeriod
       ? alternateRenewalFixedDueDateSchedules
       : fixedDueDateSchedules;
   }
 
-  private String getProfileId(JsonObject loansPolicy) {
-    return loansPolicy.getString("profileId");
-  }
-
   public String getName() {
-    return representation.getString("name");
+    return name;
   }
 
-  private boolean isFixed(JsonObject loansPolicy) {
-    return isProfile(loansPolicy, "Fixed");
+  private boolean isFixed() {
+    return isProfile("Fixed");
   }
 
-  private boolean isRolling(JsonObject loansPolicy) {
-    return isProfile(loansPolicy, "Rolling");
+  private boolean isRolling() {
+    return isProfile("Rolling");
   }
 
-  private boolean isProfile(JsonObject loansPolicy, String profileId) {
-    return StringUtils.equalsIgnoreCase(getProfileId(loansPolicy), profileId);
+  private boolean isProfile(String expectedProfileId) {
+    return StringUtils.equalsIgnoreCase(profileId, expectedProfileId);
   }
 
   LoanPolicy withDueDateSchedules(FixedDueDateSchedules loanSchedules) {
@@ -375,7 +419,7 @@ public class LoanPolicy {
   }
 
   public boolean isLoanable() {
-    return getBooleanProperty(representation, "loanable");
+    return loanable;
   }
 
   public boolean isNotLoanable() {
@@ -391,34 +435,27 @@ public class LoanPolicy {
   }
 
   public DueDateManagement getDueDateManagement() {
-    JsonObject loansPolicyObj = representation.getJsonObject(LOANS_POLICY_KEY);
-    if (Objects.isNull(loansPolicyObj)) {
-      return DueDateManagement.KEEP_THE_CURRENT_DUE_DATE_TIME;
-    }
-
-    String dateManagementId = loansPolicyObj.getString("closedLibraryDueDateManagementId");
-    return DueDateManagement.getDueDateManagement(dateManagementId);
+    return dueDateManagement;
   }
 
   public LoanPolicyPeriod getPeriodInterval() {
-    return getPeriod(PERIOD_KEY);
+    return periodInterval;
   }
 
   public int getOffsetPeriodDuration() {
-    return getDuration("openingTimeOffset");
+    return offsetPeriodDuration;
   }
 
   public LoanPolicyPeriod getOffsetPeriodInterval() {
-    return getPeriod("openingTimeOffset");
+    return offsetPeriodInterval;
   }
 
-  private LoanPolicyPeriod getPeriod(String val) {
-    JsonObject loansPolicyObj = representation.getJsonObject(LOANS_POLICY_KEY);
-    if (Objects.isNull(loansPolicyObj)) {
+  private static LoanPolicyPeriod getLoanPolicyPeriod(JsonObject loansPolicy, String val) {
+    if (Objects.isNull(loansPolicy)) {
       return LoanPolicyPeriod.INCORRECT;
     }
 
-    JsonObject period = loansPolicyObj.getJsonObject(val);
+    JsonObject period = loansPolicy.getJsonObject(val);
     if (Objects.isNull(period)) {
       return LoanPolicyPeriod.INCORRECT;
     }
@@ -427,8 +464,12 @@ public class LoanPolicy {
     return LoanPolicyPeriod.getProfileByName(intervalId);
   }
 
-  private int getDuration(String propertyName) {
-    JsonObject period = getNestedObjectProperty(representation, LOANS_POLICY_KEY, propertyName);
+  /**
+   * @return the duration of the period, 0 when there is no period and null
+   *         when the period has no duration
+   */
+  private static Integer getDuration(JsonObject loansPolicy, String propertyName) {
+    JsonObject period = getObjectProperty(loansPolicy, propertyName);
 
     if (Objects.isNull(period)) {
       return 0;
@@ -438,25 +479,27 @@ public class LoanPolicy {
   }
 
   public String getId() {
-    return representation.getString("id");
+    return id;
+  }
+
+  String getUpdatedDate() {
+    return updatedDate;
   }
 
   String getLoansFixedDueDateScheduleId() {
-    return getProperty(getLoansPolicy(), "fixedDueDateScheduleId");
+    return loansFixedDueDateScheduleId;
   }
 
   String getAlternateRenewalsFixedDueDateScheduleId() {
-    return getProperty(getRenewalsPolicy(), "alternateFixedDueDateScheduleId");
+    return alternateRenewalsFixedDueDateScheduleId;
   }
 
   public Optional<DateTime> getScheduleLimit(DateTime loanDate, boolean isRenewal, DateTime systemDate) {
-    final JsonObject loansPolicy = getLoansPolicy();
-
-    if(loansPolicy == null) {
+    if(!hasLoansPolicy) {
       return Optional.empty();
     }
 
-    if(isRolling(loansPolicy)) {
+    if(isRolling()) {
       if(isRenewal) {
         return getRenewalDueDateLimitSchedules().findDueDateFor(loanDate);
       }
@@ -464,7 +507,7 @@ public class LoanPolicy {
         return fixedDueDateSchedules.findDueDateFor(loanDate);
       }
     }
-    else if(isFixed(loansPolicy)) {
+    else if(isFixed()) {
       if(isRenewal) {
         return getRenewalFixedDueDateSchedules().findDueDateFor(systemDate);
       }
@@ -478,18 +521,14 @@ public class LoanPolicy {
   }
 
   public Result<Loan> recall(Loan loan) {
-    final JsonObject recalls = representation
-        .getJsonObject("requestManagement", new JsonObject())
-        .getJsonObject("recalls", new JsonObject());
-
     final Result<DateTime> minimumDueDateResult =
-        getDueDate("minimumGuaranteedLoanPeriod", recalls,
+        getDueDate(MINIMUM_GUARANTEED_LOAN_PERIOD_KEY, minimumGuaranteedLoanPeriod,
             loan.getLoanDate(), null);
 
     final DateTime systemDate = ClockManager.getClockManager().getDateTime();
 
     final Result<DateTime> recallDueDateResult =
-        getDueDate("recallReturnInterval", recalls, systemDate, systemDate);
+        getDueDate(RECALL_RETURN_INTERVAL_KEY, recallReturnInterval, systemDate, systemDate);
 
     final List<ValidationError> errors = new ArrayList<>();
 
@@ -522,14 +561,14 @@ public class LoanPolicy {
 
   private Result<DateTime> getDueDate(
     String key,
-    JsonObject representation,
+    Period period,
     DateTime initialDateTime,
     DateTime defaultDateTime) {
 
     final Result<DateTime> result;
 
-    if (representation.containsKey(key)) {
-      result = getPeriod(representation, key).addTo(initialDateTime,
+    if (period != null) {
+      result = period.addTo(initialDateTime,
           () -> loanPolicyValidationError(format("the \"%s\" in the loan policy is not recognized", key)),
           interval -> loanPolicyValidationError(format("the interval \"%s\" in \"%s\" is not recognized", interval, key)),
           duration -> loanPolicyValidationError(format("the duration \"%s\" in \"%s\" is invalid", duration, key)));
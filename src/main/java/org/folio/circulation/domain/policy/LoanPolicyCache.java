@@ -0,0 +1,170 @@
+package org.folio.circulation.domain.policy;
+
+import static java.util.Arrays.asList;
+import static org.folio.circulation.support.JsonPropertyFetcher.getNestedStringProperty;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.circulation.support.LruCache;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Loan policies and fixed due date schedules of each tenant as read from
+ * their representations, so that a policy or schedule that has not changed
+ * is not read again for every check out and renewal.
+ * <p>
+ * Policies and schedules are cached separately, each identified by its ID
+ * and used as long as its own updated date has not changed, for the time
+ * to live. The representations are still fetched, so a changed schedule is
+ * used even when its policy has not changed. It is disabled by default, all
+ * module instances share a single instance.
+ */
+public class LoanPolicyCache {
+  private static final LoanPolicyCache instance = new LoanPolicyCache();
+
+  private volatile LoanPolicyCacheSettings settings = LoanPolicyCacheSettings.defaults();
+  private volatile LruCache<List<String>, LoanPolicy> policies = createCache(settings);
+  private volatile LruCache<List<String>, CachedSchedules> schedules = createCache(settings);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong scheduleHits = new AtomicLong();
+  private final AtomicLong scheduleMisses = new AtomicLong();
+
+  private static final class CachedSchedules {
+    final String updatedDate;
+    final FixedDueDateSchedules schedules;
+
+    CachedSchedules(String updatedDate, FixedDueDateSchedules schedules) {
+      this.updatedDate = updatedDate;
+      this.schedules = schedules;
+    }
+  }
+
+  LoanPolicyCache() { }
+
+  public static LoanPolicyCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replacing the settings removes all cached policies and schedules
+   */
+  public void setSettings(LoanPolicyCacheSettings settings) {
+    this.settings = settings;
+    this.policies = createCache(settings);
+    this.schedules = createCache(settings);
+  }
+
+  public LoanPolicyCacheSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * @param representation  the policy as fetched
+   * @return the policy without its schedules, null when disabled, not cached
+   *         or the policy has changed since
+   */
+  LoanPolicy get(String tenantId, JsonObject representation) {
+    if (!settings.isEnabled()) {
+      return null;
+    }
+
+    final LoanPolicy cached = policies.getIfPresent(
+      key(tenantId, representation.getString("id")));
+
+    if (cached == null || !Objects.equals(cached.getUpdatedDate(),
+      getNestedStringProperty(representation, "metadata", "updatedDate"))) {
+
+      misses.incrementAndGet();
+      return null;
+    }
+
+    hits.incrementAndGet();
+    return cached;
+  }
+
+  /**
+   * @param loanPolicy  the policy without its schedules
+   * @return the policy
+   */
+  LoanPolicy put(String tenantId, LoanPolicy loanPolicy) {
+    if (settings.isEnabled() && loanPolicy.getId() != null) {
+      policies.put(key(tenantId, loanPolicy.getId()), loanPolicy);
+    }
+
+    return loanPolicy;
+  }
+
+  /**
+   * @param representation  the schedules as fetched
+   * @return the cached schedules when they have not changed since, otherwise
+   *         the schedules read from the representation, cached when enabled
+   */
+  FixedDueDateSchedules getSchedules(String tenantId, JsonObject representation) {
+    if (!settings.isEnabled() || representation.getString("id") == null) {
+      return FixedDueDateSchedules.from(representation);
+    }
+
+    final List<String> key = key(tenantId, representation.getString("id"));
+    final String updatedDate = getNestedStringProperty(representation,
+      "metadata", "updatedDate");
+
+    final CachedSchedules cached = schedules.getIfPresent(key);
+
+    if (cached != null && Objects.equals(cached.updatedDate, updatedDate)) {
+      scheduleHits.incrementAndGet();
+      return cached.schedules;
+    }
+
+    scheduleMisses.incrementAndGet();
+
+    final FixedDueDateSchedules read = FixedDueDateSchedules.from(representation);
+
+    schedules.put(key, new CachedSchedules(updatedDate, read));
+
+    return read;
+  }
+
+  /**
+   * Remove the policies and schedules of all tenants, the counters are kept
+   *
+   * @return the number of policies and schedules removed
+   */
+  public int flush() {
+    final int removed = policies.size() + schedules.size();
+
+    policies.clear();
+    schedules.clear();
+
+    return removed;
+  }
+
+  /**
+   * @return the settings, the number of policies cached, hits and misses,
+   *         and the same for the schedules
+   */
+  public JsonObject getStatistics() {
+    return new JsonObject()
+      .put("settings", settings.toJson())
+      .put("size", policies.size())
+      .put("hits", hits.get())
+      .put("misses", misses.get())
+      .put("schedules", new JsonObject()
+        .put("size", schedules.size())
+        .put("hits", scheduleHits.get())
+        .put("misses", scheduleMisses.get()));
+  }
+
+  private static List<String> key(String tenantId, String policyId) {
+    return asList(String.valueOf(tenantId), policyId);
+  }
+
+  private static <V> LruCache<List<String>, V> createCache(
+    LoanPolicyCacheSettings settings) {
+
+    return new LruCache<>(settings.getMaxSize(), settings.getTimeToLiveInMilliseconds());
+  }
+}
@@ -0,0 +1,64 @@
+package org.folio.circulation.domain.policy;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Settings of the cache of loan policies with their fixed due date
+ * schedules, read from the verticle configuration.
+ * <p>
+ * Policies that have not changed are used for the time to live, so that
+ * changes to their schedules are used after that time at the latest.
+ */
+public class LoanPolicyCacheSettings {
+  private static final long DEFAULT_TIME_TO_LIVE_SECONDS = 300;
+  private static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final boolean enabled;
+  private final long timeToLiveInMilliseconds;
+  private final int maxSize;
+
+  public LoanPolicyCacheSettings(
+    boolean enabled,
+    long timeToLiveInMilliseconds,
+    int maxSize) {
+
+    this.enabled = enabled;
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+    this.maxSize = maxSize;
+  }
+
+  public static LoanPolicyCacheSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   */
+  public static LoanPolicyCacheSettings from(JsonObject config) {
+    return new LoanPolicyCacheSettings(
+      Boolean.parseBoolean(config.getString("loanPolicyCache", "false")),
+      config.getLong("loanPolicyCacheTimeToLiveSeconds",
+        DEFAULT_TIME_TO_LIVE_SECONDS) * 1000,
+      config.getInteger("loanPolicyCacheSize", DEFAULT_MAX_SIZE));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getTimeToLiveInMilliseconds() {
+    return timeToLiveInMilliseconds;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("timeToLiveSeconds", timeToLiveInMilliseconds / 1000)
+      .put("maxSize", maxSize);
+  }
+}
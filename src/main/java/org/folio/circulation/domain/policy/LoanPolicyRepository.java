@@ -28,10 +28,12 @@ import io.vertx.core.json.JsonObject;
 public class LoanPolicyRepository extends CirculationPolicyRepository<LoanPolicy> {
 
   private final CollectionResourceClient fixedDueDateSchedulesStorageClient;
+  private final String tenantId;
 
   public LoanPolicyRepository(Clients clients) {
-    super(clients.circulationLoanRules(), clients.loanPoliciesStorage());
+    super(clients.circulationRules(), clients.loanPoliciesStorage());
     this.fixedDueDateSchedulesStorageClient = clients.fixedDueDateSchedules();
+    this.tenantId = clients.getTenantId();
   }
 
   public CompletableFuture<Result<LoanAndRelatedRecords>> lookupLoanPolicy(
@@ -130,7 +132,8 @@ public class LoanPolicyRepository extends CirculationPolicyRepository<LoanPolicy
 
     final MultipleRecordFetcher<FixedDueDateSchedules> fetcher
       = new MultipleRecordFetcher<>(fixedDueDateSchedulesStorageClient,
-        "fixedDueDateSchedules", FixedDueDateSchedules::from);
+        "fixedDueDateSchedules", representation -> LoanPolicyCache.getInstance()
+          .getSchedules(tenantId, representation));
 
     return fetcher.findByIds(schedulesIds)
       .thenApply(mapResult(schedules -> schedules.toMap(FixedDueDateSchedules::getId)));
@@ -143,8 +146,15 @@ public class LoanPolicyRepository extends CirculationPolicyRepository<LoanPolicy
 
   @Override
   protected Result<LoanPolicy> toPolicy(JsonObject representation) {
-    return succeeded(new LoanPolicy(representation,
-      new NoFixedDueDateSchedules(), new NoFixedDueDateSchedules()));
+    final LoanPolicyCache loanPolicyCache = LoanPolicyCache.getInstance();
+    final LoanPolicy cached = loanPolicyCache.get(tenantId, representation);
+
+    if (cached != null) {
+      return succeeded(cached);
+    }
+
+    return succeeded(loanPolicyCache.put(tenantId, new LoanPolicy(representation,
+      new NoFixedDueDateSchedules(), new NoFixedDueDateSchedules())));
   }
 
   @Override
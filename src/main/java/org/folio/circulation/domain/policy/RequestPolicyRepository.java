@@ -2,8 +2,6 @@ package org.folio.circulation.domain.policy;
 
 import static java.lang.String.format;
 import static java.util.concurrent.CompletableFuture.completedFuture;
-import static org.folio.circulation.support.Result.failed;
-import static org.folio.circulation.support.Result.succeeded;
 import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
 
 import java.lang.invoke.MethodHandles;
@@ -16,11 +14,8 @@ import org.folio.circulation.domain.User;
 import org.folio.circulation.support.CirculationRulesClient;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
-import org.folio.circulation.support.ForwardOnFailure;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
-import org.folio.circulation.support.http.client.Response;
-import org.folio.circulation.support.http.client.ResponseHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,11 +24,11 @@ import io.vertx.core.json.JsonObject;
 public class RequestPolicyRepository {
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-  private final CirculationRulesClient circulationRequestRulesClient;
+  private final CirculationRulesClient circulationRulesClient;
   private final CollectionResourceClient requestPoliciesStorageClient;
 
   public RequestPolicyRepository(Clients clients) {
-    this.circulationRequestRulesClient = clients.circulationRequestRules();
+    this.circulationRulesClient = clients.circulationRules();
     this.requestPoliciesStorageClient = clients.requestPoliciesStorage();
   }
 
@@ -68,9 +63,6 @@ public class RequestPolicyRepository {
     Item item,
     User user) {
 
-    CompletableFuture<Result<String>> findRequestPolicyCompleted
-      = new CompletableFuture<>();
-
     if(item.isNotFound()) {
       return completedFuture(failedDueToServerError(
         "Unable to find matching request rules for unknown item"));
@@ -81,29 +73,13 @@ public class RequestPolicyRepository {
     String loanTypeId = item.determineLoanTypeForItem();
     String locationId = item.getLocationId();
 
-    CompletableFuture<Response> circulationRulesResponse = new CompletableFuture<>();
-
     log.info(
       "Applying request rules for material type: {}, patron group: {}, loan type: {}, location: {}",
       materialTypeId, patronGroupId, loanTypeId, locationId);
 
-    circulationRequestRulesClient.applyRules(loanTypeId, locationId, materialTypeId,
-      patronGroupId, ResponseHandler.any(circulationRulesResponse));
-
-    circulationRulesResponse.thenAcceptAsync(response -> {
-      if (response.getStatusCode() == 404) {
-        findRequestPolicyCompleted.complete(
-          failedDueToServerError("Unable to find matching request rules"));
-      } else if (response.getStatusCode() != 200) {
-        findRequestPolicyCompleted.complete(failed(
-          new ForwardOnFailure(response)));
-      } else {
-        findRequestPolicyCompleted.complete(
-          succeeded(response.getJson().getString("requestPolicyId")));
-      }
-    });
-
-    return findRequestPolicyCompleted;
+    return circulationRulesClient.applyRules(loanTypeId, locationId,
+      materialTypeId, patronGroupId)
+      .thenApply(result -> result.map(policies -> policies.getString("requestPolicyId")));
   }
 
 }
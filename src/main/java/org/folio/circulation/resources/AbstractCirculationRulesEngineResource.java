@@ -1,31 +1,36 @@
 package org.folio.circulation.resources;
 
+import static org.folio.circulation.support.JsonPropertyWriter.write;
 import static org.folio.circulation.support.http.server.ServerErrorResponse.internalError;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.folio.circulation.rules.Drools;
-import org.folio.circulation.rules.Text2Drools;
+import org.folio.circulation.rules.CirculationRulesCache;
+import org.folio.circulation.rules.CirculationRulesEngine;
+import org.folio.circulation.rules.CirculationRulesEngineType;
+import org.folio.circulation.rules.Match;
 import org.folio.circulation.support.Clients;
-import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.OkJsonResponseResult;
 import org.folio.circulation.support.http.server.ClientErrorResponse;
-import org.folio.circulation.support.http.server.ForwardResponse;
 import org.folio.circulation.support.http.server.WebContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
 
 /**
  * The circulation rules engine calculates the loan policy based on
@@ -38,26 +43,23 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
   public static final String PATRON_TYPE_ID_NAME = "patron_type_id";
   public static final String SHELVING_LOCATION_ID_NAME = "shelving_location_id";
   public static final String LOAN_TYPE_ID_NAME = "loan_type_id";
+  /** draft circulation rules to apply instead of the stored rules */
+  public static final String RULES_NAME = "rules";
+
+  public static final String COMPILE_TIME_HEADER = "X-Circulation-Rules-Compile-Time";
+  public static final String COMPILE_CACHE_HEADER = "X-Circulation-Rules-Compile-Cache";
+
+  private static final String UUID_REGEX =
+    "^[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[1-5][a-fA-F0-9]{3}-[89abAB][a-fA-F0-9]{3}-[a-fA-F0-9]{12}$";
+
+  private static final String[] CRITERIA_NAMES = {
+    ITEM_TYPE_ID_NAME, LOAN_TYPE_ID_NAME, PATRON_TYPE_ID_NAME, SHELVING_LOCATION_ID_NAME };
+
+  private static volatile int maxBatchSize = 1000;
 
   private final String applyPath;
   private final String applyAllPath;
-
-  /** after this time the rules get loaded before executing the circulation rules engine */
-  private static long maxAgeInMilliseconds = 5000;
-  /** after this time the circulation rules engine is executed first for a fast reply
-   * and then the circulation rules get reloaded */
-  private static long triggerAgeInMilliseconds = 4000;
-
-  private class Rules {
-    String rulesAsText = "";
-    String rulesAsDrools = "";
-    Drools drools;
-    /** System.currentTimeMillis() of the last load/reload of the rules from the storage */
-    long reloadTimestamp;
-    boolean reloadInitiated = false;
-  }
-  /** rules and Drools for each tenantId */
-  private static Map<String,Rules> rulesMap = new HashMap<>();
+  private final String applyBatchPath;
 
   /**
    * Set the cache time.
@@ -66,8 +68,51 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
    * @param maxAgeInMilliseconds  after this time the rules get loaded before executing the circulation rules engine
    */
   public static void setCacheTime(long triggerAgeInMilliseconds, long maxAgeInMilliseconds) {
-    AbstractCirculationRulesEngineResource.triggerAgeInMilliseconds = triggerAgeInMilliseconds;
-    AbstractCirculationRulesEngineResource.maxAgeInMilliseconds = maxAgeInMilliseconds;
+    CirculationRulesCache.getInstance().setCacheTime(triggerAgeInMilliseconds, maxAgeInMilliseconds);
+  }
+
+  /**
+   * Set the circulation rules engine implementation. This drops the cache.
+   * @param engineType  the implementation to use for compiling the circulation rules
+   */
+  public static void setEngineType(CirculationRulesEngineType engineType) {
+    CirculationRulesCache.getInstance().setEngineType(engineType);
+  }
+
+  /**
+   * Set the maximum number of policy matches cached for each tenant.
+   * This drops the cache.
+   * @param policyCacheSize  maximum number of (item type, loan type, patron type,
+   *                         shelving location) tuples, 0 disables the cache
+   */
+  public static void setPolicyCacheSize(int policyCacheSize) {
+    CirculationRulesCache.getInstance().setPolicyCacheSize(policyCacheSize);
+  }
+
+  /**
+   * Set the maximum number of criteria of a batch, larger batches are rejected.
+   * @param maxBatchSize  maximum number of elements of the criteria array
+   */
+  public static void setMaxBatchSize(int maxBatchSize) {
+    AbstractCirculationRulesEngineResource.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Statistics of the tenant's policy cache.
+   * @param tenantId  id of the tenant
+   * @return size, maxSize, hits, misses and evictions of the policies cache,
+   *         empty if the tenant's rules haven't been loaded yet
+   */
+  static JsonObject getPolicyCacheStatistics(String tenantId) {
+    return CirculationRulesCache.getInstance().getPolicyCacheStatistics(tenantId);
+  }
+
+  /**
+   * Statistics of compiling circulation rules, for all tenants.
+   * @return count, total and maximum of compile duration and of queue wait
+   */
+  static JsonObject getCompileStatistics() {
+    return CirculationRulesCache.getInstance().getCompileStatistics();
   }
 
   /**
@@ -75,7 +120,7 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
    * even when the circulation rules haven't changed.
    */
   public static void dropCache() {
-    rulesMap.clear();
+    CirculationRulesCache.getInstance().dropCache();
   }
 
   /**
@@ -84,23 +129,24 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
    * @param tenantId  id of the tenant
    */
   static void clearCache(String tenantId) {
-    Rules rules = rulesMap.get(tenantId);
-    if (rules == null) {
-      return;
-    }
-    rules.reloadTimestamp = 0;
+    CirculationRulesCache.getInstance().clearCache(tenantId);
   }
 
   /**
-   * Create a circulation rules engine that listens at applyPath and applyAllPath.
+   * Create a circulation rules engine that listens at applyPath, applyAllPath and applyBatchPath.
    * @param applyPath  URL path for circulation rules triggering that returns the first match
    * @param applyAllPath  URL path for circulation rules triggering that returns all matches
+   * @param applyBatchPath  URL path for circulation rules triggering that returns the first
+   *                        match for each of several criteria
    * @param client  the HttpClient to use for requests via Okapi
    */
-  AbstractCirculationRulesEngineResource(String applyPath, String applyAllPath, HttpClient client) {
+  AbstractCirculationRulesEngineResource(String applyPath, String applyAllPath,
+    String applyBatchPath, HttpClient client) {
+
     super(client);
     this.applyPath = applyPath;
     this.applyAllPath = applyAllPath;
+    this.applyBatchPath = applyBatchPath;
   }
 
   /**
@@ -111,133 +157,61 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
   public void register(Router router) {
     router.get(applyPath   ).handler(this::apply);
     router.get(applyAllPath).handler(this::applyAll);
-  }
-
-  private String getTenantId(RoutingContext routingContext) {
-    return new WebContext(routingContext).getTenantId();
-  }
-
-  private boolean isCurrent(Rules rules) {
-    if (rules == null) {
-      return false;
-    }
-    return rules.reloadTimestamp + maxAgeInMilliseconds > System.currentTimeMillis();
+    router.post(applyBatchPath).handler(BodyHandler.create());
+    router.post(applyBatchPath).handler(this::applyBatch);
   }
 
   /**
-   * Reload is needed if the last reload is TRIGGER_AGE_IN_MILLISECONDS old
-   * and a reload hasn't been initiated yet.
-   * @param rules - rules to reload
-   * @return whether reload is needed
-   */
-  private boolean reloadNeeded(Rules rules) {
-    if (rules.reloadInitiated) {
-      return false;
-    }
-    return rules.reloadTimestamp + triggerAgeInMilliseconds < System.currentTimeMillis();
-  }
-
-  /**
-   * Load the circulation rules from the storage module.
-   * @param rules - where to store the rules and reload information
-   * @param routingContext - where to report any error
-   * @param done - invoked after success
-   */
-  private void reloadRules(Rules rules, RoutingContext routingContext, Handler<Void> done) {
-    final Clients clients = Clients.create(new WebContext(routingContext), client);
-    CollectionResourceClient circulationRulesClient = clients.circulationRulesStorage();
-
-    if (circulationRulesClient == null) {
-      return;
-    }
-
-    circulationRulesClient.get().thenAccept(response -> {
-      try {
-        if (response.getStatusCode() != 200) {
-          ForwardResponse.forward(routingContext.response(), response);
-          log.error("{} {}", response.getStatusCode(), response.getBody());
-          return;
-        }
-
-        rules.reloadTimestamp = System.currentTimeMillis();
-        rules.reloadInitiated = false;
-        JsonObject circulationRules = new JsonObject(response.getBody());
-        if (log.isDebugEnabled()) {
-          log.debug("circulationRules = {}", circulationRules.encodePrettily());
-        }
-        String rulesAsText = circulationRules.getString("rulesAsText");
-        if (rulesAsText == null) {
-          throw new NullPointerException("rulesAsText");
-        }
-        if (rules.rulesAsText.equals(rulesAsText)) {
-          done.handle(null);
-          return;
-        }
-        rules.rulesAsText = rulesAsText;
-        rules.rulesAsDrools = Text2Drools.convert(rulesAsText);
-        log.debug("rulesAsDrools = {}", rules.rulesAsDrools);
-        rules.drools = new Drools(rules.rulesAsDrools);
-        done.handle(null);
-      }
-      catch (Exception e) {
-        log.error("reloadRules", e);
-        if (routingContext.response().ended()) {
-          return;
-        }
-        internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
-      }
-    });
-  }
-
-  /**
-   * Return a Drools for the tenantId of the routingContext. On error send the
+   * Return a rules engine for the tenantId of the routingContext. On error send the
    * error message via the routingContext's response.
    * @param routingContext - where to get the tenantId and send any error message
-   * @param droolsHandler - where to provide the Drools
+   * @param droolsHandler - where to provide the rules engine
    */
-  protected void drools(RoutingContext routingContext, Handler<Drools> droolsHandler) {
+  protected void drools(RoutingContext routingContext, Handler<CirculationRulesEngine> droolsHandler) {
     try {
-      String tenantId = getTenantId(routingContext);
-      Rules rules = rulesMap.get(tenantId);
-      if (isCurrent(rules)) {
-        droolsHandler.handle(rules.drools);
-        if (reloadNeeded(rules)) {
-          rules.reloadInitiated = true;
-          reloadRules(rules, routingContext, done -> {});
-        }
-        return;
-      }
-
-      if (rules == null) {
-        rules = new Rules();
-        rulesMap.put(tenantId, rules);
-      }
-      Rules finalRules = rules;
-
-      reloadRules(rules, routingContext, done -> {
-        try {
-          droolsHandler.handle(finalRules.drools);
-        } catch (Exception e) {
-          log.error("drools droolsHandler", e);
-          internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
-        }
-      });
+      final WebContext context = new WebContext(routingContext);
+      final Clients clients = Clients.create(context, client);
+
+      CirculationRulesCache.getInstance()
+        .getRulesEngine(context.getTenantId(), clients.circulationRulesStorage())
+        .thenAccept(result -> {
+          if (result.failed()) {
+            if (! routingContext.response().ended()) {
+              result.cause().writeTo(routingContext.response());
+            }
+            return;
+          }
+          try {
+            droolsHandler.handle(result.value());
+          } catch (Exception e) {
+            log.error("drools droolsHandler", e);
+            internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
+          }
+        });
     } catch (Exception e) {
       log.error("drools", e);
       internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
     }
   }
 
-  private boolean invalidUuid(HttpServerRequest request, String paramName) {
-    final String regex = "^[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[1-5][a-fA-F0-9]{3}-[89abAB][a-fA-F0-9]{3}-[a-fA-F0-9]{12}$";
-    String uuid = request.getParam(paramName);
+  /**
+   * @return the error message if uuid is null or invalid, null otherwise
+   */
+  public static String uuidError(String paramName, String uuid) {
     if (uuid == null) {
-      ClientErrorResponse.badRequest(request.response(), "required query parameter missing: " + paramName);
-      return true;
+      return "required query parameter missing: " + paramName;
+    }
+    if (! uuid.matches(UUID_REGEX)) {
+      return "invalid uuid format of " + paramName +
+          ", expecting " + UUID_REGEX + " but it is " + uuid;
     }
-    if (! uuid.matches(regex)) {
-      ClientErrorResponse.badRequest(request.response(), "invalid uuid format of " + paramName +
-          ", expecting " + regex + " but it is " + uuid);
+    return null;
+  }
+
+  private boolean invalidUuid(HttpServerRequest request, String paramName) {
+    String error = uuidError(paramName, request.getParam(paramName));
+    if (error != null) {
+      ClientErrorResponse.badRequest(request.response(), error);
       return true;
     }
     return false;
@@ -263,7 +237,7 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
     });
   }
 
-  private void applyAll(RoutingContext routingContext, Drools drools) {
+  private void applyAll(RoutingContext routingContext, CirculationRulesEngine drools) {
     HttpServerRequest request = routingContext.request();
     if (invalidApplyParameters(request)) {
       return;
@@ -282,21 +256,105 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
   }
 
   private void applyAll(RoutingContext routingContext) {
-    String circulationRules = routingContext.pathParam("circulation_rules");
+    String circulationRules = routingContext.request().getParam(RULES_NAME);
+    if (circulationRules == null) {
+      circulationRules = routingContext.pathParam("circulation_rules");
+    }
     if (circulationRules == null) {
       drools(routingContext, drools -> applyAll(routingContext, drools));
       return;
     }
 
+    CirculationRulesCache.getInstance().compilePreview(circulationRules)
+      .whenComplete((preview, e) -> {
+        if (e != null) {
+          log.error("applyAll", e);
+          internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
+          return;
+        }
+        routingContext.response()
+          .putHeader(COMPILE_TIME_HEADER, String.valueOf(preview.getCompileMilliseconds()))
+          .putHeader(COMPILE_CACHE_HEADER, preview.isCached() ? "hit" : "miss");
+        applyAll(routingContext, preview.getEngine());
+      });
+  }
+
+  /**
+   * Apply the circulation rules to each element of the criteria array of the
+   * request body. Each element has the same four UUIDs as the query parameters
+   * of applyPath. Equal criteria are evaluated only once. The rules are applied
+   * on a worker thread, a batch can take longer than the event loop may be blocked.
+   */
+  private void applyBatch(RoutingContext routingContext) {
+    List<JsonObject> criteria = new ArrayList<>();
     try {
-      String droolsFile = Text2Drools.convert(circulationRules);
-      Drools drools = new Drools(droolsFile);
-      applyAll(routingContext, drools);
+      JsonArray array = routingContext.getBodyAsJson().getJsonArray("criteria");
+      if (array == null) {
+        ClientErrorResponse.badRequest(routingContext.response(), "criteria array missing");
+        return;
+      }
+      if (array.size() > maxBatchSize) {
+        ClientErrorResponse.payloadTooLarge(routingContext.response(),
+          "criteria array has " + array.size() + " elements, the maximum is " + maxBatchSize);
+        return;
+      }
+      for (int i = 0; i < array.size(); i++) {
+        JsonObject criterion = new JsonObject();
+        for (String name : CRITERIA_NAMES) {
+          String uuid = array.getJsonObject(i).getString(name);
+          String error = uuidError(name, uuid);
+          if (error != null) {
+            ClientErrorResponse.badRequest(routingContext.response(),
+              "criteria[" + i + "]: " + error);
+            return;
+          }
+          criterion.put(name, uuid);
+        }
+        criteria.add(criterion);
+      }
     }
     catch (Exception e) {
-      log.error("applyAll", e);
-      internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
+      ClientErrorResponse.badRequest(routingContext.response(),
+        "expecting a JSON object with a criteria array of JSON objects: " + e.getMessage());
+      return;
     }
+
+    drools(routingContext, drools ->
+      routingContext.vertx().<JsonArray>executeBlocking(
+        future -> future.complete(applyBatch(criteria, drools)),
+        false,
+        result -> {
+          if (result.failed()) {
+            log.error("applyBatch", result.cause());
+            internalError(routingContext.response(),
+              ExceptionUtils.getStackTrace(result.cause()));
+            return;
+          }
+          new OkJsonResponseResult(
+            new JsonObject().put("circulationRuleMatches", result.result()))
+            .writeTo(routingContext.response());
+        }));
+  }
+
+  private JsonArray applyBatch(List<JsonObject> criteria, CirculationRulesEngine drools) {
+    Map<JsonObject, Match> matches = new HashMap<>();
+    JsonArray results = new JsonArray();
+    for (JsonObject criterion : criteria) {
+      Match match = matches.computeIfAbsent(criterion, c -> drools.match(params(c)));
+      JsonObject result = criterion.copy();
+      write(result, getPolicyIdKey(), getPolicyId(match));
+      write(result, "circulationRuleLine", match.lineNumber);
+      results.add(result);
+    }
+    return results;
+  }
+
+  private static MultiMap params(JsonObject criterion) {
+    MultiMap params = new CaseInsensitiveHeaders();
+    for (String name : CRITERIA_NAMES) {
+      params.add(name, criterion.getString(name));
+    }
+    return params;
   }
 
   private boolean invalidApplyParameters(HttpServerRequest request) {
@@ -307,9 +365,11 @@ public abstract class AbstractCirculationRulesEngineResource extends Resource {
         invalidUuid(request, SHELVING_LOCATION_ID_NAME);
   }
 
-  protected abstract String getPolicyId(MultiMap params, Drools drools);
+  protected abstract String getPolicyId(MultiMap params, CirculationRulesEngine drools);
+
+  protected abstract String getPolicyId(Match match);
 
   protected abstract String getPolicyIdKey();
 
-  protected abstract JsonArray getPolicies(MultiMap params, Drools drools);
+  protected abstract JsonArray getPolicies(MultiMap params, CirculationRulesEngine drools);
 }
@@ -0,0 +1,106 @@
+package org.folio.circulation.resources;
+
+import org.folio.circulation.domain.CalendarCache;
+import org.folio.circulation.domain.LocationHierarchyCache;
+import org.folio.circulation.domain.policy.LoanPolicyCache;
+import org.folio.circulation.support.CircuitBreakers;
+import org.folio.circulation.support.GetCoalescer;
+import org.folio.circulation.support.OkJsonResponseResult;
+import org.folio.circulation.support.ReferenceDataCache;
+import org.folio.circulation.support.http.client.HttpClientStatistics;
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.metrics.Metrics;
+import org.folio.circulation.support.metrics.PrometheusTextWriter;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Operational information about this module instance, for all tenants.
+ * <p>
+ * These endpoints are not provided via Okapi, they are meant to be called
+ * on the module instance directly, e.g. by monitoring.
+ */
+public class AdminResource extends Resource {
+  public AdminResource(HttpClient client) {
+    super(client);
+  }
+
+  @Override
+  public void register(Router router) {
+    router.get("/admin/coalesced-gets").handler(this::getCoalescedGets);
+    router.get("/admin/http-client").handler(this::getHttpClient);
+    router.get("/admin/circuit-breakers").handler(this::getCircuitBreakers);
+    router.get("/admin/metrics").handler(this::getMetrics);
+    router.get("/admin/reference-data-cache").handler(this::getReferenceDataCache);
+    router.delete("/admin/reference-data-cache").handler(this::flushReferenceDataCache);
+    router.get("/admin/location-hierarchy").handler(this::getLocationHierarchy);
+    router.get("/admin/calendar-cache").handler(this::getCalendarCache);
+    router.get("/admin/loan-policy-cache").handler(this::getLoanPolicyCache);
+    router.delete("/admin/loan-policy-cache").handler(this::flushLoanPolicyCache);
+  }
+
+  private void getLoanPolicyCache(RoutingContext routingContext) {
+    new OkJsonResponseResult(LoanPolicyCache.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+
+  private void flushLoanPolicyCache(RoutingContext routingContext) {
+    new OkJsonResponseResult(new JsonObject()
+      .put("removed", LoanPolicyCache.getInstance().flush()))
+      .writeTo(routingContext.response());
+  }
+
+  private void getCalendarCache(RoutingContext routingContext) {
+    new OkJsonResponseResult(CalendarCache.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+
+  private void getLocationHierarchy(RoutingContext routingContext) {
+    new OkJsonResponseResult(LocationHierarchyCache.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+
+  private void getReferenceDataCache(RoutingContext routingContext) {
+    new OkJsonResponseResult(ReferenceDataCache.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+
+  /**
+   * Remove the cached records of the tenant in the tenant parameter,
+   * or of all tenants without it
+   */
+  private void flushReferenceDataCache(RoutingContext routingContext) {
+    final String tenantId = routingContext.request().getParam("tenant");
+
+    new OkJsonResponseResult(new JsonObject()
+      .put("removed", ReferenceDataCache.getInstance().flush(tenantId)))
+      .writeTo(routingContext.response());
+  }
+
+  private void getHttpClient(RoutingContext routingContext) {
+    new OkJsonResponseResult(new JsonObject()
+      .put("settings", OkapiHttpClient.getSettings().toJson())
+      .put("statistics", HttpClientStatistics.getInstance().toJson()))
+      .writeTo(routingContext.response());
+  }
+
+  private void getMetrics(RoutingContext routingContext) {
+    routingContext.response()
+      .setStatusCode(200)
+      .putHeader("content-type", PrometheusTextWriter.CONTENT_TYPE)
+      .end(Metrics.getInstance().toPrometheusText());
+  }
+
+  private void getCircuitBreakers(RoutingContext routingContext) {
+    new OkJsonResponseResult(CircuitBreakers.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+
+  private void getCoalescedGets(RoutingContext routingContext) {
+    new OkJsonResponseResult(GetCoalescer.getInstance().getStatistics())
+      .writeTo(routingContext.response());
+  }
+}
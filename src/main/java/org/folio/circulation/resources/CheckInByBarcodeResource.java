@@ -7,6 +7,7 @@ import org.folio.circulation.domain.CheckInProcessRecords;
 import org.folio.circulation.domain.LoanCheckInService;
 import org.folio.circulation.domain.LoanRepository;
 import org.folio.circulation.domain.RequestQueueRepository;
+import org.folio.circulation.domain.RequestRepository;
 import org.folio.circulation.domain.ServicePointRepository;
 import org.folio.circulation.domain.UpdateItem;
 import org.folio.circulation.domain.UpdateRequestQueue;
@@ -22,6 +23,7 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.ItemRepository;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.http.server.ServerTiming;
 import org.folio.circulation.support.http.server.WebContext;
 
 import io.vertx.core.http.HttpClient;
@@ -43,19 +45,22 @@ public class CheckInByBarcodeResource extends Resource {
 
   private void checkin(RoutingContext routingContext) {
     final WebContext context = new WebContext(routingContext);
+    final ServerTiming timing = ServerTiming.start("check-in", routingContext);
 
     final Clients clients = Clients.create(context, client);
 
     final LoanRepository loanRepository = new LoanRepository(clients);
     final ItemRepository itemRepository = new ItemRepository(clients, true, true, true);
     final UserRepository userRepository = new UserRepository(clients);
-    final RequestQueueRepository requestQueueRepository = RequestQueueRepository.using(clients);
+    final RequestRepository requestRepository = RequestRepository.using(clients);
+    final RequestQueueRepository requestQueueRepository = RequestQueueRepository.using(requestRepository);
     final ServicePointRepository servicePointRepository = new ServicePointRepository(clients);
 
     final LoanCheckInService loanCheckInService = new LoanCheckInService();
 
     final UpdateItem updateItem = new UpdateItem(clients);
-    final UpdateRequestQueue requestQueueUpdate = UpdateRequestQueue.using(clients);
+    final UpdateRequestQueue requestQueueUpdate = new UpdateRequestQueue(
+      requestQueueRepository, requestRepository, servicePointRepository);
 
     final Result<CheckInByBarcodeRequest> checkInRequestResult
       = CheckInByBarcodeRequest.from(routingContext.getBodyAsJson());
@@ -85,17 +90,23 @@ public class CheckInByBarcodeResource extends Resource {
     checkInRequestResult
       .map(CheckInProcessRecords::new)
       .combineAfter(processAdapter::findItem, CheckInProcessRecords::withItem)
+      .thenApply(timing.stage("item"))
       .thenComposeAsync(findItemResult -> findItemResult.combineAfter(
         processAdapter::findSingleOpenLoan, CheckInProcessRecords::withLoan))
+      .thenApply(timing.stage("loan"))
       .thenComposeAsync(findLoanResult -> findLoanResult.combineAfter(
         processAdapter::checkInLoan, CheckInProcessRecords::withLoan))
+      .thenApply(timing.stage("check-in"))
       .thenComposeAsync(loanCheckInResult -> loanCheckInResult.combineAfter(
         processAdapter::getRequestQueue, CheckInProcessRecords::withRequestQueue))
+      .thenApply(timing.stage("request-queue"))
       .thenComposeAsync(findRequestQueueResult -> findRequestQueueResult.combineAfter(
         processAdapter::updateRequestQueue, CheckInProcessRecords::withRequestQueue))
+      .thenApply(timing.stage("request-queue-update"))
       .thenComposeAsync(updateRequestQueueResult -> updateRequestQueueResult.combineAfter(
         processAdapter::updateItem, CheckInProcessRecords::withItem))
       .thenApply(handleItemStatus -> handleItemStatus.next(processAdapter::sendItemStatusPatronNotice))
+      .thenApply(timing.stage("item-update"))
       .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
         processAdapter::getDestinationServicePoint, CheckInProcessRecords::withItem))
       .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
@@ -104,10 +115,13 @@ public class CheckInByBarcodeResource extends Resource {
         processAdapter::getPickupServicePoint, CheckInProcessRecords::withHighestPriorityFulfillableRequest))
       .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
         processAdapter::getRequester, CheckInProcessRecords::withHighestPriorityFulfillableRequest))
+      .thenApply(timing.stage("service-points"))
       .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
         processAdapter::updateLoan, CheckInProcessRecords::withLoan))
+      .thenApply(timing.stage("loan-update"))
       .thenApply(updateItemResult -> updateItemResult.next(processAdapter::sendCheckInPatronNotice))
       .thenApply(r -> r.next(requestScheduledNoticeService::rescheduleRequestNotices))
+      .thenApply(timing.stage("notices"))
       .thenApply(CheckInByBarcodeResponse::from)
       .thenAccept(result -> result.writeTo(routingContext.response()));
   }
@@ -49,6 +49,7 @@ import org.folio.circulation.support.ItemRepository;
 import org.folio.circulation.support.ResponseWritableResult;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.http.server.ServerTiming;
 import org.folio.circulation.support.http.server.WebContext;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -79,6 +80,7 @@ public class CheckOutByBarcodeResource extends Resource {
 
   private void checkOut(RoutingContext routingContext) {
     final WebContext context = new WebContext(routingContext);
+    final ServerTiming timing = ServerTiming.start("check-out", routingContext);
 
     JsonObject request = routingContext.getBodyAsJson();
 
@@ -150,25 +152,37 @@ public class CheckOutByBarcodeResource extends Resource {
       .thenCombineAsync(userRepository.getProxyUserByBarcode(proxyUserBarcode), this::addProxyUser)
       .thenApply(inactiveUserValidator::refuseWhenUserIsInactive)
       .thenApply(inactiveProxyUserValidator::refuseWhenUserIsInactive)
+      .thenApply(timing.stage("users"))
       .thenCombineAsync(itemRepository.fetchByBarcode(itemBarcode), this::addItem)
       .thenApply(itemNotFoundValidator::refuseWhenItemNotFound)
       .thenApply(alreadyCheckedOutValidator::refuseWhenItemIsAlreadyCheckedOut)
       .thenApply(itemMissingValidator::refuseWhenItemIsMissing)
+      .thenApply(timing.stage("item"))
       .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid))
       .thenComposeAsync(r -> r.after(openLoanValidator::refuseWhenHasOpenLoan))
+      .thenApply(timing.stage("validation"))
       .thenComposeAsync(r -> r.after(requestQueueRepository::get))
       .thenApply(requestedByAnotherPatronValidator::refuseWhenRequestedByAnotherPatron)
+      .thenApply(timing.stage("request-queue"))
       .thenCompose(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
         LoanAndRelatedRecords::withTimeZone))
+      .thenApply(timing.stage("time-zone"))
       .thenComposeAsync(r -> r.after(loanPolicyRepository::lookupLoanPolicy))
+      .thenApply(timing.stage("loan-policy"))
       .thenComposeAsync(r -> r.after(relatedRecords -> checkOutStrategy.checkOut(relatedRecords, request, clients)))
+      .thenApply(timing.stage("due-date"))
       .thenComposeAsync(r -> r.after(requestQueueUpdate::onCheckOut))
+      .thenApply(timing.stage("request-queue-update"))
       .thenComposeAsync(r -> r.after(updateItem::onCheckOut))
+      .thenApply(timing.stage("item-update"))
       .thenComposeAsync(r -> r.after(loanService::truncateLoanWhenItemRecalled))
       .thenComposeAsync(r -> r.after(patronGroupRepository::findPatronGroupForLoanAndRelatedRecords))
+      .thenApply(timing.stage("patron-group"))
       .thenComposeAsync(r -> r.after(loanRepository::createLoan))
+      .thenApply(timing.stage("loan-create"))
       .thenApply(r -> r.next(records -> sendCheckOutPatronNotice(records, patronNoticeService)))
       .thenApply(r -> r.next(scheduledNoticeService::scheduleNoticesForLoanDueDate))
+      .thenApply(timing.stage("notices"))
       .thenApply(r -> r.map(LoanAndRelatedRecords::getLoan))
       .thenApply(r -> r.map(loanRepresentation::extendedLoan))
       .thenApply(this::createdLoanFrom)
@@ -5,11 +5,13 @@ import static org.folio.circulation.support.http.server.ServerErrorResponse.inte
 import java.lang.invoke.MethodHandles;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.folio.circulation.rules.CirculationRulesCache;
 import org.folio.circulation.rules.CirculationRulesException;
 import org.folio.circulation.rules.Text2Drools;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.JsonResponseResult;
+import org.folio.circulation.support.NoContentResult;
 import org.folio.circulation.support.OkJsonResponseResult;
 import org.folio.circulation.support.http.server.ForwardResponse;
 import org.folio.circulation.support.http.server.SuccessResponse;
@@ -52,6 +54,30 @@ public class CirculationRulesResource extends Resource {
 
     router.get(rootPath).handler(this::get);
     router.put(rootPath).handler(this::put);
+    router.get(rootPath + "/cache-statistics").handler(this::getCacheStatistics);
+    router.post(rootPath + "/refresh").handler(this::refresh);
+  }
+
+  private void getCacheStatistics(RoutingContext routingContext) {
+    String tenantId = new WebContext(routingContext).getTenantId();
+
+    new OkJsonResponseResult(
+      AbstractCirculationRulesEngineResource.getPolicyCacheStatistics(tenantId)
+        .put("compilation", AbstractCirculationRulesEngineResource.getCompileStatistics()))
+      .writeTo(routingContext.response());
+  }
+
+  /**
+   * Reload and compile the tenant's circulation rules now.
+   */
+  private void refresh(RoutingContext routingContext) {
+    final WebContext context = new WebContext(routingContext);
+    final Clients clients = Clients.create(context, client);
+
+    CirculationRulesCache.getInstance()
+      .refresh(context.getTenantId(), clients.circulationRulesStorage())
+      .thenApply(NoContentResult::from)
+      .thenAccept(result -> result.writeTo(routingContext.response()));
   }
 
   private void get(RoutingContext routingContext) {
@@ -72,7 +98,7 @@ public class CirculationRulesResource extends Resource {
           ForwardResponse.forward(routingContext.response(), response);
           return;
         }
-        JsonObject circulationRules = new JsonObject(response.getBody());
+        JsonObject circulationRules = response.getJson();
 
         new OkJsonResponseResult(circulationRules)
           .writeTo(routingContext.response());
@@ -110,12 +136,16 @@ public class CirculationRulesResource extends Resource {
       internalError(routingContext.response(), ExceptionUtils.getStackTrace(e));
       return;
     }
-    LoanCirculationRulesEngineResource.clearCache(new WebContext(routingContext).getTenantId());
-    RequestCirculationRulesEngineResource.clearCache(new WebContext(routingContext).getTenantId());
+    final String tenantId = new WebContext(routingContext).getTenantId();
+
+    LoanCirculationRulesEngineResource.clearCache(tenantId);
+    RequestCirculationRulesEngineResource.clearCache(tenantId);
 
     loansRulesClient.put(rulesInput.copy()).thenAccept(response -> {
       if (response.getStatusCode() == 204) {
         SuccessResponse.noContent(routingContext.response());
+        // compile the changed rules before the next request needs them
+        CirculationRulesCache.getInstance().refresh(tenantId, loansRulesClient);
       } else {
         ForwardResponse.forward(routingContext.response(), response);
       }
@@ -1,6 +1,7 @@
 package org.folio.circulation.resources;
 
-import org.folio.circulation.rules.Drools;
+import org.folio.circulation.rules.CirculationRulesEngine;
+import org.folio.circulation.rules.Match;
 
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpClient;
@@ -12,22 +13,29 @@ import io.vertx.core.json.JsonArray;
  */
 public class LoanCirculationRulesEngineResource extends AbstractCirculationRulesEngineResource {
 
-  public LoanCirculationRulesEngineResource(String applyPath, String applyAllPath, HttpClient client) {
-    super(applyPath, applyAllPath, client);
+  public LoanCirculationRulesEngineResource(String applyPath, String applyAllPath,
+    String applyBatchPath, HttpClient client) {
+
+    super(applyPath, applyAllPath, applyBatchPath, client);
   }
 
   @Override
-  protected String getPolicyId(MultiMap params, Drools drools) {
+  protected String getPolicyId(MultiMap params, CirculationRulesEngine drools) {
     return drools.loanPolicy(params);
   }
 
+  @Override
+  protected String getPolicyId(Match match) {
+    return match.loanPolicyId;
+  }
+
   @Override
   protected String getPolicyIdKey() {
     return "loanPolicyId";
   }
 
   @Override
-  protected JsonArray getPolicies(MultiMap params, Drools drools) {
+  protected JsonArray getPolicies(MultiMap params, CirculationRulesEngine drools) {
     return drools.loanPolicies(params);
   }
 }
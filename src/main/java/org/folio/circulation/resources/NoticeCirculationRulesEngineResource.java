@@ -1,6 +1,7 @@
 package org.folio.circulation.resources;
 
-import org.folio.circulation.rules.Drools;
+import org.folio.circulation.rules.CirculationRulesEngine;
+import org.folio.circulation.rules.Match;
 
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpClient;
@@ -12,22 +13,29 @@ import io.vertx.core.json.JsonArray;
  */
 public class NoticeCirculationRulesEngineResource extends AbstractCirculationRulesEngineResource {
 
-  public NoticeCirculationRulesEngineResource(String applyPath, String applyAllPath, HttpClient client) {
-    super(applyPath, applyAllPath, client);
+  public NoticeCirculationRulesEngineResource(String applyPath, String applyAllPath,
+    String applyBatchPath, HttpClient client) {
+
+    super(applyPath, applyAllPath, applyBatchPath, client);
   }
 
   @Override
-  protected String getPolicyId(MultiMap params, Drools drools) {
+  protected String getPolicyId(MultiMap params, CirculationRulesEngine drools) {
     return drools.noticePolicy(params);
   }
 
+  @Override
+  protected String getPolicyId(Match match) {
+    return match.noticePolicyId;
+  }
+
   @Override
   protected String getPolicyIdKey() {
     return "noticePolicyId";
   }
 
   @Override
-  protected JsonArray getPolicies(MultiMap params, Drools drools) {
+  protected JsonArray getPolicies(MultiMap params, CirculationRulesEngine drools) {
     return drools.noticePolicies(params);
   }
 }
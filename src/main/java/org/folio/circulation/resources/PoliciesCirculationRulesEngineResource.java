@@ -0,0 +1,51 @@
+package org.folio.circulation.resources;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.OkJsonResponseResult;
+import org.folio.circulation.support.http.server.WebContext;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Calculates the loan, request and notice policy together in a single
+ * evaluation of the circulation rules.
+ */
+public class PoliciesCirculationRulesEngineResource extends Resource {
+  private final String applyPath;
+
+  /**
+   * @param applyPath  URL path for circulation rules triggering that returns
+   *                   the loan, request and notice policy of the first match
+   * @param client  the HttpClient to use for requests via Okapi
+   */
+  public PoliciesCirculationRulesEngineResource(String applyPath, HttpClient client) {
+    super(client);
+    this.applyPath = applyPath;
+  }
+
+  @Override
+  public void register(Router router) {
+    router.get(applyPath).handler(this::apply);
+  }
+
+  private void apply(RoutingContext routingContext) {
+    final Clients clients = Clients.create(new WebContext(routingContext), client);
+    final HttpServerRequest request = routingContext.request();
+
+    clients.circulationRules().applyRulesInProcess(
+      request.getParam(LOAN_TYPE_ID_NAME),
+      request.getParam(SHELVING_LOCATION_ID_NAME),
+      request.getParam(ITEM_TYPE_ID_NAME),
+      request.getParam(PATRON_TYPE_ID_NAME))
+      .thenApply(OkJsonResponseResult::from)
+      .thenAccept(result -> result.writeTo(routingContext.response()));
+  }
+}
@@ -24,6 +24,7 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.ItemRepository;
 import org.folio.circulation.support.Result;
 import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.http.server.ServerTiming;
 import org.folio.circulation.support.http.server.WebContext;
 
 import io.vertx.core.http.HttpClient;
@@ -52,6 +53,7 @@ public abstract class RenewalResource extends Resource {
 
   private void renew(RoutingContext routingContext) {
     final WebContext context = new WebContext(routingContext);
+    final ServerTiming timing = ServerTiming.start("renewal", routingContext);
     final Clients clients = Clients.create(context, client);
 
     final LoanRepository loanRepository = new LoanRepository(clients);
@@ -76,14 +78,21 @@ public abstract class RenewalResource extends Resource {
 
     findLoanResult
       .thenApply(r -> r.map(LoanAndRelatedRecords::new))
+      .thenApply(timing.stage("loan"))
       .thenComposeAsync(r -> r.after(loanPolicyRepository::lookupLoanPolicy))
+      .thenApply(timing.stage("loan-policy"))
       .thenComposeAsync(r -> r.after(requestQueueRepository::get))
+      .thenApply(timing.stage("request-queue"))
       .thenCompose(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
         LoanAndRelatedRecords::withTimeZone))
+      .thenApply(timing.stage("time-zone"))
       .thenComposeAsync(r -> r.after(records -> renewalStrategy.renew(records, bodyAsJson, clients)))
+      .thenApply(timing.stage("due-date"))
       .thenComposeAsync(r -> r.after(loanRepository::updateLoan))
+      .thenApply(timing.stage("loan-update"))
       .thenApply(r -> r.next(scheduledNoticeService::rescheduleDueDateNotices))
       .thenApply(r -> r.next(records -> sendRenewalPatronNotice(records, patronNoticeService)))
+      .thenApply(timing.stage("notices"))
       .thenApply(r -> r.map(loanRepresentation::extendedLoan))
       .thenApply(LoanResponse::from)
       .thenAccept(result -> result.writeTo(routingContext.response()));
@@ -0,0 +1,97 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+
+import org.folio.circulation.support.LruCache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Remembers the first matching rule calculated by the wrapped rules engine
+ * for each (item type, loan type, patron type, shelving location) tuple.
+ * The loan, request and notice policy of a tuple come from a single evaluation.
+ * <p>
+ * The cache belongs to the wrapped rules engine, create a new instance when the
+ * circulation rules change. The lists of all matches are not cached.
+ * The cached {@link Match} instances are shared and must not be modified.
+ */
+public class CachingCirculationRulesEngine implements CirculationRulesEngine {
+  private final CirculationRulesEngine engine;
+  private final LruCache<String, Match> matchCache;
+
+  /**
+   * @param engine  the rules engine to use on a cache miss
+   * @param maxSize  maximum number of tuples to cache
+   */
+  public CachingCirculationRulesEngine(CirculationRulesEngine engine, int maxSize) {
+    this.engine = engine;
+    this.matchCache = new LruCache<>(maxSize);
+  }
+
+  private static String key(MultiMap params) {
+    return params.get(ITEM_TYPE_ID_NAME)
+      + " " + params.get(LOAN_TYPE_ID_NAME)
+      + " " + params.get(PATRON_TYPE_ID_NAME)
+      + " " + params.get(SHELVING_LOCATION_ID_NAME);
+  }
+
+  @Override
+  public Match match(MultiMap params) {
+    return matchCache.get(key(params), tuple -> engine.match(params));
+  }
+
+  @Override
+  public String loanPolicy(MultiMap params) {
+    return match(params).loanPolicyId;
+  }
+
+  @Override
+  public JsonArray loanPolicies(MultiMap params) {
+    return engine.loanPolicies(params);
+  }
+
+  @Override
+  public String requestPolicy(MultiMap params) {
+    return match(params).requestPolicyId;
+  }
+
+  @Override
+  public JsonArray requestPolicies(MultiMap params) {
+    return engine.requestPolicies(params);
+  }
+
+  @Override
+  public String noticePolicy(MultiMap params) {
+    return match(params).noticePolicyId;
+  }
+
+  @Override
+  public JsonArray noticePolicies(MultiMap params) {
+    return engine.noticePolicies(params);
+  }
+
+  /**
+   * Remove all cached matches, the counters are kept.
+   */
+  public void clear() {
+    matchCache.clear();
+  }
+
+  /**
+   * @return size, maxSize, hits, misses and evictions of the policies cache
+   */
+  public JsonObject getStatistics() {
+    return new JsonObject()
+      .put("policies", new JsonObject()
+        .put("size", matchCache.size())
+        .put("maxSize", matchCache.getMaxSize())
+        .put("hits", matchCache.getHits())
+        .put("misses", matchCache.getMisses())
+        .put("evictions", matchCache.getEvictions()));
+  }
+}
@@ -0,0 +1,56 @@
+package org.folio.circulation.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single circulation rule as generated by {@link Text2Drools}: the criteria
+ * of the line and of all enclosing lines, the salience and the policies.
+ */
+class CirculationRule {
+  final int line;
+  final int salience;
+  final List<Criterium> criteria;
+  final String loanPolicyId;
+  final String requestPolicyId;
+  final String noticePolicyId;
+
+  CirculationRule(int line, int salience, List<Criterium> criteria,
+    String loanPolicyId, String requestPolicyId, String noticePolicyId) {
+
+    this.line = line;
+    this.salience = salience;
+    this.criteria = Collections.unmodifiableList(new ArrayList<>(criteria));
+    this.loanPolicyId = loanPolicyId;
+    this.requestPolicyId = requestPolicyId;
+    this.noticePolicyId = noticePolicyId;
+  }
+
+  /**
+   * @return a new Match with the policies and the line of this rule
+   */
+  Match toMatch() {
+    Match match = new Match();
+    match.loanPolicyId = loanPolicyId;
+    match.requestPolicyId = requestPolicyId;
+    match.noticePolicyId = noticePolicyId;
+    match.lineNumber = line;
+    return match;
+  }
+
+  /**
+   * Whether all criteria of the criterium type letter match the id.
+   * @param letter  one of t, a, b, c, s, m, g
+   * @param id  UUID to check, may be null
+   * @return true if there is no criterium of that type or all match
+   */
+  boolean matches(String letter, String id) {
+    for (Criterium criterium : criteria) {
+      if (criterium.letter.equals(letter) && ! criterium.matches(id)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,478 @@
+package org.folio.circulation.rules;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.Result.failed;
+import static org.folio.circulation.support.Result.succeeded;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.folio.circulation.support.CollectionResourceClient;
+import org.folio.circulation.support.DurationStatistics;
+import org.folio.circulation.support.ForwardOnFailure;
+import org.folio.circulation.support.LruCache;
+import org.folio.circulation.support.Result;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.http.client.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The compiled circulation rules of each tenant, shared by the circulation rules
+ * engine resources and by the policy repositories that apply the rules in process.
+ * <p>
+ * Each tenant's rules are published as an immutable snapshot that is replaced
+ * as a whole, and at most one reload per tenant is in flight. This makes the
+ * cache safe to use from several verticle instances.
+ */
+public class CirculationRulesCache {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int COMPILER_THREADS = 2;
+  /** number of compiled rules files kept in the compiled rules directory */
+  private static final int COMPILED_RULES_FILES = 100;
+  /** number of compiled draft rules kept for previews */
+  private static final int PREVIEW_CACHE_SIZE = 20;
+  /** after this time draft rules get compiled again */
+  private static final long PREVIEW_TIME_TO_LIVE_IN_MILLISECONDS = 10 * 60 * 1000L;
+
+  private static final CirculationRulesCache instance = new CirculationRulesCache();
+
+  /** after this time the rules get loaded before executing the circulation rules engine */
+  private volatile long maxAgeInMilliseconds = 5000;
+  /** after this time the circulation rules engine is executed first for a fast reply
+   * and then the circulation rules get reloaded */
+  private volatile long triggerAgeInMilliseconds = 4000;
+  /** the implementation used to compile the circulation rules */
+  private volatile CirculationRulesEngineType engineType = CirculationRulesEngineType.DROOLS;
+  /** maximum number of cached policy matches for each tenant */
+  private volatile int policyCacheSize = 10000;
+  /** whether the circulation rules engine resources are hosted in this JVM */
+  private volatile boolean inProcessEvaluation = false;
+  /** where the compiled tenant rules are stored, null if they are not stored */
+  private volatile CompiledRulesStore compiledRulesStore = null;
+
+  private static final class Rules {
+    final String rulesAsText;
+    /** the compiled rules together with the policies cached for them */
+    final CachingCirculationRulesEngine drools;
+    /** System.currentTimeMillis() of the last load/reload of the rules from the storage */
+    final long reloadTimestamp;
+    /** whether the rules must be reloaded before they get used again */
+    final boolean invalidated;
+
+    Rules(String rulesAsText, CachingCirculationRulesEngine drools,
+      long reloadTimestamp, boolean invalidated) {
+
+      this.rulesAsText = rulesAsText;
+      this.drools = drools;
+      this.reloadTimestamp = reloadTimestamp;
+      this.invalidated = invalidated;
+    }
+
+    Rules reloaded(long reloadTimestamp) {
+      return new Rules(rulesAsText, drools, reloadTimestamp, false);
+    }
+
+    Rules invalidate() {
+      return new Rules(rulesAsText, drools, reloadTimestamp, true);
+    }
+  }
+  /** rules and rules engine for each tenantId */
+  private final Map<String, Rules> rulesMap = new ConcurrentHashMap<>();
+  /** the reload in flight for each tenantId */
+  private final Map<String, CompletableFuture<Result<Rules>>> reloads = new ConcurrentHashMap<>();
+
+  /** compiling takes up to several hundred milliseconds, keep it off the event loop */
+  private final ExecutorService compiler = Executors.newFixedThreadPool(COMPILER_THREADS, runnable -> {
+    Thread thread = new Thread(runnable, "circulation-rules-compiler");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final DurationStatistics compileDuration = new DurationStatistics();
+  /** compiled draft rules by hash of engine type and rules text */
+  private final LruCache<String, CompletableFuture<Preview>> previews =
+    new LruCache<>(PREVIEW_CACHE_SIZE, PREVIEW_TIME_TO_LIVE_IN_MILLISECONDS);
+  private final DurationStatistics queueWait = new DurationStatistics();
+
+  /**
+   * Draft circulation rules compiled for a preview.
+   */
+  public static final class Preview {
+    private final CirculationRulesEngine engine;
+    private final long compileMilliseconds;
+    private final boolean cached;
+
+    Preview(CirculationRulesEngine engine, long compileMilliseconds, boolean cached) {
+      this.engine = engine;
+      this.compileMilliseconds = compileMilliseconds;
+      this.cached = cached;
+    }
+
+    public CirculationRulesEngine getEngine() {
+      return engine;
+    }
+
+    /**
+     * @return how long compiling the draft rules took, including the wait
+     *         for a compiler thread
+     */
+    public long getCompileMilliseconds() {
+      return compileMilliseconds;
+    }
+
+    /**
+     * @return whether the draft rules had been compiled by a previous preview
+     */
+    public boolean isCached() {
+      return cached;
+    }
+
+    private Preview fromCache() {
+      return new Preview(engine, compileMilliseconds, true);
+    }
+  }
+
+  private CirculationRulesCache() { }
+
+  public static CirculationRulesCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Set the cache time.
+   * @param triggerAgeInMilliseconds  after this time the circulation rules engine is executed first for a fast reply
+   *                                  and then the circulation rules get reloaded
+   * @param maxAgeInMilliseconds  after this time the rules get loaded before executing the circulation rules engine
+   */
+  public void setCacheTime(long triggerAgeInMilliseconds, long maxAgeInMilliseconds) {
+    this.triggerAgeInMilliseconds = triggerAgeInMilliseconds;
+    this.maxAgeInMilliseconds = maxAgeInMilliseconds;
+  }
+
+  /**
+   * Keep the loaded rules until they get invalidated by {@link #refresh}
+   * or {@link #clearCache}, and reload them in the background as a consistency
+   * check, for example to get changes made via another module instance.
+   * @param consistencyCheckMilliseconds  after this time the rules get reloaded
+   *                                      in the background
+   */
+  public void usePushInvalidation(long consistencyCheckMilliseconds) {
+    setCacheTime(consistencyCheckMilliseconds, Long.MAX_VALUE);
+  }
+
+  /**
+   * Set the circulation rules engine implementation. This drops the cache.
+   * @param engineType  the implementation to use for compiling the circulation rules
+   */
+  public void setEngineType(CirculationRulesEngineType engineType) {
+    this.engineType = engineType;
+    dropCache();
+  }
+
+  /**
+   * Set the maximum number of policy matches cached for each tenant.
+   * This drops the cache.
+   * @param policyCacheSize  maximum number of (item type, loan type, patron type,
+   *                         shelving location) tuples, 0 disables the cache
+   */
+  public void setPolicyCacheSize(int policyCacheSize) {
+    this.policyCacheSize = policyCacheSize;
+    dropCache();
+  }
+
+  /**
+   * @return true if the policy repositories should apply the circulation rules
+   *         in this JVM, false if they should call the circulation rules engine via Okapi
+   */
+  public boolean isInProcessEvaluation() {
+    return inProcessEvaluation;
+  }
+
+  /**
+   * Enable this only when the circulation rules engine resources are
+   * registered in this JVM.
+   * @param inProcessEvaluation  whether the policy repositories should apply
+   *                             the circulation rules without calling Okapi
+   */
+  public void setInProcessEvaluation(boolean inProcessEvaluation) {
+    this.inProcessEvaluation = inProcessEvaluation;
+  }
+
+  /**
+   * Store the compiled circulation rules of the tenants in the directory
+   * and load them from there instead of compiling them again, for example
+   * after a restart of the module.
+   * @param directory  where to store the compiled rules, null or empty to disable
+   */
+  public void setCompiledRulesDirectory(String directory) {
+    if (directory == null || directory.trim().isEmpty()) {
+      compiledRulesStore = null;
+      return;
+    }
+    compiledRulesStore = new CompiledRulesStore(Paths.get(directory.trim()), COMPILED_RULES_FILES);
+  }
+
+  /**
+   * Statistics of the tenant's policy cache.
+   * @param tenantId  id of the tenant
+   * @return size, maxSize, hits, misses and evictions of the policies cache,
+   *         empty if the tenant's rules haven't been loaded yet
+   */
+  public JsonObject getPolicyCacheStatistics(String tenantId) {
+    Rules rules = rulesMap.get(tenantId);
+    if (rules == null) {
+      return new JsonObject();
+    }
+    return rules.drools.getStatistics();
+  }
+
+  /**
+   * Completely drop the cache. This enforces rebuilding the drools rules
+   * even when the circulation rules haven't changed.
+   */
+  public void dropCache() {
+    reloads.clear();
+    rulesMap.clear();
+    previews.clear();
+  }
+
+  /**
+   * Enforce reload of the tenant's circulation rules.
+   * This doesn't rebuild the drools rules if the circulation rules haven't changed.
+   * @param tenantId  id of the tenant
+   */
+  public void clearCache(String tenantId) {
+    // a reload in flight may have fetched the rules before they changed
+    reloads.remove(tenantId);
+    Rules rules = rulesMap.computeIfPresent(tenantId,
+      (id, current) -> current.invalidate());
+    if (rules != null) {
+      rules.drools.clear();
+    }
+  }
+
+  private boolean isCurrent(Rules rules) {
+    if (rules == null || rules.invalidated) {
+      return false;
+    }
+    return age(rules) < maxAgeInMilliseconds;
+  }
+
+  /**
+   * Reload is needed if the last reload is TRIGGER_AGE_IN_MILLISECONDS old.
+   * @param rules - rules to reload
+   * @return whether reload is needed
+   */
+  private boolean reloadNeeded(Rules rules) {
+    return age(rules) > triggerAgeInMilliseconds;
+  }
+
+  private static long age(Rules rules) {
+    return System.currentTimeMillis() - rules.reloadTimestamp;
+  }
+
+  /**
+   * Invalidate the tenant's rules and eagerly load and compile them again.
+   * @param tenantId  id of the tenant
+   * @param circulationRulesStorage  client for the tenant's circulation rules storage
+   * @return the reloaded rules engine, or the failure of loading or compiling the rules
+   */
+  public CompletableFuture<Result<CirculationRulesEngine>> refresh(
+    String tenantId, CollectionResourceClient circulationRulesStorage) {
+
+    clearCache(tenantId);
+    return getRulesEngine(tenantId, circulationRulesStorage);
+  }
+
+  /**
+   * Return the rules engine of the tenant, load the circulation rules
+   * from the storage module if they are missing or outdated.
+   * @param tenantId  id of the tenant
+   * @param circulationRulesStorage  client for the tenant's circulation rules storage
+   * @return the rules engine, or the failure of loading or compiling the rules
+   */
+  public CompletableFuture<Result<CirculationRulesEngine>> getRulesEngine(
+    String tenantId, CollectionResourceClient circulationRulesStorage) {
+
+    Rules rules = rulesMap.get(tenantId);
+    if (isCurrent(rules)) {
+      if (reloadNeeded(rules)) {
+        reloadRules(tenantId, rules, circulationRulesStorage);
+      }
+      return completedFuture(succeeded(rules.drools));
+    }
+
+    return reloadRules(tenantId, rules, circulationRulesStorage)
+      .thenApply(result -> result.map(reloaded -> reloaded.drools));
+  }
+
+  /**
+   * Load the circulation rules from the storage module and publish them,
+   * or join the reload already in flight for the tenant.
+   * @param tenantId - id of the tenant
+   * @param previous - the current rules, may be null
+   * @param circulationRulesStorage - where to load the rules from
+   * @return the reloaded rules, or the failure
+   */
+  private CompletableFuture<Result<Rules>> reloadRules(String tenantId,
+    Rules previous, CollectionResourceClient circulationRulesStorage) {
+
+    if (circulationRulesStorage == null) {
+      return completedFuture(failedDueToServerError(
+        "Unable to load circulation rules, no storage client"));
+    }
+
+    CompletableFuture<Result<Rules>> reload = new CompletableFuture<>();
+    CompletableFuture<Result<Rules>> inFlight = reloads.putIfAbsent(tenantId, reload);
+    if (inFlight != null) {
+      return inFlight;
+    }
+
+    circulationRulesStorage.get()
+      .thenCompose(response -> rulesLoaded(previous, response))
+      .exceptionally(e -> {
+        log.error("reloadRules", e);
+        return failed(new ServerErrorFailure(ExceptionUtils.getStackTrace(e)));
+      })
+      .thenAccept(result -> {
+        // don't publish if the cache has been cleared in the meantime
+        if (reloads.remove(tenantId, reload) && result.succeeded()) {
+          rulesMap.put(tenantId, result.value());
+        }
+        reload.complete(result);
+      });
+
+    return reload;
+  }
+
+  private CompletableFuture<Result<Rules>> rulesLoaded(Rules previous, Response response) {
+    if (response.getStatusCode() != 200) {
+      log.error("{} {}", response.getStatusCode(), response.getBody());
+      return completedFuture(failed(new ForwardOnFailure(response)));
+    }
+
+    long reloadTimestamp = System.currentTimeMillis();
+    JsonObject circulationRules = response.getJson();
+    if (log.isDebugEnabled()) {
+      log.debug("circulationRules = {}", circulationRules.encodePrettily());
+    }
+    String rulesAsText = circulationRules.getString("rulesAsText");
+    if (rulesAsText == null) {
+      throw new NullPointerException("rulesAsText");
+    }
+    if (previous != null && previous.rulesAsText.equals(rulesAsText)) {
+      return completedFuture(succeeded(previous.reloaded(reloadTimestamp)));
+    }
+    return onCallersContext(compile(rulesAsText, compiledRulesStore))
+      .thenApply(engine -> succeeded(new Rules(rulesAsText,
+        new CachingCirculationRulesEngine(engine, policyCacheSize), reloadTimestamp, false)));
+  }
+
+  /**
+   * Compile the circulation rules on the compiler thread pool, the
+   * calling thread is not blocked. When called on a Vert.x context the
+   * result is completed on that context.
+   * @param rulesAsText  the circulation rules to compile
+   * @return the rules engine, completes exceptionally if the rules are invalid
+   */
+  public CompletableFuture<CirculationRulesEngine> compile(String rulesAsText) {
+    return onCallersContext(compile(rulesAsText, null));
+  }
+
+  private static <T> CompletableFuture<T> onCallersContext(CompletableFuture<T> future) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return future;
+    }
+    CompletableFuture<T> onContext = new CompletableFuture<>();
+    future.whenComplete((value, e) -> context.runOnContext(v -> {
+      if (e != null) {
+        onContext.completeExceptionally(e);
+      } else {
+        onContext.complete(value);
+      }
+    }));
+    return onContext;
+  }
+
+  /**
+   * Compile the circulation rules on the compiler thread pool, or load
+   * them from the store if they have been compiled before.
+   * @param rulesAsText  the circulation rules to compile
+   * @param store  where to store the compiled rules, null to only compile them
+   * @return the rules engine, completes exceptionally if the rules are invalid
+   */
+  private CompletableFuture<CirculationRulesEngine> compile(String rulesAsText,
+    CompiledRulesStore store) {
+
+    final CirculationRulesEngineType type = engineType;
+    final long queued = System.currentTimeMillis();
+
+    return CompletableFuture.supplyAsync(() -> {
+      long started = System.currentTimeMillis();
+      queueWait.record(started - queued);
+      try {
+        if (store != null) {
+          return store.compile(type, rulesAsText);
+        }
+        return type.compile(rulesAsText);
+      }
+      finally {
+        long duration = System.currentTimeMillis() - started;
+        compileDuration.record(duration);
+        log.info("Compiled circulation rules in {} ms after waiting {} ms",
+          duration, started - queued);
+      }
+    }, compiler);
+  }
+
+  /**
+   * Compile draft circulation rules for a preview, or reuse them if the
+   * same draft has been compiled recently.
+   * @param rulesAsText  the draft circulation rules
+   * @return the compiled draft rules, completes exceptionally if the rules are invalid
+   */
+  public CompletableFuture<Preview> compilePreview(String rulesAsText) {
+    String key = CompiledRulesStore.sha256(engineType.name() + "\n" + rulesAsText);
+    boolean[] compiling = { false };
+
+    CompletableFuture<Preview> preview = previews.get(key, k -> {
+      compiling[0] = true;
+      long started = System.currentTimeMillis();
+      return compile(rulesAsText, null).thenApply(engine ->
+        new Preview(engine, System.currentTimeMillis() - started, false));
+    });
+
+    if (compiling[0]) {
+      // don't keep invalid rules, the next preview reports the error again
+      preview.whenComplete((compiled, e) -> {
+        if (e != null) {
+          previews.remove(key, preview);
+        }
+      });
+      return onCallersContext(preview);
+    }
+    return onCallersContext(preview.thenApply(Preview::fromCache));
+  }
+
+  /**
+   * @return compileDuration and queueWait statistics of all compilations
+   */
+  public JsonObject getCompileStatistics() {
+    return new JsonObject()
+      .put("compileDuration", compileDuration.toJson())
+      .put("queueWait", queueWait.toJson());
+  }
+}
@@ -0,0 +1,60 @@
+package org.folio.circulation.rules;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Calculates the loan, request and notice policy from the compiled circulation rules
+ * based on item type, loan type, patron type and shelving location.
+ */
+public interface CirculationRulesEngine {
+  /**
+   * Calculate the first matching rule.
+   * @param params request parameters
+   * @return the policies and the line number of the first matching rule, never null;
+   *         without policies and with line number 0 if no rule matches
+   */
+  Match match(MultiMap params);
+
+  /**
+   * Calculate the loan policy.
+   * @param params request parameters
+   * @return the id of the loan policy
+   */
+  String loanPolicy(MultiMap params);
+
+  /**
+   * Return all loan policies in the order they match.
+   * @param params request parameters
+   * @return matches, each match has a loanPolicyId and a circulationRuleLine field
+   */
+  JsonArray loanPolicies(MultiMap params);
+
+  /**
+   * Calculate the request policy.
+   * @param params request parameters
+   * @return the id of the request policy
+   */
+  String requestPolicy(MultiMap params);
+
+  /**
+   * Return all request policies in the order they match.
+   * @param params request parameters
+   * @return matches, each match has a requestPolicyId and a circulationRuleLine field
+   */
+  JsonArray requestPolicies(MultiMap params);
+
+  /**
+   * Calculate the notice policy.
+   * @param params request parameters
+   * @return the id of the notice policy
+   */
+  String noticePolicy(MultiMap params);
+
+  /**
+   * Return all notice policies in the order they match.
+   * @param params request parameters
+   * @return matches, each match has a noticePolicyId and a circulationRuleLine field
+   */
+  JsonArray noticePolicies(MultiMap params);
+}
@@ -0,0 +1,214 @@
+package org.folio.circulation.rules;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.api.KieServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The available circulation rules engine implementations.
+ */
+public enum CirculationRulesEngineType {
+  /** compiles the rules into a Drools KieContainer, the reference implementation */
+  DROOLS {
+    @Override
+    public CirculationRulesEngine compile(String rulesAsText) {
+      return compileDrools(rulesAsText);
+    }
+
+    @Override
+    Compiled compileWithArtifact(String rulesAsText) {
+      Drools drools = compileDrools(rulesAsText);
+      return new Compiled(drools, drools.toKieModule());
+    }
+
+    @Override
+    CirculationRulesEngine load(byte[] artifact) {
+      return Drools.fromKieModule(artifact);
+    }
+
+    @Override
+    String artifactVersion() {
+      return "kjar " + KieServices.class.getPackage().getImplementationVersion();
+    }
+  },
+  /** compiles the rules into a {@link RulesMatcher} */
+  NATIVE {
+    @Override
+    public CirculationRulesEngine compile(String rulesAsText) {
+      return RulesMatcher.compile(rulesAsText);
+    }
+
+    @Override
+    Compiled compileWithArtifact(String rulesAsText) throws IOException {
+      List<CirculationRule> rules = new ArrayList<>(Text2Drools.convertToRules(rulesAsText));
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        writeRules(out, rules);
+      }
+      return new Compiled(new RulesMatcher(rules), bytes.toByteArray());
+    }
+
+    @Override
+    CirculationRulesEngine load(byte[] artifact) throws IOException {
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(artifact))) {
+        return new RulesMatcher(readRules(in));
+      }
+    }
+
+    @Override
+    String artifactVersion() {
+      return "rules 2";
+    }
+  };
+
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  /**
+   * A rules engine together with the artifact {@link #load} restores it from.
+   */
+  static final class Compiled {
+    final CirculationRulesEngine engine;
+    final byte[] artifact;
+
+    Compiled(CirculationRulesEngine engine, byte[] artifact) {
+      this.engine = engine;
+      this.artifact = artifact;
+    }
+  }
+
+  /**
+   * Write the rules as plain values, so that restoring them from a file
+   * cannot create objects of any other class.
+   */
+  private static void writeRules(DataOutputStream out, List<CirculationRule> rules)
+    throws IOException {
+
+    out.writeInt(rules.size());
+    for (CirculationRule rule : rules) {
+      out.writeInt(rule.line);
+      out.writeInt(rule.salience);
+      writeNullable(out, rule.loanPolicyId);
+      writeNullable(out, rule.requestPolicyId);
+      writeNullable(out, rule.noticePolicyId);
+      out.writeInt(rule.criteria.size());
+      for (Criterium criterium : rule.criteria) {
+        out.writeUTF(criterium.letter);
+        out.writeBoolean(criterium.all);
+        out.writeBoolean(criterium.not);
+        out.writeInt(criterium.names.size());
+        for (String name : criterium.names) {
+          out.writeUTF(name);
+        }
+      }
+    }
+  }
+
+  private static List<CirculationRule> readRules(DataInputStream in) throws IOException {
+    int numberOfRules = readCount(in);
+    List<CirculationRule> rules = new ArrayList<>();
+    for (int r = 0; r < numberOfRules; r++) {
+      int line = in.readInt();
+      int salience = in.readInt();
+      String loanPolicyId = readNullable(in);
+      String requestPolicyId = readNullable(in);
+      String noticePolicyId = readNullable(in);
+      int numberOfCriteria = readCount(in);
+      List<Criterium> criteria = new ArrayList<>();
+      for (int c = 0; c < numberOfCriteria; c++) {
+        String letter = in.readUTF();
+        boolean all = in.readBoolean();
+        boolean not = in.readBoolean();
+        int numberOfNames = readCount(in);
+        List<String> names = new ArrayList<>();
+        for (int n = 0; n < numberOfNames; n++) {
+          names.add(in.readUTF());
+        }
+        criteria.add(new Criterium(letter, all, not, names));
+      }
+      rules.add(new CirculationRule(line, salience, criteria,
+        loanPolicyId, requestPolicyId, noticePolicyId));
+    }
+    if (in.read() != -1) {
+      throw new IOException("Unexpected data after the circulation rules");
+    }
+    return rules;
+  }
+
+  private static int readCount(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Negative count " + count);
+    }
+    return count;
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static Drools compileDrools(String rulesAsText) {
+    String rulesAsDrools = Text2Drools.convert(rulesAsText);
+    log.debug("rulesAsDrools = {}", rulesAsDrools);
+    return new Drools(rulesAsDrools);
+  }
+
+  /**
+   * Compile the circulation rules.
+   * @param rulesAsText  circulation rules file in FOLIO syntax
+   * @return the rules engine
+   * @throws CirculationRulesException on syntax error
+   */
+  public abstract CirculationRulesEngine compile(String rulesAsText);
+
+  /**
+   * Compile the circulation rules into a rules engine and an artifact
+   * that can be stored.
+   * @param rulesAsText  circulation rules file in FOLIO syntax
+   * @return the rules engine and the artifact
+   * @throws CirculationRulesException on syntax error
+   * @throws IOException if the artifact cannot be created
+   */
+  abstract Compiled compileWithArtifact(String rulesAsText) throws IOException;
+
+  /**
+   * Restore the rules engine from an artifact of {@link #compileWithArtifact}.
+   * @param artifact  the stored artifact
+   * @return the rules engine
+   * @throws IOException if the artifact is corrupt
+   */
+  abstract CirculationRulesEngine load(byte[] artifact) throws IOException;
+
+  /**
+   * @return the version of the artifact format, artifacts of other versions are discarded
+   */
+  abstract String artifactVersion();
+
+  /**
+   * The type for the name, case insensitive.
+   * @param name  name of the type, may be null
+   * @return the type, DROOLS if name is null or empty
+   * @throws IllegalArgumentException if there is no type with that name
+   */
+  public static CirculationRulesEngineType from(String name) {
+    if (name == null || name.trim().isEmpty()) {
+      return DROOLS;
+    }
+    return valueOf(name.trim().toUpperCase());
+  }
+}
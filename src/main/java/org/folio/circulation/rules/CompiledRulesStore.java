@@ -0,0 +1,189 @@
+package org.folio.circulation.rules;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores compiled circulation rules in a local directory so that they don't
+ * need to be compiled again after a restart.
+ * <p>
+ * The file name is the SHA-256 hash of the engine type and the rules text.
+ * Each file starts with a header of format version, engine type, artifact
+ * version and rules hash, and ends with the hash of the artifact. Files that
+ * don't match are deleted and the rules get compiled again.
+ */
+class CompiledRulesStore {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String MAGIC = "mod-circulation compiled circulation rules";
+  private static final int FORMAT_VERSION = 1;
+  private static final String SUFFIX = ".rules";
+
+  private final Path directory;
+  private final int maxEntries;
+
+  /**
+   * @param directory  where to store the compiled rules, created if missing
+   * @param maxEntries  number of files to keep, the least recently used get deleted
+   */
+  CompiledRulesStore(Path directory, int maxEntries) {
+    this.directory = directory;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Load the compiled rules from the directory, or compile and store them.
+   * @param type  the engine type
+   * @param rulesAsText  circulation rules file in FOLIO syntax
+   * @return the rules engine
+   * @throws CirculationRulesException on syntax error
+   */
+  CirculationRulesEngine compile(CirculationRulesEngineType type, String rulesAsText) {
+    String rulesHash = sha256(rulesAsText);
+    Path file = directory.resolve(sha256(type.name() + "\n" + rulesAsText) + SUFFIX);
+
+    if (Files.isRegularFile(file)) {
+      try {
+        CirculationRulesEngine engine = type.load(read(file, type, rulesHash));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        log.info("Loaded compiled circulation rules from {}", file);
+        return engine;
+      }
+      catch (Exception e) {
+        log.warn("Discarding compiled circulation rules {}: {}", file, e.getMessage());
+        delete(file);
+      }
+    }
+
+    CirculationRulesEngineType.Compiled compiled;
+    try {
+      compiled = type.compileWithArtifact(rulesAsText);
+    }
+    catch (IOException e) {
+      log.warn("Unable to create compiled circulation rules artifact: {}", e.getMessage());
+      return type.compile(rulesAsText);
+    }
+
+    try {
+      write(file, type, rulesHash, compiled.artifact);
+      prune();
+    }
+    catch (IOException e) {
+      log.warn("Unable to store compiled circulation rules {}: {}", file, e.getMessage());
+    }
+    return compiled.engine;
+  }
+
+  private static byte[] read(Path file, CirculationRulesEngineType type, String rulesHash)
+    throws IOException {
+
+    try (DataInputStream in = new DataInputStream(
+      new ByteArrayInputStream(Files.readAllBytes(file)))) {
+
+      expect("magic", MAGIC, in.readUTF());
+      expect("format version", FORMAT_VERSION, in.readInt());
+      expect("engine type", type.name(), in.readUTF());
+      expect("artifact version", type.artifactVersion(), in.readUTF());
+      expect("rules hash", rulesHash, in.readUTF());
+      byte[] artifact = new byte[in.readInt()];
+      in.readFully(artifact);
+      expect("artifact hash", sha256(artifact), in.readUTF());
+      return artifact;
+    }
+  }
+
+  private void write(Path file, CirculationRulesEngineType type, String rulesHash,
+    byte[] artifact) throws IOException {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(artifact.length + 1024);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeUTF(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(type.name());
+      out.writeUTF(type.artifactVersion());
+      out.writeUTF(rulesHash);
+      out.writeInt(artifact.length);
+      out.write(artifact);
+      out.writeUTF(sha256(artifact));
+    }
+
+    Files.createDirectories(directory);
+    // other module instances may share the directory, never expose a partial file
+    Path temp = Files.createTempFile(directory, "compiling", ".tmp");
+    try {
+      Files.write(temp, bytes.toByteArray());
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void prune() throws IOException {
+    List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list
+        .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+        .sorted(Comparator.comparing(CompiledRulesStore::lastModified).reversed())
+        .collect(Collectors.toList());
+    }
+    files.stream().skip(maxEntries).forEach(CompiledRulesStore::delete);
+  }
+
+  private static long lastModified(Path file) {
+    return file.toFile().lastModified();
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    }
+    catch (IOException e) {
+      log.warn("Unable to delete {}: {}", file, e.getMessage());
+    }
+  }
+
+  private static void expect(String name, Object expected, Object actual) throws IOException {
+    if (! expected.equals(actual)) {
+      throw new IOException(name + " mismatch, expected " + expected + " but found " + actual);
+    }
+  }
+
+  static String sha256(String text) {
+    return sha256(text.getBytes(UTF_8));
+  }
+
+  private static String sha256(byte[] bytes) {
+    try {
+      StringBuilder hex = new StringBuilder(64);
+      for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      // every Java platform implements SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
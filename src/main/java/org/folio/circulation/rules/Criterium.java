@@ -0,0 +1,42 @@
+package org.folio.circulation.rules;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One criterium of a circulation rule, for example <code>m !dvd !music</code>.
+ */
+class Criterium {
+  /** one of t, a, b, c, s, m, g */
+  final String letter;
+  /** true for <code>m all</code> */
+  final boolean all;
+  /** true if the names are negated, for example <code>m !dvd</code> */
+  final boolean not;
+  final Set<String> names;
+
+  Criterium(String letter, boolean all, boolean not, List<String> names) {
+    this.letter = letter;
+    this.all = all;
+    this.not = not;
+    this.names = Collections.unmodifiableSet(new HashSet<>(names));
+  }
+
+  /**
+   * Whether the id matches this criterium. Uses the same semantics as the
+   * generated Drools expressions <code>id == ...</code>, <code>id != ...</code>,
+   * <code>id in (...)</code> and <code>id not in (...)</code>, a null id
+   * doesn't match any name.
+   *
+   * @param id  the UUID to check, may be null
+   * @return true on match
+   */
+  boolean matches(String id) {
+    if (all) {
+      return true;
+    }
+    return names.contains(id) != not;
+  }
+}
@@ -6,9 +6,11 @@ import static org.folio.circulation.resources.AbstractCirculationRulesEngineReso
 import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
 import static org.folio.circulation.support.JsonPropertyWriter.write;
 
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
 import org.kie.api.builder.Message.Level;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
@@ -19,13 +21,19 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Holds a Drools kieSession to calculate a loan policy.
+ * <p>
+ * This is the reference implementation of the circulation rules engine,
+ * see {@link RulesMatcher} for a faster one.
+ * <p>
+ * Each evaluation uses its own session and its own match global,
+ * an instance can be used by several threads concurrently.
  */
-public class Drools {
+public class Drools implements CirculationRulesEngine {
   // https://docs.jboss.org/drools/release/6.2.0.CR1/drools-docs/html/ch19.html
   // http://www.deepakgaikwad.net/index.php/2016/05/16/drools-tutorial-beginners.html
 
-  private Match match = new Match();
-  private KieContainer kieContainer;
+  private final KieModule kieModule;
+  private final KieContainer kieContainer;
 
   /**
    * Create the Drools kieSession based on a String containing a drools file.
@@ -35,21 +43,52 @@ public class Drools {
     KieServices kieServices = KieServices.Factory.get();
     KieFileSystem kfs = kieServices.newKieFileSystem();
     kfs.write("src/main/resources/circulationrules/circulation-rules.drl", drools);
-    KieBuilder kieBuilder = kieServices.newKieBuilder(kfs);
-    kieBuilder.buildAll();
-    if (kieBuilder.getResults().hasMessages(Level.ERROR)) {
-      throw new IllegalArgumentException("Drools build errors:\n" + kieBuilder.getResults().toString());
+    // all builds share the default release id of the KieRepository,
+    // build and load the container of one build at a time
+    synchronized (Drools.class) {
+      KieBuilder kieBuilder = kieServices.newKieBuilder(kfs);
+      kieBuilder.buildAll();
+      if (kieBuilder.getResults().hasMessages(Level.ERROR)) {
+        throw new IllegalArgumentException("Drools build errors:\n" + kieBuilder.getResults().toString());
+      }
+      kieModule = kieBuilder.getKieModule();
+      kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
     }
-    kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
   }
 
-  private KieSession createSession(MultiMap params) {
+  private Drools(KieModule kieModule, KieContainer kieContainer) {
+    this.kieModule = kieModule;
+    this.kieContainer = kieContainer;
+  }
+
+  /**
+   * The compiled rules as kjar, this includes the compiled classes.
+   * @return the kjar bytes, see {@link #fromKieModule(byte[])}
+   */
+  byte[] toKieModule() {
+    return ((InternalKieModule) kieModule).getBytes();
+  }
+
+  /**
+   * Load rules compiled by {@link #toKieModule()}, this skips the Java compilation.
+   * @param kjar  the kjar bytes
+   * @return the rules engine
+   */
+  static Drools fromKieModule(byte[] kjar) {
+    KieServices kieServices = KieServices.Factory.get();
+    synchronized (Drools.class) {
+      KieModule kieModule = kieServices.getRepository().addKieModule(
+        kieServices.getResources().newByteArrayResource(kjar));
+      return new Drools(kieModule, kieServices.newKieContainer(kieModule.getReleaseId()));
+    }
+  }
+
+  private KieSession createSession(MultiMap params, Match match) {
     String itemTypeId = params.get(ITEM_TYPE_ID_NAME);
     String loanTypeId = params.get(LOAN_TYPE_ID_NAME);
     String patronGroupId = params.get(PATRON_TYPE_ID_NAME);
     String shelvingLocationId = params.get(SHELVING_LOCATION_ID_NAME);
     KieSession kieSession = kieContainer.newKieSession();
-    match.loanPolicyId = null;
     kieSession.setGlobal("match", match);
     kieSession.insert(new ItemType(itemTypeId));
     kieSession.insert(new LoanType(loanTypeId));
@@ -61,16 +100,23 @@ public class Drools {
     return kieSession;
   }
 
+  @Override
+  public Match match(MultiMap params) {
+    Match match = new Match();
+    KieSession kieSession = createSession(params, match);
+    kieSession.fireAllRules();
+    kieSession.dispose();
+    return match;
+  }
+
   /**
    * Calculate the loan policy for itemTypeName and loanTypeName.
    * @param params request parameters
    * @return the name of the loan policy
    */
+  @Override
   public String loanPolicy(MultiMap params) {
-    KieSession kieSession = createSession(params);
-    kieSession.fireAllRules();
-    kieSession.dispose();
-    return match.loanPolicyId;
+    return match(params).loanPolicyId;
   }
 
   /**
@@ -79,8 +125,10 @@ public class Drools {
    * @param params request params
    * @return matches, each match has a loanPolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray loanPolicies(MultiMap params) {
-    KieSession kieSession = createSession(params);
+    Match match = new Match();
+    KieSession kieSession = createSession(params, match);
 
     JsonArray array = new JsonArray();
 
@@ -88,7 +136,7 @@ public class Drools {
       JsonObject json = new JsonObject();
 
       write(json, "loanPolicyId", match.loanPolicyId);
-      writeLineMatch(json);
+      writeLineMatch(json, match);
 
       array.add(json);
     }
@@ -102,11 +150,9 @@ public class Drools {
    * @param params request params
    * @return the name of the request policy
    */
+  @Override
   public String requestPolicy(MultiMap params) {
-    KieSession kieSession = createSession(params);
-    kieSession.fireAllRules();
-    kieSession.dispose();
-    return match.requestPolicyId;
+    return match(params).requestPolicyId;
   }
 
    /**
@@ -115,8 +161,10 @@ public class Drools {
    * @param params request params
    * @return matches, each match has a requestPolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray requestPolicies(MultiMap params) {
-    KieSession kieSession = createSession(params);
+    Match match = new Match();
+    KieSession kieSession = createSession(params, match);
 
     JsonArray array = new JsonArray();
 
@@ -124,7 +172,7 @@ public class Drools {
       JsonObject json = new JsonObject();
 
       write(json, "requestPolicyId", match.requestPolicyId);
-      writeLineMatch(json);
+      writeLineMatch(json, match);
 
       array.add(json);
     }
@@ -139,11 +187,9 @@ public class Drools {
    * @param params request params
    * @return the name of the notice policy
    */
+  @Override
   public String noticePolicy(MultiMap params) {
-    KieSession kieSession = createSession(params);
-    kieSession.fireAllRules();
-    kieSession.dispose();
-    return match.noticePolicyId;
+    return match(params).noticePolicyId;
   }
 
    /**
@@ -152,8 +198,10 @@ public class Drools {
    * @param params request params
    * @return matches, each match has a noticePolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray noticePolicies(MultiMap params) {
-    KieSession kieSession = createSession(params);
+    Match match = new Match();
+    KieSession kieSession = createSession(params, match);
 
     JsonArray array = new JsonArray();
 
@@ -161,7 +209,7 @@ public class Drools {
       JsonObject json = new JsonObject();
 
       json.put("noticePolicyId", match.noticePolicyId);
-      writeLineMatch(json);
+      writeLineMatch(json, match);
 
       array.add(json);
     }
@@ -171,7 +219,7 @@ public class Drools {
     return array;
   }
 
-  private void writeLineMatch(JsonObject json) {
+  private static void writeLineMatch(JsonObject json, Match match) {
     write(json, "circulationRuleLine", match.lineNumber);
   }
 
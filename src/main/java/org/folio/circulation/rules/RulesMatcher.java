@@ -0,0 +1,196 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+import static org.folio.circulation.support.JsonPropertyWriter.write;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Circulation rules engine that doesn't use Drools.
+ * <p>
+ * The rules are sorted by descending salience, the same order Drools fires them.
+ * For each criterium type and each UUID used in the rules there is a bit set of
+ * the rules that match that UUID, and one bit set for all other UUIDs.
+ * A lookup ANDs the four bit sets of item type, loan type, patron group and
+ * shelving location, the lowest bit set is the first matching rule.
+ * <p>
+ * Campus, branch and collection location are always the empty String (see
+ * {@link Drools}), rules that cannot match them are dropped when compiling.
+ * <p>
+ * Instances are immutable and can be used by several threads.
+ */
+public class RulesMatcher implements CirculationRulesEngine {
+  private final CirculationRule [] rules;
+  private final int words;
+  private final Index itemTypeIndex;
+  private final Index loanTypeIndex;
+  private final Index patronGroupIndex;
+  private final Index shelvingLocationIndex;
+
+  /** The bit sets of one criterium type. */
+  private static class Index {
+    private final Map<String,long[]> matchesById;
+    private final long [] matchesOtherIds;
+
+    Index(CirculationRule [] rules, int words, String letter) {
+      Set<String> ids = new HashSet<>();
+      for (CirculationRule rule : rules) {
+        for (Criterium criterium : rule.criteria) {
+          if (criterium.letter.equals(letter)) {
+            ids.addAll(criterium.names);
+          }
+        }
+      }
+      matchesById = new HashMap<>(ids.size() * 2);
+      for (String id : ids) {
+        matchesById.put(id, bitSet(rules, words, letter, id));
+      }
+      // any id not used in the rules behaves like null
+      matchesOtherIds = bitSet(rules, words, letter, null);
+    }
+
+    private static long [] bitSet(CirculationRule [] rules, int words, String letter, String id) {
+      long [] bits = new long[words];
+      for (int i = 0; i < rules.length; i++) {
+        if (rules[i].matches(letter, id)) {
+          bits[i >>> 6] |= 1L << i;
+        }
+      }
+      return bits;
+    }
+
+    long [] get(String id) {
+      if (id == null) {
+        return matchesOtherIds;
+      }
+      return matchesById.getOrDefault(id, matchesOtherIds);
+    }
+  }
+
+  /**
+   * Create the rules engine from the rules.
+   * @param circulationRules  rules as created by {@link Text2Drools#convertToRules(String)}
+   */
+  RulesMatcher(List<CirculationRule> circulationRules) {
+    List<CirculationRule> list = new ArrayList<>(circulationRules.size());
+    for (CirculationRule rule : circulationRules) {
+      if (rule.matches("a", "") && rule.matches("b", "") && rule.matches("c", "")) {
+        list.add(rule);
+      }
+    }
+    list.sort(Comparator.comparingInt((CirculationRule rule) -> rule.salience).reversed());
+    rules = list.toArray(new CirculationRule[0]);
+    words = (rules.length + 63) >>> 6;
+    itemTypeIndex = new Index(rules, words, "m");
+    loanTypeIndex = new Index(rules, words, "t");
+    patronGroupIndex = new Index(rules, words, "g");
+    shelvingLocationIndex = new Index(rules, words, "s");
+  }
+
+  /**
+   * Create the rules engine from circulation rules in FOLIO text format.
+   * @param text  circulation rules file in FOLIO syntax
+   * @return the rules engine
+   */
+  public static RulesMatcher compile(String text) {
+    return new RulesMatcher(Text2Drools.convertToRules(text));
+  }
+
+  /**
+   * Index of the first matching rule in rules, starting at rule index start.
+   * @param params  request parameters
+   * @param start  rule index where to start the search
+   * @return index of the matching rule, -1 if none
+   */
+  private int nextMatch(MultiMap params, int start) {
+    long [] itemType = itemTypeIndex.get(params.get(ITEM_TYPE_ID_NAME));
+    long [] loanType = loanTypeIndex.get(params.get(LOAN_TYPE_ID_NAME));
+    long [] patronGroup = patronGroupIndex.get(params.get(PATRON_TYPE_ID_NAME));
+    long [] shelvingLocation = shelvingLocationIndex.get(params.get(SHELVING_LOCATION_ID_NAME));
+
+    for (int w = start >>> 6; w < words; w++) {
+      long word = itemType[w] & loanType[w] & patronGroup[w] & shelvingLocation[w];
+      if (w == start >>> 6) {
+        word &= -1L << start;  // ignore rules before start
+      }
+      if (word != 0) {
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+      }
+    }
+    return -1;
+  }
+
+  private CirculationRule firstMatch(MultiMap params) {
+    int i = nextMatch(params, 0);
+    if (i < 0) {
+      return null;
+    }
+    return rules[i];
+  }
+
+  private JsonArray allMatches(MultiMap params, String key,
+    Function<CirculationRule,String> policyId) {
+
+    JsonArray array = new JsonArray();
+    for (int i = nextMatch(params, 0); i >= 0; i = nextMatch(params, i + 1)) {
+      JsonObject json = new JsonObject();
+      write(json, key, policyId.apply(rules[i]));
+      write(json, "circulationRuleLine", rules[i].line);
+      array.add(json);
+    }
+    return array;
+  }
+
+  @Override
+  public Match match(MultiMap params) {
+    CirculationRule rule = firstMatch(params);
+    return rule == null ? new Match() : rule.toMatch();
+  }
+
+  @Override
+  public String loanPolicy(MultiMap params) {
+    CirculationRule rule = firstMatch(params);
+    return rule == null ? null : rule.loanPolicyId;
+  }
+
+  @Override
+  public JsonArray loanPolicies(MultiMap params) {
+    return allMatches(params, "loanPolicyId", rule -> rule.loanPolicyId);
+  }
+
+  @Override
+  public String requestPolicy(MultiMap params) {
+    CirculationRule rule = firstMatch(params);
+    return rule == null ? null : rule.requestPolicyId;
+  }
+
+  @Override
+  public JsonArray requestPolicies(MultiMap params) {
+    return allMatches(params, "requestPolicyId", rule -> rule.requestPolicyId);
+  }
+
+  @Override
+  public String noticePolicy(MultiMap params) {
+    CirculationRule rule = firstMatch(params);
+    return rule == null ? null : rule.noticePolicyId;
+  }
+
+  @Override
+  public JsonArray noticePolicies(MultiMap params) {
+    return allMatches(params, "noticePolicyId", rule -> rule.noticePolicyId);
+  }
+}
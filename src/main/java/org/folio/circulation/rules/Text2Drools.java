@@ -1,5 +1,6 @@
 package org.folio.circulation.rules;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -84,11 +85,15 @@ public class Text2Drools extends CirculationRulesBaseListener {
       "\n"
       );
 
+  /** the rules generated so far, in the order of the circulation rules file */
+  private List<CirculationRule> circulationRules = new ArrayList<>();
+
   private static class Matcher {
     int indentation;
     Set<String> criteriaUsed = new HashSet<>(4);
     int maxCriteriumPriority;
     StringBuilder drools;
+    List<Criterium> criteria = new ArrayList<>(4);
     public Matcher(int indentation, Set<String> criteriaUsed, int maxCriteriumPriority, StringBuilder drools) {
       this.indentation = indentation;
       this.criteriaUsed.addAll(criteriaUsed);
@@ -135,6 +140,21 @@ public class Text2Drools extends CirculationRulesBaseListener {
    * @return Drools file
    */
   public static String convert(String text) {
+    return walk(text).drools.toString();
+  }
+
+  /**
+   * Convert circulation rules from FOLIO text format into a list of rules that
+   * has the same criteria, salience and policies as the Drools file created by
+   * {@link #convert(String)}.
+   * @param text String with a circulation rules file in FOLIO syntax.
+   * @return the rules in the order of the circulation rules file
+   */
+  static List<CirculationRule> convertToRules(String text) {
+    return walk(text).circulationRules;
+  }
+
+  private static Text2Drools walk(String text) {
     Text2Drools text2drools = new Text2Drools();
 
     CharStream input = CharStreams.fromString(text);
@@ -147,7 +167,7 @@ public class Text2Drools extends CirculationRulesBaseListener {
     ParseTreeWalker walker = new ParseTreeWalker();
     walker.walk(text2drools, entryPoint);
 
-    return text2drools.drools.toString();
+    return text2drools;
   }
 
   /**
@@ -320,17 +340,26 @@ public class Text2Drools extends CirculationRulesBaseListener {
     }
 
     int line = policies.getStart().getLine();
+    int salience = getSalience(line);
+    List<Criterium> criteria = new ArrayList<>();
     drools.append("rule \"line ").append(line).append("\"\n");
-    drools.append("  salience ").append(getSalience(line)).append("\n");
+    drools.append("  salience ").append(salience).append("\n");
     drools.append("  when\n");
-    stack.descendingIterator().forEachRemaining(matcher -> drools.append(matcher.drools));
+    stack.descendingIterator().forEachRemaining(matcher -> {
+      drools.append(matcher.drools);
+      criteria.addAll(matcher.criteria);
+    });
     drools.append("  then\n");
 
+    Map<String,String> policyIds = new HashMap<>(3);
     for (PolicyContext policy : policies.policy()) {
       drools.append(policyMatchString(policy));
       appendQuotedString(drools, policy.NAME().getText());
       drools.append(";\n");
+      policyIds.put(policy.POLICY_TYPE().toString(), policy.NAME().getText());
     }
+    circulationRules.add(new CirculationRule(line, salience, criteria,
+        policyIds.get("l"), policyIds.get("r"), policyIds.get("n")));
 
     drools.append("    match.lineNumber = ").append(line).append(";\n");
     drools.append("    drools.halt();\n");
@@ -407,6 +436,7 @@ public class Text2Drools extends CirculationRulesBaseListener {
 
     if (criteriumContext.all() != null) {
       matcher.drools.append("() // all\n");
+      matcher.criteria.add(new Criterium(criteriumTypeLetter, true, false, Collections.emptyList()));
       return;
     }
 
@@ -416,6 +446,9 @@ public class Text2Drools extends CirculationRulesBaseListener {
       not = true;
     }
 
+    matcher.criteria.add(new Criterium(criteriumTypeLetter, false, not,
+        criteriumContext.NAME().stream().map(TerminalNode::getText).collect(Collectors.toList())));
+
     if (criteriumContext.NAME().size() == 1) {
       matcher.drools.append(not ? "(id != " : "(id == " );
       appendQuotedString(matcher.drools, criteriumContext.NAME(0).getText());
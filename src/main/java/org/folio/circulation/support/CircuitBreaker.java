@@ -0,0 +1,119 @@
+package org.folio.circulation.support;
+
+import java.util.function.LongSupplier;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The state of the requests to one storage endpoint, e.g. /item-storage/items.
+ * <p>
+ * While closed requests are made, after the failure threshold of consecutive
+ * failures it opens and requests are rejected. When it has been open for the
+ * configured time it is half open, one trial request is made and closes
+ * the circuit when it succeeds or opens it again when it fails.
+ */
+public class CircuitBreaker {
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String endpoint;
+  private final LongSupplier clock;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures = 0;
+  private long openedAt = 0;
+  private long trialStartedAt = 0;
+  private boolean trialInFlight = false;
+
+  private long requests = 0;
+  private long failures = 0;
+  private long rejected = 0;
+  private long retries = 0;
+  private long timesOpened = 0;
+
+  /**
+   * @param clock  the current time in milliseconds
+   */
+  CircuitBreaker(String endpoint, LongSupplier clock) {
+    this.endpoint = endpoint;
+    this.clock = clock;
+  }
+
+  /**
+   * @return whether a request can be made, if so its outcome must be recorded
+   */
+  public synchronized boolean tryAcquire(CircuitBreakerSettings settings) {
+    final long now = clock.getAsLong();
+
+    if (state == State.OPEN && now - openedAt >= settings.getOpenInMilliseconds()) {
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+
+    // a trial without an outcome, e.g. without a timeout, does not block forever
+    if (state == State.HALF_OPEN && trialInFlight
+      && now - trialStartedAt >= settings.getOpenInMilliseconds()) {
+
+      trialInFlight = false;
+    }
+
+    if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+      rejected++;
+      return false;
+    }
+
+    if (state == State.HALF_OPEN) {
+      trialInFlight = true;
+      trialStartedAt = now;
+    }
+
+    requests++;
+    return true;
+  }
+
+  public synchronized void recordSuccess() {
+    consecutiveFailures = 0;
+    trialInFlight = false;
+    state = State.CLOSED;
+  }
+
+  public synchronized void recordFailure(CircuitBreakerSettings settings) {
+    failures++;
+    consecutiveFailures++;
+    trialInFlight = false;
+
+    if (state == State.HALF_OPEN
+      || (state == State.CLOSED && consecutiveFailures >= settings.getFailureThreshold())) {
+
+      state = State.OPEN;
+      openedAt = clock.getAsLong();
+      timesOpened++;
+    }
+  }
+
+  synchronized void recordRetry() {
+    retries++;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public synchronized JsonObject toJson() {
+    return new JsonObject()
+      .put("state", state.name())
+      .put("consecutiveFailures", consecutiveFailures)
+      .put("requests", requests)
+      .put("failures", failures)
+      .put("rejected", rejected)
+      .put("retries", retries)
+      .put("timesOpened", timesOpened);
+  }
+}
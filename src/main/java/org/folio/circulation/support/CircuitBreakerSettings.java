@@ -0,0 +1,87 @@
+package org.folio.circulation.support;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Settings of the circuit breakers for requests to storage modules, read from
+ * the verticle configuration.
+ * <p>
+ * The circuit of an endpoint opens after a number of consecutive failures
+ * and stays open for a while, after that a single trial request decides
+ * whether it closes or opens again. Failed GET requests are retried a limited
+ * number of times after a random delay that doubles with each retry.
+ */
+public class CircuitBreakerSettings {
+  private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+  private static final long DEFAULT_OPEN_SECONDS = 30;
+  private static final int DEFAULT_GET_RETRIES = 2;
+  private static final long DEFAULT_RETRY_DELAY_IN_MILLISECONDS = 100;
+
+  private final boolean enabled;
+  private final int failureThreshold;
+  private final long openInMilliseconds;
+  private final int getRetries;
+  private final long retryDelayInMilliseconds;
+
+  public CircuitBreakerSettings(
+    boolean enabled,
+    int failureThreshold,
+    long openInMilliseconds,
+    int getRetries,
+    long retryDelayInMilliseconds) {
+
+    this.enabled = enabled;
+    this.failureThreshold = failureThreshold;
+    this.openInMilliseconds = openInMilliseconds;
+    this.getRetries = getRetries;
+    this.retryDelayInMilliseconds = retryDelayInMilliseconds;
+  }
+
+  public static CircuitBreakerSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   */
+  public static CircuitBreakerSettings from(JsonObject config) {
+    return new CircuitBreakerSettings(
+      Boolean.parseBoolean(config.getString("storageCircuitBreaker", "false")),
+      config.getInteger("storageCircuitBreakerFailureThreshold",
+        DEFAULT_FAILURE_THRESHOLD),
+      config.getLong("storageCircuitBreakerOpenSeconds", DEFAULT_OPEN_SECONDS) * 1000,
+      config.getInteger("storageGetRetries", DEFAULT_GET_RETRIES),
+      config.getLong("storageGetRetryDelayMilliseconds",
+        DEFAULT_RETRY_DELAY_IN_MILLISECONDS));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getFailureThreshold() {
+    return failureThreshold;
+  }
+
+  public long getOpenInMilliseconds() {
+    return openInMilliseconds;
+  }
+
+  public int getGetRetries() {
+    return getRetries;
+  }
+
+  public long getRetryDelayInMilliseconds() {
+    return retryDelayInMilliseconds;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("failureThreshold", failureThreshold)
+      .put("openMilliseconds", openInMilliseconds)
+      .put("getRetries", getRetries)
+      .put("retryDelayMilliseconds", retryDelayInMilliseconds);
+  }
+}
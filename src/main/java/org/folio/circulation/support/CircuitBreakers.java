@@ -0,0 +1,239 @@
+package org.folio.circulation.support;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Circuit breakers for GET requests to storage modules, one for each
+ * collection root, e.g. /item-storage/items.
+ * <p>
+ * When a storage module keeps failing, requests to it are rejected for a while
+ * instead of adding to its load and waiting for each of them to fail. Failed
+ * requests are retried a limited number of times after a random delay, as they
+ * are idempotent. A request fails when it cannot be made, times out or
+ * is responded to with 502, 503 or 504. Other responses, including a 500
+ * caused by the request itself, show that the module is available.
+ * <p>
+ * It is disabled by default, all module instances share a single instance.
+ */
+public class CircuitBreakers {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  private static final CircuitBreakers instance = new CircuitBreakers(System::currentTimeMillis);
+
+  private final LongSupplier clock;
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+  private volatile CircuitBreakerSettings settings = CircuitBreakerSettings.defaults();
+
+  CircuitBreakers(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  public static CircuitBreakers getInstance() {
+    return instance;
+  }
+
+  public void setSettings(CircuitBreakerSettings settings) {
+    this.settings = settings;
+  }
+
+  public CircuitBreakerSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * Forget the state of all endpoints, e.g. after changing the settings
+   */
+  public void reset() {
+    breakers.clear();
+  }
+
+  public CircuitBreaker forEndpoint(String endpoint) {
+    return breakers.computeIfAbsent(endpoint,
+      key -> new CircuitBreaker(key, clock));
+  }
+
+  /**
+   * Make a GET request unless the circuit of its endpoint is open, retrying
+   * it when it fails. The response handler only receives the response that
+   * is not retried.
+   *
+   * @param endpoint  the collection root the request is for
+   * @param url  the URL to get, used for diagnostics
+   * @param responseHandler  handles the response
+   * @param exceptionHandler  handles the failure to make the last attempt,
+   *                          or a {@link CircuitOpenException} when the
+   *                          request is not made
+   * @param get  makes one attempt with the given handlers
+   */
+  public void get(
+    String endpoint,
+    String url,
+    Handler<HttpClientResponse> responseHandler,
+    Consumer<Throwable> exceptionHandler,
+    BiConsumer<Handler<HttpClientResponse>, Consumer<Throwable>> get) {
+
+    final CircuitBreakerSettings currentSettings = settings;
+
+    if (!currentSettings.isEnabled()) {
+      get.accept(responseHandler, exceptionHandler);
+      return;
+    }
+
+    final CircuitBreaker breaker = forEndpoint(endpoint);
+
+    if (!breaker.tryAcquire(currentSettings)) {
+      log.warn("Circuit breaker for {} is open, not getting {}", endpoint, url);
+
+      exceptionHandler.accept(new CircuitOpenException(endpoint));
+
+      return;
+    }
+
+    new RetryingGet(breaker, currentSettings, url, responseHandler,
+      exceptionHandler, get, Vertx.currentContext())
+      .attempt(0);
+  }
+
+  /**
+   * @return the settings and for each endpoint the state of its circuit,
+   *         the number of requests, failures, rejected requests and retries
+   */
+  public JsonObject getStatistics() {
+    final JsonObject endpoints = new JsonObject();
+
+    breakers.forEach((endpoint, breaker) -> endpoints.put(endpoint, breaker.toJson()));
+
+    return new JsonObject()
+      .put("settings", settings.toJson())
+      .put("endpoints", endpoints);
+  }
+
+  /**
+   * @return whether the response shows the module is not available, such
+   *         requests are retried
+   */
+  static boolean isFailure(int statusCode) {
+    return statusCode == 502 || statusCode == 503 || statusCode == 504;
+  }
+
+  /**
+   * @return a random delay of at most the retry delay doubled for each
+   *         earlier retry
+   */
+  static long retryDelay(CircuitBreakerSettings settings, int retry) {
+    final long ceiling = settings.getRetryDelayInMilliseconds() << Math.min(retry, 16);
+
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private static final class RetryingGet {
+    private final CircuitBreaker breaker;
+    private final CircuitBreakerSettings settings;
+    private final String url;
+    private final Handler<HttpClientResponse> responseHandler;
+    private final Consumer<Throwable> exceptionHandler;
+    private final BiConsumer<Handler<HttpClientResponse>, Consumer<Throwable>> get;
+    private final Context context;
+
+    private RetryingGet(
+      CircuitBreaker breaker,
+      CircuitBreakerSettings settings,
+      String url,
+      Handler<HttpClientResponse> responseHandler,
+      Consumer<Throwable> exceptionHandler,
+      BiConsumer<Handler<HttpClientResponse>, Consumer<Throwable>> get,
+      Context context) {
+
+      this.breaker = breaker;
+      this.settings = settings;
+      this.url = url;
+      this.responseHandler = responseHandler;
+      this.exceptionHandler = exceptionHandler;
+      this.get = get;
+      this.context = context;
+    }
+
+    private void attempt(int retries) {
+      final AtomicBoolean settled = new AtomicBoolean(false);
+      final AtomicBoolean handedOver = new AtomicBoolean(false);
+
+      get.accept(response -> {
+        if (settled.getAndSet(true)) {
+          return;
+        }
+
+        final int statusCode = response.statusCode();
+
+        if (!isFailure(statusCode)) {
+          breaker.recordSuccess();
+        }
+        else {
+          breaker.recordFailure(settings);
+
+          if (retry(retries)) {
+            log.warn("GET {} responded with {}, retrying", url, statusCode);
+            return;
+          }
+        }
+
+        handedOver.set(true);
+        responseHandler.handle(response);
+      },
+      exception -> {
+        if (settled.getAndSet(true)) {
+          // a failure after the response, handled as before
+          if (handedOver.get()) {
+            exceptionHandler.accept(exception);
+          }
+          return;
+        }
+
+        breaker.recordFailure(settings);
+
+        if (retry(retries)) {
+          log.warn("GET {} failed, retrying: {}", url, exception.getMessage());
+          return;
+        }
+
+        exceptionHandler.accept(exception);
+      });
+    }
+
+    /**
+     * @return whether another attempt is made
+     */
+    private boolean retry(int retries) {
+      if (retries >= settings.getGetRetries() || !breaker.tryAcquire(settings)) {
+        return false;
+      }
+
+      breaker.recordRetry();
+
+      final long delay = retryDelay(settings, retries);
+
+      if (context == null || delay == 0) {
+        attempt(retries + 1);
+      }
+      else {
+        context.owner().setTimer(delay, timerId -> attempt(retries + 1));
+      }
+
+      return true;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package org.folio.circulation.support;
+
+public class CircuitOpenException extends RuntimeException {
+  public CircuitOpenException(String endpoint) {
+    super(String.format(
+      "Circuit breaker for %s is open after repeated failures, request was not made",
+      endpoint));
+  }
+}
@@ -1,43 +1,171 @@
 package org.folio.circulation.support;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.uuidError;
+import static org.folio.circulation.support.Result.failed;
+import static org.folio.circulation.support.Result.succeeded;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
+
 import java.lang.invoke.MethodHandles;
-import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.http.entity.ContentType;
+import org.folio.circulation.rules.CirculationRulesCache;
+import org.folio.circulation.rules.Match;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
-import org.folio.circulation.support.http.server.WebContext;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.vertx.core.Handler;
-import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.json.JsonObject;
 
+/**
+ * Applies the circulation rules to get the loan, request and notice policy
+ * of the first matching rule in a single evaluation.
+ * <p>
+ * The result is remembered for each combination of item type, loan type,
+ * patron group and location. An instance belongs to the {@link Clients} of
+ * one incoming request, so all policy lookups of that request, for example
+ * the loan policy and the notice policy of a check out, share one evaluation.
+ */
 public class CirculationRulesClient {
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
   private final OkapiHttpClient client;
   private final URL root;
+  private final String tenantId;
+  private final CollectionResourceClient circulationRulesStorageClient;
+  /** the policies for each combination of criteria already applied in this request */
+  private final Map<String, CompletableFuture<Result<JsonObject>>> applied =
+    new ConcurrentHashMap<>();
 
-  CirculationRulesClient(OkapiHttpClient client, WebContext context, String policyPath)
-    throws MalformedURLException {
+  CirculationRulesClient(
+    OkapiHttpClient client,
+    URL root,
+    String tenantId,
+    CollectionResourceClient circulationRulesStorageClient) {
 
     this.client = client;
-    root = context.getOkapiBasedUrl(policyPath);
+    this.root = root;
+    this.tenantId = tenantId;
+    this.circulationRulesStorageClient = circulationRulesStorageClient;
   }
 
-  public void applyRules(
+  /**
+   * Apply the tenant's circulation rules, or return the result of applying
+   * them to the same criteria before.
+   *
+   * @return loanPolicyId, requestPolicyId, noticePolicyId and circulationRuleLine
+   *         of the first matching rule
+   */
+  public CompletableFuture<Result<JsonObject>> applyRules(
     String loanTypeId,
     String locationId,
     String materialTypeId,
-    String patronGroup,
-    Handler<HttpClientResponse> responseHandler) {
+    String patronGroup) {
+
+    String criteria = queryParameters(loanTypeId, locationId, materialTypeId,
+      patronGroup);
+
+    return applied.computeIfAbsent(criteria, key -> {
+      if (canApplyRulesInProcess()) {
+        return applyRulesInProcess(loanTypeId, locationId, materialTypeId,
+          patronGroup);
+      }
+      return applyRulesViaOkapi(criteria);
+    });
+  }
+
+  /**
+   * @return whether the rules can be applied using the rules engine in this JVM
+   *         instead of a request via Okapi
+   */
+  private boolean canApplyRulesInProcess() {
+    return CirculationRulesCache.getInstance().isInProcessEvaluation();
+  }
 
-    String circulationRulesQuery = queryParameters(loanTypeId, locationId,
-      materialTypeId, patronGroup);
+  private CompletableFuture<Result<JsonObject>> applyRulesViaOkapi(
+    String circulationRulesQuery) {
 
     log.info("Applying circulation rules for {}", circulationRulesQuery);
 
+    CompletableFuture<Response> circulationRulesResponse = new CompletableFuture<>();
+
     client.get(String.format("%s?%s", root, circulationRulesQuery),
-      responseHandler);
+      ResponseHandler.any(circulationRulesResponse));
+
+    return circulationRulesResponse.thenApply(CirculationRulesClient::toPolicies);
+  }
+
+  private static Result<JsonObject> toPolicies(Response response) {
+    if (response.getStatusCode() == 404) {
+      return failedDueToServerError("Unable to apply circulation rules");
+    } else if (response.getStatusCode() != 200) {
+      return failed(new ForwardOnFailure(response));
+    }
+    log.info("Rules response {}", response.getBody());
+    return succeeded(response.getJson());
+  }
+
+  /**
+   * Apply the tenant's circulation rules using the rules engine in this JVM
+   * without a request via Okapi.
+   *
+   * @return the policies, or the same failure the circulation rules
+   *         engine resource would respond with
+   */
+  public CompletableFuture<Result<JsonObject>> applyRulesInProcess(
+    String loanTypeId,
+    String locationId,
+    String materialTypeId,
+    String patronGroup) {
+
+    MultiMap params = new CaseInsensitiveHeaders();
+    String error = addParam(params, ITEM_TYPE_ID_NAME, materialTypeId);
+    if (error == null) {
+      error = addParam(params, LOAN_TYPE_ID_NAME, loanTypeId);
+    }
+    if (error == null) {
+      error = addParam(params, PATRON_TYPE_ID_NAME, patronGroup);
+    }
+    if (error == null) {
+      error = addParam(params, SHELVING_LOCATION_ID_NAME, locationId);
+    }
+    if (error != null) {
+      return completedFuture(failed(new ForwardOnFailure(
+        new Response(400, error, ContentType.TEXT_PLAIN.toString()))));
+    }
+
+    log.info("Applying circulation rules in process for {}", params.entries());
+
+    return CirculationRulesCache.getInstance()
+      .getRulesEngine(tenantId, circulationRulesStorageClient)
+      .thenApply(r -> r.map(engine -> toJson(engine.match(params))));
+  }
+
+  private static JsonObject toJson(Match match) {
+    return new JsonObject()
+      .put("loanPolicyId", match.loanPolicyId)
+      .put("requestPolicyId", match.requestPolicyId)
+      .put("noticePolicyId", match.noticePolicyId)
+      .put("circulationRuleLine", match.lineNumber);
+  }
+
+  private static String addParam(MultiMap params, String name, String uuid) {
+    String error = uuidError(name, uuid);
+    if (error == null) {
+      params.add(name, uuid);
+    }
+    return error;
   }
 
   private String queryParameters(
@@ -0,0 +1,69 @@
+package org.folio.circulation.support;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The URLs of the interfaces used by this module for one Okapi location.
+ * <p>
+ * The URLs don't depend on the incoming request, the tenant, token, user and
+ * request ID are sent as headers. So an instance is shared by all requests
+ * via the same Okapi location instead of parsing the location and creating
+ * the URLs again for each incoming request.
+ */
+public class ClientEndpoints {
+  /** the number of Okapi locations whose endpoints are kept */
+  private static final int MAX_OKAPI_LOCATIONS = 20;
+
+  private static final LruCache<String, ClientEndpoints> registry =
+    new LruCache<>(MAX_OKAPI_LOCATIONS);
+
+  private final String okapiLocation;
+  private final URL okapiUrl;
+  private final Map<String, URL> urls = new ConcurrentHashMap<>();
+
+  private ClientEndpoints(String okapiLocation) {
+    this.okapiLocation = okapiLocation;
+
+    try {
+      okapiUrl = new URL(okapiLocation);
+    }
+    catch (MalformedURLException e) {
+      throw new InvalidOkapiLocationException(okapiLocation, e);
+    }
+  }
+
+  /**
+   * @param okapiLocation  the X-Okapi-Url of the incoming request
+   * @return the shared endpoints for the Okapi location
+   * @throws InvalidOkapiLocationException if the location is not a URL
+   */
+  public static ClientEndpoints forOkapiLocation(String okapiLocation) {
+    return registry.get(okapiLocation, ClientEndpoints::new);
+  }
+
+  public URL getOkapiUrl() {
+    return okapiUrl;
+  }
+
+  /**
+   * @param path  path of the interface, e.g. /loan-storage/loans
+   * @return the URL of the interface on the Okapi host, the same instance for
+   *         each call with the same path
+   */
+  public URL url(String path) {
+    return urls.computeIfAbsent(path, this::createUrl);
+  }
+
+  private URL createUrl(String path) {
+    try {
+      return new URL(okapiUrl.getProtocol(), okapiUrl.getHost(),
+        okapiUrl.getPort(), path);
+    }
+    catch (MalformedURLException e) {
+      throw new InvalidOkapiLocationException(okapiLocation, e);
+    }
+  }
+}
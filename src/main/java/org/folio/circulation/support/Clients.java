@@ -1,6 +1,6 @@
 package org.folio.circulation.support;
 
-import java.net.MalformedURLException;
+import java.util.function.Consumer;
 
 import org.folio.circulation.support.http.client.OkapiHttpClient;
 import org.folio.circulation.support.http.server.WebContext;
@@ -8,429 +8,568 @@ import org.folio.circulation.support.http.server.WebContext;
 import io.vertx.core.http.HttpClient;
 
 public class Clients {
-  private final CollectionResourceClient requestsStorageClient;
-  private final CollectionResourceClient cancellationReasonStorageClient;
-  private final CollectionResourceClient itemsStorageClient;
-  private final CollectionResourceClient holdingsStorageClient;
-  private final CollectionResourceClient instancesStorageClient;
-  private final CollectionResourceClient usersStorageClient;
-  private final CollectionResourceClient loansStorageClient;
-  private final CollectionResourceClient locationsStorageClient;
-  private final CollectionResourceClient institutionsStorageClient;
-  private final CollectionResourceClient campusesStorageClient;
-  private final CollectionResourceClient librariesStorageClient;
-  private final CollectionResourceClient materialTypesStorageClient;
-  private final CollectionResourceClient loanTypesStorageClient;
-  private final CollectionResourceClient proxiesForClient;
-  private final CollectionResourceClient loanPoliciesStorageClient;
-  private final CollectionResourceClient fixedDueDateSchedulesStorageClient;
-  private final CirculationRulesClient circulationLoanRulesClient;
-  private final CirculationRulesClient circulationRequestRulesClient;
-  private final CirculationRulesClient circulationNoticeRulesClient;
-  private final CollectionResourceClient circulationRulesStorageClient;
-  private final CollectionResourceClient requestPoliciesStorageClient;
-  private final CollectionResourceClient servicePointsStorageClient;
-  private final CollectionResourceClient calendarStorageClient;
-  private final CollectionResourceClient patronGroupsStorageClient;
-  private final CollectionResourceClient patronNoticePolicesStorageClient;
-  private final CollectionResourceClient patronNoticeClient;
-  private final CollectionResourceClient configurationStorageClient;
-  private final CollectionResourceClient scheduledNoticesStorageClient;
-  private final CollectionResourceClient accountsStorageClient;
-
+  private CollectionResourceClient requestsStorageClient;
+  private CollectionResourceClient cancellationReasonStorageClient;
+  private CollectionResourceClient itemsStorageClient;
+  private CollectionResourceClient holdingsStorageClient;
+  private CollectionResourceClient instancesStorageClient;
+  private CollectionResourceClient usersStorageClient;
+  private CollectionResourceClient loansStorageClient;
+  private CollectionResourceClient locationsStorageClient;
+  private CollectionResourceClient institutionsStorageClient;
+  private CollectionResourceClient campusesStorageClient;
+  private CollectionResourceClient librariesStorageClient;
+  private CollectionResourceClient materialTypesStorageClient;
+  private CollectionResourceClient loanTypesStorageClient;
+  private CollectionResourceClient proxiesForClient;
+  private CollectionResourceClient loanPoliciesStorageClient;
+  private CollectionResourceClient fixedDueDateSchedulesStorageClient;
+  private CirculationRulesClient circulationRulesClient;
+  private CollectionResourceClient circulationRulesStorageClient;
+  private CollectionResourceClient requestPoliciesStorageClient;
+  private CollectionResourceClient servicePointsStorageClient;
+  private CollectionResourceClient calendarStorageClient;
+  private CollectionResourceClient patronGroupsStorageClient;
+  private CollectionResourceClient patronNoticePolicesStorageClient;
+  private CollectionResourceClient patronNoticeClient;
+  private CollectionResourceClient configurationStorageClient;
+  private CollectionResourceClient scheduledNoticesStorageClient;
+  private CollectionResourceClient accountsStorageClient;
+  private final String tenantId;
+  private final OkapiHttpClient client;
+  private final ClientEndpoints endpoints;
+
+  /**
+   * The clients are bound to the token, user and request ID of the incoming
+   * request, the URLs they use are shared by all requests via the same
+   * Okapi location. Each client is created when it is first used, as most
+   * requests only use a few of them.
+   */
   public static Clients create(WebContext context, HttpClient httpClient) {
-    return new Clients(context.createHttpClient(httpClient), context);
-  }
-
-  private Clients(OkapiHttpClient client, WebContext context) {
-    try {
-      requestsStorageClient = createRequestsStorageClient(client, context);
-      cancellationReasonStorageClient = createCancellationReasonStorageClient(client, context);
-      itemsStorageClient = createItemsStorageClient(client, context);
-      holdingsStorageClient = createHoldingsStorageClient(client, context);
-      instancesStorageClient = createInstanceStorageClient(client, context);
-      usersStorageClient = createUsersStorageClient(client, context);
-      loansStorageClient = createLoansStorageClient(client, context);
-      locationsStorageClient = createLocationsStorageClient(client, context);
-      institutionsStorageClient = createInstitutionsStorageClient(client, context);
-      campusesStorageClient = createCampusesStorageClient(client, context);
-      librariesStorageClient = createLibrariesStorageClient(client, context);
-      materialTypesStorageClient = createMaterialTypesStorageClient(client, context);
-      loanTypesStorageClient = createLoanTypesStorageClient(client, context);
-      proxiesForClient = createProxyUsersStorageClient(client, context);
-      circulationLoanRulesClient = createCirculationLoanRulesClient(client, context);
-      circulationRequestRulesClient = createCirculationRequestRulesClient(client, context);
-      circulationNoticeRulesClient = createCirculationNoticeRulesClient(client, context);
-      circulationRulesStorageClient = createCirculationRulesStorageClient(client, context);
-      loanPoliciesStorageClient = createLoanPoliciesStorageClient(client, context);
-      requestPoliciesStorageClient = createRequestPoliciesStorageClient(client, context);
-      fixedDueDateSchedulesStorageClient = createFixedDueDateSchedulesStorageClient(client, context);
-      servicePointsStorageClient = createServicePointsStorageClient(client, context);
-      patronGroupsStorageClient = createPatronGroupsStorageClient(client, context);
-      calendarStorageClient = createCalendarStorageClient(client, context);
-      patronNoticePolicesStorageClient = createPatronNoticePolicesStorageClient(client, context);
-      patronNoticeClient = createPatronNoticeClient(client, context);
-      configurationStorageClient = createConfigurationStorageClient(client, context);
-      scheduledNoticesStorageClient = createScheduledNoticesStorageClient(client, context);
-      accountsStorageClient = createAccountsStorageClient(client,context);
-    }
-    catch(MalformedURLException e) {
-      throw new InvalidOkapiLocationException(context.getOkapiLocation(), e);
-    }
+    final ClientEndpoints endpoints = ClientEndpoints.forOkapiLocation(
+      context.getOkapiLocation());
+
+    return new Clients(context.createHttpClient(httpClient, endpoints.getOkapiUrl()),
+      endpoints, context.getTenantId());
+  }
+
+  Clients(OkapiHttpClient client, ClientEndpoints endpoints, String tenantId) {
+    this.tenantId = tenantId;
+    this.client = client;
+    this.endpoints = endpoints;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  /**
+   * Clients for requests made in the background, e.g. to fill a cache, which
+   * are not counted for the incoming request and whose failures do not fail it
+   *
+   * @param exceptionHandler  handles failures to make the requests, instead
+   *                          of responding to the incoming request
+   */
+  public Clients detached(Consumer<Throwable> exceptionHandler) {
+    return new Clients(client.detached(exceptionHandler), endpoints, tenantId);
   }
 
   public CollectionResourceClient requestsStorage() {
-    return requestsStorageClient;
+    CollectionResourceClient result = requestsStorageClient;
+
+    if (result == null) {
+      result = createRequestsStorageClient(client, endpoints);
+      requestsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient cancellationReasonStorage() {
-    return cancellationReasonStorageClient;
+    CollectionResourceClient result = cancellationReasonStorageClient;
+
+    if (result == null) {
+      result = createCancellationReasonStorageClient(client, endpoints);
+      cancellationReasonStorageClient = result;
+    }
+
+    return result;
   }
 
-  public CollectionResourceClient requestPoliciesStorage() { return requestPoliciesStorageClient; }
+  public CollectionResourceClient requestPoliciesStorage() {
+    CollectionResourceClient result = requestPoliciesStorageClient;
+
+    if (result == null) {
+      result = createRequestPoliciesStorageClient(client, endpoints);
+      requestPoliciesStorageClient = result;
+    }
+
+    return result;
+  }
 
   public CollectionResourceClient itemsStorage() {
-    return itemsStorageClient;
+    CollectionResourceClient result = itemsStorageClient;
+
+    if (result == null) {
+      result = createItemsStorageClient(client, endpoints);
+      itemsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient holdingsStorage() {
-    return holdingsStorageClient;
+    CollectionResourceClient result = holdingsStorageClient;
+
+    if (result == null) {
+      result = createHoldingsStorageClient(client, endpoints);
+      holdingsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient instancesStorage() {
-    return instancesStorageClient;
+    CollectionResourceClient result = instancesStorageClient;
+
+    if (result == null) {
+      result = createInstanceStorageClient(client, endpoints);
+      instancesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient usersStorage() {
-    return usersStorageClient;
+    CollectionResourceClient result = usersStorageClient;
+
+    if (result == null) {
+      result = createUsersStorageClient(client, endpoints);
+      usersStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient loansStorage() {
-    return loansStorageClient;
+    CollectionResourceClient result = loansStorageClient;
+
+    if (result == null) {
+      result = createLoansStorageClient(client, endpoints);
+      loansStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient locationsStorage() {
-    return locationsStorageClient;
+    CollectionResourceClient result = locationsStorageClient;
+
+    if (result == null) {
+      result = createLocationsStorageClient(client, endpoints);
+      locationsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient institutionsStorage() {
-    return institutionsStorageClient;
+    CollectionResourceClient result = institutionsStorageClient;
+
+    if (result == null) {
+      result = createInstitutionsStorageClient(client, endpoints);
+      institutionsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient campusesStorage() {
-    return campusesStorageClient;
+    CollectionResourceClient result = campusesStorageClient;
+
+    if (result == null) {
+      result = createCampusesStorageClient(client, endpoints);
+      campusesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient librariesStorage() {
-    return librariesStorageClient;
+    CollectionResourceClient result = librariesStorageClient;
+
+    if (result == null) {
+      result = createLibrariesStorageClient(client, endpoints);
+      librariesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient materialTypesStorage() {
-    return materialTypesStorageClient;
+    CollectionResourceClient result = materialTypesStorageClient;
+
+    if (result == null) {
+      result = createMaterialTypesStorageClient(client, endpoints);
+      materialTypesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient loanTypesStorage() {
-    return loanTypesStorageClient;
+    CollectionResourceClient result = loanTypesStorageClient;
+
+    if (result == null) {
+      result = createLoanTypesStorageClient(client, endpoints);
+      loanTypesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient loanPoliciesStorage() {
-    return loanPoliciesStorageClient;
+    CollectionResourceClient result = loanPoliciesStorageClient;
+
+    if (result == null) {
+      result = createLoanPoliciesStorageClient(client, endpoints);
+      loanPoliciesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient fixedDueDateSchedules() {
-    return fixedDueDateSchedulesStorageClient;
+    CollectionResourceClient result = fixedDueDateSchedulesStorageClient;
+
+    if (result == null) {
+      result = createFixedDueDateSchedulesStorageClient(client, endpoints);
+      fixedDueDateSchedulesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient servicePointsStorage() {
-    return servicePointsStorageClient;
+    CollectionResourceClient result = servicePointsStorageClient;
+
+    if (result == null) {
+      result = createServicePointsStorageClient(client, endpoints);
+      servicePointsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient patronGroupsStorage() {
-    return patronGroupsStorageClient;
+    CollectionResourceClient result = patronGroupsStorageClient;
+
+    if (result == null) {
+      result = createPatronGroupsStorageClient(client, endpoints);
+      patronGroupsStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient calendarStorageClient() {
-    return calendarStorageClient;
+    CollectionResourceClient result = calendarStorageClient;
+
+    if (result == null) {
+      result = createCalendarStorageClient(client, endpoints);
+      calendarStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient configurationStorageClient() {
-    return configurationStorageClient;
+    CollectionResourceClient result = configurationStorageClient;
+
+    if (result == null) {
+      result = createConfigurationStorageClient(client, endpoints);
+      configurationStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient userProxies() {
-    return proxiesForClient;
-  }
+    CollectionResourceClient result = proxiesForClient;
 
-  public CirculationRulesClient circulationLoanRules() {
-    return circulationLoanRulesClient;
-  }
+    if (result == null) {
+      result = createProxyUsersStorageClient(client, endpoints);
+      proxiesForClient = result;
+    }
 
-  public CirculationRulesClient circulationRequestRules(){
-    return circulationRequestRulesClient;
+    return result;
   }
 
-  public CirculationRulesClient circulationNoticeRules(){
-    return circulationNoticeRulesClient;
+  /**
+   * The same client is always returned, as it remembers the policies applied
+   * for the incoming request
+   */
+  public synchronized CirculationRulesClient circulationRules() {
+    if (circulationRulesClient == null) {
+      circulationRulesClient = createCirculationRulesClient(client, endpoints,
+        tenantId, circulationRulesStorage());
+    }
+
+    return circulationRulesClient;
   }
 
   public CollectionResourceClient circulationRulesStorage() {
-    return circulationRulesStorageClient;
+    CollectionResourceClient result = circulationRulesStorageClient;
+
+    if (result == null) {
+      result = createCirculationRulesStorageClient(client, endpoints);
+      circulationRulesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient patronNoticePolicesStorageClient() {
-    return patronNoticePolicesStorageClient;
+    CollectionResourceClient result = patronNoticePolicesStorageClient;
+
+    if (result == null) {
+      result = createPatronNoticePolicesStorageClient(client, endpoints);
+      patronNoticePolicesStorageClient = result;
+    }
+
+    return result;
   }
 
   public CollectionResourceClient patronNoticeClient() {
-    return patronNoticeClient;
-  }
+    CollectionResourceClient result = patronNoticeClient;
 
-  public CollectionResourceClient scheduledNoticesStorageClient() {
-    return scheduledNoticesStorageClient;
-  }
+    if (result == null) {
+      result = createPatronNoticeClient(client, endpoints);
+      patronNoticeClient = result;
+    }
 
-  public CollectionResourceClient accountsStorageClient() {
-    return accountsStorageClient;
+    return result;
   }
 
-  private static CollectionResourceClient getCollectionResourceClient(
-    OkapiHttpClient client,
-    WebContext context,
-    String path)
-    throws MalformedURLException {
+  public CollectionResourceClient scheduledNoticesStorageClient() {
+    CollectionResourceClient result = scheduledNoticesStorageClient;
+
+    if (result == null) {
+      result = createScheduledNoticesStorageClient(client, endpoints);
+      scheduledNoticesStorageClient = result;
+    }
 
-    return new CollectionResourceClient(client, context.getOkapiBasedUrl(path));
+    return result;
   }
 
-  private static CirculationRulesClient createCirculationLoanRulesClient(
-    OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+  public CollectionResourceClient accountsStorageClient() {
+    CollectionResourceClient result = accountsStorageClient;
 
-    return new CirculationRulesClient(client, context, "/circulation/rules/loan-policy");
+    if (result == null) {
+      result = createAccountsStorageClient(client, endpoints);
+      accountsStorageClient = result;
+    }
+
+    return result;
   }
 
-  private static CirculationRulesClient createCirculationRequestRulesClient(
+  private static CollectionResourceClient getCollectionResourceClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints,
+    String path) {
 
-    return new CirculationRulesClient(client, context, "/circulation/rules/request-policy");
+    return new CollectionResourceClient(client, endpoints.url(path));
   }
 
-  private static CirculationRulesClient createCirculationNoticeRulesClient(
+  private static CirculationRulesClient createCirculationRulesClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints,
+    String tenantId,
+    CollectionResourceClient circulationRulesStorageClient) {
 
-    return new CirculationRulesClient(client, context, "/circulation/rules/notice-policy");
+    return new CirculationRulesClient(client, endpoints.url("/circulation/rules/policies"),
+      tenantId, circulationRulesStorageClient);
   }
 
   private static CollectionResourceClient createRequestsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/request-storage/requests");
+    return getCollectionResourceClient(client, endpoints, "/request-storage/requests");
   }
 
   private static CollectionResourceClient createCancellationReasonStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/cancellation-reason-storage/cancellation-reasons");
+    return getCollectionResourceClient(client, endpoints, "/cancellation-reason-storage/cancellation-reasons");
   }
 
   private static CollectionResourceClient createItemsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/item-storage/items");
+    return getCollectionResourceClient(client, endpoints, "/item-storage/items");
   }
 
   private static CollectionResourceClient createHoldingsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
     return new CollectionResourceClient(
-      client, context.getOkapiBasedUrl("/holdings-storage/holdings"));
+      client, endpoints.url("/holdings-storage/holdings"));
   }
 
   private static CollectionResourceClient createInstanceStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
     return new CollectionResourceClient(
-      client, context.getOkapiBasedUrl("/instance-storage/instances"));
+      client, endpoints.url("/instance-storage/instances"));
   }
 
   private static CollectionResourceClient createUsersStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/users");
+    return getCollectionResourceClient(client, endpoints, "/users");
   }
 
   private static CollectionResourceClient createLoansStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/loan-storage/loans");
+    return getCollectionResourceClient(client, endpoints, "/loan-storage/loans");
   }
 
   private static CollectionResourceClient createLocationsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/locations");
+    return getCollectionResourceClient(client, endpoints, "/locations");
   }
 
   private static CollectionResourceClient createInstitutionsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/location-units/institutions");
+    return getCollectionResourceClient(client, endpoints, "/location-units/institutions");
   }
 
   private static CollectionResourceClient createCampusesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/location-units/campuses");
+    return getCollectionResourceClient(client, endpoints, "/location-units/campuses");
   }
 
   private static CollectionResourceClient createLibrariesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/location-units/libraries");
+    return getCollectionResourceClient(client, endpoints, "/location-units/libraries");
   }
 
   private CollectionResourceClient createProxyUsersStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/proxiesfor");
+    return getCollectionResourceClient(client, endpoints, "/proxiesfor");
   }
 
   private CollectionResourceClient createMaterialTypesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/material-types");
+    return getCollectionResourceClient(client, endpoints, "/material-types");
   }
 
   private CollectionResourceClient createLoanTypesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context, "/loan-types");
+    return getCollectionResourceClient(client, endpoints, "/loan-types");
   }
 
   private CollectionResourceClient createLoanPoliciesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context,
+    return getCollectionResourceClient(client, endpoints,
       "/loan-policy-storage/loan-policies");
   }
 
   private CollectionResourceClient createRequestPoliciesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context,
+    return getCollectionResourceClient(client, endpoints,
       "/request-policy-storage/request-policies");
   }
 
   private CollectionResourceClient createFixedDueDateSchedulesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context,
+    return getCollectionResourceClient(client, endpoints,
       "/fixed-due-date-schedule-storage/fixed-due-date-schedules");
   }
 
 
   private CollectionResourceClient createCirculationRulesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
+    ClientEndpoints endpoints) {
 
-    return getCollectionResourceClient(client, context,
+    return getCollectionResourceClient(client, endpoints,
       "/circulation-rules-storage");
   }
 
   private CollectionResourceClient createServicePointsStorageClient(
       OkapiHttpClient client,
-      WebContext context)
-      throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/service-points");
+      ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/service-points");
   }
 
   private CollectionResourceClient createPatronGroupsStorageClient(
       OkapiHttpClient client,
-      WebContext context)
-      throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/groups");
+      ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/groups");
   }
 
   private CollectionResourceClient createCalendarStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/calendar/periods");
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/calendar/periods");
   }
 
   private CollectionResourceClient createPatronNoticePolicesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context,
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints,
       "/patron-notice-policy-storage/patron-notice-policies");
   }
 
   private CollectionResourceClient createPatronNoticeClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/patron-notice");
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/patron-notice");
   }
 
 
   private CollectionResourceClient createConfigurationStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/configurations/entries");
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/configurations/entries");
   }
 
   private CollectionResourceClient createScheduledNoticesStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/scheduled-notice-storage/scheduled-notices");
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/scheduled-notice-storage/scheduled-notices");
   }
   private CollectionResourceClient createAccountsStorageClient(
     OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-    return getCollectionResourceClient(client, context, "/accounts");
+    ClientEndpoints endpoints) {
+    return getCollectionResourceClient(client, endpoints, "/accounts");
   }
 }
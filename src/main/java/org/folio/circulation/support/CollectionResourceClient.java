@@ -1,20 +1,27 @@
 package org.folio.circulation.support;
 
+import static org.folio.circulation.support.Result.succeeded;
+
 import java.lang.invoke.MethodHandles;
 import java.net.URL;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.entity.ContentType;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.client.MappedArray;
 import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseInterpreter;
+import org.folio.circulation.support.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 
 public class CollectionResourceClient {
@@ -31,6 +38,17 @@ public class CollectionResourceClient {
     this.collectionRoot = collectionRoot;
   }
 
+  String getTenantId() {
+    return client.getTenantId();
+  }
+
+  /**
+   * @return the path of the collection root, e.g. /service-points
+   */
+  String getCollectionPath() {
+    return collectionRoot.getPath();
+  }
+
   public CompletableFuture<Response> post(
     JsonObject resourceRepresentation) {
 
@@ -38,7 +56,8 @@ public class CollectionResourceClient {
 
     client.post(collectionRoot,
       resourceRepresentation,
-      responseConversationHandler(future::complete));
+      responseConversationHandler(HttpMethod.POST, collectionRoot.toString(),
+        future::complete));
 
     return future;
   }
@@ -50,7 +69,8 @@ public class CollectionResourceClient {
 
     client.put(collectionRoot,
       resourceRepresentation,
-      responseConversationHandler(future::complete));
+      responseConversationHandler(HttpMethod.PUT, collectionRoot.toString(),
+        future::complete));
 
     return future;
   }
@@ -61,37 +81,53 @@ public class CollectionResourceClient {
 
     CompletableFuture<Response> future = new CompletableFuture<>();
 
-    client.put(individualRecordUrl(id),
+    final String url = individualRecordUrl(id);
+
+    client.put(url,
       resourceRepresentation,
-      responseConversationHandler(future::complete));
+      responseConversationHandler(HttpMethod.PUT, url, future::complete));
 
     return future;
   }
 
   public CompletableFuture<Response> get() {
-    final CompletableFuture<Response> future = new CompletableFuture<>();
-
-    client.get(collectionRoot,
-      responseConversationHandler(future::complete));
-
-    return future;
+    return get(collectionRoot.toString(), null);
   }
 
   public CompletableFuture<Response> get(String id) {
-    final CompletableFuture<Response> future = new CompletableFuture<>();
-
     final String url = individualRecordUrl(id);
 
-    client.get(url, responseConversationHandler(url, future::complete));
+    return get(url, url);
+  }
 
-    return future;
+  /**
+   * Make a GET request, identical GET requests in flight are shared
+   * when the {@link GetCoalescer} is enabled and failed requests are retried
+   * when the {@link CircuitBreakers} are enabled. A request that is not made
+   * because its circuit is open fails like one that cannot be made.
+   */
+  private CompletableFuture<Response> get(String url, String fromUrl) {
+    return GetCoalescer.getInstance().get(client, collectionRoot.getPath(), url,
+      exceptionHandler -> {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+
+        CircuitBreakers.getInstance().get(collectionRoot.getPath(), url,
+          responseConversationHandler(HttpMethod.GET, url, fromUrl, future::complete),
+          exceptionHandler,
+          (responseHandler, attemptExceptionHandler) ->
+            client.get(url, responseHandler, attemptExceptionHandler));
+
+        return future;
+      });
   }
 
   public CompletableFuture<Response> delete(String id) {
     final CompletableFuture<Response> future = new CompletableFuture<>();
 
-    client.delete(individualRecordUrl(id),
-      responseConversationHandler(future::complete));
+    final String url = individualRecordUrl(id);
+
+    client.delete(url,
+      responseConversationHandler(HttpMethod.DELETE, url, future::complete));
 
     return future;
   }
@@ -99,7 +135,8 @@ public class CollectionResourceClient {
   public CompletableFuture<Response> delete() {
     final CompletableFuture<Response> future = new CompletableFuture<>();
 
-    client.delete(collectionRoot, responseConversationHandler(future::complete));
+    client.delete(collectionRoot, responseConversationHandler(HttpMethod.DELETE,
+      collectionRoot.toString(), future::complete));
 
     return future;
   }
@@ -110,7 +147,8 @@ public class CollectionResourceClient {
 
       String url = collectionRoot + createQueryString(encodedQuery, null, 0);
 
-      client.delete(url, responseConversationHandler(future::complete));
+      client.delete(url,
+        responseConversationHandler(HttpMethod.DELETE, url, future::complete));
 
       return future.thenApply(Result::succeeded);
     });
@@ -128,28 +166,20 @@ public class CollectionResourceClient {
   public CompletableFuture<Response> getManyWithRawQueryStringParameters(
     String rawQueryString) {
 
-    final CompletableFuture<Response> future = new CompletableFuture<>();
-
     String url = isProvided(rawQueryString)
       ? String.format("%s?%s", collectionRoot, rawQueryString)
       : collectionRoot.toString();
 
-    client.get(url, responseConversationHandler(future::complete));
-
-    return future;
+    return get(url, null);
   }
 
   public CompletableFuture<Result<Response>> getMany(
     CqlQuery cqlQuery, Integer pageLimit) {
 
     return cqlQuery.encode().after(encodedQuery -> {
-        final CompletableFuture<Response> future = new CompletableFuture<>();
-
         String url = collectionRoot + createQueryString(encodedQuery, pageLimit, 0);
 
-        client.get(url, responseConversationHandler(future::complete));
-
-        return future.thenApply(Result::succeeded);
+        return get(url, null).thenApply(Result::succeeded);
       });
   }
 
@@ -157,13 +187,32 @@ public class CollectionResourceClient {
     CqlQuery cqlQuery, Integer pageLimit, Integer pageOffset) {
 
     return cqlQuery.encode().after(encodedQuery -> {
-      final CompletableFuture<Response> future = new CompletableFuture<>();
-
       String url = collectionRoot + createQueryString(encodedQuery, pageLimit, pageOffset);
 
-      client.get(url, responseConversationHandler(future::complete));
+      return get(url, null).thenApply(Result::succeeded);
+    });
+  }
 
-      return future.thenApply(Result::succeeded);
+  /**
+   * Make a get request for multiple records, mapping each record in the
+   * records property from the received body instead of first parsing
+   * the whole body.
+   *
+   * @param recordsPropertyName  name of the array of records, e.g. loans
+   * @param recordMapper  maps each record
+   * @return the mapped records and the other scalar properties of the response,
+   * or a failure if the request does not succeed
+   */
+  public <T> CompletableFuture<Result<MappedArray<T>>> getManyMapped(
+    CqlQuery cqlQuery, Integer pageLimit, String recordsPropertyName,
+    Function<JsonObject, T> recordMapper) {
+
+    return cqlQuery.encode().after(encodedQuery -> {
+      String url = collectionRoot + createQueryString(encodedQuery, pageLimit, 0);
+
+      return get(url, url).thenApply(new ResponseInterpreter<MappedArray<T>>()
+        .flatMapOn(200, response -> succeeded(
+          response.mapArray(recordsPropertyName, recordMapper)))::apply);
     });
   }
 
@@ -208,10 +257,16 @@ public class CollectionResourceClient {
 
   //TODO: Replace with Consumer<Result<Response>>
   private Handler<HttpClientResponse> responseConversationHandler(
-    String fromUrl, Consumer<Response> responseHandler) {
+    HttpMethod method, String url, String fromUrl,
+    Consumer<Response> responseHandler) {
 
     return response -> response
-      .bodyHandler(buffer -> responseHandler.accept(Response.from(response, buffer, fromUrl)))
+      .bodyHandler(buffer -> {
+        Metrics.getInstance().responseReceived(client.getTenantId(), method,
+          url, buffer.length());
+
+        responseHandler.accept(Response.from(response, buffer, fromUrl));
+      })
       .exceptionHandler(ex -> {
         log.error("Unhandled exception in body handler", ex);
         String trace = ExceptionUtils.getStackTrace(ex);
@@ -220,9 +275,9 @@ public class CollectionResourceClient {
   }
 
   private Handler<HttpClientResponse> responseConversationHandler(
-    Consumer<Response> responseHandler) {
+    HttpMethod method, String url, Consumer<Response> responseHandler) {
 
-    return responseConversationHandler(null, responseHandler);
+    return responseConversationHandler(method, url, null, responseHandler);
   }
 
   private String individualRecordUrl(String id) {
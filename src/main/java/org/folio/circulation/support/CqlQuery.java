@@ -25,6 +25,13 @@ public class CqlQuery {
   private final String query;
   private final CqlSortBy sortBy;
 
+  /**
+   * Matches all records, e.g. to fetch a whole collection page by page
+   */
+  public static Result<CqlQuery> matchAll() {
+    return Result.of(() -> new CqlQuery("cql.allRecords=1", none()));
+  }
+
   public static Result<CqlQuery> exactMatch(String index, String value) {
     return Result.of(() -> new CqlQuery(format("%s==\"%s\"", index, value), none()));
   }
@@ -48,6 +55,10 @@ public class CqlQuery {
     return Result.of(() -> new CqlQuery(format("%s>\"%s\"", index, value), none()));
   }
 
+  public static Result<CqlQuery> greaterThanOrEqualTo(String index, Object value) {
+    return Result.of(() -> new CqlQuery(format("%s>=\"%s\"", index, value), none()));
+  }
+
   public static Result<CqlQuery> lessThan(String index, Object value) {
     return Result.of(() -> new CqlQuery(format("%s<\"%s\"", index, value), none()));
   }
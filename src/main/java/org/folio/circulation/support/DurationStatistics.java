@@ -0,0 +1,43 @@
+package org.folio.circulation.support;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Counts durations and keeps their total and maximum, safe for concurrent use.
+ */
+public class DurationStatistics {
+  private long count;
+  private long totalMilliseconds;
+  private long maxMilliseconds;
+
+  /**
+   * @param milliseconds  the duration to add
+   */
+  public synchronized void record(long milliseconds) {
+    count++;
+    totalMilliseconds += milliseconds;
+    maxMilliseconds = Math.max(maxMilliseconds, milliseconds);
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized long getTotalMilliseconds() {
+    return totalMilliseconds;
+  }
+
+  public synchronized long getMaxMilliseconds() {
+    return maxMilliseconds;
+  }
+
+  /**
+   * @return count, totalMilliseconds and maxMilliseconds
+   */
+  public synchronized JsonObject toJson() {
+    return new JsonObject()
+      .put("count", count)
+      .put("totalMilliseconds", totalMilliseconds)
+      .put("maxMilliseconds", maxMilliseconds);
+  }
+}
@@ -0,0 +1,189 @@
+package org.folio.circulation.support;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.client.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Shares one GET request to another module between identical GET requests
+ * that are made while it is in flight, e.g. for the same service point
+ * by concurrent check ins.
+ * <p>
+ * Requests are identical when they are for the same URL with the same tenant
+ * and token, so a response is never shared with a user that may lack the
+ * permissions for it. Each caller gets its own copy of the response, if it
+ * has been shared the JSON body is parsed once and copied for each caller.
+ * <p>
+ * It is disabled by default, all module instances share a single instance.
+ */
+public class GetCoalescer {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  private static final GetCoalescer instance = new GetCoalescer();
+
+  private volatile boolean enabled = false;
+  private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+
+  private static final class InFlight {
+    final CompletableFuture<Response> response = new CompletableFuture<>();
+    final AtomicInteger callers = new AtomicInteger(1);
+  }
+
+  private static final class EndpointStatistics {
+    final AtomicLong gets = new AtomicLong();
+    final AtomicLong coalesced = new AtomicLong();
+
+    JsonObject toJson() {
+      final long getCount = gets.get();
+      final long coalescedCount = coalesced.get();
+
+      return new JsonObject()
+        .put("gets", getCount)
+        .put("coalesced", coalescedCount)
+        .put("ratio", getCount == 0 ? 0.0 : (double) coalescedCount / getCount);
+    }
+  }
+
+  GetCoalescer() { }
+
+  public static GetCoalescer getInstance() {
+    return instance;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Make the GET request, or share the identical request already in flight.
+   *
+   * @param client  the client of the incoming request, its exception handler
+   *                is used when the request fails
+   * @param endpoint  the interface the request is for, e.g. /item-storage/items,
+   *                  used for the statistics
+   * @param url  the URL to get
+   * @param get  makes the request using the given exception handler
+   * @return a response of its own for this caller
+   */
+  public CompletableFuture<Response> get(
+    OkapiHttpClient client,
+    String endpoint,
+    String url,
+    Function<Consumer<Throwable>, CompletableFuture<Response>> get) {
+
+    if (!enabled) {
+      return get.apply(client::handleException);
+    }
+
+    final EndpointStatistics endpointStatistics = statistics.computeIfAbsent(
+      endpoint, key -> new EndpointStatistics());
+
+    endpointStatistics.gets.incrementAndGet();
+
+    final String key = String.join("\n", client.getTenantId(), client.getToken(), url);
+    final InFlight created = new InFlight();
+    final InFlight existing = inFlight.putIfAbsent(key, created);
+
+    final InFlight shared;
+
+    if (existing == null) {
+      shared = created;
+      shared.response.whenComplete((response, failure) -> inFlight.remove(key, created));
+
+      get.apply(shared.response::completeExceptionally)
+        .whenComplete((response, failure) -> {
+          if (failure != null) {
+            shared.response.completeExceptionally(failure);
+          }
+          else {
+            shared.response.complete(response);
+          }
+        });
+    }
+    else {
+      shared = existing;
+      shared.callers.incrementAndGet();
+      endpointStatistics.coalesced.incrementAndGet();
+    }
+
+    return forCaller(client, shared);
+  }
+
+  private static CompletableFuture<Response> forCaller(
+    OkapiHttpClient client,
+    InFlight shared) {
+
+    final CompletableFuture<Response> own = new CompletableFuture<>();
+    final Context callersContext = Vertx.currentContext();
+
+    shared.response.whenComplete((response, failure) -> {
+      final Runnable complete = () -> {
+        if (failure != null) {
+          client.handleException(failure);
+        }
+        else {
+          own.complete(copyFor(response, shared.callers.get()));
+        }
+      };
+
+      if (callersContext == null || callersContext == Vertx.currentContext()) {
+        complete.run();
+      }
+      else {
+        callersContext.runOnContext(notUsed -> complete.run());
+      }
+    });
+
+    return own;
+  }
+
+  private static Response copyFor(Response response, int callers) {
+    // the shared response is not changed, parse it once when it is shared
+    if (callers > 1 && response.getContentType() != null
+      && response.getContentType().contains("json")) {
+      try {
+        synchronized (response) {
+          response.getJson();
+        }
+      }
+      catch (DecodeException e) {
+        log.warn("Shared response is not JSON: {}", e.getMessage());
+      }
+    }
+
+    return response.copy();
+  }
+
+  /**
+   * @return for each endpoint the number of GET requests, how many of them
+   *         shared a request in flight and the ratio of both
+   */
+  public JsonObject getStatistics() {
+    final JsonObject endpoints = new JsonObject();
+
+    statistics.forEach((endpoint, counts) -> endpoints.put(endpoint, counts.toJson()));
+
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("endpoints", endpoints);
+  }
+}
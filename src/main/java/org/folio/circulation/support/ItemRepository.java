@@ -109,6 +109,12 @@ public class ItemRepository {
       return ofAsync(() -> null);
     }
 
+    final ServicePoint cached = locationRepository.getCachedPrimaryServicePoint(location);
+
+    if (cached != null) {
+      return completedFuture(succeeded(cached));
+    }
+
     return servicePointRepository.getServicePointById(
       location.getPrimaryServicePointId());
   }
@@ -0,0 +1,222 @@
+package org.folio.circulation.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A size bounded cache that evicts the least recently used entry
+ * and counts hits, misses and evictions. Optionally entries expire
+ * some time after they have been added.
+ * <p>
+ * Concurrent misses on the same key compute the value once, the other
+ * callers wait for that computation, like computeIfAbsent of a
+ * ConcurrentHashMap. Misses on different keys are computed in parallel.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value, null values are not cached
+ */
+public class LruCache<K, V> {
+  private final int maxSize;
+  private final long timeToLiveInMilliseconds;
+  private final Map<K, Entry<V>> map;
+  private final ConcurrentMap<K, CompletableFuture<V>> computing = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  private static final class Entry<V> {
+    final V value;
+    /** System.currentTimeMillis() when the entry has been added */
+    final long created;
+
+    Entry(V value, long created) {
+      this.value = value;
+      this.created = created;
+    }
+  }
+
+  /**
+   * @param maxSize  maximum number of entries, 0 disables caching
+   */
+  public LruCache(int maxSize) {
+    this(maxSize, Long.MAX_VALUE);
+  }
+
+  /**
+   * @param maxSize  maximum number of entries, 0 disables caching
+   * @param timeToLiveInMilliseconds  entries older than this are not returned
+   */
+  public LruCache(int maxSize, long timeToLiveInMilliseconds) {
+    this.maxSize = maxSize;
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+    this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        if (size() > LruCache.this.maxSize) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return System.currentTimeMillis() - entry.created >= timeToLiveInMilliseconds;
+  }
+
+  /**
+   * Return the cached value for the key, or compute, cache and return it.
+   * The computation is done outside of the lock of the cache, a caller
+   * that misses while the value of the key is computed waits for it and
+   * gets the same value, or the same exception.
+   *
+   * @param key  the key
+   * @param compute  creates the value if it is not cached or has expired,
+   *                 must not get the same key from this cache
+   * @return the value
+   */
+  public V get(K key, Function<K, V> compute) {
+    V cached = getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    CompletableFuture<V> computation = new CompletableFuture<>();
+    CompletableFuture<V> running = computing.putIfAbsent(key, computation);
+
+    if (running != null) {
+      return await(running);
+    }
+
+    try {
+      // the value may have been put since the miss above
+      Entry<V> entry = lookup(key);
+      V value = entry != null ? entry.value : compute.apply(key);
+      put(key, value);
+      computation.complete(value);
+      return value;
+    }
+    catch (RuntimeException | Error e) {
+      computation.completeExceptionally(e);
+      throw e;
+    }
+    finally {
+      computing.remove(key, computation);
+    }
+  }
+
+  private static <V> V await(CompletableFuture<V> computation) {
+    try {
+      return computation.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Return the cached value for the key without computing it.
+   *
+   * @param key  the key
+   * @return the value, null if it is not cached or has expired
+   */
+  public V getIfPresent(K key) {
+    Entry<V> entry = lookup(key);
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  /**
+   * @return the entry of the key, null if there is none or it has expired,
+   *         without counting a hit or miss
+   */
+  private Entry<V> lookup(K key) {
+    synchronized (map) {
+      Entry<V> entry = map.get(key);
+      if (entry != null && isExpired(entry)) {
+        map.remove(key);
+        return null;
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Cache the value for the key, replacing any value cached before.
+   *
+   * @param key  the key
+   * @param value  the value, null values are not cached
+   */
+  public void put(K key, V value) {
+    if (value != null && maxSize > 0) {
+      synchronized (map) {
+        map.put(key, new Entry<>(value, System.currentTimeMillis()));
+      }
+    }
+  }
+
+  /**
+   * Remove the entry if it has the value.
+   *
+   * @param key  the key
+   * @param value  the value expected for the key
+   */
+  public void remove(K key, V value) {
+    synchronized (map) {
+      Entry<V> entry = map.get(key);
+      if (entry != null && entry.value == value) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Remove all entries, the counters are kept.
+   */
+  public void clear() {
+    synchronized (map) {
+      map.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (map) {
+      return map.size();
+    }
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+}
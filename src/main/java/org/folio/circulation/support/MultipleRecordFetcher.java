@@ -1,6 +1,7 @@
 package org.folio.circulation.support;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
 import static org.apache.commons.collections4.ListUtils.partition;
 import static org.folio.circulation.domain.MultipleRecords.empty;
 import static org.folio.circulation.support.CqlQuery.exactMatchAny;
@@ -14,12 +15,12 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.folio.circulation.domain.MultipleRecords;
-import org.folio.circulation.support.http.client.Response;
 
 import io.vertx.core.json.JsonObject;
 
 public class MultipleRecordFetcher<T> {
   private static final int MAX_BATCH_SIZE = 50;
+  private static final String ID_INDEX_NAME = "id";
   private final CollectionResourceClient client;
   private final String recordsPropertyName;
   private final Function<JsonObject, T> recordMapper;
@@ -36,7 +37,7 @@ public class MultipleRecordFetcher<T> {
 
   public CompletableFuture<Result<MultipleRecords<T>>> findByIds(
       Collection<String> ids) {
-    return findByIndexName(ids, "id");
+    return findByIndexName(ids, ID_INDEX_NAME);
   }
 
   public CompletableFuture<Result<MultipleRecords<T>>> findByIndexName(
@@ -44,9 +45,27 @@ public class MultipleRecordFetcher<T> {
     if (ids.isEmpty()) {
       return completedFuture(of(MultipleRecords::empty));
     }
+    if (ID_INDEX_NAME.equals(indexName)
+      && ReferenceDataCache.getInstance().caches(client)) {
+      return findCachedByIds(ids);
+    }
     return findByBatchQueries(buildBatchQueriesByIndexName(ids, indexName));
   }
 
+  /**
+   * Only fetches the records that are not cached, with the same batch queries
+   */
+  private CompletableFuture<Result<MultipleRecords<T>>> findCachedByIds(
+      Collection<String> ids) {
+    final MultipleRecordFetcher<JsonObject> jsonFetcher
+      = new MultipleRecordFetcher<>(client, recordsPropertyName, identity());
+
+    return ReferenceDataCache.getInstance().findByIds(client, ids,
+        missingIds -> jsonFetcher.findByBatchQueries(
+          buildBatchQueriesByIndexName(missingIds, ID_INDEX_NAME)))
+      .thenApply(result -> result.map(records -> records.mapRecords(recordMapper)));
+  }
+
   public CompletableFuture<Result<MultipleRecords<T>>> findByIndexNameAndQuery(
       Collection<String> ids, String indexName, Result<CqlQuery> andQuery) {
     if (ids.isEmpty()) {
@@ -91,12 +110,9 @@ public class MultipleRecordFetcher<T> {
 
   private CompletableFuture<Result<MultipleRecords<T>>> findByQuery(
     Result<CqlQuery> queryResult, Integer limit) {
-    return queryResult.after(query -> client.getMany(query, limit))
-      .thenApply(result -> result.next(this::mapToRecords));
-  }
-
-  private Result<MultipleRecords<T>> mapToRecords(Response response) {
-    return MultipleRecords.from(response, recordMapper, recordsPropertyName);
+    return queryResult.after(query -> client.getManyMapped(query, limit,
+        recordsPropertyName, recordMapper))
+      .thenApply(result -> result.next(MultipleRecords::from));
   }
 
   private Result<MultipleRecords<T>> aggregate(List<Result<MultipleRecords<T>>> results) {
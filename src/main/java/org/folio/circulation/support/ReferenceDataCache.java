@@ -0,0 +1,335 @@
+package org.folio.circulation.support;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.Result.succeeded;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.http.client.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Caches reference records that rarely change, e.g. service points, loan
+ * types and policies, for each tenant and record type, so that they are not
+ * fetched from storage for every request.
+ * <p>
+ * Records found are cached for the time to live, records that are not found
+ * (404) as well. Other responses are not cached. When records are fetched by
+ * ID in a batch, cached records are returned from memory and only the missing
+ * ones are fetched. The responses of queries, e.g. the configuration of the
+ * time zone, are cached by their query.
+ * <p>
+ * Each caller gets its own copy of a cached record. It is disabled by default,
+ * all module instances share a single instance.
+ */
+public class ReferenceDataCache {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  private static final ReferenceDataCache instance = new ReferenceDataCache();
+
+  private static final String JSON_CONTENT_TYPE = "application/json";
+
+  private volatile ReferenceDataCacheSettings settings = ReferenceDataCacheSettings.defaults();
+  private final Map<List<String>, LruCache<String, CachedRecord>> caches = new ConcurrentHashMap<>();
+
+  /**
+   * A record that was found, or the message of the response when it was not
+   */
+  private static final class CachedRecord {
+    final JsonObject representation;
+    final String notFoundMessage;
+
+    private CachedRecord(JsonObject representation, String notFoundMessage) {
+      this.representation = representation;
+      this.notFoundMessage = notFoundMessage;
+    }
+
+    static CachedRecord found(JsonObject representation) {
+      return new CachedRecord(representation, null);
+    }
+
+    static CachedRecord notFound(String message) {
+      return new CachedRecord(null, message);
+    }
+
+    boolean isFound() {
+      return representation != null;
+    }
+
+    JsonObject copy() {
+      return representation.copy();
+    }
+
+    Response toResponse() {
+      return isFound()
+        ? new Response(200, representation.encode(), JSON_CONTENT_TYPE)
+        : new Response(404, notFoundMessage, "text/plain");
+    }
+  }
+
+  ReferenceDataCache() { }
+
+  public static ReferenceDataCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Replacing the settings removes all cached records
+   */
+  public void setSettings(ReferenceDataCacheSettings settings) {
+    this.settings = settings;
+    caches.clear();
+  }
+
+  public ReferenceDataCacheSettings getSettings() {
+    return settings;
+  }
+
+  public boolean caches(CollectionResourceClient client) {
+    return settings.caches(client.getCollectionPath());
+  }
+
+  /**
+   * Get a single record, from the cache when its type is cached
+   */
+  public CompletableFuture<Response> get(CollectionResourceClient client, String id) {
+    if (!caches(client)) {
+      return client.get(id);
+    }
+
+    return get(client.getTenantId(), client.getCollectionPath(), id,
+      () -> client.get(id));
+  }
+
+  /**
+   * Get the response of a query, from the cache when its type is cached
+   */
+  public CompletableFuture<Result<Response>> getMany(
+    CollectionResourceClient client,
+    Result<CqlQuery> queryResult,
+    Integer pageLimit) {
+
+    return queryResult.after(query -> {
+      if (!caches(client)) {
+        return client.getMany(query, pageLimit);
+      }
+
+      return getMany(client.getTenantId(), client.getCollectionPath(),
+        query.asText() + "&limit=" + pageLimit,
+        () -> client.getMany(query, pageLimit));
+    });
+  }
+
+  CompletableFuture<Response> get(
+    String tenantId,
+    String recordType,
+    String id,
+    Supplier<CompletableFuture<Response>> fetch) {
+
+    final LruCache<String, CachedRecord> cache = cacheFor(tenantId, recordType);
+    final CachedRecord cached = cache.getIfPresent(id);
+
+    if (cached != null) {
+      return completedFuture(cached.toResponse());
+    }
+
+    return fetch.get().thenApply(response -> {
+      cache.put(id, toCachedRecord(recordType, response));
+      return response;
+    });
+  }
+
+  /**
+   * @param queryKey  the query, cached records are identified by ID
+   *                  so it must not be an ID
+   */
+  CompletableFuture<Result<Response>> getMany(
+    String tenantId,
+    String recordType,
+    String queryKey,
+    Supplier<CompletableFuture<Result<Response>>> fetch) {
+
+    final String key = "?" + queryKey;
+    final LruCache<String, CachedRecord> cache = cacheFor(tenantId, recordType);
+    final CachedRecord cached = cache.getIfPresent(key);
+
+    if (cached != null && cached.isFound()) {
+      return completedFuture(succeeded(cached.toResponse()));
+    }
+
+    return fetch.get().thenApply(result -> result.map(response -> {
+      if (response.getStatusCode() == 200) {
+        cache.put(key, toCachedRecord(recordType, response));
+      }
+
+      return response;
+    }));
+  }
+
+  /**
+   * Find records by ID, the cached records are not fetched
+   *
+   * @param fetchMissing  fetches the records for the IDs that are not cached
+   * @return the cached and fetched records
+   */
+  public CompletableFuture<Result<MultipleRecords<JsonObject>>> findByIds(
+    CollectionResourceClient client,
+    Collection<String> ids,
+    Function<Collection<String>, CompletableFuture<Result<MultipleRecords<JsonObject>>>> fetchMissing) {
+
+    return findByIds(client.getTenantId(), client.getCollectionPath(), ids,
+      fetchMissing);
+  }
+
+  CompletableFuture<Result<MultipleRecords<JsonObject>>> findByIds(
+    String tenantId,
+    String recordType,
+    Collection<String> ids,
+    Function<Collection<String>, CompletableFuture<Result<MultipleRecords<JsonObject>>>> fetchMissing) {
+
+    final LruCache<String, CachedRecord> cache = cacheFor(tenantId, recordType);
+    final List<JsonObject> records = new ArrayList<>();
+    final Set<String> missing = new LinkedHashSet<>();
+
+    for (String id : ids) {
+      if (id == null) {
+        continue;
+      }
+
+      final CachedRecord cached = cache.getIfPresent(id);
+
+      if (cached == null) {
+        missing.add(id);
+      }
+      else if (cached.isFound()) {
+        records.add(cached.copy());
+      }
+    }
+
+    if (missing.isEmpty()) {
+      return completedFuture(succeeded(new MultipleRecords<>(records, records.size())));
+    }
+
+    return fetchMissing.apply(missing).thenApply(result -> result.map(fetched -> {
+      for (JsonObject representation : fetched.getRecords()) {
+        final String id = representation.getString("id");
+
+        if (id != null) {
+          cache.put(id, CachedRecord.found(representation.copy()));
+          missing.remove(id);
+        }
+
+        records.add(representation);
+      }
+
+      missing.forEach(id -> cache.put(id, CachedRecord.notFound(
+        String.format("%s %s not found", recordType, id))));
+
+      return new MultipleRecords<>(records, records.size());
+    }));
+  }
+
+  private CachedRecord toCachedRecord(String recordType, Response response) {
+    if (response.getStatusCode() == 404) {
+      return CachedRecord.notFound(response.getBody());
+    }
+
+    if (response.getStatusCode() != 200) {
+      return null;
+    }
+
+    try {
+      return CachedRecord.found(response.getJson().copy());
+    }
+    catch (DecodeException e) {
+      log.warn("Response for {} is not JSON, not caching it: {}",
+        recordType, e.getMessage());
+
+      return null;
+    }
+  }
+
+  private LruCache<String, CachedRecord> cacheFor(String tenantId, String recordType) {
+    final ReferenceDataCacheSettings currentSettings = settings;
+
+    return caches.computeIfAbsent(asList(String.valueOf(tenantId), recordType),
+      key -> new LruCache<>(currentSettings.getMaxSize(),
+        currentSettings.getTimeToLiveInMilliseconds()));
+  }
+
+  /**
+   * Remove the cached records of all tenants, the counters are kept
+   *
+   * @return the number of records removed
+   */
+  public int flush() {
+    return flush(null);
+  }
+
+  /**
+   * Remove the cached records of a tenant, the counters are kept
+   *
+   * @param tenantId  the tenant, null for all tenants
+   * @return the number of records removed
+   */
+  public int flush(String tenantId) {
+    int removed = 0;
+
+    for (Map.Entry<List<String>, LruCache<String, CachedRecord>> entry : caches.entrySet()) {
+      if (tenantId == null || tenantId.equals(entry.getKey().get(0))) {
+        removed += entry.getValue().size();
+        entry.getValue().clear();
+      }
+    }
+
+    log.info("Removed {} cached reference records of {}", removed,
+      tenantId == null ? "all tenants" : tenantId);
+
+    return removed;
+  }
+
+  /**
+   * @return the settings and for each tenant and record type the number of
+   *         records cached, hits, misses, evictions and the hit ratio
+   */
+  public JsonObject getStatistics() {
+    final JsonObject tenants = new JsonObject();
+
+    caches.forEach((key, cache) -> {
+      final String tenantId = key.get(0);
+
+      if (!tenants.containsKey(tenantId)) {
+        tenants.put(tenantId, new JsonObject());
+      }
+
+      final long hits = cache.getHits();
+      final long lookups = hits + cache.getMisses();
+
+      tenants.getJsonObject(tenantId).put(key.get(1), new JsonObject()
+        .put("size", cache.size())
+        .put("hits", hits)
+        .put("misses", cache.getMisses())
+        .put("evictions", cache.getEvictions())
+        .put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups));
+    });
+
+    return new JsonObject()
+      .put("settings", settings.toJson())
+      .put("tenants", tenants);
+  }
+}
@@ -0,0 +1,122 @@
+package org.folio.circulation.support;
+
+import static java.util.Arrays.asList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Settings of the cache of reference records, read from the verticle
+ * configuration.
+ * <p>
+ * The record types that are cached are the collection roots of their
+ * storage interfaces, e.g. /service-points.
+ */
+public class ReferenceDataCacheSettings {
+  private static final long DEFAULT_TIME_TO_LIVE_SECONDS = 300;
+  private static final int DEFAULT_MAX_SIZE = 1000;
+
+  static final Set<String> DEFAULT_RECORD_TYPES = Collections.unmodifiableSet(
+    new LinkedHashSet<>(asList(
+      "/service-points",
+      "/material-types",
+      "/loan-types",
+      "/groups",
+      "/cancellation-reason-storage/cancellation-reasons",
+      "/loan-policy-storage/loan-policies",
+      "/fixed-due-date-schedule-storage/fixed-due-date-schedules",
+      "/request-policy-storage/request-policies",
+      "/patron-notice-policy-storage/patron-notice-policies",
+      "/configurations/entries")));
+
+  private final boolean enabled;
+  private final long timeToLiveInMilliseconds;
+  private final int maxSize;
+  private final Set<String> recordTypes;
+
+  public ReferenceDataCacheSettings(
+    boolean enabled,
+    long timeToLiveInMilliseconds,
+    int maxSize,
+    Set<String> recordTypes) {
+
+    this.enabled = enabled;
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+    this.maxSize = maxSize;
+    this.recordTypes = recordTypes;
+  }
+
+  public static ReferenceDataCacheSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   */
+  public static ReferenceDataCacheSettings from(JsonObject config) {
+    return new ReferenceDataCacheSettings(
+      Boolean.parseBoolean(config.getString("referenceDataCache", "false")),
+      config.getLong("referenceDataCacheTimeToLiveSeconds",
+        DEFAULT_TIME_TO_LIVE_SECONDS) * 1000,
+      config.getInteger("referenceDataCacheSize", DEFAULT_MAX_SIZE),
+      parseRecordTypes(config.getString("referenceDataCacheRecordTypes")));
+  }
+
+  /**
+   * @param recordTypes  comma separated collection roots, e.g.
+   *                     /service-points,/loan-types
+   */
+  static Set<String> parseRecordTypes(String recordTypes) {
+    if (StringUtils.isBlank(recordTypes)) {
+      return DEFAULT_RECORD_TYPES;
+    }
+
+    final Set<String> parsed = new LinkedHashSet<>();
+
+    for (String recordType : recordTypes.split(",")) {
+      if (!recordType.trim().startsWith("/")) {
+        throw new IllegalArgumentException(
+          "Cached record type is not a path: " + recordType);
+      }
+
+      parsed.add(recordType.trim());
+    }
+
+    return Collections.unmodifiableSet(parsed);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getTimeToLiveInMilliseconds() {
+    return timeToLiveInMilliseconds;
+  }
+
+  /**
+   * @return the maximum number of records of each type cached for a tenant
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public boolean caches(String recordType) {
+    return enabled && recordTypes.contains(recordType);
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("enabled", enabled)
+      .put("timeToLiveSeconds", timeToLiveInMilliseconds / 1000)
+      .put("maxSize", maxSize)
+      .put("recordTypes", new JsonArray(new ArrayList<>(recordTypes)));
+  }
+}
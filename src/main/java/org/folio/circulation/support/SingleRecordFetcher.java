@@ -64,7 +64,7 @@ public class SingleRecordFetcher<T> {
 
     requireNonNull(id, format("Cannot fetch single %s with null ID", recordType));
 
-    return client.get(id)
+    return ReferenceDataCache.getInstance().get(client, id)
       .thenApply(interpreter::apply)
       .exceptionally(CommonFailures::failedDueToServerError);
   }
@@ -54,6 +54,14 @@ public class VertxAssistant {
     Class<T> verticleClass,
     JsonObject config) {
 
+    return deployVerticle(verticleClass, config, 1);
+  }
+
+  public <T> CompletableFuture<String> deployVerticle(
+    Class<T> verticleClass,
+    JsonObject config,
+    int instances) {
+
     String verticleClass1 = verticleClass.getName();
 
     CompletableFuture<String> deployed = new CompletableFuture<>();
@@ -64,6 +72,7 @@ public class VertxAssistant {
 
     options.setConfig(config);
     options.setWorker(true);
+    options.setInstances(instances);
 
     vertx.deployVerticle(verticleClass1, options, result -> {
       if (result.succeeded()) {
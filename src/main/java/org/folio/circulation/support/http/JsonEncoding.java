@@ -0,0 +1,51 @@
+package org.folio.circulation.support.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.Json;
+
+/**
+ * Encodes the JSON bodies of outgoing requests and of responses.
+ * <p>
+ * The bodies are encoded directly into a {@link Buffer} without an intermediate
+ * String. They are compact by default, pretty printing is meant for debugging.
+ */
+public final class JsonEncoding {
+  private static volatile boolean prettyPrint = false;
+
+  private JsonEncoding() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @param prettyPrint  whether to indent the JSON bodies, false for compact bodies
+   */
+  public static void setPrettyPrint(boolean prettyPrint) {
+    JsonEncoding.prettyPrint = prettyPrint;
+  }
+
+  public static boolean isPrettyPrint() {
+    return prettyPrint;
+  }
+
+  /**
+   * Encode the body as UTF-8 JSON.
+   *
+   * @param body  a JsonObject, JsonArray or any other object Jackson can serialize
+   * @return the encoded body
+   * @throws EncodeException if the body cannot be encoded
+   */
+  public static Buffer encode(Object body) {
+    if (!prettyPrint) {
+      return Json.encodeToBuffer(body);
+    }
+
+    try {
+      return Buffer.buffer(Json.prettyMapper.writeValueAsBytes(body));
+    } catch (JsonProcessingException e) {
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package org.folio.circulation.support.http.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Connection pool and timeout settings of the client used for requests
+ * to other modules, read from the verticle configuration.
+ * <p>
+ * The timeout of a request is the timeout of the longest endpoint prefix
+ * matching the path of its URL, or otherwise the timeout of its method.
+ * A timeout of 0 means no timeout.
+ */
+public class HttpClientSettings {
+  private static final int DEFAULT_MAX_POOL_SIZE = 100;
+  private static final int DEFAULT_MAX_WAIT_QUEUE_SIZE = 1000;
+  private static final long DEFAULT_POST_TIMEOUT_IN_MILLISECONDS = 5000;
+  private static final long DEFAULT_TIMEOUT_IN_MILLISECONDS = 60000;
+
+  private final int maxPoolSize;
+  private final int maxWaitQueueSize;
+  private final boolean keepAlive;
+  private final boolean pipelining;
+  private final int idleTimeoutInSeconds;
+  private final Map<HttpMethod, Long> methodTimeouts;
+  private final Map<String, Long> endpointTimeouts;
+
+  private HttpClientSettings(
+    int maxPoolSize,
+    int maxWaitQueueSize,
+    boolean keepAlive,
+    boolean pipelining,
+    int idleTimeoutInSeconds,
+    Map<HttpMethod, Long> methodTimeouts,
+    Map<String, Long> endpointTimeouts) {
+
+    this.maxPoolSize = maxPoolSize;
+    this.maxWaitQueueSize = maxWaitQueueSize;
+    this.keepAlive = keepAlive;
+    this.pipelining = pipelining;
+    this.idleTimeoutInSeconds = idleTimeoutInSeconds;
+    this.methodTimeouts = methodTimeouts;
+    this.endpointTimeouts = endpointTimeouts;
+  }
+
+  public static HttpClientSettings defaults() {
+    return from(new JsonObject());
+  }
+
+  /**
+   * @param config  the verticle configuration, the properties of the
+   *                settings that are not configured have default values
+   * @throws IllegalArgumentException if the endpoint timeouts are malformed
+   */
+  public static HttpClientSettings from(JsonObject config) {
+    final long defaultTimeout = config.getLong("httpClientTimeout",
+      DEFAULT_TIMEOUT_IN_MILLISECONDS);
+
+    final Map<HttpMethod, Long> methodTimeouts = new LinkedHashMap<>();
+
+    methodTimeouts.put(HttpMethod.GET, config.getLong("httpClientGetTimeout", defaultTimeout));
+    methodTimeouts.put(HttpMethod.PUT, config.getLong("httpClientPutTimeout", defaultTimeout));
+    methodTimeouts.put(HttpMethod.DELETE,
+      config.getLong("httpClientDeleteTimeout", defaultTimeout));
+    methodTimeouts.put(HttpMethod.POST, config.getLong("httpClientPostTimeout",
+      config.containsKey("httpClientTimeout")
+        ? defaultTimeout
+        : DEFAULT_POST_TIMEOUT_IN_MILLISECONDS));
+
+    return new HttpClientSettings(
+      config.getInteger("httpClientMaxPoolSize", DEFAULT_MAX_POOL_SIZE),
+      config.getInteger("httpClientMaxWaitQueueSize", DEFAULT_MAX_WAIT_QUEUE_SIZE),
+      Boolean.parseBoolean(config.getString("httpClientKeepAlive", "true")),
+      Boolean.parseBoolean(config.getString("httpClientPipelining", "false")),
+      config.getInteger("httpClientIdleTimeoutSeconds", 0),
+      Collections.unmodifiableMap(methodTimeouts),
+      parseEndpointTimeouts(config.getString("httpClientEndpointTimeouts")));
+  }
+
+  /**
+   * @param endpointTimeouts  comma separated path=milliseconds pairs,
+   *                          e.g. /calendar=2000,/item-storage/items=10000
+   */
+  static Map<String, Long> parseEndpointTimeouts(String endpointTimeouts) {
+    if (StringUtils.isBlank(endpointTimeouts)) {
+      return Collections.emptyMap();
+    }
+
+    final Map<String, Long> timeouts = new LinkedHashMap<>();
+
+    for (String endpointTimeout : endpointTimeouts.split(",")) {
+      final String[] pathAndTimeout = endpointTimeout.trim().split("=");
+
+      if (pathAndTimeout.length != 2 || !pathAndTimeout[0].startsWith("/")) {
+        throw new IllegalArgumentException(
+          "Endpoint timeout is not path=milliseconds: " + endpointTimeout);
+      }
+
+      try {
+        timeouts.put(pathAndTimeout[0].trim(), Long.parseLong(pathAndTimeout[1].trim()));
+      }
+      catch (NumberFormatException e) {
+        throw new IllegalArgumentException(
+          "Endpoint timeout is not path=milliseconds: " + endpointTimeout, e);
+      }
+    }
+
+    return Collections.unmodifiableMap(timeouts);
+  }
+
+  public HttpClientOptions toHttpClientOptions() {
+    return new HttpClientOptions()
+      .setMaxPoolSize(maxPoolSize)
+      .setMaxWaitQueueSize(maxWaitQueueSize)
+      .setKeepAlive(keepAlive)
+      .setPipelining(pipelining)
+      .setIdleTimeout(idleTimeoutInSeconds);
+  }
+
+  /**
+   * @param method  the method of the request
+   * @param path  the path of the URL of the request
+   * @return the timeout in milliseconds, 0 for no timeout
+   */
+  public long timeoutFor(HttpMethod method, String path) {
+    String longestMatch = null;
+
+    for (String endpoint : endpointTimeouts.keySet()) {
+      if (path.startsWith(endpoint)
+        && (longestMatch == null || endpoint.length() > longestMatch.length())) {
+
+        longestMatch = endpoint;
+      }
+    }
+
+    if (longestMatch != null) {
+      return endpointTimeouts.get(longestMatch);
+    }
+
+    return methodTimeouts.getOrDefault(method, 0L);
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public int getMaxWaitQueueSize() {
+    return maxWaitQueueSize;
+  }
+
+  public JsonObject toJson() {
+    final JsonObject timeouts = new JsonObject();
+
+    methodTimeouts.forEach((method, timeout) -> timeouts.put(method.name(), timeout));
+
+    final JsonObject endpoints = new JsonObject();
+
+    endpointTimeouts.forEach(endpoints::put);
+
+    return new JsonObject()
+      .put("maxPoolSize", maxPoolSize)
+      .put("maxWaitQueueSize", maxWaitQueueSize)
+      .put("keepAlive", keepAlive)
+      .put("pipelining", pipelining)
+      .put("idleTimeoutSeconds", idleTimeoutInSeconds)
+      .put("methodTimeouts", timeouts)
+      .put("endpointTimeouts", endpoints);
+  }
+}
@@ -0,0 +1,86 @@
+package org.folio.circulation.support.http.client;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Counts the requests to other modules made by all clients of this module
+ * instance, safe for concurrent use.
+ */
+public class HttpClientStatistics {
+  private static final HttpClientStatistics instance = new HttpClientStatistics();
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong poolTooBusy = new AtomicLong();
+  private final AtomicInteger poolSize = new AtomicInteger();
+
+  HttpClientStatistics() { }
+
+  public static HttpClientStatistics getInstance() {
+    return instance;
+  }
+
+  /**
+   * @param maxPoolSize  the maximum number of connections of a client created
+   *                     for requests to other modules, e.g. by each verticle
+   */
+  public void addPool(int maxPoolSize) {
+    poolSize.addAndGet(maxPoolSize);
+  }
+
+  void started() {
+    requests.incrementAndGet();
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+  }
+
+  void completed() {
+    inFlight.decrementAndGet();
+  }
+
+  void failed(Throwable exception) {
+    inFlight.decrementAndGet();
+    failures.incrementAndGet();
+
+    if (exception instanceof TimeoutException) {
+      timeouts.incrementAndGet();
+    }
+    else if (exception instanceof ConnectionPoolTooBusyException) {
+      poolTooBusy.incrementAndGet();
+    }
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return the requests in flight, the most requests in flight at the same
+   *         time, their share of the connections of all clients, and the
+   *         number of requests, failures, timeouts and requests rejected
+   *         because too many were waiting for a connection
+   */
+  public JsonObject toJson() {
+    final int currentlyInFlight = inFlight.get();
+    final int maxPoolSize = poolSize.get();
+
+    return new JsonObject()
+      .put("poolSize", maxPoolSize)
+      .put("inFlight", currentlyInFlight)
+      .put("maxInFlight", maxInFlight.get())
+      .put("poolUtilization", maxPoolSize > 0
+        ? Math.min(1.0, (double) currentlyInFlight / maxPoolSize)
+        : 0.0)
+      .put("requests", requests.get())
+      .put("failures", failures.get())
+      .put("timeouts", timeouts.get())
+      .put("poolTooBusy", poolTooBusy.get());
+  }
+}
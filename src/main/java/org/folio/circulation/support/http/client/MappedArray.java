@@ -0,0 +1,46 @@
+package org.folio.circulation.support.http.client;
+
+import static org.folio.circulation.support.JsonArrayHelper.mapToList;
+
+import java.util.List;
+import java.util.function.Function;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The objects of a top level array of a JSON body, mapped to records,
+ * together with the other top level properties of that body
+ */
+public class MappedArray<T> {
+  private final List<T> records;
+  private final JsonObject otherProperties;
+
+  MappedArray(List<T> records, JsonObject otherProperties) {
+    this.records = records;
+    this.otherProperties = otherProperties;
+  }
+
+  static <T> MappedArray<T> from(
+    JsonObject representation,
+    String arrayPropertyName,
+    Function<JsonObject, T> mapper) {
+
+    final JsonObject otherProperties = representation.copy();
+
+    otherProperties.remove(arrayPropertyName);
+
+    return new MappedArray<>(
+      mapToList(representation, arrayPropertyName, mapper), otherProperties);
+  }
+
+  public List<T> getRecords() {
+    return records;
+  }
+
+  /**
+   * @return the top level properties other than the array, e.g. totalRecords
+   */
+  public JsonObject getOtherProperties() {
+    return otherProperties;
+  }
+}
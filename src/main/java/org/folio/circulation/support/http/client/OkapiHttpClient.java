@@ -9,17 +9,22 @@ import static org.folio.circulation.support.http.OkapiHeader.USER_ID;
 import java.lang.invoke.MethodHandles;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
+import org.folio.circulation.support.http.JsonEncoding;
+import org.folio.circulation.support.metrics.Metrics;
+import org.folio.circulation.support.metrics.Metrics.OutboundRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
-import io.vertx.core.json.Json;
+import io.vertx.core.http.HttpMethod;
 
 public class OkapiHttpClient {
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -31,6 +36,9 @@ public class OkapiHttpClient {
   private final String userId;
   private final String requestId;
   private final Consumer<Throwable> exceptionHandler;
+  private final OutboundCallCounter callCounter;
+
+  private static volatile HttpClientSettings settings = HttpClientSettings.defaults();
 
   public OkapiHttpClient(
     HttpClient httpClient,
@@ -41,6 +49,24 @@ public class OkapiHttpClient {
     String requestId,
     Consumer<Throwable> exceptionHandler) {
 
+    this(httpClient, okapiUrl, tenantId, token, userId, requestId,
+      exceptionHandler, null);
+  }
+
+  /**
+   * @param callCounter  counts the requests made for the incoming request,
+   *                     may be null
+   */
+  public OkapiHttpClient(
+    HttpClient httpClient,
+    URL okapiUrl,
+    String tenantId,
+    String token,
+    String userId,
+    String requestId,
+    Consumer<Throwable> exceptionHandler,
+    OutboundCallCounter callCounter) {
+
     this.client = httpClient;
     this.okapiUrl = okapiUrl;
     this.tenantId = tenantId;
@@ -48,6 +74,21 @@ public class OkapiHttpClient {
     this.userId = userId;
     this.requestId = requestId;
     this.exceptionHandler = exceptionHandler;
+    this.callCounter = callCounter;
+  }
+
+  /**
+   * For requests made in the background that the incoming request does not
+   * wait for, they are not counted for it and their failures are not
+   * a failure of it
+   *
+   * @param exceptionHandler  handles failures to make the requests
+   * @return a client for the same Okapi location, tenant, token, user and
+   *         request ID
+   */
+  public OkapiHttpClient detached(Consumer<Throwable> exceptionHandler) {
+    return new OkapiHttpClient(client, okapiUrl, tenantId, token, userId,
+      requestId, exceptionHandler, null);
   }
 
   public void post(
@@ -55,21 +96,19 @@ public class OkapiHttpClient {
     Object body,
     Handler<HttpClientResponse> responseHandler) {
 
-    HttpClientRequest request = client.postAbs(url.toString(), responseHandler);
+    //TODO: Catch encoding exceptions here
+    Buffer encodedBody = body != null ? JsonEncoding.encode(body) : null;
+
+    HttpClientRequest request = createRequest(HttpMethod.POST, url.toString(),
+      responseHandler, exceptionHandler,
+      encodedBody != null ? encodedBody.length() : 0);
 
     addJsonContentTypeHeader(request);
 
     addStandardHeaders(request);
 
-    request.setTimeout(5000);
-
-    request.exceptionHandler(this.exceptionHandler::accept);
-
-    if(body != null) {
-      //TODO: Catch encoding exceptions here
-      String encodedBody = Json.encodePrettily(body);
-
-      log.info("POST {}, Request: {}", url, encodedBody);
+    if(encodedBody != null) {
+      logRequest("POST", url, encodedBody);
 
       request.end(encodedBody);
     }
@@ -91,22 +130,31 @@ public class OkapiHttpClient {
     Object body,
     Handler<HttpClientResponse> responseHandler) {
 
-    HttpClientRequest request = client.putAbs(url, responseHandler);
+    //TODO: Catch encoding exceptions here
+    Buffer encodedBody = JsonEncoding.encode(body);
+
+    HttpClientRequest request = createRequest(HttpMethod.PUT, url,
+      responseHandler, exceptionHandler, encodedBody.length());
 
     addJsonContentTypeHeader(request);
 
     addStandardHeaders(request);
 
-    request.exceptionHandler(this.exceptionHandler::accept);
-
-    //TODO: Catch encoding exceptions here
-    String encodedBody = Json.encodePrettily(body);
-
-    log.info("PUT {}, Request: {}", url, encodedBody);
+    logRequest("PUT", url, encodedBody);
 
     request.end(encodedBody);
   }
 
+  private static void logRequest(String method, Object url, Buffer encodedBody) {
+    // the body is only decoded into a String when it gets logged
+    if (log.isDebugEnabled()) {
+      log.debug("{} {}, Request: {}", method, url, encodedBody);
+    }
+    else {
+      log.info("{} {}, Request: {} bytes", method, url, encodedBody.length());
+    }
+  }
+
   public void get(URL url, Handler<HttpClientResponse> responseHandler) {
 
     get(url.toString(), responseHandler);
@@ -124,17 +172,45 @@ public class OkapiHttpClient {
   }
 
   public void get(String url, Handler<HttpClientResponse> responseHandler) {
+    get(url, responseHandler, exceptionHandler);
+  }
+
+  /**
+   * @param exceptionHandler  used instead of the exception handler of this
+   *                          client, e.g. for a request shared by several
+   *                          incoming requests
+   */
+  public void get(
+    String url,
+    Handler<HttpClientResponse> responseHandler,
+    Consumer<Throwable> exceptionHandler) {
+
     log.info("GET {}", url);
 
-    HttpClientRequest request = client.getAbs(url, responseHandler);
+    HttpClientRequest request = createRequest(HttpMethod.GET, url,
+      responseHandler, exceptionHandler, 0);
 
     addStandardHeaders(request);
 
-    request.exceptionHandler(exceptionHandler::accept);
-
     request.end();
   }
 
+  /**
+   * Handle a failure to make a request in the same way as a failure of
+   * a request made by this client, e.g. by responding to the incoming request.
+   */
+  public void handleException(Throwable exception) {
+    exceptionHandler.accept(exception);
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public String getToken() {
+    return token;
+  }
+
   public void delete(URL url, Handler<HttpClientResponse> responseHandler) {
 
     delete(url.toString(), responseHandler);
@@ -142,15 +218,93 @@ public class OkapiHttpClient {
 
   public void delete(String url, Handler<HttpClientResponse> responseHandler) {
 
-    HttpClientRequest request = client.deleteAbs(url, responseHandler);
+    HttpClientRequest request = createRequest(HttpMethod.DELETE, url,
+      responseHandler, exceptionHandler, 0);
 
     addStandardHeaders(request);
 
-    request.exceptionHandler(this.exceptionHandler::accept);
-
     request.end();
   }
 
+  /**
+   * Create a request with the timeout of its method and endpoint, that is
+   * counted as in flight until its response or a failure is received
+   *
+   * @param bodyLength  the number of bytes of the body that is sent
+   */
+  private HttpClientRequest createRequest(
+    HttpMethod method,
+    String url,
+    Handler<HttpClientResponse> responseHandler,
+    Consumer<Throwable> exceptionHandler,
+    long bodyLength) {
+
+    final HttpClientStatistics statistics = HttpClientStatistics.getInstance();
+    final OutboundRequest metrics = Metrics.getInstance()
+      .outboundStarted(tenantId, method, url);
+    final AtomicBoolean inFlight = new AtomicBoolean(true);
+
+    statistics.started();
+    metrics.sent(bodyLength);
+
+    if (callCounter != null) {
+      callCounter.count(method, url);
+    }
+
+    HttpClientRequest request = client.requestAbs(method, url, response -> {
+      if (inFlight.getAndSet(false)) {
+        statistics.completed();
+        metrics.completed(response.statusCode());
+      }
+      responseHandler.handle(response);
+    });
+
+    final long timeout = settings.timeoutFor(method, pathOf(url));
+
+    if (timeout > 0) {
+      request.setTimeout(timeout);
+    }
+
+    request.exceptionHandler(exception -> {
+      if (inFlight.getAndSet(false)) {
+        statistics.failed(exception);
+        metrics.failed();
+      }
+      exceptionHandler.accept(exception);
+    });
+
+    return request;
+  }
+
+  /**
+   * @return the path of an absolute URL without parsing it as a whole
+   */
+  public static String pathOf(String url) {
+    final int schemeEnd = url.indexOf("://");
+    final int pathStart = url.indexOf('/', schemeEnd < 0 ? 0 : schemeEnd + 3);
+
+    if (pathStart < 0) {
+      return "/";
+    }
+
+    final int queryStart = url.indexOf('?', pathStart);
+
+    return queryStart < 0
+      ? url.substring(pathStart)
+      : url.substring(pathStart, queryStart);
+  }
+
+  /**
+   * @param settings  the timeouts of requests made by all clients
+   */
+  public static void setSettings(HttpClientSettings settings) {
+    OkapiHttpClient.settings = settings;
+  }
+
+  public static HttpClientSettings getSettings() {
+    return settings;
+  }
+
   private void addStandardHeaders(HttpClientRequest request) {
     addHeaderIfPresent(request, "Accept","application/json, text/plain");
     addHeaderIfPresent(request, OKAPI_URL, okapiUrl.toString());
@@ -0,0 +1,43 @@
+package org.folio.circulation.support.http.client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.support.metrics.Metrics;
+
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * Counts the requests to other modules made for one incoming request, by
+ * method and endpoint, to make operations that make a request per record
+ * visible.
+ */
+public class OutboundCallCounter {
+  private final AtomicInteger total = new AtomicInteger();
+  private final Map<String, AtomicInteger> byEndpoint = new ConcurrentHashMap<>();
+
+  void count(HttpMethod method, String url) {
+    total.incrementAndGet();
+
+    byEndpoint.computeIfAbsent(method.name() + " " + Metrics.endpointOf(url),
+      key -> new AtomicInteger())
+      .incrementAndGet();
+  }
+
+  public int getTotal() {
+    return total.get();
+  }
+
+  /**
+   * @return the number of requests for each method and endpoint, sorted by
+   *         endpoint, e.g. "GET /item-storage/items=1, GET /users/{id}=2"
+   */
+  public String describe() {
+    return new TreeMap<>(byEndpoint).entrySet().stream()
+      .map(entry -> entry.getKey() + "=" + entry.getValue().get())
+      .collect(Collectors.joining(", "));
+  }
+}
@@ -3,15 +3,37 @@ package org.folio.circulation.support.http.client;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 import static java.lang.String.format;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 import org.apache.commons.lang3.StringUtils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 
+/**
+ * A response received from another module.
+ * <p>
+ * The body is kept as received, it is only converted to a String when
+ * {@link #getBody()} is called and parsed at most once by {@link #getJson()}.
+ */
 public class Response {
-  protected final String body;
+  private final Buffer bodyBuffer;
+  private volatile String body;
+  private volatile JsonObject json;
   private final int statusCode;
   private final String contentType;
   private final CaseInsensitiveHeaders headers;
@@ -28,7 +50,19 @@ public class Response {
     CaseInsensitiveHeaders headers,
     String fromUrl) {
 
+    this(statusCode, null, body, contentType, headers, fromUrl);
+  }
+
+  private Response(
+    int statusCode,
+    Buffer bodyBuffer,
+    String body,
+    String contentType,
+    CaseInsensitiveHeaders headers,
+    String fromUrl) {
+
     this.statusCode = statusCode;
+    this.bodyBuffer = bodyBuffer;
     this.body = body;
     this.contentType = contentType;
     this.headers = headers;
@@ -46,14 +80,45 @@ public class Response {
 
     headers.addAll(response.headers());
 
-    return new Response(response.statusCode(),
-      BufferHelper.stringFromBuffer(body),
+    return new Response(response.statusCode(), body, null,
       convertNullToEmpty(response.getHeader(CONTENT_TYPE)),
       headers, fromUrl);
   }
 
+  static Response from(int statusCode, Buffer body, String contentType) {
+    return new Response(statusCode, body, null, contentType,
+      new CaseInsensitiveHeaders(), null);
+  }
+
+  /**
+   * @return a response with the same status, headers and body, and an
+   *         independent copy of the JSON if it has already been parsed
+   */
+  public Response copy() {
+    final Response copy = new Response(statusCode, bodyBuffer, body,
+      contentType, headers, fromUrl);
+
+    final JsonObject parsed = json;
+
+    if (parsed != null) {
+      copy.json = parsed.copy();
+    }
+
+    return copy;
+  }
+
   public boolean hasBody() {
-    return StringUtils.isNotBlank(getBody());
+    if (body != null || bodyBuffer == null) {
+      return StringUtils.isNotBlank(body);
+    }
+
+    for (int index = 0; index < bodyBuffer.length(); index++) {
+      if (!Character.isWhitespace((char) (bodyBuffer.getByte(index) & 0xff))) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   public int getStatusCode() {
@@ -61,16 +126,123 @@ public class Response {
   }
 
   public String getBody() {
+    if (body == null) {
+      body = bodyBuffer == null
+        ? null
+        : BufferHelper.stringFromBuffer(bodyBuffer);
+    }
+
     return body;
   }
 
+  /**
+   * @return the body as UTF-8 bytes, without converting it to a String
+   *         if it was received from another module
+   */
+  public Buffer getBodyAsBuffer() {
+    if (bodyBuffer != null) {
+      return bodyBuffer;
+    }
+
+    return body == null
+      ? Buffer.buffer()
+      : Buffer.buffer(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses the body the first time it is called, later calls return the same
+   * instance. Copy it before changing it if the response is used again.
+   *
+   * @return the body as JSON, or an empty object if there is no body
+   */
   public JsonObject getJson() {
-    if(hasBody()) {
-      return new JsonObject(getBody());
+    if (json == null) {
+      json = parseJson();
     }
-    else {
+
+    return json;
+  }
+
+  private JsonObject parseJson() {
+    if (!hasBody()) {
       return new JsonObject();
     }
+    if (body != null || bodyBuffer == null) {
+      return new JsonObject(body);
+    }
+
+    return new JsonObject(bodyBuffer);
+  }
+
+  /**
+   * Maps the JSON objects in a top level array of the body, for example the
+   * loans or items of a collection, one after another. Unlike
+   * {@link #getJson()} the body is not parsed into a JsonObject as a whole.
+   * Elements that are not objects are skipped, like
+   * {@link org.folio.circulation.support.JsonArrayHelper} does.
+   *
+   * @param arrayPropertyName  name of the array property, e.g. loans
+   * @param mapper  maps each object in the array
+   * @return the mapped records and the other top level properties of the body
+   * @throws DecodeException if the body is not a JSON object
+   */
+  public <T> MappedArray<T> mapArray(
+    String arrayPropertyName,
+    Function<JsonObject, T> mapper) {
+
+    if (json != null || !hasBody()) {
+      return MappedArray.from(getJson(), arrayPropertyName, mapper);
+    }
+
+    try (JsonParser parser = Json.mapper.getFactory().createParser(bodyAsStream())) {
+      return mapArray(parser, arrayPropertyName, mapper);
+    }
+    catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage());
+    }
+  }
+
+  private InputStream bodyAsStream() {
+    return new ByteBufInputStream(getBodyAsBuffer().getByteBuf());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> MappedArray<T> mapArray(
+    JsonParser parser,
+    String arrayPropertyName,
+    Function<JsonObject, T> mapper) throws IOException {
+
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new DecodeException("Body is not a JSON object");
+    }
+
+    final List<T> records = new ArrayList<>();
+    final JsonObject otherProperties = new JsonObject();
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      final JsonToken value = parser.nextToken();
+
+      if (name.equals(arrayPropertyName) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          if (parser.currentToken() == JsonToken.START_OBJECT) {
+            records.add(mapper.apply(
+              new JsonObject(Json.mapper.readValue(parser, Map.class))));
+          }
+          else {
+            parser.skipChildren();
+          }
+        }
+      }
+      else if (name.equals(arrayPropertyName)) {
+        parser.skipChildren();
+      }
+      else {
+        otherProperties.put(name, Json.mapper.readValue(parser, Object.class));
+      }
+    }
+
+    return new MappedArray<>(records, otherProperties);
   }
 
   public String getContentType() {
@@ -81,7 +253,7 @@ public class Response {
     return text != null ? text : "";
   }
 
-  String getHeader(String name) {
+  public String getHeader(String name) {
     return headers.get(name);
   }
 
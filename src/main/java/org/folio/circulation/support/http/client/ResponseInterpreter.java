@@ -56,7 +56,13 @@ public class ResponseInterpreter<T> {
     }
 
     try {
-      log.info("Response received: {}", response);
+      if (log.isDebugEnabled()) {
+        log.debug("Response received: {}", response);
+      }
+      else {
+        log.info("Response received from \"{}\" status code: {}",
+          response.getFromUrl(), response.getStatusCode());
+      }
 
       final Integer statusCode = response.getStatusCode();
 
@@ -0,0 +1,146 @@
+package org.folio.circulation.support.http.server;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * The duration of each stage of handling one request, returned in the
+ * Server-Timing header of the response, e.g.
+ * "item;dur=12.3, loan-policy;dur=4.5, total;dur=30.1".
+ * <p>
+ * The stages of a pipeline run one after another, so a stage lasts from the
+ * end of the previous stage (or the start of the request) until it is marked.
+ * A stage that is marked more than once accumulates its durations.
+ * <p>
+ * A sample of the timings is also logged as JSON, none by default.
+ */
+public class ServerTiming {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private static volatile double logSampleRate = 0.0;
+
+  private final String operation;
+  private final LongSupplier nanoClock;
+  private final long startedAt;
+  private final Map<String, Long> stages = new LinkedHashMap<>();
+  private long lastMarkedAt;
+
+  /**
+   * @param nanoClock  the current time in nanoseconds
+   */
+  ServerTiming(String operation, LongSupplier nanoClock) {
+    this.operation = operation;
+    this.nanoClock = nanoClock;
+    this.startedAt = nanoClock.getAsLong();
+    this.lastMarkedAt = startedAt;
+  }
+
+  /**
+   * Start timing the stages of a request, the timings are added to the
+   * response when its headers are written
+   *
+   * @param operation  the name of the operation in the log, e.g. check-out
+   */
+  public static ServerTiming start(String operation, RoutingContext routingContext) {
+    final ServerTiming timing = new ServerTiming(operation, System::nanoTime);
+
+    routingContext.addHeadersEndHandler(notUsed -> {
+      routingContext.response().putHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+
+      if (isSampled()) {
+        log.info("Server timing: {}", timing.toJson()
+          .put("statusCode", routingContext.response().getStatusCode())
+          .encode());
+      }
+    });
+
+    return timing;
+  }
+
+  /**
+   * @param rate  the share of the timings that are logged, between 0 and 1
+   */
+  public static void setLogSampleRate(double rate) {
+    logSampleRate = Math.max(0.0, Math.min(1.0, rate));
+  }
+
+  public static double getLogSampleRate() {
+    return logSampleRate;
+  }
+
+  private static boolean isSampled() {
+    final double rate = logSampleRate;
+
+    return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /**
+   * For use in a pipeline, e.g. {@code .thenApply(timing.stage("item"))}
+   *
+   * @param name  the name of the stage, a token without spaces
+   * @return a function that marks the end of the stage and returns the
+   *         result of the stage unchanged
+   */
+  public <T> Function<T, T> stage(String name) {
+    return result -> {
+      mark(name);
+      return result;
+    };
+  }
+
+  synchronized void mark(String name) {
+    final long now = nanoClock.getAsLong();
+
+    stages.merge(name, now - lastMarkedAt, Long::sum);
+    lastMarkedAt = now;
+  }
+
+  /**
+   * @return the duration in milliseconds of each stage and of the whole
+   *         request so far
+   */
+  public synchronized String toHeaderValue() {
+    final String marked = stages.entrySet().stream()
+      .map(stage -> describe(stage.getKey(), stage.getValue()))
+      .collect(Collectors.joining(", "));
+
+    final String total = describe("total", nanoClock.getAsLong() - startedAt);
+
+    return marked.isEmpty() ? total : marked + ", " + total;
+  }
+
+  public synchronized JsonObject toJson() {
+    final JsonObject durations = new JsonObject();
+
+    stages.forEach((name, nanoseconds) -> durations.put(name, milliseconds(nanoseconds)));
+
+    return new JsonObject()
+      .put("operation", operation)
+      .put("stages", durations)
+      .put("total", milliseconds(nanoClock.getAsLong() - startedAt));
+  }
+
+  private static String describe(String name, long nanoseconds) {
+    return format(Locale.ROOT, "%s;dur=%.1f", name, nanoseconds / 1_000_000.0);
+  }
+
+  private static double milliseconds(long nanoseconds) {
+    return Math.round(nanoseconds / 100_000.0) / 10.0;
+  }
+}
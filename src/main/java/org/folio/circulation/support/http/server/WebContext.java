@@ -6,16 +6,33 @@ import static org.folio.circulation.support.http.OkapiHeader.TENANT;
 import static org.folio.circulation.support.http.OkapiHeader.TOKEN;
 import static org.folio.circulation.support.http.OkapiHeader.USER_ID;
 
+import java.lang.invoke.MethodHandles;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.TimeoutException;
 
+import org.folio.circulation.support.CircuitOpenException;
 import org.folio.circulation.support.InvalidOkapiLocationException;
+import org.folio.circulation.support.ServerErrorFailure;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.client.OutboundCallCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import io.vertx.core.http.ConnectionPoolTooBusyException;
 import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
 public class WebContext {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  public static final String OUTBOUND_CALLS_HEADER = "X-Circulation-Outbound-Calls";
+  public static final String OUTBOUND_CALLS_BY_ENDPOINT_HEADER =
+    "X-Circulation-Outbound-Calls-By-Endpoint";
+
+  private static final String OUTBOUND_CALL_COUNTER = "outboundCallCounter";
+
   private final RoutingContext routingContext;
 
   public WebContext(RoutingContext routingContext) {
@@ -85,10 +102,74 @@ public class WebContext {
       throw new InvalidOkapiLocationException(getOkapiLocation(), e);
     }
 
+    return createHttpClient(httpClient, okapiUrl);
+  }
+
+  /**
+   * @param okapiUrl  the already parsed Okapi location of this request
+   */
+  public OkapiHttpClient createHttpClient(HttpClient httpClient, URL okapiUrl) {
     return new OkapiHttpClient(httpClient,
       okapiUrl, getTenantId(), getOkapiToken(), getUserId(),
-      getRequestId(), exception -> ServerErrorResponse.internalError(routingContext.response(),
-        String.format("Failed to contact storage module: %s",
-          exception.toString())));
+      getRequestId(), this::failedToContactStorage, getOutboundCallCounter());
+  }
+
+  /**
+   * The counter is created with the first client for this request, the
+   * number of requests made is returned in headers of the response and logged
+   *
+   * @return the counter of the requests to other modules made for this request
+   */
+  public OutboundCallCounter getOutboundCallCounter() {
+    final OutboundCallCounter existing = routingContext.get(OUTBOUND_CALL_COUNTER);
+
+    if (existing != null) {
+      return existing;
+    }
+
+    final OutboundCallCounter counter = new OutboundCallCounter();
+
+    routingContext.put(OUTBOUND_CALL_COUNTER, counter);
+
+    routingContext.addHeadersEndHandler(notUsed -> {
+      final String calls = counter.describe();
+
+      routingContext.response()
+        .putHeader(OUTBOUND_CALLS_HEADER, Integer.toString(counter.getTotal()))
+        .putHeader(OUTBOUND_CALLS_BY_ENDPOINT_HEADER, calls);
+
+      log.info("{} {} made {} requests to other modules: {}",
+        routingContext.request().method(), routingContext.request().path(),
+        counter.getTotal(), calls);
+    });
+
+    return counter;
+  }
+
+  private void failedToContactStorage(Throwable exception) {
+    final HttpServerResponse response = routingContext.response();
+
+    // several requests made for the same incoming request may fail
+    if (response.ended()) {
+      log.warn("Failed to contact storage module after responding", exception);
+      return;
+    }
+
+    if (exception instanceof ConnectionPoolTooBusyException) {
+      ServerErrorResponse.serviceUnavailable(response, String.format(
+        "Too many requests to other modules are waiting for a connection: %s",
+        exception.getMessage()));
+    }
+    else if (exception instanceof CircuitOpenException) {
+      new ServerErrorFailure(exception.getMessage()).writeTo(response);
+    }
+    else if (exception instanceof TimeoutException) {
+      ServerErrorResponse.internalError(response, String.format(
+        "Request to storage module timed out: %s", exception.getMessage()));
+    }
+    else {
+      ServerErrorResponse.internalError(response,
+        String.format("Failed to contact storage module: %s", exception.toString()));
+    }
   }
 }
@@ -0,0 +1,61 @@
+package org.folio.circulation.support.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in fixed buckets, like a Prometheus histogram. Recording
+ * does not lock, so it can be used on the event loop by any number of threads.
+ */
+public class LatencyHistogram {
+  /** upper bounds of the buckets in milliseconds, the last bucket is unbounded */
+  static final long[] BUCKET_BOUNDS_IN_MILLISECONDS =
+    { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_IN_MILLISECONDS.length + 1];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumInNanoseconds = new LongAdder();
+
+  LatencyHistogram() {
+    for (int index = 0; index < buckets.length; index++) {
+      buckets[index] = new LongAdder();
+    }
+  }
+
+  public void record(long nanoseconds) {
+    final long milliseconds = TimeUnit.NANOSECONDS.toMillis(nanoseconds);
+
+    int index = 0;
+
+    while (index < BUCKET_BOUNDS_IN_MILLISECONDS.length
+      && milliseconds > BUCKET_BOUNDS_IN_MILLISECONDS[index]) {
+
+      index++;
+    }
+
+    buckets[index].increment();
+    sumInNanoseconds.add(nanoseconds);
+    count.increment();
+  }
+
+  /**
+   * @return the number of durations in each bucket, not cumulative
+   */
+  long[] getBucketCounts() {
+    final long[] counts = new long[buckets.length];
+
+    for (int index = 0; index < buckets.length; index++) {
+      counts[index] = buckets[index].sum();
+    }
+
+    return counts;
+  }
+
+  long getCount() {
+    return count.sum();
+  }
+
+  double getSumInSeconds() {
+    return sumInNanoseconds.sum() / 1e9;
+  }
+}
@@ -0,0 +1,338 @@
+package org.folio.circulation.support.metrics;
+
+import static java.util.Arrays.asList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.folio.circulation.support.CircuitBreaker;
+import org.folio.circulation.support.CircuitBreakers;
+import org.folio.circulation.support.GetCoalescer;
+import org.folio.circulation.support.ReferenceDataCache;
+import org.folio.circulation.support.http.client.HttpClientStatistics;
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Metrics of the requests to other modules, tagged by tenant, method and
+ * endpoint, and of the requests received, tagged by method and route.
+ * <p>
+ * The endpoint of a request is the path of its URL with identifiers replaced
+ * by {id}, e.g. /item-storage/items/{id}, so that there is a bounded number
+ * of them. Recording does not lock, all module instances share a single
+ * instance.
+ */
+public class Metrics {
+  private static final Metrics instance = new Metrics();
+
+  private final Map<List<String>, Outbound> outbound = new ConcurrentHashMap<>();
+  private final Map<List<String>, Inbound> inbound = new ConcurrentHashMap<>();
+
+  private static final class Outbound {
+    final LatencyHistogram duration = new LatencyHistogram();
+    final LongAdder inFlight = new LongAdder();
+    final LongAdder bytesSent = new LongAdder();
+    final LongAdder bytesReceived = new LongAdder();
+    final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+  }
+
+  private static final class Inbound {
+    final LatencyHistogram duration = new LatencyHistogram();
+    final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * A request to another module that is in flight
+   */
+  public static final class OutboundRequest {
+    private final Outbound recorder;
+    private final long startedAt = System.nanoTime();
+
+    private OutboundRequest(Outbound recorder) {
+      this.recorder = recorder;
+      recorder.inFlight.increment();
+    }
+
+    public void sent(long bytes) {
+      recorder.bytesSent.add(bytes);
+    }
+
+    public void completed(int statusCode) {
+      finished(Integer.toString(statusCode));
+    }
+
+    public void failed() {
+      finished("error");
+    }
+
+    private void finished(String outcome) {
+      recorder.inFlight.decrement();
+      recorder.duration.record(System.nanoTime() - startedAt);
+      count(recorder.responses, outcome);
+    }
+  }
+
+  Metrics() { }
+
+  public static Metrics getInstance() {
+    return instance;
+  }
+
+  /**
+   * @param url  absolute URL of the request
+   * @return the request in flight, its outcome must be recorded exactly once
+   */
+  public OutboundRequest outboundStarted(String tenantId, HttpMethod method, String url) {
+    return new OutboundRequest(outbound(tenantId, method, url));
+  }
+
+  /**
+   * @param url  absolute URL of the request the response was received for
+   * @param bytes  length of the body of the response
+   */
+  public void responseReceived(String tenantId, HttpMethod method, String url,
+    long bytes) {
+
+    outbound(tenantId, method, url).bytesReceived.add(bytes);
+  }
+
+  /**
+   * @param route  path of the route that handled the request, e.g.
+   *               /circulation/loans/:id
+   */
+  public void inboundCompleted(HttpMethod method, String route, int statusCode,
+    long nanoseconds) {
+
+    final Inbound recorder = inbound.computeIfAbsent(
+      asList(method.name(), route), key -> new Inbound());
+
+    recorder.duration.record(nanoseconds);
+    count(recorder.responses, Integer.toString(statusCode));
+  }
+
+  private Outbound outbound(String tenantId, HttpMethod method, String url) {
+    return outbound.computeIfAbsent(
+      asList(String.valueOf(tenantId), method.name(), endpointOf(url)),
+      key -> new Outbound());
+  }
+
+  private static void count(Map<String, LongAdder> counts, String key) {
+    counts.computeIfAbsent(key, notUsed -> new LongAdder()).increment();
+  }
+
+  /**
+   * @return the path of the URL with segments that are UUIDs or numbers
+   *         replaced by {id}
+   */
+  public static String endpointOf(String url) {
+    final String path = OkapiHttpClient.pathOf(url);
+    final StringBuilder endpoint = new StringBuilder(path.length());
+
+    for (String segment : path.split("/", -1)) {
+      if (endpoint.length() > 0 || !segment.isEmpty()) {
+        endpoint.append('/');
+      }
+
+      endpoint.append(isIdentifier(segment) ? "{id}" : segment);
+    }
+
+    return endpoint.length() == 0 ? "/" : endpoint.toString();
+  }
+
+  private static boolean isIdentifier(String segment) {
+    if (segment.isEmpty()) {
+      return false;
+    }
+
+    if (segment.length() == 36 && segment.charAt(8) == '-'
+      && segment.charAt(13) == '-' && segment.charAt(18) == '-'
+      && segment.charAt(23) == '-') {
+
+      return true;
+    }
+
+    for (int index = 0; index < segment.length(); index++) {
+      if (!Character.isDigit(segment.charAt(index))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @return all metrics of this module instance in the Prometheus text format
+   */
+  public String toPrometheusText() {
+    final PrometheusTextWriter writer = new PrometheusTextWriter();
+
+    writeOutbound(writer);
+    writeInbound(writer);
+    writeHttpClient(writer);
+    writeCoalescedGets(writer);
+    writeCircuitBreakers(writer);
+    writeReferenceDataCache(writer);
+
+    return writer.toString();
+  }
+
+  private void writeOutbound(PrometheusTextWriter writer) {
+    writer.family("circulation_outbound_request_duration_seconds", "histogram",
+      "Duration of requests to other modules");
+
+    outbound.forEach((labels, recorder) -> writer.histogram(
+      "circulation_outbound_request_duration_seconds", recorder.duration,
+      outboundLabels(labels)));
+
+    writer.family("circulation_outbound_responses_total", "counter",
+      "Responses from other modules by status code, error when the request failed");
+
+    outbound.forEach((labels, recorder) -> recorder.responses.forEach(
+      (status, count) -> writer.sample("circulation_outbound_responses_total",
+        count.sum(), "tenant", labels.get(0), "method", labels.get(1),
+        "endpoint", labels.get(2), "status", status)));
+
+    writer.family("circulation_outbound_requests_in_flight", "gauge",
+      "Requests to other modules waiting for a response");
+
+    outbound.forEach((labels, recorder) -> writer.sample(
+      "circulation_outbound_requests_in_flight", recorder.inFlight.sum(),
+      outboundLabels(labels)));
+
+    writer.family("circulation_outbound_request_bytes_total", "counter",
+      "Bytes of the bodies of requests to other modules");
+
+    outbound.forEach((labels, recorder) -> writer.sample(
+      "circulation_outbound_request_bytes_total", recorder.bytesSent.sum(),
+      outboundLabels(labels)));
+
+    writer.family("circulation_outbound_response_bytes_total", "counter",
+      "Bytes of the bodies of responses from storage modules");
+
+    outbound.forEach((labels, recorder) -> writer.sample(
+      "circulation_outbound_response_bytes_total", recorder.bytesReceived.sum(),
+      outboundLabels(labels)));
+  }
+
+  private static String[] outboundLabels(List<String> labels) {
+    return new String[] { "tenant", labels.get(0), "method", labels.get(1),
+      "endpoint", labels.get(2) };
+  }
+
+  private void writeInbound(PrometheusTextWriter writer) {
+    writer.family("circulation_inbound_request_duration_seconds", "histogram",
+      "Duration of requests to this module by route");
+
+    inbound.forEach((labels, recorder) -> writer.histogram(
+      "circulation_inbound_request_duration_seconds", recorder.duration,
+      "method", labels.get(0), "route", labels.get(1)));
+
+    writer.family("circulation_inbound_responses_total", "counter",
+      "Responses of this module by route and status code");
+
+    inbound.forEach((labels, recorder) -> recorder.responses.forEach(
+      (status, count) -> writer.sample("circulation_inbound_responses_total",
+        count.sum(), "method", labels.get(0), "route", labels.get(1),
+        "status", status)));
+  }
+
+  private static void writeHttpClient(PrometheusTextWriter writer) {
+    final JsonObject statistics = HttpClientStatistics.getInstance().toJson();
+
+    writer
+      .family("circulation_http_client_pool_size", "gauge",
+        "Connections of the clients for requests to other modules")
+      .sample("circulation_http_client_pool_size", statistics.getInteger("poolSize"))
+      .family("circulation_http_client_pool_utilization", "gauge",
+        "Requests in flight per connection of the clients")
+      .sample("circulation_http_client_pool_utilization",
+        statistics.getDouble("poolUtilization"))
+      .family("circulation_http_client_timeouts_total", "counter",
+        "Requests to other modules that timed out")
+      .sample("circulation_http_client_timeouts_total", statistics.getLong("timeouts"))
+      .family("circulation_http_client_pool_too_busy_total", "counter",
+        "Requests rejected because too many were waiting for a connection")
+      .sample("circulation_http_client_pool_too_busy_total",
+        statistics.getLong("poolTooBusy"));
+  }
+
+  private static void writeCoalescedGets(PrometheusTextWriter writer) {
+    final JsonObject endpoints = GetCoalescer.getInstance().getStatistics()
+      .getJsonObject("endpoints");
+
+    writer.family("circulation_coalesced_gets_total", "counter",
+      "GET requests that shared an identical request in flight");
+
+    endpoints.forEach(entry -> writer.sample("circulation_coalesced_gets_total",
+      ((JsonObject) entry.getValue()).getLong("coalesced"),
+      "endpoint", entry.getKey()));
+  }
+
+  private static void writeCircuitBreakers(PrometheusTextWriter writer) {
+    final JsonObject endpoints = CircuitBreakers.getInstance().getStatistics()
+      .getJsonObject("endpoints");
+
+    writer.family("circulation_circuit_breaker_state", "gauge",
+      "State of the circuit breaker of a storage endpoint, 1 for the current state");
+
+    endpoints.forEach(entry -> {
+      final String state = ((JsonObject) entry.getValue()).getString("state");
+
+      for (CircuitBreaker.State possibleState : CircuitBreaker.State.values()) {
+        writer.sample("circulation_circuit_breaker_state",
+          possibleState.name().equals(state) ? 1 : 0,
+          "endpoint", entry.getKey(), "state", possibleState.name());
+      }
+    });
+
+    writer.family("circulation_circuit_breaker_rejected_total", "counter",
+      "Requests not made because the circuit of their endpoint was open");
+
+    endpoints.forEach(entry -> writer.sample(
+      "circulation_circuit_breaker_rejected_total",
+      ((JsonObject) entry.getValue()).getLong("rejected"),
+      "endpoint", entry.getKey()));
+  }
+
+  private static void writeReferenceDataCache(PrometheusTextWriter writer) {
+    final JsonObject tenants = ReferenceDataCache.getInstance().getStatistics()
+      .getJsonObject("tenants");
+
+    writer.family("circulation_reference_data_cache_hits_total", "counter",
+      "Reference records found in the cache, by tenant and record type");
+
+    forEachRecordType(tenants, (tenant, recordType, statistics) -> writer.sample(
+      "circulation_reference_data_cache_hits_total", statistics.getLong("hits"),
+      "tenant", tenant, "record_type", recordType));
+
+    writer.family("circulation_reference_data_cache_misses_total", "counter",
+      "Reference records not found in the cache, by tenant and record type");
+
+    forEachRecordType(tenants, (tenant, recordType, statistics) -> writer.sample(
+      "circulation_reference_data_cache_misses_total", statistics.getLong("misses"),
+      "tenant", tenant, "record_type", recordType));
+
+    writer.family("circulation_reference_data_cache_size", "gauge",
+      "Reference records cached, by tenant and record type");
+
+    forEachRecordType(tenants, (tenant, recordType, statistics) -> writer.sample(
+      "circulation_reference_data_cache_size", statistics.getInteger("size"),
+      "tenant", tenant, "record_type", recordType));
+  }
+
+  private interface RecordTypeStatisticsConsumer {
+    void accept(String tenant, String recordType, JsonObject statistics);
+  }
+
+  private static void forEachRecordType(JsonObject tenants,
+    RecordTypeStatisticsConsumer consumer) {
+
+    tenants.forEach(tenant -> ((JsonObject) tenant.getValue()).forEach(
+      recordType -> consumer.accept(tenant.getKey(), recordType.getKey(),
+        (JsonObject) recordType.getValue())));
+  }
+}
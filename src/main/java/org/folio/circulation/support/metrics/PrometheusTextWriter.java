@@ -0,0 +1,111 @@
+package org.folio.circulation.support.metrics;
+
+/**
+ * Writes metrics in the Prometheus text exposition format, version 0.0.4.
+ * Labels are given as alternating names and values.
+ */
+public class PrometheusTextWriter {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final StringBuilder text = new StringBuilder();
+
+  public PrometheusTextWriter family(String name, String type, String help) {
+    text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+
+    return this;
+  }
+
+  public PrometheusTextWriter sample(String name, double value, String... labels) {
+    text.append(name);
+
+    if (labels.length > 0) {
+      text.append('{');
+
+      for (int index = 0; index + 1 < labels.length; index += 2) {
+        if (index > 0) {
+          text.append(',');
+        }
+
+        text.append(labels[index]).append("=\"");
+        appendEscaped(labels[index + 1]);
+        text.append('"');
+      }
+
+      text.append('}');
+    }
+
+    text.append(' ').append(format(value)).append('\n');
+
+    return this;
+  }
+
+  /**
+   * Write the buckets, sum and count of a histogram
+   */
+  public PrometheusTextWriter histogram(String name, LatencyHistogram histogram,
+    String... labels) {
+
+    final long[] counts = histogram.getBucketCounts();
+    final String[] bucketLabels = new String[labels.length + 2];
+
+    System.arraycopy(labels, 0, bucketLabels, 0, labels.length);
+    bucketLabels[labels.length] = "le";
+
+    long cumulative = 0;
+
+    for (int index = 0; index < counts.length; index++) {
+      cumulative += counts[index];
+
+      bucketLabels[labels.length + 1] =
+        index < LatencyHistogram.BUCKET_BOUNDS_IN_MILLISECONDS.length
+          ? format(LatencyHistogram.BUCKET_BOUNDS_IN_MILLISECONDS[index] / 1000.0)
+          : "+Inf";
+
+      sample(name + "_bucket", cumulative, bucketLabels);
+    }
+
+    sample(name + "_sum", histogram.getSumInSeconds(), labels);
+    // the count of the buckets, which may be ahead of the count of the histogram
+    sample(name + "_count", cumulative, labels);
+
+    return this;
+  }
+
+  private void appendEscaped(String value) {
+    final String nonNull = value == null ? "" : value;
+
+    for (int index = 0; index < nonNull.length(); index++) {
+      final char character = nonNull.charAt(index);
+
+      switch (character) {
+        case '\\':
+          text.append("\\\\");
+          break;
+        case '"':
+          text.append("\\\"");
+          break;
+        case '\n':
+          text.append("\\n");
+          break;
+        default:
+          text.append(character);
+      }
+    }
+  }
+
+  private static String format(double value) {
+    if (value == Math.rint(value) && !Double.isInfinite(value)
+      && Math.abs(value) < 1e15) {
+
+      return Long.toString((long) value);
+    }
+
+    return Double.toString(value);
+  }
+
+  @Override
+  public String toString() {
+    return text.toString();
+  }
+}
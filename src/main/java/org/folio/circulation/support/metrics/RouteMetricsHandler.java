@@ -0,0 +1,44 @@
+package org.folio.circulation.support.metrics;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Records the duration and status code of each request received, by the path
+ * of the route that responded to it. It needs to be the first route of
+ * the router.
+ */
+public class RouteMetricsHandler implements Handler<RoutingContext> {
+  private static final String UNMATCHED_ROUTE = "unmatched";
+
+  private final Metrics metrics;
+
+  public RouteMetricsHandler(Metrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void handle(RoutingContext routingContext) {
+    final long startedAt = System.nanoTime();
+    final HttpMethod method = routingContext.request().method();
+
+    routingContext.addBodyEndHandler(notUsed -> metrics.inboundCompleted(
+      method, routeOf(routingContext), routingContext.response().getStatusCode(),
+      System.nanoTime() - startedAt));
+
+    routingContext.next();
+  }
+
+  private String routeOf(RoutingContext routingContext) {
+    final Route route = routingContext.currentRoute();
+
+    // the route of this handler when no other route responded
+    if (route == null || route.getPath() == null) {
+      return UNMATCHED_ROUTE;
+    }
+
+    return route.getPath();
+  }
+}
@@ -0,0 +1,73 @@
+package api;
+
+import static api.support.http.InterfaceUrls.adminUrl;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.Test;
+
+import api.support.APITestContext;
+import api.support.APITests;
+import io.vertx.core.json.JsonObject;
+
+public class AdminAPITests extends APITests {
+  @Test
+  public void canGetHttpClientSettingsAndStatistics() throws Exception {
+    loansClient.getAll();
+
+    JsonObject body = getAdmin("/http-client");
+
+    JsonObject settings = body.getJsonObject("settings");
+    assertThat(settings.getInteger("maxPoolSize"), is(100));
+    assertThat(settings.getInteger("maxWaitQueueSize"), is(1000));
+    assertThat(settings.getJsonObject("methodTimeouts").getLong("POST"), is(5000L));
+    assertThat(settings.getJsonObject("methodTimeouts").getLong("GET"), is(60000L));
+
+    JsonObject statistics = body.getJsonObject("statistics");
+    assertThat(statistics.getLong("requests") > 0, is(true));
+    assertThat(statistics.getInteger("poolSize") >= 100, is(true));
+  }
+
+  @Test
+  public void canGetCoalescedGetStatistics() throws Exception {
+    JsonObject body = getAdmin("/coalesced-gets");
+
+    assertThat(body.getBoolean("enabled"), is(false));
+  }
+
+  @Test
+  public void canGetMetricsInPrometheusFormat() throws Exception {
+    loansClient.getAll();
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl("/metrics"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+    assertThat(response.getContentType(), containsString("text/plain"));
+
+    assertThat(response.getBody(), containsString(
+      "circulation_outbound_responses_total{tenant=\"" + APITestContext.getTenantId()
+        + "\",method=\"GET\",endpoint=\"/loan-storage/loans\",status=\"200\"}"));
+
+    assertThat(response.getBody(), containsString(
+      "circulation_inbound_request_duration_seconds_count{method=\"GET\","
+        + "route=\"/circulation/loans\"}"));
+  }
+
+  private JsonObject getAdmin(String subPath) throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl(subPath), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response.getJson();
+  }
+}
@@ -0,0 +1,69 @@
+package api;
+
+import static api.support.OutboundCalls.outboundCallsByEndpoint;
+import static api.support.http.InterfaceUrls.adminUrl;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.folio.circulation.domain.CalendarCache;
+import org.folio.circulation.domain.CalendarCacheSettings;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import api.support.APITestContext;
+import api.support.APITests;
+import io.vertx.core.json.JsonObject;
+
+public class CalendarCacheAPITests extends APITests {
+  @Before
+  public void enableCache() {
+    CalendarCache.getInstance().setSettings(
+      new CalendarCacheSettings(true, 180, 3600000));
+  }
+
+  @After
+  public void disableCache() {
+    CalendarCache.getInstance().setSettings(CalendarCacheSettings.defaults());
+  }
+
+  @Test
+  public void openingDaysAreNotCalculatedOnceFetched() throws Exception {
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet());
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(this::openingDaysFetched);
+
+    final Response checkOut = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponNod()).getResponse();
+
+    assertThat(outboundCallsByEndpoint(checkOut),
+      not(containsString("/calculateopening")));
+
+    assertThat(getStatistics().getLong("hits") > 0, is(true));
+  }
+
+  private boolean openingDaysFetched() throws Exception {
+    return getStatistics().getJsonObject("tenants")
+      .containsKey(APITestContext.getTenantId());
+  }
+
+  private JsonObject getStatistics() throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl("/calendar-cache"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response.getJson();
+  }
+}
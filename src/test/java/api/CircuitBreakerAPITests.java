@@ -0,0 +1,134 @@
+package api;
+
+import static api.support.http.InterfaceUrls.adminUrl;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.CircuitBreakerSettings;
+import org.folio.circulation.support.CircuitBreakers;
+import org.folio.circulation.support.http.client.HttpClientSettings;
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.After;
+import org.junit.Test;
+
+import api.support.APITests;
+import api.support.fakes.FakeStorageModule;
+import io.vertx.core.json.JsonObject;
+
+public class CircuitBreakerAPITests extends APITests {
+  private static final String ITEMS = "/item-storage/items";
+  private static final String LOANS = "/loan-storage/loans";
+
+  @After
+  public void restoreDefaults() {
+    FakeStorageModule.removeInjectedFaults();
+    OkapiHttpClient.setSettings(HttpClientSettings.defaults());
+    CircuitBreakers.getInstance().setSettings(CircuitBreakerSettings.defaults());
+    CircuitBreakers.getInstance().reset();
+  }
+
+  @Test
+  public void failedGetIsRetried() throws Exception {
+    final UUID loanId = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet()).getId();
+
+    enableCircuitBreakers(5, 2);
+
+    FakeStorageModule.injectFailures(ITEMS, 503, 1);
+
+    Response response = loansClient.getById(loanId);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    JsonObject items = circuitBreaker(ITEMS);
+
+    assertThat(items.getString("state"), is("CLOSED"));
+    assertThat(items.getLong("retries"), is(1L));
+    assertThat(items.getLong("failures"), is(1L));
+  }
+
+  @Test
+  public void circuitOpensAfterRepeatedFailures() throws Exception {
+    final UUID loanId = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet()).getId();
+
+    enableCircuitBreakers(2, 0);
+
+    FakeStorageModule.injectFailures(LOANS, 503, 2);
+
+    assertThat(loansClient.getById(loanId).getStatusCode(), is(500));
+    assertThat(loansClient.getById(loanId).getStatusCode(), is(500));
+
+    assertThat(circuitBreaker(LOANS).getString("state"), is("OPEN"));
+
+    Response response = loansClient.getById(loanId);
+
+    assertThat(response.getStatusCode(), is(500));
+    assertThat(response.getBody(), containsString(
+      "Circuit breaker for /loan-storage/loans is open"));
+
+    assertThat(circuitBreaker(LOANS).getLong("rejected"), is(1L));
+  }
+
+  @Test
+  public void serverErrorsDoNotOpenCircuit() throws Exception {
+    final UUID loanId = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet()).getId();
+
+    enableCircuitBreakers(2, 0);
+
+    FakeStorageModule.injectFailures(LOANS, 500, 2);
+
+    assertThat(loansClient.getById(loanId).getStatusCode(), is(500));
+    assertThat(loansClient.getById(loanId).getStatusCode(), is(500));
+
+    assertThat(circuitBreaker(LOANS).getString("state"), is("CLOSED"));
+    assertThat(loansClient.getById(loanId).getStatusCode(), is(200));
+  }
+
+  @Test
+  public void slowResponsesOpenCircuit() throws Exception {
+    final UUID loanId = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet()).getId();
+
+    OkapiHttpClient.setSettings(HttpClientSettings.from(new JsonObject()
+      .put("httpClientEndpointTimeouts", ITEMS + "=200")));
+
+    enableCircuitBreakers(2, 1);
+
+    FakeStorageModule.injectLatency(ITEMS, 1000);
+
+    Response response = loansClient.getById(loanId);
+
+    assertThat(response.getStatusCode(), is(500));
+    assertThat(response.getBody(), containsString("timed out"));
+
+    JsonObject items = circuitBreaker(ITEMS);
+
+    assertThat(items.getString("state"), is("OPEN"));
+    assertThat(items.getLong("retries"), is(1L));
+  }
+
+  private void enableCircuitBreakers(int failureThreshold, int retries) {
+    CircuitBreakers.getInstance().reset();
+    CircuitBreakers.getInstance().setSettings(
+      new CircuitBreakerSettings(true, failureThreshold, 60000, retries, 0));
+  }
+
+  private JsonObject circuitBreaker(String endpoint) throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl("/circuit-breakers"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response.getJson().getJsonObject("endpoints").getJsonObject(endpoint);
+  }
+}
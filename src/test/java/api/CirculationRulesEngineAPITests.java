@@ -3,10 +3,13 @@ package api;
 import static api.support.http.InterfaceUrls.circulationRulesUrl;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.StringContains.containsString;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -365,6 +368,44 @@ public class CirculationRulesEngineAPITests extends APITests {
     assertThat(array.size(), is(3));
   }
 
+  private Response applyAllWithDraftRules(String rules) throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    URL url = circulationRulesUrl(
+        "/loan-policy-all"
+        + "?item_type_id="         + m2
+        + "&loan_type_id="         + t2
+        + "&patron_type_id="       + g2
+        + "&shelving_location_id=" + s2
+        + "&rules="                + URLEncoder.encode(rules, "UTF-8")
+        );
+    client.get(url, ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode() + " " + response.getBody(),
+        response.getStatusCode(), is(200));
+    JsonArray array = new JsonObject(response.getBody()).getJsonArray("circulationRuleMatches");
+    matchesLoanPolicy(array, 0, lp4, 4);
+    matchesLoanPolicy(array, 1, lp3, 3);
+    matchesLoanPolicy(array, 2, lp2, 2);
+    assertThat(array.size(), is(3));
+    return response;
+  }
+
+  @Test
+  public void testLoanApplyAllReusesCompiledDraftRules() throws Exception {
+    setRules(rulesFallback);
+    String draft = rules1 + "\n# draft " + UUID.randomUUID();
+
+    Response first = applyAllWithDraftRules(draft);
+    assertThat(first.getHeader(LoanCirculationRulesEngineResource.COMPILE_CACHE_HEADER), is("miss"));
+    assertThat(first.getHeader(LoanCirculationRulesEngineResource.COMPILE_TIME_HEADER),
+        is(notNullValue()));
+
+    Response second = applyAllWithDraftRules(draft);
+    assertThat(second.getHeader(LoanCirculationRulesEngineResource.COMPILE_CACHE_HEADER), is("hit"));
+    assertThat(second.getHeader(LoanCirculationRulesEngineResource.COMPILE_TIME_HEADER),
+        is(first.getHeader(LoanCirculationRulesEngineResource.COMPILE_TIME_HEADER)));
+  }
+
   private void matchesRequestPolicy(JsonArray array, int match, Policy policy, int line) {
     JsonObject o = array.getJsonObject(match);
     assertThat("["+match+"].requestPolicyId of "+o, o.getString("requestPolicyId"), is(policy.id));
@@ -456,6 +497,156 @@ public class CirculationRulesEngineAPITests extends APITests {
     assertThat(applyLoanPolicy(m1, t1, g1, s1), is(lp7));
   }
 
+  @Test
+  public void refreshReloadsRules() throws Exception {
+    setRules(rulesFallback);
+    assertThat(applyLoanPolicy(m1, t1, g1, s1), is(lp6));
+
+    updateCirculationRulesInStorageWithoutInvalidatingCache(rulesFallback2);
+
+    assertThat(applyLoanPolicy(m1, t1, g1, s1), is(lp6));
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.post(circulationRulesUrl("/refresh"), new JsonObject(),
+      ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getBody(), response.getStatusCode(), is(204));
+
+    assertThat(applyLoanPolicy(m1, t1, g1, s1), is(lp7));
+  }
+
+  @Test
+  public void policyCacheCountsHitsAndMisses() throws Exception {
+    setRules(rules1);
+    assertThat(applyLoanPolicy(m2, t2, g2, s2), is(lp4));
+    assertThat(applyLoanPolicy(m2, t2, g2, s2), is(lp4));
+    assertThat(applyLoanPolicy(m2, t2, g1, s2), is(lp3));
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(circulationRulesUrl("/cache-statistics"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode(), is(200));
+
+    JsonObject policies = new JsonObject(response.getBody()).getJsonObject("policies");
+    assertThat(policies.getInteger("size"), is(2));
+    assertThat(policies.getInteger("hits"), is(1));
+    assertThat(policies.getInteger("misses"), is(2));
+    assertThat(policies.getInteger("evictions"), is(0));
+
+    JsonObject compileDuration = new JsonObject(response.getBody())
+      .getJsonObject("compilation").getJsonObject("compileDuration");
+    assertThat(compileDuration.getLong("count") > 0, is(true));
+  }
+
+  @Test
+  public void canApplyLoanRequestAndNoticePolicyTogether() throws Exception {
+    setRules(rules1);
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    URL url = circulationRulesUrl(
+        "/policies"
+        + "?item_type_id="         + m2
+        + "&loan_type_id="         + t2
+        + "&patron_type_id="       + g2
+        + "&shelving_location_id=" + s2
+        );
+    client.get(url, ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode() + " " + response.getBody(),
+        response.getStatusCode(), is(200));
+    JsonObject json = new JsonObject(response.getBody());
+    assertThat(json.getString("loanPolicyId"), is(lp4.id));
+    assertThat(json.getString("requestPolicyId"), is(rp1.id));
+    assertThat(json.getString("noticePolicyId"), is(np1.id));
+    assertThat(json.getInteger("circulationRuleLine"), is(4));
+  }
+
+  @Test
+  public void applyingPoliciesTogetherFailsForMissingParameter() throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    URL url = circulationRulesUrl(
+        "/policies"
+        + "?item_type_id="         + m2
+        + "&loan_type_id="         + t2
+        + "&patron_type_id="       + g2
+        );
+    client.get(url, ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode(), is(400));
+    assertThat(response.getBody(), containsString("shelving_location_id"));
+  }
+
+  @Test
+  public void setRulesClearsPolicyCache() throws Exception {
+    setRules(rules1);
+    assertThat(applyLoanPolicy(m2, t2, g2, s2), is(lp4));
+    setRules(rules2);
+    assertThat(applyLoanPolicy(m2, t2, g2, s2), is(lp6));
+  }
+
+  private JsonObject criterion(ItemType itemType, LoanType loanType,
+    PatronGroup patronGroup, ShelvingLocation shelvingLocation) {
+
+    return new JsonObject()
+      .put("item_type_id", itemType.id)
+      .put("loan_type_id", loanType.id)
+      .put("patron_type_id", patronGroup.id)
+      .put("shelving_location_id", shelvingLocation.id);
+  }
+
+  @Test
+  public void canApplyLoanPoliciesInBatch() throws Exception {
+    setRules(rules1);
+
+    JsonArray criteria = new JsonArray()
+      .add(criterion(m2, t2, g2, s2))
+      .add(criterion(m2, t2, g1, s2))
+      .add(criterion(m1, t2, g1, s2))
+      .add(criterion(m2, t2, g2, s2));
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.post(circulationRulesUrl("/loan-policy-batch"),
+      new JsonObject().put("criteria", criteria), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode() + " " + response.getBody(),
+      response.getStatusCode(), is(200));
+
+    JsonArray array = new JsonObject(response.getBody()).getJsonArray("circulationRuleMatches");
+    assertThat(array.size(), is(4));
+    matchesLoanPolicy(array, 0, lp4, 4);
+    matchesLoanPolicy(array, 1, lp3, 3);
+    matchesLoanPolicy(array, 2, lp2, 2);
+    matchesLoanPolicy(array, 3, lp4, 4);
+    assertThat(array.getJsonObject(2).getString("item_type_id"), is(m1.id));
+  }
+
+  @Test
+  public void batchWithInvalidCriterionIsRejected() throws Exception {
+    JsonObject invalid = criterion(m1, t1, g1, s1).put("loan_type_id", "foo");
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.post(circulationRulesUrl("/request-policy-batch"),
+      new JsonObject().put("criteria", new JsonArray().add(criterion(m1, t1, g1, s1)).add(invalid)),
+      ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode(), is(400));
+    assertThat(response.getBody(), containsString("criteria[1]"));
+  }
+
+  @Test
+  public void batchWithTooManyCriteriaIsRejected() throws Exception {
+    JsonArray criteria = new JsonArray();
+    for (int i = 0; i < 1001; i++) {
+      criteria.add(criterion(m1, t1, g1, s1));
+    }
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.post(circulationRulesUrl("/notice-policy-batch"),
+      new JsonObject().put("criteria", criteria), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatusCode(), is(413));
+    assertThat(response.getBody(), containsString("maximum is 1000"));
+  }
+
   private void updateCirculationRulesInStorageWithoutInvalidatingCache(String rules)
     throws MalformedURLException,
     InterruptedException,
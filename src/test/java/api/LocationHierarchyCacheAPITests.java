@@ -0,0 +1,85 @@
+package api;
+
+import static api.support.OutboundCalls.outboundCallsByEndpoint;
+import static api.support.http.InterfaceUrls.adminUrl;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.folio.circulation.domain.LocationHierarchyCache;
+import org.folio.circulation.domain.LocationHierarchyCacheSettings;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import api.support.APITestContext;
+import api.support.APITests;
+import io.vertx.core.json.JsonObject;
+
+public class LocationHierarchyCacheAPITests extends APITests {
+  @Before
+  public void enableCache() {
+    LocationHierarchyCache.getInstance().setSettings(
+      new LocationHierarchyCacheSettings(true, 60000, 3600000));
+  }
+
+  @After
+  public void disableCache() {
+    LocationHierarchyCache.getInstance().setSettings(
+      LocationHierarchyCacheSettings.defaults());
+  }
+
+  @Test
+  public void locationsAreNotFetchedOnceLoaded() throws Exception {
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet());
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(this::locationsLoaded);
+
+    final Response checkOut = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponNod()).getResponse();
+
+    final String calls = outboundCallsByEndpoint(checkOut);
+
+    assertThat(calls, not(containsString("GET /locations/{id}")));
+    assertThat(calls, not(containsString("GET /location-units/")));
+  }
+
+  @Test
+  public void statisticsIncludeNumberOfRecords() throws Exception {
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet());
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(this::locationsLoaded);
+
+    final JsonObject records = getStatistics().getJsonObject("tenants")
+      .getJsonObject(APITestContext.getTenantId()).getJsonObject("records");
+
+    assertThat(records.getInteger("locations") > 0, is(true));
+    assertThat(records.getInteger("servicepoints") > 0, is(true));
+  }
+
+  private boolean locationsLoaded() throws Exception {
+    return getStatistics().getJsonObject("tenants")
+      .containsKey(APITestContext.getTenantId());
+  }
+
+  private JsonObject getStatistics() throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl("/location-hierarchy"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response.getJson();
+  }
+}
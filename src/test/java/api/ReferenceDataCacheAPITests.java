@@ -0,0 +1,84 @@
+package api;
+
+import static api.support.OutboundCalls.outboundCalls;
+import static api.support.OutboundCalls.outboundCallsByEndpoint;
+import static api.support.http.InterfaceUrls.adminUrl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.ReferenceDataCache;
+import org.folio.circulation.support.ReferenceDataCacheSettings;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import api.support.APITestContext;
+import api.support.APITests;
+import io.vertx.core.json.JsonObject;
+
+public class ReferenceDataCacheAPITests extends APITests {
+  @Before
+  public void enableCache() {
+    ReferenceDataCache.getInstance().setSettings(ReferenceDataCacheSettings.from(
+      new JsonObject().put("referenceDataCache", "true")));
+  }
+
+  @After
+  public void disableCache() {
+    ReferenceDataCache.getInstance().setSettings(ReferenceDataCacheSettings.defaults());
+  }
+
+  @Test
+  public void referenceRecordsAreNotFetchedAgain() throws Exception {
+    final Response first = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet()).getResponse();
+
+    final Response second = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponNod()).getResponse();
+
+    assertThat(String.format(
+      "Second check out should make fewer requests: %s, then %s",
+      outboundCallsByEndpoint(first), outboundCallsByEndpoint(second)),
+      outboundCalls(second), lessThan(outboundCalls(first)));
+
+    final JsonObject servicePoints = getStatistics()
+      .getJsonObject("tenants").getJsonObject(APITestContext.getTenantId())
+      .getJsonObject("/service-points");
+
+    assertThat(servicePoints.getLong("hits"), greaterThan(0L));
+  }
+
+  @Test
+  public void cacheCanBeFlushed() throws Exception {
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet());
+
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.delete(adminUrl("/reference-data-cache"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+    assertThat(response.getJson().getInteger("removed"), greaterThan(0));
+
+    getStatistics().getJsonObject("tenants").forEach(tenant ->
+      ((JsonObject) tenant.getValue()).forEach(recordType ->
+        assertThat(recordType.getKey(),
+          ((JsonObject) recordType.getValue()).getInteger("size"), is(0))));
+  }
+
+  private JsonObject getStatistics() throws Exception {
+    CompletableFuture<Response> completed = new CompletableFuture<>();
+    client.get(adminUrl("/reference-data-cache"), ResponseHandler.any(completed));
+    Response response = completed.get(10, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response.getJson();
+  }
+}
@@ -0,0 +1,85 @@
+package api.loans;
+
+import static api.support.OutboundCalls.outboundCallsByEndpoint;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.MalformedURLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.folio.circulation.rules.CirculationRulesCache;
+import org.folio.circulation.support.http.client.IndividualResource;
+import org.junit.After;
+import org.junit.Test;
+
+import api.support.APITests;
+
+/**
+ * Check out applies the circulation rules in process by default, and via
+ * Okapi when in process evaluation is disabled. The latency of both is
+ * compared by {@link CheckOutInProcessRulesBenchmark}.
+ */
+public class CheckOutByBarcodeInProcessRulesTests extends APITests {
+  private static final String RULES_ENDPOINTS = "/circulation/rules/";
+
+  @After
+  public void enableInProcessEvaluation() {
+    CirculationRulesCache.getInstance().setInProcessEvaluation(true);
+  }
+
+  @Test
+  public void checkOutAppliesSameLoanPolicyInProcessAndViaOkapi()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    final IndividualResource smallAngryPlanet = itemsFixture.basedUponSmallAngryPlanet();
+    final IndividualResource steve = usersFixture.steve();
+
+    CirculationRulesCache.getInstance().setInProcessEvaluation(true);
+
+    final String inProcessPolicyId = loansFixture.checkOutByBarcode(smallAngryPlanet, steve)
+      .getJson().getString("loanPolicyId");
+
+    loansFixture.checkInByBarcode(smallAngryPlanet);
+
+    CirculationRulesCache.getInstance().setInProcessEvaluation(false);
+
+    final String viaOkapiPolicyId = loansFixture.checkOutByBarcode(smallAngryPlanet, steve)
+      .getJson().getString("loanPolicyId");
+
+    assertThat(inProcessPolicyId, is(loanPoliciesFixture.canCirculateRolling().getId().toString()));
+    assertThat(viaOkapiPolicyId, is(inProcessPolicyId));
+  }
+
+  @Test
+  public void checkOutDoesNotRequestRulesWhenAppliedInProcess()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    final IndividualResource smallAngryPlanet = itemsFixture.basedUponSmallAngryPlanet();
+    final IndividualResource steve = usersFixture.steve();
+
+    CirculationRulesCache.getInstance().setInProcessEvaluation(true);
+
+    final String inProcessCalls = outboundCallsByEndpoint(
+      loansFixture.checkOutByBarcode(smallAngryPlanet, steve).getResponse());
+
+    assertThat(inProcessCalls, not(containsString(RULES_ENDPOINTS)));
+
+    loansFixture.checkInByBarcode(smallAngryPlanet);
+
+    CirculationRulesCache.getInstance().setInProcessEvaluation(false);
+
+    final String viaOkapiCalls = outboundCallsByEndpoint(
+      loansFixture.checkOutByBarcode(smallAngryPlanet, steve).getResponse());
+
+    assertThat(viaOkapiCalls, containsString(RULES_ENDPOINTS));
+  }
+}
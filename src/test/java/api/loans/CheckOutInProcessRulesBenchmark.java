@@ -0,0 +1,87 @@
+package api.loans;
+
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.rules.CirculationRulesCache;
+import org.folio.circulation.support.http.client.IndividualResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.APITests;
+
+/**
+ * Check out latency against the fake Okapi and storage modules, with the
+ * circulation rules applied in process and via Okapi. Each mode is measured
+ * in its own JVM after the same warm up. The item is checked in again after
+ * each check out, outside of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class CheckOutInProcessRulesBenchmark {
+  @Param({ "true", "false" })
+  public boolean inProcess;
+
+  private CheckOuts checkOuts;
+
+  @Setup(Level.Trial)
+  public void deploy() throws Exception {
+    APITests.beforeAll();
+
+    // The test fixtures create their clients on construction, which needs
+    // the verticles to be deployed first
+    checkOuts = new CheckOuts();
+    checkOuts.beforeEach();
+    checkOuts.createItemAndBorrower();
+
+    CirculationRulesCache.getInstance().setInProcessEvaluation(inProcess);
+  }
+
+  @TearDown(Level.Invocation)
+  public void checkIn() throws Exception {
+    checkOuts.checkIn();
+  }
+
+  @TearDown(Level.Trial)
+  public void undeploy() throws Exception {
+    checkOuts.afterEach();
+    APITests.afterAll();
+  }
+
+  @Benchmark
+  public IndividualResource checkOut() throws Exception {
+    return checkOuts.checkOut();
+  }
+
+  private static class CheckOuts extends APITests {
+    private IndividualResource item;
+    private IndividualResource borrower;
+
+    void createItemAndBorrower() throws Exception {
+      item = itemsFixture.basedUponSmallAngryPlanet();
+      borrower = usersFixture.steve();
+    }
+
+    IndividualResource checkOut() throws Exception {
+      return loansFixture.checkOutByBarcode(item, borrower);
+    }
+
+    void checkIn() throws Exception {
+      loansFixture.checkInByBarcode(item);
+    }
+  }
+}
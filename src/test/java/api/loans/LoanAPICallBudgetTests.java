@@ -0,0 +1,106 @@
+package api.loans;
+
+import static api.support.OutboundCalls.assertWithinCallBudget;
+import static api.support.OutboundCalls.outboundCalls;
+import static api.support.OutboundCalls.outboundCallsByEndpoint;
+import static api.support.http.InterfaceUrls.loansUrl;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.http.client.IndividualResource;
+import org.folio.circulation.support.http.client.Response;
+import org.folio.circulation.support.http.client.ResponseHandler;
+import org.junit.Test;
+
+import api.support.APITests;
+
+/**
+ * The number of requests to other modules made by the loan operations,
+ * to catch changes that make a request per record or add requests.
+ * Each budget is the number of requests measured against the fake storage
+ * modules plus a margin of 3, raise them deliberately and update
+ * the measured number when an operation needs more requests.
+ */
+public class LoanAPICallBudgetTests extends APITests {
+  private static final int MARGIN = 3;
+
+  private static final int CHECK_OUT_BUDGET = 20 + MARGIN; // measured 20
+  private static final int CHECK_IN_BUDGET = 18 + MARGIN; // measured 18
+  private static final int RENEW_BUDGET = 19 + MARGIN; // measured 19
+  private static final int GET_LOAN_BUDGET = 17 + MARGIN; // measured 17
+  private static final int GET_LOANS_BUDGET = 12 + MARGIN; // measured 12
+
+  @Test
+  public void checkOutIsWithinCallBudget() throws Exception {
+    final IndividualResource loan = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet());
+
+    assertWithinCallBudget("Check out", loan.getResponse(), CHECK_OUT_BUDGET);
+  }
+
+  @Test
+  public void checkInIsWithinCallBudget() throws Exception {
+    final IndividualResource item = itemsFixture.basedUponSmallAngryPlanet();
+
+    loansFixture.checkOutByBarcode(item);
+
+    assertWithinCallBudget("Check in",
+      loansFixture.checkInByBarcode(item).getResponse(), CHECK_IN_BUDGET);
+  }
+
+  @Test
+  public void renewalIsWithinCallBudget() throws Exception {
+    final IndividualResource item = itemsFixture.basedUponSmallAngryPlanet();
+    final IndividualResource jessica = usersFixture.jessica();
+
+    loansFixture.checkOutByBarcode(item, jessica);
+
+    assertWithinCallBudget("Renewal",
+      loansFixture.renewLoan(item, jessica).getResponse(), RENEW_BUDGET);
+  }
+
+  @Test
+  public void getLoanIsWithinCallBudget() throws Exception {
+    final IndividualResource loan = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet());
+
+    assertWithinCallBudget("Get loan", loansClient.getById(loan.getId()),
+      GET_LOAN_BUDGET);
+  }
+
+  @Test
+  public void getLoansDoesNotMakeRequestsForEachLoan() throws Exception {
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet());
+
+    final Response oneLoan = getLoans();
+
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponNod());
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponTemeraire());
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponUprooted());
+    loansFixture.checkOutByBarcode(itemsFixture.basedUponInterestingTimes());
+
+    final Response fiveLoans = getLoans();
+
+    assertWithinCallBudget("Get loans", fiveLoans, GET_LOANS_BUDGET);
+
+    assertThat(String.format(
+      "Getting loans should not make more requests for more loans: %s, then %s",
+      outboundCallsByEndpoint(oneLoan), outboundCallsByEndpoint(fiveLoans)),
+      outboundCalls(fiveLoans), is(outboundCalls(oneLoan)));
+  }
+
+  private Response getLoans() throws Exception {
+    final CompletableFuture<Response> getCompleted = new CompletableFuture<>();
+
+    client.get(loansUrl("?limit=100"), ResponseHandler.any(getCompleted));
+
+    final Response response = getCompleted.get(5, TimeUnit.SECONDS);
+
+    assertThat(response.getBody(), response.getStatusCode(), is(200));
+
+    return response;
+  }
+}
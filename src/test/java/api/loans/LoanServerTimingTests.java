@@ -0,0 +1,57 @@
+package api.loans;
+
+import static org.folio.circulation.support.http.server.ServerTiming.SERVER_TIMING_HEADER;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import org.folio.circulation.support.http.client.IndividualResource;
+import org.folio.circulation.support.http.client.Response;
+import org.junit.Test;
+
+import api.support.APITests;
+
+public class LoanServerTimingTests extends APITests {
+  @Test
+  public void checkOutReturnsTheDurationOfEachStage() throws Exception {
+    final IndividualResource loan = loansFixture.checkOutByBarcode(
+      itemsFixture.basedUponSmallAngryPlanet());
+
+    assertStages(loan.getResponse(), "users", "item", "request-queue",
+      "loan-policy", "due-date", "loan-create", "notices");
+  }
+
+  @Test
+  public void checkInReturnsTheDurationOfEachStage() throws Exception {
+    final IndividualResource item = itemsFixture.basedUponSmallAngryPlanet();
+
+    loansFixture.checkOutByBarcode(item);
+
+    assertStages(loansFixture.checkInByBarcode(item).getResponse(),
+      "item", "loan", "request-queue", "item-update", "loan-update", "notices");
+  }
+
+  @Test
+  public void renewalReturnsTheDurationOfEachStage() throws Exception {
+    final IndividualResource item = itemsFixture.basedUponSmallAngryPlanet();
+    final IndividualResource jessica = usersFixture.jessica();
+
+    loansFixture.checkOutByBarcode(item, jessica);
+
+    assertStages(loansFixture.renewLoan(item, jessica).getResponse(),
+      "loan", "loan-policy", "time-zone", "due-date", "loan-update", "notices");
+  }
+
+  private static void assertStages(Response response, String... stages) {
+    final String timing = response.getHeader(SERVER_TIMING_HEADER);
+
+    assertThat(String.format("%s header should be present", SERVER_TIMING_HEADER),
+      timing, notNullValue());
+
+    for (String stage : stages) {
+      assertThat(timing, containsString(stage + ";dur="));
+    }
+
+    assertThat(timing, containsString("total;dur="));
+  }
+}
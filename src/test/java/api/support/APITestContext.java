@@ -71,6 +71,17 @@ public class APITestContext {
     }
   }
 
+  /**
+   * @return the URL on the circulation module itself, never via Okapi
+   */
+  public static URL directModuleUrl(String path) {
+    try {
+      return new URL("http", "localhost", port, path);
+    } catch (MalformedURLException ex) {
+      return null;
+    }
+  }
+
   public static URL viaOkapiModuleUrl(String path) {
     try {
       return URLHelper.joinPath(okapiUrl(), path);
@@ -0,0 +1,44 @@
+package api.support;
+
+import static org.folio.circulation.support.http.server.WebContext.OUTBOUND_CALLS_BY_ENDPOINT_HEADER;
+import static org.folio.circulation.support.http.server.WebContext.OUTBOUND_CALLS_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+
+import org.folio.circulation.support.http.client.Response;
+
+/**
+ * The number of requests to other modules the circulation module made
+ * for a request, as reported in the headers of its response
+ */
+public class OutboundCalls {
+  private OutboundCalls() { }
+
+  public static int outboundCalls(Response response) {
+    final String calls = response.getHeader(OUTBOUND_CALLS_HEADER);
+
+    assertThat(String.format("%s header should be present", OUTBOUND_CALLS_HEADER),
+      calls, is(notNullValue()));
+
+    return Integer.parseInt(calls);
+  }
+
+  public static String outboundCallsByEndpoint(Response response) {
+    return response.getHeader(OUTBOUND_CALLS_BY_ENDPOINT_HEADER);
+  }
+
+  /**
+   * Fail when the operation made more requests to other modules than its budget
+   */
+  public static void assertWithinCallBudget(
+    String operation,
+    Response response,
+    int budget) {
+
+    assertThat(String.format("%s made too many requests to other modules: %s",
+      operation, outboundCallsByEndpoint(response)),
+      outboundCalls(response), is(lessThanOrEqualTo(budget)));
+  }
+}
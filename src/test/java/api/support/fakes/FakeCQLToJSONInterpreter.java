@@ -77,14 +77,14 @@ public class FakeCQLToJSONInterpreter {
   }
 
   private Predicate<JsonObject> filterForQuery(String query) {
-    if(StringUtils.isBlank(query)) {
+    if(StringUtils.isBlank(query) || query.trim().equals("cql.allRecords=1")) {
       return t -> true;
     }
 
     List<ImmutableTriple<String, String, String>> pairs =
       Arrays.stream(query.split(" and "))
         .map( pairText -> {
-          String[] split = pairText.split("==|=|<>|<|>");
+          String[] split = pairText.split("==|>=|=|<>|<|>");
 
           printDiagnostics(() -> String.format("Split clause: %s",
             String.join(", ", split)));
@@ -96,7 +96,10 @@ public class FakeCQLToJSONInterpreter {
             .replaceAll("\"", "")
             .replaceAll("\\*", "");
 
-          if(pairText.contains("==")) {
+          if(pairText.contains(">=")) {
+            return new ImmutableTriple<>(searchField, searchTerm, ">=");
+          }
+          else if(pairText.contains("==")) {
             return new ImmutableTriple<>(searchField, searchTerm, "==");
           }
           else if(pairText.contains("=")) {
@@ -165,6 +168,9 @@ public class FakeCQLToJSONInterpreter {
             case ">":
               result = propertyValue.compareTo(cleanTerm) > 0;
               break;
+            case ">=":
+              result = propertyValue.compareTo(cleanTerm) >= 0;
+              break;
             case "<":
               result = propertyValue.compareTo(cleanTerm) < 0;
               break;
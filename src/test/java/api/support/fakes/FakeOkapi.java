@@ -3,6 +3,7 @@ package api.support.fakes;
 import static api.support.fakes.StorageSchema.validatorForStorageLoanSchema;
 import static api.support.fixtures.CalendarExamples.CASE_CALENDAR_IS_EMPTY_SERVICE_POINT_ID;
 import static api.support.fixtures.CalendarExamples.getCalendarById;
+import static api.support.fixtures.CalendarExamples.getOpeningPeriods;
 import static api.support.fixtures.LibraryHoursExamples.CASE_CALENDAR_IS_UNAVAILABLE_SERVICE_POINT_ID;
 import static api.support.fixtures.LibraryHoursExamples.CASE_CLOSED_LIBRARY_IN_THU_SERVICE_POINT_ID;
 import static api.support.fixtures.LibraryHoursExamples.CASE_CLOSED_LIBRARY_SERVICE_POINT_ID;
@@ -21,6 +22,7 @@ import org.folio.circulation.support.http.client.BufferHelper;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
 import org.folio.circulation.support.http.server.ForwardResponse;
 import org.folio.circulation.support.http.server.ServerErrorResponse;
+import org.joda.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -349,6 +351,20 @@ public class FakeOkapi extends AbstractVerticle {
             ForwardResponse.forward(context.response(), httpClientResponse,
               BufferHelper.stringFromBuffer(buffer))));
     });
+
+    router.get("/circulation/rules/policies").handler(context -> {
+      OkapiHttpClient client = APITestContext.createClient(throwable ->
+        ServerErrorResponse.internalError(context.response(),
+          String.format("Exception when forward circulation rules apply request: %s",
+            throwable.getMessage())));
+
+      client.get(String.format("http://localhost:%s/circulation/rules/policies?%s"
+        , APITestContext.circulationModulePort(), context.request().query()),
+        httpClientResponse ->
+          httpClientResponse.bodyHandler(buffer ->
+            ForwardResponse.forward(context.response(), httpClientResponse,
+              BufferHelper.stringFromBuffer(buffer))));
+    });
   }
 
   @Override
@@ -421,6 +437,29 @@ public class FakeOkapi extends AbstractVerticle {
   }
 
   private void registerCalendar(Router router) {
+    router.get("/calendar/periods")
+      .handler(routingContext -> {
+        MultiMap queries = routingContext.queryParams();
+        String servicePointId = queries.get("servicePointId");
+
+        if (CASE_CALENDAR_IS_UNAVAILABLE_SERVICE_POINT_ID.equals(servicePointId)) {
+          routingContext.response()
+            .putHeader("content-type", "application/json")
+            .setStatusCode(404)
+            .end();
+          return;
+        }
+
+        log.debug(String.format("GET: /calendar/periods, queries=%s", queries));
+
+        routingContext.response()
+          .setStatusCode(200)
+          .putHeader("content-type", "application/json")
+          .end(getOpeningPeriods(servicePointId,
+            LocalDate.parse(queries.get("startDate")),
+            LocalDate.parse(queries.get("endDate"))).encode());
+      });
+
     router.get("/calendar/periods/:id/calculateopening")
       .handler(routingContext -> {
         String servicePointId = routingContext.pathParam("id");
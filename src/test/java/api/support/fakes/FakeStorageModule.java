@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,6 +45,7 @@ import io.vertx.ext.web.handler.BodyHandler;
 
 public class FakeStorageModule extends AbstractVerticle {
   private static final Set<String> queries = Collections.synchronizedSet(new HashSet<>());
+  private static final Map<String, InjectedFault> faults = new ConcurrentHashMap<>();
 
   private final String rootPath;
   private final String collectionPropertyName;
@@ -62,6 +65,42 @@ public class FakeStorageModule extends AbstractVerticle {
     return queries.stream();
   }
 
+  /**
+   * Delay GET requests to a storage module, e.g. to simulate a slow module
+   *
+   * @param rootPath  root path of the storage module, e.g. /item-storage/items
+   */
+  public static void injectLatency(String rootPath, long milliseconds) {
+    faults.put(rootPath, new InjectedFault(milliseconds, 0, 0));
+  }
+
+  /**
+   * Respond to the next GET requests to a storage module with an error
+   *
+   * @param rootPath  root path of the storage module, e.g. /item-storage/items
+   * @param statusCode  status code of the error responses
+   * @param times  the number of requests that fail
+   */
+  public static void injectFailures(String rootPath, int statusCode, int times) {
+    faults.put(rootPath, new InjectedFault(0, statusCode, times));
+  }
+
+  public static void removeInjectedFaults() {
+    faults.clear();
+  }
+
+  private static final class InjectedFault {
+    private final long latencyInMilliseconds;
+    private final int statusCode;
+    private final AtomicInteger remainingFailures;
+
+    private InjectedFault(long latencyInMilliseconds, int statusCode, int failures) {
+      this.latencyInMilliseconds = latencyInMilliseconds;
+      this.statusCode = statusCode;
+      this.remainingFailures = new AtomicInteger(failures);
+    }
+  }
+
   FakeStorageModule(
     String rootPath,
     String collectionPropertyName,
@@ -97,6 +136,7 @@ public class FakeStorageModule extends AbstractVerticle {
 
     router.route(pathTree).handler(this::checkTokenHeader);
     router.route(pathTree).handler(this::checkRequestIdHeader);
+    router.get(pathTree).handler(this::injectFault);
 
     router.post(pathTree).handler(BodyHandler.create());
     router.put(pathTree).handler(BodyHandler.create());
@@ -394,6 +434,38 @@ public class FakeStorageModule extends AbstractVerticle {
     return StringUtils.isNotBlank(routingContext.getBodyAsString());
   }
 
+  private void injectFault(RoutingContext routingContext) {
+    final InjectedFault fault = faults.get(rootPath);
+
+    if (fault == null) {
+      routingContext.next();
+      return;
+    }
+
+    final Runnable respond = () -> {
+      if (fault.remainingFailures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+        System.out.println(format("Injected %s failure for %s",
+          fault.statusCode, routingContext.request().uri()));
+
+        routingContext.response()
+          .setStatusCode(fault.statusCode)
+          .putHeader("content-type", "text/plain")
+          .end("Injected failure");
+      }
+      else {
+        routingContext.next();
+      }
+    };
+
+    if (fault.latencyInMilliseconds > 0) {
+      routingContext.vertx().setTimer(fault.latencyInMilliseconds,
+        timerId -> respond.run());
+    }
+    else {
+      respond.run();
+    }
+  }
+
   private void checkTokenHeader(RoutingContext routingContext) {
     WebContext context = new WebContext(routingContext);
 
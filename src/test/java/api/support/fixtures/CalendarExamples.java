@@ -4,7 +4,10 @@ import api.support.builders.CalendarBuilder;
 import api.support.builders.OpeningDayPeriodBuilder;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import api.support.OpeningDayPeriod;
+import org.folio.circulation.domain.OpeningDay;
 import org.folio.circulation.domain.OpeningHour;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
@@ -219,6 +222,44 @@ public class CalendarExamples {
     }
   }
 
+  /**
+   * The open days between the dates, as returned by the calendar with
+   * exceptions applied and without closed days
+   */
+  public static JsonObject getOpeningPeriods(String serviceId,
+    LocalDate startDate, LocalDate endDate) {
+
+    final List<OpeningDayPeriod> periods = new ArrayList<>();
+
+    if (fakeOpeningPeriods.containsKey(serviceId)) {
+      periods.addAll(getFakeOpeningDayByServId(serviceId));
+    }
+    else if (!serviceId.equals(CASE_CALENDAR_IS_EMPTY_SERVICE_POINT_ID)
+      && !serviceId.equals(CASE_START_DATE_MONTHS_AGO_AND_END_DATE_THU)
+      && !serviceId.equals(CASE_START_DATE_MONTHS_AGO_AND_END_DATE_WED)
+      && !serviceId.equals(CASE_START_DATE_FRI_AND_END_DATE_NEXT_MONTHS)) {
+
+      for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+        periods.add(createDayPeriod(
+          createOpeningDay(Collections.emptyList(), date, true, true)));
+      }
+    }
+
+    final JsonArray openingPeriods = new JsonArray();
+
+    periods.stream()
+      .map(OpeningDayPeriod::getOpeningDay)
+      .filter(OpeningDay::getOpen)
+      .filter(day -> !day.getDate().isBefore(startDate) && !day.getDate().isAfter(endDate))
+      .forEach(day -> openingPeriods.add(new JsonObject()
+        .put("servicePointId", serviceId)
+        .put("openingDay", day.toJson())));
+
+    return new JsonObject()
+      .put("openingPeriods", openingPeriods)
+      .put("totalRecords", openingPeriods.size());
+  }
+
   public static List<OpeningDayPeriod> getCurrentAndNextFakeOpeningDayByServId(String serviceId) {
     OpeningDayPeriodBuilder periodBuilder = fakeOpeningPeriods.get(serviceId);
     return Arrays.asList(periodBuilder.getCurrentPeriod(), periodBuilder.getLastPeriod());
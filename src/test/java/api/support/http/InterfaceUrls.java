@@ -100,6 +100,10 @@ public class InterfaceUrls {
     return APITestContext.viaOkapiModuleUrl("/addresstypes" + subPath);
   }
 
+  public static URL adminUrl(String subPath) {
+    return APITestContext.directModuleUrl("/admin" + subPath);
+  }
+
   public static URL requestsUrl() {
     return requestsUrl("");
   }
@@ -0,0 +1,120 @@
+package org.folio.circulation.domain;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.folio.circulation.domain.LocationHierarchy.RecordType;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class LocationHierarchyTests {
+  private static final String LOCATION_ID = UUID.randomUUID().toString();
+  private static final String LIBRARY_ID = UUID.randomUUID().toString();
+  private static final String CAMPUS_ID = UUID.randomUUID().toString();
+  private static final String INSTITUTION_ID = UUID.randomUUID().toString();
+  private static final String SERVICE_POINT_ID = UUID.randomUUID().toString();
+
+  @Test
+  public void locationIsJoinedToRelatedRecords() {
+    final LocationHierarchy hierarchy = LocationHierarchy.loaded(allRecords(), 1000);
+
+    final Location location = hierarchy.getLocation(LOCATION_ID);
+
+    assertThat(location.getName(), is("3rd Floor"));
+    assertThat(location.getLibraryName(), is("Djanogly Learning Resource Centre"));
+    assertThat(location.getCampusName(), is("Jubilee Campus"));
+    assertThat(location.getInstitutionName(), is("Nottingham University"));
+
+    assertThat(hierarchy.getPrimaryServicePoint(LOCATION_ID).getName(),
+      is("Circ Desk 1"));
+  }
+
+  @Test
+  public void unknownLocationIsNotFound() {
+    final LocationHierarchy hierarchy = LocationHierarchy.loaded(allRecords(), 1000);
+
+    assertThat(hierarchy.getLocation(UUID.randomUUID().toString()), nullValue());
+    assertThat(hierarchy.getLocation(null), nullValue());
+  }
+
+  @Test
+  public void locationWithUnknownLocationUnitIsNotFound() {
+    final Map<RecordType, List<JsonObject>> records = allRecords();
+
+    records.remove(RecordType.CAMPUSES);
+
+    final LocationHierarchy hierarchy = LocationHierarchy.loaded(records, 1000);
+
+    assertThat(hierarchy.getLocation(LOCATION_ID), nullValue());
+  }
+
+  @Test
+  public void changedRecordsAreMerged() {
+    final LocationHierarchy loaded = LocationHierarchy.loaded(allRecords(), 1000);
+
+    final Map<RecordType, List<JsonObject>> changed = new EnumMap<>(RecordType.class);
+
+    changed.put(RecordType.LIBRARIES, singletonList(record(LIBRARY_ID,
+      "Renamed Library", "2019-03-02T10:00:00.000+0000")));
+
+    final LocationHierarchy refreshed = loaded.refreshed(changed, 2000);
+
+    assertThat(refreshed.getLocation(LOCATION_ID).getLibraryName(),
+      is("Renamed Library"));
+    assertThat(refreshed.getLocation(LOCATION_ID).getCampusName(),
+      is("Jubilee Campus"));
+
+    assertThat(refreshed.getLastUpdatedDate(RecordType.LIBRARIES),
+      is("2019-03-02T10:00:00.000+0000"));
+    assertThat(refreshed.getLastUpdatedDate(RecordType.CAMPUSES),
+      is("2019-01-01T10:00:00.000+0000"));
+
+    assertThat(refreshed.getLoadedAt(), is(1000L));
+    assertThat(refreshed.getRefreshedAt(), is(2000L));
+
+    assertThat(loaded.getLocation(LOCATION_ID).getLibraryName(),
+      is("Djanogly Learning Resource Centre"));
+  }
+
+  private static Map<RecordType, List<JsonObject>> allRecords() {
+    final Map<RecordType, List<JsonObject>> records = new EnumMap<>(RecordType.class);
+
+    records.put(RecordType.LOCATIONS, singletonList(
+      record(LOCATION_ID, "3rd Floor", "2019-01-01T10:00:00.000+0000")
+        .put("libraryId", LIBRARY_ID)
+        .put("campusId", CAMPUS_ID)
+        .put("institutionId", INSTITUTION_ID)
+        .put("primaryServicePoint", SERVICE_POINT_ID)));
+
+    records.put(RecordType.LIBRARIES, singletonList(record(LIBRARY_ID,
+      "Djanogly Learning Resource Centre", "2019-01-01T10:00:00.000+0000")));
+
+    records.put(RecordType.CAMPUSES, Arrays.asList(
+      record(CAMPUS_ID, "Jubilee Campus", "2019-01-01T10:00:00.000+0000"),
+      record(UUID.randomUUID().toString(), "Other Campus", "2018-12-01T10:00:00.000+0000")));
+
+    records.put(RecordType.INSTITUTIONS, singletonList(record(INSTITUTION_ID,
+      "Nottingham University", "2019-01-01T10:00:00.000+0000")));
+
+    records.put(RecordType.SERVICE_POINTS, singletonList(record(SERVICE_POINT_ID,
+      "Circ Desk 1", "2019-01-01T10:00:00.000+0000")));
+
+    return records;
+  }
+
+  private static JsonObject record(String id, String name, String updatedDate) {
+    return new JsonObject()
+      .put("id", id)
+      .put("name", name)
+      .put("metadata", new JsonObject().put("updatedDate", updatedDate));
+  }
+}
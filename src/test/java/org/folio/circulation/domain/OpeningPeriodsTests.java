@@ -0,0 +1,111 @@
+package org.folio.circulation.domain;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.folio.circulation.AdjacentOpeningDays;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class OpeningPeriodsTests {
+  private static final LocalDate FROM = new LocalDate(2019, 2, 1);
+  private static final LocalDate TO = new LocalDate(2019, 2, 28);
+
+  private static final LocalDate FRIDAY = new LocalDate(2019, 2, 8);
+  private static final LocalDate SATURDAY = new LocalDate(2019, 2, 9);
+  private static final LocalDate MONDAY = new LocalDate(2019, 2, 11);
+  private static final LocalDate TUESDAY = new LocalDate(2019, 2, 12);
+
+  @Test
+  public void adjacentDaysAreClosestOpenDays() {
+    final AdjacentOpeningDays openingDays = openOn(FRIDAY, MONDAY, TUESDAY)
+      .getAdjacentOpeningDays(SATURDAY).get();
+
+    assertThat(openingDays.getPreviousDay().getDate(), is(FRIDAY));
+    assertThat(openingDays.getRequestedDay().getDate(), is(SATURDAY));
+    assertThat(openingDays.getRequestedDay().getOpen(), is(false));
+    assertThat(openingDays.getNextDay().getDate(), is(MONDAY));
+  }
+
+  @Test
+  public void openRequestedDayIsNotAdjacentToItself() {
+    final AdjacentOpeningDays openingDays = openOn(FRIDAY, MONDAY, TUESDAY)
+      .getAdjacentOpeningDays(MONDAY).get();
+
+    assertThat(openingDays.getPreviousDay().getDate(), is(FRIDAY));
+    assertThat(openingDays.getRequestedDay().getDate(), is(MONDAY));
+    assertThat(openingDays.getRequestedDay().getOpen(), is(true));
+    assertThat(openingDays.getRequestedDay().getAllDay(), is(true));
+    assertThat(openingDays.getNextDay().getDate(), is(TUESDAY));
+  }
+
+  @Test
+  public void datesOutsideOfPeriodsAreNotKnown() {
+    final OpeningPeriods periods = openOn(FRIDAY, MONDAY, TUESDAY);
+
+    assertThat(periods.getAdjacentOpeningDays(FROM.minusDays(1)), is(Optional.empty()));
+    assertThat(periods.getAdjacentOpeningDays(TO.plusDays(1)), is(Optional.empty()));
+  }
+
+  @Test
+  public void openDaysOutsideOfPeriodsAreNotKnown() {
+    final OpeningPeriods periods = openOn(FRIDAY, MONDAY);
+
+    assertThat(periods.getAdjacentOpeningDays(FRIDAY), is(Optional.empty()));
+    assertThat(periods.getAdjacentOpeningDays(TUESDAY), is(Optional.empty()));
+  }
+
+  @Test
+  public void onlyDatesReturnedAreKnownWhenNotAllPeriodsWereReturned() {
+    final JsonObject representation = representation(FRIDAY, MONDAY, TUESDAY)
+      .put("totalRecords", 10);
+
+    final OpeningPeriods periods = OpeningPeriods.from(representation, FROM, TO);
+
+    assertThat(periods.getTo(), is(TUESDAY));
+    assertThat(periods.includes(TUESDAY.plusDays(1)), is(false));
+  }
+
+  @Test
+  public void dateOfPeriodIsUsedWhenOpeningDayHasNone() {
+    final JsonArray openingPeriods = new JsonArray();
+
+    for (LocalDate date : new LocalDate[] { FRIDAY, MONDAY }) {
+      openingPeriods.add(new JsonObject()
+        .put("date", date.toString() + "T00:00:00.000+0000")
+        .put("openingDay", new JsonObject()
+          .put("allDay", true)
+          .put("open", true)));
+    }
+
+    final OpeningPeriods periods = OpeningPeriods.from(
+      new JsonObject().put("openingPeriods", openingPeriods), FROM, TO);
+
+    assertThat(periods.getAdjacentOpeningDays(SATURDAY).get().getNextDay().getDate(),
+      is(MONDAY));
+  }
+
+  private static OpeningPeriods openOn(LocalDate... dates) {
+    return OpeningPeriods.from(representation(dates), FROM, TO);
+  }
+
+  private static JsonObject representation(LocalDate... dates) {
+    final JsonArray openingPeriods = new JsonArray();
+
+    for (LocalDate date : dates) {
+      openingPeriods.add(new JsonObject().put("openingDay",
+        OpeningDay.createOpeningDay(Collections.emptyList(), date, true, true)
+          .toJson()));
+    }
+
+    return new JsonObject()
+      .put("openingPeriods", openingPeriods)
+      .put("totalRecords", dates.length);
+  }
+}
@@ -0,0 +1,109 @@
+package org.folio.circulation.domain.policy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.JsonArrayHelper;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.builders.FixedDueDateSchedule;
+import api.support.builders.FixedDueDateSchedulesBuilder;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Due date lookups per millisecond among consecutive weekly schedules, by
+ * reading every schedule for each date as before, and by the binary search
+ * of the schedules read once. Each invocation looks up the next of 1024
+ * dates spread over all of the schedules.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedDueDateSchedulesBenchmark {
+  private static final DateTime START =
+    new DateTime(2000, 1, 3, 0, 0, 0, DateTimeZone.UTC);
+
+  @Param({ "1", "10", "100", "1000" })
+  public int numberOfSchedules;
+
+  private List<JsonObject> schedules;
+  private FixedDueDateSchedules readOnce;
+  private DateTime[] dates;
+  private int next = 0;
+
+  @Setup
+  public void createSchedules() {
+    final JsonObject representation = schedules(numberOfSchedules);
+
+    schedules = JsonArrayHelper.toList(representation.getJsonArray("schedules"));
+    readOnce = FixedDueDateSchedules.from(representation);
+    dates = dates(numberOfSchedules);
+  }
+
+  @Benchmark
+  public Optional<DateTime> readEachTime() {
+    return findByReadingEverySchedule(schedules, nextDate());
+  }
+
+  @Benchmark
+  public Optional<DateTime> readOnce() {
+    return readOnce.findDueDateFor(nextDate());
+  }
+
+  private DateTime nextDate() {
+    next = (next + 1) & (dates.length - 1);
+
+    return dates[next];
+  }
+
+  private static JsonObject schedules(int numberOfSchedules) {
+    FixedDueDateSchedulesBuilder builder = new FixedDueDateSchedulesBuilder();
+
+    for (int week = 0; week < numberOfSchedules; week++) {
+      final DateTime from = START.plusWeeks(week);
+      final DateTime to = from.plusWeeks(1).minusSeconds(1);
+
+      builder = builder.addSchedule(new FixedDueDateSchedule(from, to, to));
+    }
+
+    return builder.create();
+  }
+
+  private static DateTime[] dates(int numberOfSchedules) {
+    final DateTime[] dates = new DateTime[1024];
+
+    for (int index = 0; index < dates.length; index++) {
+      dates[index] = START
+        .plusWeeks(index % numberOfSchedules)
+        .plusHours(1 + index % 100);
+    }
+
+    return dates;
+  }
+
+  private static Optional<DateTime> findByReadingEverySchedule(
+    List<JsonObject> schedules, DateTime date) {
+
+    return schedules.stream()
+      .filter(schedule -> date.isAfter(DateTime.parse(schedule.getString("from")))
+        && date.isBefore(DateTime.parse(schedule.getString("to"))))
+      .findFirst()
+      .map(schedule -> DateTime.parse(schedule.getString("due")));
+  }
+}
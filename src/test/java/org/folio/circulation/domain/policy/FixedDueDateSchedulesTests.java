@@ -1,8 +1,17 @@
 package org.folio.circulation.domain.policy;
 
+import api.support.builders.FixedDueDateSchedule;
+import api.support.builders.FixedDueDateSchedulesBuilder;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -13,4 +22,137 @@ public class FixedDueDateSchedulesTests {
 
     assertThat(schedules.isEmpty(), is(true));
   }
+
+  @Test
+  public void shouldFindDueDateOfScheduleContainingDate() {
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      new FixedDueDateSchedulesBuilder()
+        .addSchedule(FixedDueDateSchedule.wholeMonth(2019, 1))
+        .addSchedule(FixedDueDateSchedule.wholeMonth(2019, 3))
+        .create());
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 1, 15)),
+      is(Optional.of(endOfMonth(2019, 1))));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 3, 2)),
+      is(Optional.of(endOfMonth(2019, 3))));
+  }
+
+  @Test
+  public void shouldNotFindDueDateOutsideOfSchedules() {
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      new FixedDueDateSchedulesBuilder()
+        .addSchedule(FixedDueDateSchedule.wholeMonth(2019, 1))
+        .addSchedule(FixedDueDateSchedule.wholeMonth(2019, 3))
+        .create());
+
+    assertThat(schedules.findDueDateFor(dateTime(2018, 12, 15)),
+      is(Optional.empty()));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 2, 15)),
+      is(Optional.empty()));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 4, 15)),
+      is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotFindDueDateAtStartOrEndOfSchedule() {
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      new FixedDueDateSchedulesBuilder()
+        .addSchedule(FixedDueDateSchedule.wholeMonth(2019, 1))
+        .create());
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 1, 1)),
+      is(Optional.empty()));
+
+    assertThat(schedules.findDueDateFor(endOfMonth(2019, 1)),
+      is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldUseFirstScheduleWhenSchedulesOverlap() {
+    final DateTime firstDueDate = dateTime(2019, 6, 1);
+    final DateTime secondDueDate = dateTime(2019, 7, 1);
+
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      schedules(
+        schedule(dateTime(2019, 2, 1), dateTime(2019, 3, 1), firstDueDate),
+        schedule(dateTime(2019, 1, 1), dateTime(2019, 4, 1), secondDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 1, 15)),
+      is(Optional.of(secondDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 2, 1)),
+      is(Optional.of(secondDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 2, 15)),
+      is(Optional.of(firstDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 3, 1)),
+      is(Optional.of(secondDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 3, 15)),
+      is(Optional.of(secondDueDate)));
+  }
+
+  @Test
+  public void shouldUseFirstScheduleWhenLaterScheduleContainsIt() {
+    final DateTime firstDueDate = dateTime(2019, 6, 1);
+    final DateTime secondDueDate = dateTime(2019, 7, 1);
+
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      schedules(
+        schedule(dateTime(2019, 1, 1), dateTime(2019, 4, 1), firstDueDate),
+        schedule(dateTime(2019, 2, 1), dateTime(2019, 3, 1), secondDueDate)));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 2, 15)),
+      is(Optional.of(firstDueDate)));
+  }
+
+  @Test
+  public void shouldIgnoreInvalidSchedules() {
+    final DateTime dueDate = dateTime(2019, 6, 1);
+
+    final FixedDueDateSchedules schedules = FixedDueDateSchedules.from(
+      schedules(
+        schedule(dateTime(2019, 1, 1), dateTime(2019, 4, 1), dueDate)
+          .put("from", "not a date"),
+        schedule(dateTime(2019, 1, 1), dateTime(2019, 4, 1), dueDate)
+          .put("due", (String) null),
+        schedule(dateTime(2019, 2, 1), dateTime(2019, 3, 1), dueDate)));
+
+    assertThat(schedules.isEmpty(), is(false));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 1, 15)),
+      is(Optional.empty()));
+
+    assertThat(schedules.findDueDateFor(dateTime(2019, 2, 15)),
+      is(Optional.of(dueDate)));
+  }
+
+  private static JsonObject schedules(JsonObject... schedules) {
+    return new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("schedules", new JsonArray(Arrays.asList(schedules)));
+  }
+
+  private static JsonObject schedule(DateTime from, DateTime to, DateTime due) {
+    return new JsonObject()
+      .put("from", from.toString())
+      .put("to", to.toString())
+      .put("due", due.toString());
+  }
+
+  private static DateTime dateTime(int year, int month, int day) {
+    return new DateTime(year, month, day, 0, 0, 0, DateTimeZone.UTC);
+  }
+
+  private static DateTime endOfMonth(int year, int month) {
+    return dateTime(year, month, 1)
+      .dayOfMonth().withMaximumValue()
+      .withHourOfDay(23)
+      .withMinuteOfHour(59)
+      .withSecondOfMinute(59);
+  }
 }
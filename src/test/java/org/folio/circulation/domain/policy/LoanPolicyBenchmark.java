@@ -0,0 +1,115 @@
+package org.folio.circulation.domain.policy;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.RequestQueue;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.builders.FixedDueDateSchedule;
+import api.support.builders.FixedDueDateSchedulesBuilder;
+import api.support.builders.LoanBuilder;
+import api.support.builders.LoanPolicyBuilder;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Due date calculations per millisecond for a check out and a renewal with
+ * a rolling policy limited by twelve monthly schedules. The policy and its
+ * schedules are either created from their representations for each loan,
+ * as before policies were cached, or created once and shared. A renewal
+ * changes the due date of the loan, so it is changed back every time, and
+ * renewals are unlimited so that the same loan can be renewed again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanPolicyBenchmark {
+  private static final DateTime LOAN_DATE =
+    new DateTime(2019, 3, 14, 11, 14, 54, DateTimeZone.UTC);
+
+  private final RequestQueue noRequests = new RequestQueue(Collections.emptyList());
+  private final DateTime renewalDate = LOAN_DATE.plusWeeks(2);
+
+  private JsonObject schedules;
+  private JsonObject representation;
+  private LoanPolicy shared;
+  private Loan loan;
+
+  @Setup
+  public void createPolicy() {
+    schedules = schedules();
+
+    representation = new LoanPolicyBuilder()
+      .rolling(Period.weeks(3))
+      .limitedBySchedule(UUID.fromString(schedules.getString("id")))
+      .renewFromSystemDate()
+      .unlimitedRenewals()
+      .create();
+
+    shared = LoanPolicy.from(representation).withDueDateSchedules(schedules);
+
+    loan = new LoanBuilder()
+      .open()
+      .withLoanDate(LOAN_DATE)
+      .withDueDate(LOAN_DATE.plusWeeks(1))
+      .asDomainObject();
+  }
+
+  @Benchmark
+  public DateTime checkOutWithPolicyPerLoan() {
+    return LoanPolicy.from(representation)
+      .withDueDateSchedules(schedules)
+      .calculateInitialDueDate(loan).value();
+  }
+
+  @Benchmark
+  public DateTime checkOutWithSharedPolicy() {
+    return shared.calculateInitialDueDate(loan).value();
+  }
+
+  @Benchmark
+  public DateTime renewWithPolicyPerLoan() {
+    return renew(LoanPolicy.from(representation).withDueDateSchedules(schedules));
+  }
+
+  @Benchmark
+  public DateTime renewWithSharedPolicy() {
+    return renew(shared);
+  }
+
+  private DateTime renew(LoanPolicy loanPolicy) {
+    final DateTime originalDueDate = loan.getDueDate();
+    final DateTime renewedDueDate = loanPolicy
+      .renew(loan, renewalDate, noRequests).value().getDueDate();
+
+    loan.changeDueDate(originalDueDate);
+
+    return renewedDueDate;
+  }
+
+  private static JsonObject schedules() {
+    FixedDueDateSchedulesBuilder builder = new FixedDueDateSchedulesBuilder();
+
+    for (int month = 1; month <= 12; month++) {
+      builder = builder.addSchedule(FixedDueDateSchedule.wholeMonth(2019, month));
+    }
+
+    return builder.create();
+  }
+}
@@ -0,0 +1,151 @@
+package org.folio.circulation.domain.policy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.UUID;
+
+import org.folio.circulation.domain.Loan;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+import api.support.builders.FixedDueDateSchedule;
+import api.support.builders.FixedDueDateSchedulesBuilder;
+import api.support.builders.LoanBuilder;
+import api.support.builders.LoanPolicyBuilder;
+import io.vertx.core.json.JsonObject;
+
+public class LoanPolicyCacheTests {
+  private final LoanPolicyCache cache = enabledCache();
+
+  @Test
+  public void policyIsCachedUntilItChanges() {
+    final JsonObject representation = policy("2019-03-01T10:00:00.000+0000");
+    final LoanPolicy loanPolicy = cache.put("tenant", LoanPolicy.from(representation));
+
+    assertThat(cache.get("tenant", representation.copy()), sameInstance(loanPolicy));
+
+    final JsonObject changed = representation.copy();
+    changed.getJsonObject("metadata").put("updatedDate", "2019-03-02T10:00:00.000+0000");
+
+    assertThat(cache.get("tenant", changed), nullValue());
+  }
+
+  @Test
+  public void policiesAreCachedForEachTenant() {
+    final JsonObject representation = policy("2019-03-01T10:00:00.000+0000");
+
+    cache.put("tenant", LoanPolicy.from(representation));
+
+    assertThat(cache.get("other-tenant", representation), nullValue());
+  }
+
+  @Test
+  public void schedulesAreCachedUntilTheyChange() {
+    final JsonObject representation = schedules("2019-03-01T10:00:00.000+0000");
+
+    final FixedDueDateSchedules schedules = cache.getSchedules("tenant", representation);
+
+    assertThat(cache.getSchedules("tenant", representation.copy()),
+      sameInstance(schedules));
+
+    final JsonObject changed = representation.copy();
+    changed.getJsonObject("metadata").put("updatedDate", "2019-03-02T10:00:00.000+0000");
+    changed.getJsonArray("schedules").getJsonObject(0)
+      .put("due", "2019-07-01T23:59:59.000Z");
+
+    final FixedDueDateSchedules changedSchedules = cache.getSchedules("tenant", changed);
+
+    assertThat(changedSchedules, not(sameInstance(schedules)));
+    assertThat(changedSchedules.findDueDateFor(
+      new DateTime(2019, 2, 1, 10, 0, DateTimeZone.UTC)).get(),
+      is(new DateTime(2019, 7, 1, 23, 59, 59, DateTimeZone.UTC)));
+
+    assertThat(cache.getSchedules("tenant", changed), sameInstance(changedSchedules));
+  }
+
+  @Test
+  public void schedulesAreReadAgainWhenDisabled() {
+    final LoanPolicyCache disabled = new LoanPolicyCache();
+    final JsonObject representation = schedules("2019-03-01T10:00:00.000+0000");
+
+    assertThat(disabled.getSchedules("tenant", representation),
+      not(sameInstance(disabled.getSchedules("tenant", representation))));
+  }
+
+  @Test
+  public void policiesAreNotCachedWhenDisabled() {
+    final LoanPolicyCache disabled = new LoanPolicyCache();
+    final JsonObject representation = policy("2019-03-01T10:00:00.000+0000");
+
+    disabled.put("tenant", LoanPolicy.from(representation));
+
+    assertThat(disabled.get("tenant", representation), nullValue());
+    assertThat(disabled.getStatistics().getInteger("size"), is(0));
+  }
+
+  @Test
+  public void flushRemovesPolicies() {
+    final JsonObject representation = policy("2019-03-01T10:00:00.000+0000");
+
+    cache.put("tenant", LoanPolicy.from(representation));
+
+    assertThat(cache.flush(), is(1));
+    assertThat(cache.get("tenant", representation), nullValue());
+  }
+
+  @Test
+  public void policyIsNotAffectedByChangesToItsRepresentation() {
+    final JsonObject representation = new LoanPolicyBuilder()
+      .rolling(Period.weeks(3))
+      .create();
+
+    final LoanPolicy loanPolicy = LoanPolicy.from(representation);
+
+    representation.getJsonObject("loansPolicy")
+      .getJsonObject("period").put("duration", 1);
+    representation.put("loanable", false);
+
+    final DateTime loanDate = new DateTime(2019, 3, 14, 11, 14, 54, DateTimeZone.UTC);
+
+    final Loan loan = new LoanBuilder()
+      .open()
+      .withLoanDate(loanDate)
+      .asDomainObject();
+
+    assertThat(loanPolicy.isLoanable(), is(true));
+    assertThat(loanPolicy.calculateInitialDueDate(loan).value(),
+      is(loanDate.plusWeeks(3)));
+  }
+
+  private static JsonObject policy(String updatedDate) {
+    return new LoanPolicyBuilder()
+      .withId(UUID.randomUUID())
+      .rolling(Period.weeks(3))
+      .create()
+      .put("metadata", new JsonObject().put("updatedDate", updatedDate));
+  }
+
+  private static JsonObject schedules(String updatedDate) {
+    return new FixedDueDateSchedulesBuilder()
+      .withId(UUID.randomUUID())
+      .addSchedule(new FixedDueDateSchedule(
+        new DateTime(2019, 1, 1, 0, 0, DateTimeZone.UTC),
+        new DateTime(2019, 6, 30, 23, 59, 59, DateTimeZone.UTC),
+        new DateTime(2019, 6, 30, 23, 59, 59, DateTimeZone.UTC)))
+      .create()
+      .put("metadata", new JsonObject().put("updatedDate", updatedDate));
+  }
+
+  private static LoanPolicyCache enabledCache() {
+    final LoanPolicyCache cache = new LoanPolicyCache();
+
+    cache.setSettings(new LoanPolicyCacheSettings(true, 60000, 100));
+
+    return cache;
+  }
+}
@@ -0,0 +1,80 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.json.JsonObject;
+
+public class CachingCirculationRulesEngineTest {
+  private static final String RULES = String.join("\n",
+    "priority: t, s, c, b, a, m, g",
+    "fallback-policy: l no-loan r no-hold n basic-notice",
+    "m book: l policy-a r request-1 n notice-1");
+
+  /** counts the evaluations of the wrapped engine */
+  private static class CountingEngine extends RulesMatcher {
+    final AtomicInteger evaluations = new AtomicInteger();
+
+    CountingEngine() {
+      super(Text2Drools.convertToRules(RULES));
+    }
+
+    @Override
+    public Match match(MultiMap params) {
+      evaluations.incrementAndGet();
+      return super.match(params);
+    }
+  }
+
+  @Test
+  public void allPoliciesComeFromOneEvaluation() {
+    CountingEngine counting = new CountingEngine();
+    CachingCirculationRulesEngine engine = new CachingCirculationRulesEngine(counting, 10);
+    MultiMap params = params("book", "regular", "staff", "shelf");
+
+    assertThat(engine.loanPolicy(params), is("policy-a"));
+    assertThat(engine.requestPolicy(params), is("request-1"));
+    assertThat(engine.noticePolicy(params), is("notice-1"));
+    assertThat(engine.match(params).lineNumber, is(3));
+    assertThat(counting.evaluations.get(), is(1));
+
+    assertThat(engine.loanPolicy(params("map", "regular", "staff", "shelf")), is("no-loan"));
+    assertThat(counting.evaluations.get(), is(2));
+
+    JsonObject statistics = engine.getStatistics().getJsonObject("policies");
+    assertThat(statistics.getInteger("size"), is(2));
+    assertThat(statistics.getInteger("hits"), is(3));
+    assertThat(statistics.getInteger("misses"), is(2));
+  }
+
+  @Test
+  public void clearForcesEvaluation() {
+    CountingEngine counting = new CountingEngine();
+    CachingCirculationRulesEngine engine = new CachingCirculationRulesEngine(counting, 10);
+    MultiMap params = params("book", "regular", "staff", "shelf");
+
+    engine.loanPolicy(params);
+    engine.clear();
+    engine.noticePolicy(params);
+    assertThat(counting.evaluations.get(), is(2));
+  }
+
+  private MultiMap params(String itId, String ltId, String ptId, String slId) {
+    MultiMap params = new CaseInsensitiveHeaders();
+    params.add(ITEM_TYPE_ID_NAME, itId);
+    params.add(LOAN_TYPE_ID_NAME, ltId);
+    params.add(PATRON_TYPE_ID_NAME, ptId);
+    params.add(SHELVING_LOCATION_ID_NAME, slId);
+    return params;
+  }
+}
@@ -0,0 +1,136 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+
+public class CompiledRulesStoreTest {
+  private static final String RULES = String.join("\n",
+    "priority: t, s, c, b, a, m, g",
+    "fallback-policy: l no-loan r no-hold n basic-notice",
+    "m book cd dvd: l policy-a r request-1 n notice-1",
+    "    g visitor: l in-house r request-4 n notice-4",
+    "t special-items: l policy-d r request-7 n notice-7");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private CompiledRulesStore store() {
+    return new CompiledRulesStore(folder.getRoot().toPath(), 2);
+  }
+
+  private File[] files() {
+    return folder.getRoot().listFiles((dir, name) -> name.endsWith(".rules"));
+  }
+
+  private void assertPolicies(CirculationRulesEngine engine) {
+    assertThat(engine.loanPolicy(params("book", "regular", "visitor", "shelf")), is("in-house"));
+    assertThat(engine.requestPolicy(params("cd", "regular", "staff", "shelf")), is("request-1"));
+    assertThat(engine.noticePolicy(params("map", "special-items", "staff", "shelf")), is("notice-7"));
+    assertThat(engine.loanPolicy(params("map", "regular", "staff", "shelf")), is("no-loan"));
+  }
+
+  private void roundTrip(CirculationRulesEngineType type) {
+    assertPolicies(store().compile(type, RULES));
+    assertThat(files().length, is(1));
+    assertPolicies(store().compile(type, RULES));
+    assertThat(files().length, is(1));
+  }
+
+  @Test
+  public void nativeRoundTrip() {
+    roundTrip(CirculationRulesEngineType.NATIVE);
+  }
+
+  @Test
+  public void droolsRoundTrip() {
+    roundTrip(CirculationRulesEngineType.DROOLS);
+  }
+
+  @Test
+  public void engineTypesAreStoredSeparately() {
+    store().compile(CirculationRulesEngineType.NATIVE, RULES);
+    store().compile(CirculationRulesEngineType.DROOLS, RULES);
+    assertThat(files().length, is(2));
+  }
+
+  @Test
+  public void corruptFileIsRecompiled() throws IOException {
+    store().compile(CirculationRulesEngineType.NATIVE, RULES);
+    Path file = files()[0].toPath();
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length / 2] ^= 0x55;
+    Files.write(file, bytes);
+
+    assertPolicies(store().compile(CirculationRulesEngineType.NATIVE, RULES));
+    assertThat(Files.readAllBytes(file), is(not(bytes)));
+  }
+
+  @Test
+  public void truncatedFileIsRecompiled() throws IOException {
+    store().compile(CirculationRulesEngineType.NATIVE, RULES);
+    Path file = files()[0].toPath();
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+    assertPolicies(store().compile(CirculationRulesEngineType.NATIVE, RULES));
+    assertThat(Files.readAllBytes(file), is(bytes));
+  }
+
+  @Test
+  public void leastRecentlyUsedFilesArePruned() {
+    for (int i = 0; i < 5; i++) {
+      store().compile(CirculationRulesEngineType.NATIVE,
+        RULES + "\nm map: l policy-" + i + " r request-" + i + " n notice-" + i);
+    }
+    assertThat(files().length, is(2));
+  }
+
+  @Test(expected = IOException.class)
+  public void serializedObjectsAreNotLoaded() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(new ArrayList<>(Arrays.asList("a", "b")));
+    }
+    CirculationRulesEngineType.NATIVE.load(bytes.toByteArray());
+  }
+
+  @Test(expected = CirculationRulesException.class)
+  public void syntaxErrorIsNotStored() {
+    try {
+      store().compile(CirculationRulesEngineType.NATIVE, "foo");
+    }
+    finally {
+      assertThat(files().length, is(0));
+    }
+  }
+
+  private MultiMap params(String itId, String ltId, String ptId, String slId) {
+    MultiMap params = new CaseInsensitiveHeaders();
+    params.add(ITEM_TYPE_ID_NAME, itId);
+    params.add(LOAN_TYPE_ID_NAME, ltId);
+    params.add(PATRON_TYPE_ID_NAME, ptId);
+    params.add(SHELVING_LOCATION_ID_NAME, slId);
+    return params;
+  }
+}
@@ -0,0 +1,178 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.SHELVING_LOCATION_ID_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+
+/**
+ * Differential tests: {@link RulesMatcher} must return the same results as {@link Drools}.
+ * A null id is a criterium that is not given.
+ */
+public class RulesMatcherTest {
+  private static final String[] ITEM_TYPES = { "book", "cd", "dvd", "newspaper", "map", "unknown", null };
+  private static final String[] LOAN_TYPES = { "regular", "special-items", "rare", "unknown", null };
+  private static final String[] PATRON_GROUPS = { "undergrad", "visitor", "alumni", "staff", "unknown", null };
+  private static final String[] SHELVING_LOCATIONS = { "shelf", "new", "stacks", "unknown", null };
+
+  private void assertSameAsDrools(String... lines) {
+    String text = String.join("\n", lines);
+    Drools drools = new Drools(Text2Drools.convert(text));
+    RulesMatcher matcher = RulesMatcher.compile(text);
+
+    for (String itemType : ITEM_TYPES) {
+      for (String loanType : LOAN_TYPES) {
+        for (String patronGroup : PATRON_GROUPS) {
+          for (String shelvingLocation : SHELVING_LOCATIONS) {
+            MultiMap params = params(itemType, loanType, patronGroup, shelvingLocation);
+            String reason = itemType + " " + loanType + " " + patronGroup + " " + shelvingLocation;
+            Match expected = drools.match(params);
+            Match actual = matcher.match(params);
+            assertThat(reason, actual, is(notNullValue()));
+            assertThat(reason, actual.loanPolicyId, is(expected.loanPolicyId));
+            assertThat(reason, actual.requestPolicyId, is(expected.requestPolicyId));
+            assertThat(reason, actual.noticePolicyId, is(expected.noticePolicyId));
+            assertThat(reason, actual.lineNumber, is(expected.lineNumber));
+            assertThat(reason, matcher.loanPolicy(params), is(drools.loanPolicy(params)));
+            assertThat(reason, matcher.requestPolicy(params), is(drools.requestPolicy(params)));
+            assertThat(reason, matcher.noticePolicy(params), is(drools.noticePolicy(params)));
+            assertThat(reason, matcher.loanPolicies(params), is(drools.loanPolicies(params)));
+            assertThat(reason, matcher.requestPolicies(params), is(drools.requestPolicies(params)));
+            assertThat(reason, matcher.noticePolicies(params), is(drools.noticePolicies(params)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void fallbackOnly() {
+    assertSameAsDrools(
+      "priority: last-line",
+      "fallback-policy: l no-loan r no-hold n basic-notice");
+  }
+
+  @Test
+  public void criteriumPriorityWithNesting() {
+    assertSameAsDrools(
+      "priority: t, s, c, b, a, m, g",
+      "fallback-policy: l no-loan r no-hold n basic-notice",
+      "m book cd dvd: l policy-a r request-1 n notice-1",
+      "m newspaper + g all: l policy-c r request-2 n notice-2",
+      "m map: l policy-c r request-3 n notice-3",
+      "    g visitor: l in-house r request-4 n notice-4",
+      "    g undergrad: l in-house r request-5 n notice-5",
+      "m book cd dvd + t special-items: l in-house r request-6 n notice-6",
+      "t special-items: l policy-d r request-7 n notice-7",
+      "    g visitor alumni: l in-house r request-8 n notice-8");
+  }
+
+  @Test
+  public void firstLine() {
+    assertSameAsDrools(
+      "priority: first-line",
+      "g visitor",
+      "  t special-items: l in-house r no-hold n basic-notice",
+      "m book: l policy-b r no-hold n basic-notice",
+      "fallback-policy: l no-loan r no-hold n basic-notice");
+  }
+
+  @Test
+  public void threePriorities() {
+    assertSameAsDrools(
+      "priority: criterium(t, s, c, b, a, m, g), number-of-criteria, first-line",
+      "fallback-policy: l no-loan r no-hold n basic-notice",
+      "m book: l policy-a r no-hold n basic-notice",
+      "g staff: l policy-b r no-hold n basic-notice",
+      "m dvd: l policy-c r no-hold n basic-notice",
+      "     g visitor: l policy-d r no-hold n basic-notice");
+  }
+
+  @Test
+  public void negationAndLocations() {
+    assertSameAsDrools(
+      "priority: number-of-criteria, last-line",
+      "fallback-policy: l no-loan r no-hold n basic-notice",
+      "m !dvd !cd: l policy-a r request-a n notice-a",
+      "s new: l policy-b r request-b n notice-b",
+      "    m !book: l policy-c r request-c n notice-c",
+      "a new: l policy-d r request-d n notice-d",
+      "b !new: l policy-e r request-e n notice-e",
+      "c all + g !visitor: l policy-f r request-f n notice-f");
+  }
+
+  @Test
+  public void sameCriteriumTypeNested() {
+    assertSameAsDrools(
+      "priority: last-line",
+      "fallback-policy: l no-loan r no-hold n basic-notice",
+      "m book dvd cd",
+      "    m !cd: l policy-a r request-a n notice-a",
+      "        m book: l policy-b r request-b n notice-b");
+  }
+
+  @Test
+  public void moreRulesThanOneBitSetWord() {
+    List<String> lines = new ArrayList<>();
+    lines.add("priority: first-line");
+
+    for (int i = 0; i < 150; i++) {
+      // only some of the rules use ids that are looked up, the others never match
+      if (i == 70) {
+        lines.add("m book: l policy-70 r request-70 n notice-70");
+      } else if (i == 100) {
+        lines.add("g staff + t rare: l policy-100 r request-100 n notice-100");
+      } else if (i == 128) {
+        lines.add("s new: l policy-128 r request-128 n notice-128");
+      } else if (i == 140) {
+        lines.add("g !visitor: l policy-140 r request-140 n notice-140");
+      } else {
+        lines.add("m other-" + i + ": l policy-" + i + " r request-" + i + " n notice-" + i);
+      }
+    }
+
+    lines.add("fallback-policy: l no-loan r no-hold n basic-notice");
+
+    assertSameAsDrools(lines.toArray(new String[0]));
+  }
+
+  @Test
+  public void noRuleMatches() {
+    Match match = new RulesMatcher(Collections.emptyList())
+      .match(params("book", "regular", "staff", "shelf"));
+
+    assertThat(match, is(notNullValue()));
+    assertThat(match.loanPolicyId, is(nullValue()));
+    assertThat(match.requestPolicyId, is(nullValue()));
+    assertThat(match.noticePolicyId, is(nullValue()));
+    assertThat(match.lineNumber, is(0));
+  }
+
+  private MultiMap params(String itId, String ltId, String ptId, String slId) {
+    MultiMap params = new CaseInsensitiveHeaders();
+    addIfGiven(params, ITEM_TYPE_ID_NAME, itId);
+    addIfGiven(params, LOAN_TYPE_ID_NAME, ltId);
+    addIfGiven(params, PATRON_TYPE_ID_NAME, ptId);
+    addIfGiven(params, SHELVING_LOCATION_ID_NAME, slId);
+    return params;
+  }
+
+  private static void addIfGiven(MultiMap params, String name, String id) {
+    if (id != null) {
+      params.add(name, id);
+    }
+  }
+}
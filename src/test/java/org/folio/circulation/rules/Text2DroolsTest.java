@@ -14,7 +14,13 @@ import static org.junit.Assert.fail;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -94,6 +100,26 @@ public class Text2DroolsTest {
     }
   }
 
+  @Test
+  public void test1concurrently() throws Exception {
+    Drools drools = new Drools(Text2Drools.convert(test1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        for (String [] s : loanTestCases) {
+          futures.add(executor.submit(() -> assertThat(first3(s),
+            drools.loanPolicy(params(s[0], s[1], s[2], "shelf")), is(s[3]))));
+        }
+      }
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testRequestPolicyList() {
       testRequestPolicies(test1, requestTestCases);
@@ -0,0 +1,213 @@
+package org.folio.circulation.support;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.folio.circulation.support.CircuitBreaker.State;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class CircuitBreakerTests {
+  private static final String ENDPOINT = "/item-storage/items";
+
+  private final AtomicLong now = new AtomicLong(1000);
+
+  private final CircuitBreakerSettings settings = new CircuitBreakerSettings(
+    true, 3, 30000, 2, 0);
+
+  @Test
+  public void opensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, now::get);
+
+    fail(breaker);
+    fail(breaker);
+    assertThat(breaker.getState(), is(State.CLOSED));
+
+    fail(breaker);
+    assertThat(breaker.getState(), is(State.OPEN));
+    assertThat(breaker.tryAcquire(settings), is(false));
+
+    JsonObject statistics = breaker.toJson();
+    assertThat(statistics.getLong("failures"), is(3L));
+    assertThat(statistics.getLong("rejected"), is(1L));
+    assertThat(statistics.getLong("timesOpened"), is(1L));
+  }
+
+  @Test
+  public void successResetsConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, now::get);
+
+    fail(breaker);
+    fail(breaker);
+    succeed(breaker);
+    fail(breaker);
+    fail(breaker);
+
+    assertThat(breaker.getState(), is(State.CLOSED));
+  }
+
+  @Test
+  public void allowsOneTrialAfterBeingOpen() {
+    CircuitBreaker breaker = openBreaker();
+
+    now.addAndGet(30000);
+
+    assertThat(breaker.tryAcquire(settings), is(true));
+    assertThat(breaker.getState(), is(State.HALF_OPEN));
+    assertThat(breaker.tryAcquire(settings), is(false));
+
+    breaker.recordSuccess();
+
+    assertThat(breaker.getState(), is(State.CLOSED));
+    assertThat(breaker.tryAcquire(settings), is(true));
+  }
+
+  @Test
+  public void opensAgainWhenTrialFails() {
+    CircuitBreaker breaker = openBreaker();
+
+    now.addAndGet(30000);
+
+    assertThat(breaker.tryAcquire(settings), is(true));
+    breaker.recordFailure(settings);
+
+    assertThat(breaker.getState(), is(State.OPEN));
+    assertThat(breaker.tryAcquire(settings), is(false));
+  }
+
+  @Test
+  public void exceptionsAreRetriedUntilRetriesAreUsedUp() {
+    CircuitBreakers breakers = enabledBreakers(settings);
+    List<Throwable> handled = new ArrayList<>();
+    List<Consumer<Throwable>> attempts = new ArrayList<>();
+
+    breakers.get(ENDPOINT, ENDPOINT, response -> {}, handled::add,
+      (responseHandler, exceptionHandler) -> attempts.add(exceptionHandler));
+
+    attempts.get(0).accept(new RuntimeException("first"));
+    attempts.get(1).accept(new RuntimeException("second"));
+    assertThat(handled.size(), is(0));
+
+    attempts.get(2).accept(new RuntimeException("third"));
+
+    assertThat(attempts.size(), is(3));
+    assertThat(handled.size(), is(1));
+    assertThat(handled.get(0).getMessage(), is("third"));
+
+    JsonObject statistics = breakers.getStatistics()
+      .getJsonObject("endpoints").getJsonObject(ENDPOINT);
+
+    assertThat(statistics.getString("state"), is("OPEN"));
+    assertThat(statistics.getLong("retries"), is(2L));
+  }
+
+  @Test
+  public void retriesStopWhenCircuitOpens() {
+    CircuitBreakers breakers = enabledBreakers(
+      new CircuitBreakerSettings(true, 2, 30000, 5, 0));
+
+    List<Throwable> handled = new ArrayList<>();
+    List<Consumer<Throwable>> attempts = new ArrayList<>();
+
+    breakers.get(ENDPOINT, ENDPOINT, response -> {}, handled::add,
+      (responseHandler, exceptionHandler) -> attempts.add(exceptionHandler));
+
+    attempts.get(0).accept(new RuntimeException("first"));
+    attempts.get(1).accept(new RuntimeException("second"));
+
+    assertThat(attempts.size(), is(2));
+    assertThat(handled.size(), is(1));
+  }
+
+  @Test
+  public void requestIsNotMadeWhenCircuitIsOpen() {
+    CircuitBreakers breakers = enabledBreakers(settings);
+
+    for (int failures = 0; failures < 3; failures++) {
+      breakers.forEndpoint(ENDPOINT).tryAcquire(settings);
+      breakers.forEndpoint(ENDPOINT).recordFailure(settings);
+    }
+
+    List<Throwable> handled = new ArrayList<>();
+    List<Consumer<Throwable>> attempts = new ArrayList<>();
+
+    breakers.get(ENDPOINT, ENDPOINT, response -> {}, handled::add,
+      (responseHandler, exceptionHandler) -> attempts.add(exceptionHandler));
+
+    assertThat(attempts.size(), is(0));
+    assertThat(handled.size(), is(1));
+    assertThat(handled.get(0) instanceof CircuitOpenException, is(true));
+    assertThat(handled.get(0).getMessage().contains(ENDPOINT), is(true));
+  }
+
+  @Test
+  public void onlyUnavailableResponsesAreFailures() {
+    assertThat(CircuitBreakers.isFailure(200), is(false));
+    assertThat(CircuitBreakers.isFailure(404), is(false));
+    assertThat(CircuitBreakers.isFailure(500), is(false));
+    assertThat(CircuitBreakers.isFailure(502), is(true));
+    assertThat(CircuitBreakers.isFailure(503), is(true));
+    assertThat(CircuitBreakers.isFailure(504), is(true));
+  }
+
+  @Test
+  public void requestIsMadeDirectlyWhenDisabled() {
+    CircuitBreakers breakers = enabledBreakers(CircuitBreakerSettings.defaults());
+
+    List<Throwable> handled = new ArrayList<>();
+    List<Consumer<Throwable>> attempts = new ArrayList<>();
+
+    breakers.get(ENDPOINT, ENDPOINT, response -> {}, handled::add,
+      (responseHandler, exceptionHandler) -> attempts.add(exceptionHandler));
+
+    attempts.get(0).accept(new RuntimeException("failed"));
+
+    assertThat(attempts.size(), is(1));
+    assertThat(handled.size(), is(1));
+    assertThat(breakers.getStatistics().getJsonObject("endpoints").isEmpty(), is(true));
+  }
+
+  @Test
+  public void retryDelayIsJitteredUpToDoubledDelay() {
+    CircuitBreakerSettings delayed = new CircuitBreakerSettings(true, 3, 30000, 2, 100);
+
+    for (int attempt = 0; attempt < 100; attempt++) {
+      assertThat(CircuitBreakers.retryDelay(delayed, 0) <= 100, is(true));
+      assertThat(CircuitBreakers.retryDelay(delayed, 2) <= 400, is(true));
+    }
+  }
+
+  private CircuitBreakers enabledBreakers(CircuitBreakerSettings settings) {
+    CircuitBreakers breakers = new CircuitBreakers(now::get);
+
+    breakers.setSettings(settings);
+
+    return breakers;
+  }
+
+  private CircuitBreaker openBreaker() {
+    CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, now::get);
+
+    fail(breaker);
+    fail(breaker);
+    fail(breaker);
+
+    return breaker;
+  }
+
+  private void fail(CircuitBreaker breaker) {
+    breaker.tryAcquire(settings);
+    breaker.recordFailure(settings);
+  }
+
+  private void succeed(CircuitBreaker breaker) {
+    breaker.tryAcquire(settings);
+    breaker.recordSuccess();
+  }
+}
@@ -0,0 +1,36 @@
+package org.folio.circulation.support;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ClientEndpointsTests {
+  @Test
+  public void endpointsAreSharedForSameOkapiLocation() {
+    ClientEndpoints endpoints = ClientEndpoints.forOkapiLocation("http://okapi:9130");
+
+    assertThat(ClientEndpoints.forOkapiLocation("http://okapi:9130"),
+      sameInstance(endpoints));
+    assertThat(ClientEndpoints.forOkapiLocation("http://other-okapi:9130"),
+      not(sameInstance(endpoints)));
+  }
+
+  @Test
+  public void urlIsCreatedOncePerPath() {
+    ClientEndpoints endpoints = ClientEndpoints.forOkapiLocation("http://okapi:9130/ignored");
+
+    assertThat(endpoints.url("/loan-storage/loans").toString(),
+      is("http://okapi:9130/loan-storage/loans"));
+    assertThat(endpoints.url("/loan-storage/loans"),
+      sameInstance(endpoints.url("/loan-storage/loans")));
+    assertThat(endpoints.getOkapiUrl().toString(), is("http://okapi:9130/ignored"));
+  }
+
+  @Test(expected = InvalidOkapiLocationException.class)
+  public void invalidOkapiLocationFails() {
+    ClientEndpoints.forOkapiLocation("not a url");
+  }
+}
@@ -0,0 +1,107 @@
+package org.folio.circulation.support;
+
+import static org.folio.circulation.domain.validation.CommonFailures.moreThanOneOpenLoanFailure;
+import static org.folio.circulation.domain.validation.CommonFailures.noItemFoundForBarcodeFailure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.domain.LoanCheckInService;
+import org.folio.circulation.domain.LoanRepository;
+import org.folio.circulation.domain.RequestQueueRepository;
+import org.folio.circulation.domain.RequestRepository;
+import org.folio.circulation.domain.ServicePointRepository;
+import org.folio.circulation.domain.UpdateItem;
+import org.folio.circulation.domain.UpdateRequestQueue;
+import org.folio.circulation.domain.UserRepository;
+import org.folio.circulation.domain.notice.PatronNoticeService;
+import org.folio.circulation.domain.notice.schedule.RequestScheduledNoticeService;
+import org.folio.circulation.domain.policy.PatronNoticePolicyRepository;
+import org.folio.circulation.storage.ItemByBarcodeInStorageFinder;
+import org.folio.circulation.storage.SingleOpenLoanForItemInStorageFinder;
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time taken to prepare for handling a check in, from creating the clients
+ * for the incoming request to creating the repositories and services the
+ * check in resource uses. Compared with creating every client, as was done
+ * for every request before clients were created when first used. Run with
+ * the GC profiler (-prof gc) to see the bytes allocated for each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientsAllocationBenchmark {
+  private static final String OKAPI_LOCATION = "http://okapi.example.org:9130";
+
+  private final ClientEndpoints endpoints =
+    ClientEndpoints.forOkapiLocation(OKAPI_LOCATION);
+
+  @Benchmark
+  public List<Object> everyClient() {
+    final Clients clients = createClients();
+
+    return Arrays.asList(clients.requestsStorage(),
+      clients.cancellationReasonStorage(), clients.requestPoliciesStorage(),
+      clients.itemsStorage(), clients.holdingsStorage(),
+      clients.instancesStorage(), clients.usersStorage(), clients.loansStorage(),
+      clients.locationsStorage(), clients.institutionsStorage(),
+      clients.campusesStorage(), clients.librariesStorage(),
+      clients.materialTypesStorage(), clients.loanTypesStorage(),
+      clients.loanPoliciesStorage(), clients.fixedDueDateSchedules(),
+      clients.servicePointsStorage(), clients.patronGroupsStorage(),
+      clients.calendarStorageClient(), clients.configurationStorageClient(),
+      clients.userProxies(), clients.circulationRules(),
+      clients.circulationRulesStorage(),
+      clients.patronNoticePolicesStorageClient(), clients.patronNoticeClient(),
+      clients.scheduledNoticesStorageClient(), clients.accountsStorageClient());
+  }
+
+  @Benchmark
+  public List<Object> checkIn() {
+    final Clients clients = createClients();
+
+    final LoanRepository loanRepository = new LoanRepository(clients);
+    final ItemRepository itemRepository = new ItemRepository(clients, true, true, true);
+    final UserRepository userRepository = new UserRepository(clients);
+    final RequestRepository requestRepository = RequestRepository.using(clients);
+    final RequestQueueRepository requestQueueRepository =
+      RequestQueueRepository.using(requestRepository);
+    final ServicePointRepository servicePointRepository = new ServicePointRepository(clients);
+
+    final PatronNoticePolicyRepository patronNoticePolicyRepository =
+      new PatronNoticePolicyRepository(clients);
+
+    return Arrays.asList(
+      new ItemByBarcodeInStorageFinder(itemRepository,
+        noItemFoundForBarcodeFailure("barcode")),
+      new SingleOpenLoanForItemInStorageFinder(loanRepository, userRepository,
+        moreThanOneOpenLoanFailure("barcode"), true),
+      new LoanCheckInService(),
+      requestQueueRepository,
+      new UpdateItem(clients),
+      new UpdateRequestQueue(requestQueueRepository, requestRepository,
+        servicePointRepository),
+      new PatronNoticeService(patronNoticePolicyRepository, clients),
+      RequestScheduledNoticeService.using(clients));
+  }
+
+  private Clients createClients() {
+    return new Clients(new OkapiHttpClient(null, endpoints.getOkapiUrl(),
+      "diku", "token", "79ff2a8b-d9c3-5b39-ad4a-0a84025ab085", "request-id",
+      exception -> { }), endpoints, "diku");
+  }
+}
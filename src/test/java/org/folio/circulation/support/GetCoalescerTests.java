@@ -0,0 +1,127 @@
+package org.folio.circulation.support;
+
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.folio.circulation.support.http.client.OkapiHttpClient;
+import org.folio.circulation.support.http.client.Response;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class GetCoalescerTests {
+  private static final String URL = "http://okapi:9130/service-points/1";
+  private static final String ENDPOINT = "/service-points";
+
+  private final List<Throwable> exceptions = new ArrayList<>();
+  private final AtomicInteger requests = new AtomicInteger();
+  private final List<CompletableFuture<Response>> inFlight = new ArrayList<>();
+  private final List<Consumer<Throwable>> exceptionHandlers = new ArrayList<>();
+
+  @Test
+  public void identicalGetsInFlightShareOneRequest() {
+    GetCoalescer coalescer = enabledCoalescer();
+
+    CompletableFuture<Response> first = coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+    CompletableFuture<Response> second = coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+
+    assertThat(requests.get(), is(1));
+
+    JsonObject servicePoint = new JsonObject().put("id", "1").put("name", "Circ desk");
+    inFlight.get(0).complete(new Response(200, servicePoint.encode(), APPLICATION_JSON.toString()));
+
+    assertThat(first.join().getJson(), is(servicePoint));
+    assertThat(second.join().getJson(), is(servicePoint));
+    assertThat(first.join().getJson(), not(sameInstance(second.join().getJson())));
+
+    JsonObject statistics = coalescer.getStatistics()
+      .getJsonObject("endpoints").getJsonObject(ENDPOINT);
+
+    assertThat(statistics.getLong("gets"), is(2L));
+    assertThat(statistics.getLong("coalesced"), is(1L));
+    assertThat(statistics.getDouble("ratio"), is(0.5));
+  }
+
+  @Test
+  public void getsAfterCompletionMakeANewRequest() {
+    GetCoalescer coalescer = enabledCoalescer();
+
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+    inFlight.get(0).complete(new Response(200, "{}", APPLICATION_JSON.toString()));
+
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+
+    assertThat(requests.get(), is(2));
+  }
+
+  @Test
+  public void getsWithDifferentTokensAreNotShared() {
+    GetCoalescer coalescer = enabledCoalescer();
+
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+    coalescer.get(client("other-token"), ENDPOINT, URL, fakeGet());
+
+    assertThat(requests.get(), is(2));
+  }
+
+  @Test
+  public void failureIsHandledForEachCaller() {
+    GetCoalescer coalescer = enabledCoalescer();
+
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+
+    exceptionHandlers.get(0).accept(new IllegalStateException("Connection refused"));
+
+    assertThat(exceptions.size(), is(2));
+  }
+
+  @Test
+  public void disabledCoalescerMakesEachRequest() {
+    GetCoalescer coalescer = new GetCoalescer();
+
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+    coalescer.get(client("token"), ENDPOINT, URL, fakeGet());
+
+    assertThat(requests.get(), is(2));
+    assertThat(coalescer.getStatistics().getJsonObject("endpoints").isEmpty(), is(true));
+  }
+
+  private static GetCoalescer enabledCoalescer() {
+    GetCoalescer coalescer = new GetCoalescer();
+    coalescer.setEnabled(true);
+    return coalescer;
+  }
+
+  private Function<Consumer<Throwable>, CompletableFuture<Response>> fakeGet() {
+    return exceptionHandler -> {
+      requests.incrementAndGet();
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      inFlight.add(response);
+      exceptionHandlers.add(exceptionHandler);
+      return response;
+    };
+  }
+
+  private OkapiHttpClient client(String token) {
+    try {
+      return new OkapiHttpClient(null, new URL("http://okapi:9130"), "tenant",
+        token, "user", "request", exceptions::add);
+    }
+    catch (MalformedURLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package org.folio.circulation.support;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LruCacheTests {
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    LruCache<String, String> cache = new LruCache<>(2);
+    cache.get("a", key -> "1");
+    cache.get("b", key -> "2");
+    cache.get("a", key -> "x");
+    cache.get("c", key -> "3");
+
+    assertThat(cache.get("a", key -> "x"), is("1"));
+    assertThat(cache.get("b", key -> "y"), is("y"));
+    assertThat(cache.getEvictions(), is(2L));
+    assertThat(cache.size(), is(2));
+  }
+
+  @Test
+  public void expiresAfterTimeToLive() throws InterruptedException {
+    LruCache<String, String> cache = new LruCache<>(10, 50);
+    cache.get("a", key -> "1");
+    assertThat(cache.get("a", key -> "2"), is("1"));
+
+    Thread.sleep(100);
+
+    assertThat(cache.get("a", key -> "3"), is("3"));
+    assertThat(cache.getHits(), is(1L));
+    assertThat(cache.getMisses(), is(2L));
+  }
+
+  @Test
+  public void removesOnlyTheExpectedValue() {
+    LruCache<String, String> cache = new LruCache<>(10);
+    String value = cache.get("a", key -> new String("1"));
+
+    cache.remove("a", new String("1"));
+    assertThat(cache.size(), is(1));
+
+    cache.remove("a", value);
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void sizeZeroDisablesCaching() {
+    LruCache<String, String> cache = new LruCache<>(0);
+    cache.get("a", key -> "1");
+    assertThat(cache.get("a", key -> "2"), is("2"));
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void concurrentMissesComputeOnce() throws Exception {
+    LruCache<String, String> cache = new LruCache<>(10);
+    AtomicInteger computations = new AtomicInteger();
+    CountDownLatch computing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+      cache.get("a", key -> {
+        computations.incrementAndGet();
+        computing.countDown();
+        await(release);
+        return "1";
+      }));
+
+    await(computing);
+
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() ->
+      cache.get("a", key -> {
+        computations.incrementAndGet();
+        return "2";
+      }));
+
+    Thread.sleep(100);
+    assertThat(second.isDone(), is(false));
+
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS), is("1"));
+    assertThat(second.get(5, TimeUnit.SECONDS), is("1"));
+    assertThat(computations.get(), is(1));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
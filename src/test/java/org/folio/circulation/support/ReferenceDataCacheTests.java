@@ -0,0 +1,200 @@
+package org.folio.circulation.support;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.http.client.Response;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class ReferenceDataCacheTests {
+  private static final String SERVICE_POINTS = "/service-points";
+
+  private final ReferenceDataCache cache = enabledCache();
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  @Test
+  public void recordIsOnlyFetchedOnce() {
+    Response first = get("tenant", "1", new Response(200,
+      new JsonObject().put("id", "1").put("name", "Circ Desk").encode(),
+      "application/json"));
+
+    Response second = get("tenant", "1", new Response(500, "", "text/plain"));
+
+    assertThat(first.getStatusCode(), is(200));
+    assertThat(second.getStatusCode(), is(200));
+    assertThat(second.getJson().getString("name"), is("Circ Desk"));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  public void recordNotFoundIsCached() {
+    get("tenant", "1", new Response(404, "Not found", "text/plain"));
+
+    Response second = get("tenant", "1", new Response(200, "{}", "application/json"));
+
+    assertThat(second.getStatusCode(), is(404));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  public void failuresAreNotCached() {
+    get("tenant", "1", new Response(503, "Unavailable", "text/plain"));
+
+    Response second = get("tenant", "1", new Response(200, "{}", "application/json"));
+
+    assertThat(second.getStatusCode(), is(200));
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  public void recordsAreCachedForEachTenant() {
+    get("tenant", "1", new Response(200, "{}", "application/json"));
+    get("other-tenant", "1", new Response(200, "{}", "application/json"));
+
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  public void onlyMissingRecordsAreFetchedInABatch() {
+    final List<Collection<String>> requested = new ArrayList<>();
+
+    findByIds(asList("1", "2"), requested);
+
+    final MultipleRecords<JsonObject> records = findByIds(
+      asList("1", "2", "3", "4"), requested);
+
+    assertThat(requested.get(1), is(asList("3", "4")));
+    assertThat(ids(records), is(asList("1", "2", "3", "4")));
+  }
+
+  @Test
+  public void recordsNotFoundInABatchAreCached() {
+    final List<Collection<String>> requested = new ArrayList<>();
+
+    findByIds(asList("1", "missing"), requested);
+
+    final MultipleRecords<JsonObject> records = findByIds(
+      asList("1", "missing"), requested);
+
+    assertThat(requested.size(), is(1));
+    assertThat(ids(records), is(Collections.singletonList("1")));
+
+    final Response single = get("tenant", "missing",
+      new Response(200, "{}", "application/json"));
+
+    assertThat(single.getStatusCode(), is(404));
+  }
+
+  @Test
+  public void cachedRecordsAreCopied() {
+    final List<Collection<String>> requested = new ArrayList<>();
+
+    findByIds(Collections.singletonList("1"), requested);
+
+    findByIds(Collections.singletonList("1"), requested).getRecords()
+      .forEach(record -> record.put("name", "changed"));
+
+    final JsonObject cached = findByIds(Collections.singletonList("1"), requested)
+      .getRecords().iterator().next();
+
+    assertThat(cached.containsKey("name"), is(false));
+  }
+
+  @Test
+  public void flushRemovesRecordsOfTenant() {
+    get("tenant", "1", new Response(200, "{}", "application/json"));
+    get("other-tenant", "1", new Response(200, "{}", "application/json"));
+
+    assertThat(cache.flush("tenant"), is(1));
+
+    get("tenant", "1", new Response(200, "{}", "application/json"));
+    get("other-tenant", "1", new Response(200, "{}", "application/json"));
+
+    assertThat(fetches.get(), is(3));
+  }
+
+  @Test
+  public void statisticsIncludeHitRatio() {
+    get("tenant", "1", new Response(200, "{}", "application/json"));
+    get("tenant", "1", new Response(200, "{}", "application/json"));
+
+    final JsonObject servicePoints = cache.getStatistics()
+      .getJsonObject("tenants").getJsonObject("tenant")
+      .getJsonObject(SERVICE_POINTS);
+
+    assertThat(servicePoints.getLong("hits"), is(1L));
+    assertThat(servicePoints.getLong("misses"), is(1L));
+    assertThat(servicePoints.getDouble("hitRatio"), is(0.5));
+    assertThat(servicePoints.getInteger("size"), is(1));
+  }
+
+  @Test
+  public void onlyConfiguredRecordTypesAreCached() {
+    final ReferenceDataCacheSettings settings = ReferenceDataCacheSettings.from(
+      new JsonObject()
+        .put("referenceDataCache", "true")
+        .put("referenceDataCacheRecordTypes", "/loan-types, /groups"));
+
+    assertThat(settings.caches("/groups"), is(true));
+    assertThat(settings.caches(SERVICE_POINTS), is(false));
+    assertThat(ReferenceDataCacheSettings.defaults().caches(SERVICE_POINTS), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void recordTypesMustBePaths() {
+    ReferenceDataCacheSettings.parseRecordTypes("/groups,loan-types");
+  }
+
+  private Response get(String tenantId, String id, Response response) {
+    return cache.get(tenantId, SERVICE_POINTS, id, () -> {
+      fetches.incrementAndGet();
+      return completedFuture(response);
+    }).join();
+  }
+
+  private MultipleRecords<JsonObject> findByIds(Collection<String> ids,
+    List<Collection<String>> requested) {
+
+    return cache.findByIds("tenant", SERVICE_POINTS, ids, missing -> {
+      requested.add(new ArrayList<>(missing));
+
+      final List<JsonObject> found = missing.stream()
+        .filter(id -> !id.equals("missing"))
+        .map(id -> new JsonObject().put("id", id))
+        .collect(Collectors.toList());
+
+      return CompletableFuture.completedFuture(
+        succeeded(new MultipleRecords<>(found, found.size())));
+    })
+    .join().value();
+  }
+
+  private static List<String> ids(MultipleRecords<JsonObject> records) {
+    return records.getRecords().stream()
+      .map(record -> record.getString("id"))
+      .collect(Collectors.toList());
+  }
+
+  private static ReferenceDataCache enabledCache() {
+    final ReferenceDataCache cache = new ReferenceDataCache();
+
+    cache.setSettings(new ReferenceDataCacheSettings(true, 60000, 100,
+      ReferenceDataCacheSettings.DEFAULT_RECORD_TYPES));
+
+    return cache;
+  }
+}
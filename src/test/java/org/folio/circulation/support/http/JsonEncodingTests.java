@@ -0,0 +1,50 @@
+package org.folio.circulation.support.http;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.folio.rest.testing.UtilityClassTester;
+import org.junit.After;
+import org.junit.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class JsonEncodingTests {
+  private final JsonObject body = new JsonObject()
+    .put("id", "4d8d6f2e-5b8f-4d3a-9c3e-4b1a0f4d3f2a")
+    .put("name", "Ünïcode")
+    .put("items", new JsonArray().add(1).add(new JsonObject().put("a", true)));
+
+  @After
+  public void resetToCompact() {
+    JsonEncoding.setPrettyPrint(false);
+  }
+
+  @Test
+  public void isUtilityClass() {
+    UtilityClassTester.assertUtilityClass(JsonEncoding.class);
+  }
+
+  @Test
+  public void encodesCompactlyByDefault() {
+    Buffer encoded = JsonEncoding.encode(body);
+
+    assertThat(encoded.toString(), not(containsString("\n")));
+    assertThat(encoded.toString(), not(containsString(" : ")));
+    assertThat(new JsonObject(encoded), is(body));
+  }
+
+  @Test
+  public void encodesPrettyWhenSwitchedOn() {
+    JsonEncoding.setPrettyPrint(true);
+
+    Buffer encoded = JsonEncoding.encode(body);
+
+    assertThat(encoded.toString(), containsString("\n"));
+    assertThat(new JsonObject(encoded), is(body));
+  }
+}
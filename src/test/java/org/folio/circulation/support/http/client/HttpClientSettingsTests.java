@@ -0,0 +1,72 @@
+package org.folio.circulation.support.http.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+public class HttpClientSettingsTests {
+  @Test
+  public void defaultsKeepPostTimeoutAndLimitOtherMethods() {
+    HttpClientSettings settings = HttpClientSettings.defaults();
+
+    assertThat(settings.timeoutFor(HttpMethod.POST, "/loan-storage/loans"), is(5000L));
+    assertThat(settings.timeoutFor(HttpMethod.GET, "/loan-storage/loans"), is(60000L));
+    assertThat(settings.timeoutFor(HttpMethod.PUT, "/loan-storage/loans"), is(60000L));
+    assertThat(settings.timeoutFor(HttpMethod.DELETE, "/loan-storage/loans"), is(60000L));
+
+    HttpClientOptions options = settings.toHttpClientOptions();
+    assertThat(options.getMaxPoolSize(), is(100));
+    assertThat(options.getMaxWaitQueueSize(), is(1000));
+    assertThat(options.isKeepAlive(), is(true));
+    assertThat(options.isPipelining(), is(false));
+  }
+
+  @Test
+  public void canConfigurePoolAndTimeouts() {
+    HttpClientSettings settings = HttpClientSettings.from(new JsonObject()
+      .put("httpClientMaxPoolSize", 20)
+      .put("httpClientMaxWaitQueueSize", 50)
+      .put("httpClientPipelining", "true")
+      .put("httpClientIdleTimeoutSeconds", 30)
+      .put("httpClientTimeout", 10000)
+      .put("httpClientGetTimeout", 3000));
+
+    assertThat(settings.timeoutFor(HttpMethod.GET, "/users"), is(3000L));
+    assertThat(settings.timeoutFor(HttpMethod.POST, "/users"), is(10000L));
+
+    HttpClientOptions options = settings.toHttpClientOptions();
+    assertThat(options.getMaxPoolSize(), is(20));
+    assertThat(options.getMaxWaitQueueSize(), is(50));
+    assertThat(options.isPipelining(), is(true));
+    assertThat(options.getIdleTimeout(), is(30));
+  }
+
+  @Test
+  public void longestMatchingEndpointTimeoutIsUsed() {
+    HttpClientSettings settings = HttpClientSettings.from(new JsonObject()
+      .put("httpClientEndpointTimeouts", "/calendar=2000, /item-storage=8000,/item-storage/items=10000"));
+
+    assertThat(settings.timeoutFor(HttpMethod.GET, "/calendar/periods/1/calculateopening"), is(2000L));
+    assertThat(settings.timeoutFor(HttpMethod.GET, "/item-storage/items"), is(10000L));
+    assertThat(settings.timeoutFor(HttpMethod.PUT, "/item-storage/other"), is(8000L));
+    assertThat(settings.timeoutFor(HttpMethod.GET, "/users"), is(60000L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void malformedEndpointTimeoutsFail() {
+    HttpClientSettings.parseEndpointTimeouts("/calendar:2000");
+  }
+
+  @Test
+  public void pathIsTakenFromAbsoluteUrl() {
+    assertThat(OkapiHttpClient.pathOf("http://okapi:9130/item-storage/items?query=id%3D%3D1"),
+      is("/item-storage/items"));
+    assertThat(OkapiHttpClient.pathOf("http://okapi:9130/users/1"), is("/users/1"));
+    assertThat(OkapiHttpClient.pathOf("http://okapi:9130"), is("/"));
+  }
+}
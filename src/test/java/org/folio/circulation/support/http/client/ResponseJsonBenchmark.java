@@ -0,0 +1,126 @@
+package org.folio.circulation.support.http.client;
+
+import static org.folio.circulation.support.JsonArrayHelper.mapToList;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Time to map the records of a large loans or items collection received from
+ * storage: converting the body to a String and parsing it twice, as
+ * interpreters did before, parsing the buffer once, and mapping the array
+ * while it is parsed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+  @Param({ "loans", "items" })
+  public String collection;
+
+  @Param({ "1000" })
+  public int records;
+
+  private Buffer body;
+
+  @Setup
+  public void createBody() {
+    body = collection.equals("loans")
+      ? loans(records)
+      : items(records);
+  }
+
+  @Benchmark
+  public List<String> stringThenParseTwice() {
+    Response response = new Response(200, body.toString(), "application/json");
+    new JsonObject(response.getBody());
+    return mapToList(new JsonObject(response.getBody()), collection, id());
+  }
+
+  @Benchmark
+  public List<String> parseOnce() {
+    Response response = Response.from(200, body, "application/json");
+    response.getJson();
+    return mapToList(response.getJson(), collection, id());
+  }
+
+  @Benchmark
+  public List<String> mapArray() {
+    return Response.from(200, body, "application/json")
+      .mapArray(collection, id()).getRecords();
+  }
+
+  private static Function<JsonObject, String> id() {
+    return record -> record.getString("id");
+  }
+
+  private static Buffer loans(int count) {
+    JsonArray loans = new JsonArray();
+
+    for (int index = 0; index < count; index++) {
+      loans.add(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("userId", UUID.randomUUID().toString())
+        .put("itemId", UUID.randomUUID().toString())
+        .put("loanPolicyId", UUID.randomUUID().toString())
+        .put("loanDate", "2019-03-01T10:15:30.000Z")
+        .put("dueDate", "2019-03-22T23:59:59.000Z")
+        .put("action", "checkedout")
+        .put("status", new JsonObject().put("name", "Open"))
+        .put("renewalCount", index % 3)
+        .put("metadata", new JsonObject()
+          .put("createdDate", "2019-03-01T10:15:30.000Z")
+          .put("createdByUserId", UUID.randomUUID().toString())));
+    }
+
+    return new JsonObject()
+      .put("loans", loans)
+      .put("totalRecords", count)
+      .toBuffer();
+  }
+
+  private static Buffer items(int count) {
+    JsonArray items = new JsonArray();
+
+    for (int index = 0; index < count; index++) {
+      items.add(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("holdingsRecordId", UUID.randomUUID().toString())
+        .put("barcode", String.valueOf(1000000 + index))
+        .put("status", new JsonObject().put("name", "Available"))
+        .put("materialTypeId", UUID.randomUUID().toString())
+        .put("permanentLoanTypeId", UUID.randomUUID().toString())
+        .put("effectiveLocationId", UUID.randomUUID().toString())
+        .put("copyNumbers", new JsonArray().add("c." + index))
+        .put("notes", new JsonArray().add(new JsonObject()
+          .put("note", "Some text describing the condition of the item")
+          .put("staffOnly", false))));
+    }
+
+    return new JsonObject()
+      .put("items", items)
+      .put("totalRecords", count)
+      .toBuffer();
+  }
+}
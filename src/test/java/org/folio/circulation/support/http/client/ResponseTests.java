@@ -0,0 +1,112 @@
+package org.folio.circulation.support.http.client;
+
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class ResponseTests {
+  private final JsonObject loans = new JsonObject()
+    .put("loans", new JsonArray()
+      .add(new JsonObject().put("id", "1").put("item", new JsonObject().put("barcode", "a")))
+      .add("not an object")
+      .add(new JsonObject().put("id", "2").put("tags", new JsonArray().add("x"))))
+    .put("totalRecords", 2)
+    .put("resultInfo", new JsonObject().put("facets", new JsonArray()));
+
+  @Test
+  public void parsesJsonOnlyOnce() {
+    Response response = fromBuffer(loans);
+
+    assertThat(response.getJson(), is(loans));
+    assertThat(response.getJson(), sameInstance(response.getJson()));
+  }
+
+  @Test
+  public void bodyIsConvertedFromBuffer() {
+    Response response = fromBuffer(new JsonObject().put("name", "Ünïcode"));
+
+    assertThat(new JsonObject(response.getBody()).getString("name"), is("Ünïcode"));
+    assertThat(response.getBodyAsBuffer().toString(), is(response.getBody()));
+  }
+
+  @Test
+  public void whitespaceIsNoBody() {
+    Response response = Response.from(200, Buffer.buffer(" \n\t "), "");
+
+    assertThat(response.hasBody(), is(false));
+    assertThat(response.getJson(), is(new JsonObject()));
+  }
+
+  @Test
+  public void mapsArrayWithoutParsingWholeBody() {
+    MappedArray<String> mapped = fromBuffer(loans)
+      .mapArray("loans", loan -> loan.getString("id"));
+
+    assertThat(mapped.getRecords(), is(Arrays.asList("1", "2")));
+    assertThat(mapped.getOtherProperties().getInteger("totalRecords"), is(2));
+    assertThat(mapped.getOtherProperties().getJsonObject("resultInfo"),
+      is(loans.getJsonObject("resultInfo")));
+  }
+
+  @Test
+  public void mappedObjectsAreEqualToParsedObjects() {
+    Response response = fromBuffer(loans);
+
+    List<JsonObject> streamed = response.mapArray("loans", loan -> loan)
+      .getRecords();
+
+    List<JsonObject> parsed = response.getJson().getJsonArray("loans").stream()
+      .filter(JsonObject.class::isInstance)
+      .map(JsonObject.class::cast)
+      .collect(Collectors.toList());
+
+    assertThat(streamed, is(parsed));
+    assertThat(streamed.get(0).getJsonObject("item").getString("barcode"), is("a"));
+  }
+
+  @Test
+  public void mapsArrayOfAlreadyParsedBody() {
+    Response response = new Response(200, loans.encode(), APPLICATION_JSON.toString());
+    response.getJson();
+
+    MappedArray<String> mapped = response.mapArray("loans", loan -> loan.getString("id"));
+
+    assertThat(mapped.getRecords(), is(Arrays.asList("1", "2")));
+    assertThat(mapped.getOtherProperties().containsKey("loans"), is(false));
+    assertThat(mapped.getOtherProperties().getInteger("totalRecords"), is(2));
+  }
+
+  @Test
+  public void missingOrNullArrayMapsToNoRecords() {
+    JsonObject withNull = new JsonObject().putNull("items").put("totalRecords", 0);
+
+    assertThat(fromBuffer(withNull).mapArray("items", item -> item).getRecords(),
+      is(Collections.emptyList()));
+    assertThat(fromBuffer(new JsonObject()).mapArray("items", item -> item)
+      .getOtherProperties().getInteger("totalRecords"), is(nullValue()));
+  }
+
+  @Test(expected = DecodeException.class)
+  public void failsWhenBodyIsNotAnObject() {
+    Response.from(200, Buffer.buffer("[1, 2]"), APPLICATION_JSON.toString())
+      .mapArray("items", item -> item);
+  }
+
+  private static Response fromBuffer(JsonObject body) {
+    return Response.from(200, body.toBuffer(), APPLICATION_JSON.toString());
+  }
+}
@@ -0,0 +1,69 @@
+package org.folio.circulation.support.http.server;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class ServerTimingTests {
+  private final AtomicLong now = new AtomicLong(0);
+
+  @Test
+  public void stageLastsFromThePreviousStage() {
+    ServerTiming timing = new ServerTiming("check-out", now::get);
+
+    advance(12.3);
+    timing.mark("item");
+    advance(4.5);
+    timing.mark("loan-policy");
+    advance(1);
+
+    assertThat(timing.toHeaderValue(),
+      is("item;dur=12.3, loan-policy;dur=4.5, total;dur=17.8"));
+  }
+
+  @Test
+  public void repeatedStageAccumulates() {
+    ServerTiming timing = new ServerTiming("check-in", now::get);
+
+    advance(2);
+    timing.mark("notices");
+    advance(3);
+    timing.mark("item");
+    advance(5);
+    timing.mark("notices");
+
+    JsonObject json = timing.toJson();
+
+    assertThat(json.getString("operation"), is("check-in"));
+    assertThat(json.getJsonObject("stages").getDouble("notices"), is(7.0));
+    assertThat(json.getJsonObject("stages").getDouble("item"), is(3.0));
+    assertThat(json.getDouble("total"), is(10.0));
+  }
+
+  @Test
+  public void stageReturnsTheResultUnchanged() {
+    ServerTiming timing = new ServerTiming("renewal", now::get);
+
+    assertThat(timing.<String>stage("loan").apply("result"), is("result"));
+    assertThat(timing.toHeaderValue(), is("loan;dur=0.0, total;dur=0.0"));
+  }
+
+  @Test
+  public void onlyTotalWhenNoStageIsMarked() {
+    ServerTiming timing = new ServerTiming("renewal", now::get);
+
+    advance(1.25);
+
+    assertThat(timing.toHeaderValue(), is("total;dur=1.3"));
+  }
+
+  private void advance(double milliseconds) {
+    now.addAndGet((long) (milliseconds * TimeUnit.MILLISECONDS.toNanos(1)));
+  }
+}
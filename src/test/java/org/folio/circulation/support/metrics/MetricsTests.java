@@ -0,0 +1,116 @@
+package org.folio.circulation.support.metrics;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vertx.core.http.HttpMethod;
+
+public class MetricsTests {
+  @Test
+  public void identifiersAreReplacedInEndpoints() {
+    assertThat(Metrics.endpointOf(
+      "http://okapi:9130/item-storage/items/6b1a6d3a-5b6e-4f0e-9a1a-0e2f1c1d2e3f"),
+      is("/item-storage/items/{id}"));
+
+    assertThat(Metrics.endpointOf("http://okapi:9130/loan-storage/loans?query=x"),
+      is("/loan-storage/loans"));
+
+    assertThat(Metrics.endpointOf("http://okapi:9130/calendar/periods/"
+      + "6b1a6d3a-5b6e-4f0e-9a1a-0e2f1c1d2e3f/calculateopening"),
+      is("/calendar/periods/{id}/calculateopening"));
+
+    assertThat(Metrics.endpointOf("http://okapi:9130/accounts/123"),
+      is("/accounts/{id}"));
+
+    assertThat(Metrics.endpointOf("http://okapi:9130"), is("/"));
+  }
+
+  @Test
+  public void histogramBucketsAreCumulative() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(20000));
+
+    String text = new PrometheusTextWriter()
+      .histogram("duration_seconds", histogram, "route", "/loans")
+      .toString();
+
+    assertThat(text, containsString("duration_seconds_bucket{route=\"/loans\",le=\"0.005\"} 1\n"));
+    assertThat(text, containsString("duration_seconds_bucket{route=\"/loans\",le=\"0.025\"} 1\n"));
+    assertThat(text, containsString("duration_seconds_bucket{route=\"/loans\",le=\"0.05\"} 2\n"));
+    assertThat(text, containsString("duration_seconds_bucket{route=\"/loans\",le=\"10\"} 2\n"));
+    assertThat(text, containsString("duration_seconds_bucket{route=\"/loans\",le=\"+Inf\"} 3\n"));
+    assertThat(text, containsString("duration_seconds_count{route=\"/loans\"} 3\n"));
+    assertThat(text, containsString("duration_seconds_sum{route=\"/loans\"} 20.043\n"));
+  }
+
+  @Test
+  public void labelValuesAreEscaped() {
+    String text = new PrometheusTextWriter()
+      .sample("requests_total", 2, "tenant", "a\"b\\c\nd")
+      .toString();
+
+    assertThat(text, is("requests_total{tenant=\"a\\\"b\\\\c\\nd\"} 2\n"));
+  }
+
+  @Test
+  public void outboundRequestsAreRecordedByTenantMethodAndEndpoint() {
+    Metrics metrics = new Metrics();
+
+    Metrics.OutboundRequest completed = metrics.outboundStarted("diku",
+      HttpMethod.GET, "http://okapi:9130/users/1");
+
+    Metrics.OutboundRequest failed = metrics.outboundStarted("diku",
+      HttpMethod.GET, "http://okapi:9130/users/2");
+
+    Metrics.OutboundRequest inFlight = metrics.outboundStarted("diku",
+      HttpMethod.PUT, "http://okapi:9130/users/3");
+
+    inFlight.sent(120);
+    completed.completed(200);
+    failed.failed();
+    metrics.responseReceived("diku", HttpMethod.GET, "http://okapi:9130/users/1", 512);
+
+    String text = metrics.toPrometheusText();
+
+    String getLabels = "tenant=\"diku\",method=\"GET\",endpoint=\"/users/{id}\"";
+    String putLabels = "tenant=\"diku\",method=\"PUT\",endpoint=\"/users/{id}\"";
+
+    assertThat(text, containsString(
+      "circulation_outbound_responses_total{" + getLabels + ",status=\"200\"} 1\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_responses_total{" + getLabels + ",status=\"error\"} 1\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_request_duration_seconds_count{" + getLabels + "} 2\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_requests_in_flight{" + getLabels + "} 0\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_requests_in_flight{" + putLabels + "} 1\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_request_bytes_total{" + putLabels + "} 120\n"));
+    assertThat(text, containsString(
+      "circulation_outbound_response_bytes_total{" + getLabels + "} 512\n"));
+  }
+
+  @Test
+  public void inboundRequestsAreRecordedByRoute() {
+    Metrics metrics = new Metrics();
+
+    metrics.inboundCompleted(HttpMethod.POST, "/circulation/check-out-by-barcode",
+      201, TimeUnit.MILLISECONDS.toNanos(80));
+
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString("circulation_inbound_responses_total{method=\"POST\","
+      + "route=\"/circulation/check-out-by-barcode\",status=\"201\"} 1\n"));
+    assertThat(text, containsString("circulation_inbound_request_duration_seconds_bucket{"
+      + "method=\"POST\",route=\"/circulation/check-out-by-barcode\",le=\"0.1\"} 1\n"));
+  }
+}